@@ -2,10 +2,11 @@ package com.astra.cinema.aplicacao.compra;
 
 import com.astra.cinema.dominio.comum.*;
 import com.astra.cinema.dominio.compra.*;
-import com.astra.cinema.dominio.sessao.Sessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -50,14 +51,10 @@ public class CancelarCompraUseCase {
         }
 
         // Agrupa ingressos por sessão para liberar assentos
-        Map<SessaoId, Sessao> sessoesAfetadas = new HashMap<>();
+        Map<SessaoId, List<AssentoId>> assentosPorSessao = new LinkedHashMap<>();
         for (Ingresso ingresso : compra.getIngressos()) {
-            SessaoId sessaoId = ingresso.getSessaoId();
-            if (!sessoesAfetadas.containsKey(sessaoId)) {
-                sessoesAfetadas.put(sessaoId, sessaoRepositorio.obterPorId(sessaoId));
-            }
-            // Libera o assento na sessão
-            sessoesAfetadas.get(sessaoId).liberarAssento(ingresso.getAssentoId());
+            assentosPorSessao.computeIfAbsent(ingresso.getSessaoId(), id -> new ArrayList<>())
+                    .add(ingresso.getAssentoId());
         }
 
         // Cancela a compra (muda status, preserva histórico)
@@ -69,9 +66,13 @@ public class CancelarCompraUseCase {
             // var pagamento = pagamentoRepositorio.obterPorId(compra.getPagamentoId());
         }
 
-        // Salva as sessões com assentos liberados
-        for (Sessao sessao : sessoesAfetadas.values()) {
-            sessaoRepositorio.salvar(sessao);
+        // Libera os assentos sobre o estado mais recente de cada sessão
+        for (Map.Entry<SessaoId, List<AssentoId>> entrada : assentosPorSessao.entrySet()) {
+            sessaoRepositorio.alterarAssentos(entrada.getKey(), sessao -> {
+                for (AssentoId assentoId : entrada.getValue()) {
+                    sessao.liberarAssento(assentoId);
+                }
+            });
         }
 
         // Salva a compra cancelada (preserva histórico financeiro)
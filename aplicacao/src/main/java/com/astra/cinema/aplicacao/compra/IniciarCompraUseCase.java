@@ -1,9 +1,14 @@
 package com.astra.cinema.aplicacao.compra;
 
+import com.astra.cinema.aplicacao.servicos.ExecutorTransacao;
+import com.astra.cinema.aplicacao.sessao.ReservasTemporariasAssentos;
 import com.astra.cinema.dominio.comum.*;
 import com.astra.cinema.dominio.compra.*;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Caso de uso: Iniciar uma compra de ingressos
@@ -12,20 +17,37 @@ import java.util.List;
 public class IniciarCompraUseCase {
     private final CompraRepositorio compraRepositorio;
     private final SessaoRepositorio sessaoRepositorio;
+    private final ReservasTemporariasAssentos reservasTemporarias;
+    private final ExecutorTransacao executorTransacao;
 
     public IniciarCompraUseCase(CompraRepositorio compraRepositorio, 
-                                SessaoRepositorio sessaoRepositorio) {
+                                SessaoRepositorio sessaoRepositorio,
+                                ReservasTemporariasAssentos reservasTemporarias,
+                                ExecutorTransacao executorTransacao) {
         if (compraRepositorio == null) {
             throw new IllegalArgumentException("O repositório de compras não pode ser nulo");
         }
         if (sessaoRepositorio == null) {
             throw new IllegalArgumentException("O repositório de sessões não pode ser nulo");
         }
+        if (reservasTemporarias == null) {
+            throw new IllegalArgumentException("As reservas temporárias não podem ser nulas");
+        }
+        if (executorTransacao == null) {
+            throw new IllegalArgumentException("O executor de transações não pode ser nulo");
+        }
         
         this.compraRepositorio = compraRepositorio;
         this.sessaoRepositorio = sessaoRepositorio;
+        this.reservasTemporarias = reservasTemporarias;
+        this.executorTransacao = executorTransacao;
     }
 
+    /**
+     * Ocupa os assentos e grava a compra com seus ingressos em uma única transação.
+     *
+     * @return A compra gravada, com os ids gerados pelo banco e os QR Codes dos ingressos
+     */
     public Compra executar(ClienteId clienteId, List<Ingresso> ingressos) {
         if (clienteId == null) {
             throw new IllegalArgumentException("O id do cliente não pode ser nulo");
@@ -34,45 +56,31 @@ public class IniciarCompraUseCase {
             throw new IllegalArgumentException("A lista de ingressos não pode ser vazia");
         }
         
-        // Verifica se todos os assentos estão disponíveis ou já foram reservados
-        // (os assentos podem já estar reservados pela chamada anterior de reserva do frontend)
+        // Agrupa os assentos por sessão para reservá-los em uma única gravação por sessão
+        Map<SessaoId, List<AssentoId>> assentosPorSessao = new LinkedHashMap<>();
         for (Ingresso ingresso : ingressos) {
-            var sessao = sessaoRepositorio.obterPorId(ingresso.getSessaoId());
-            if (sessao == null) {
-                throw new IllegalStateException("Sessão não encontrada: " + ingresso.getSessaoId().getId());
-            }
-            
-            // Se o assento já está ocupado, assumimos que foi reservado no mesmo processo
-            // (pela chamada anterior de /api/sessoes/{id}/assentos/reservar)
-            // Apenas reserva se ainda estiver disponível
-            if (sessao.assentoDisponivel(ingresso.getAssentoId())) {
-                // Assento disponível, reserva normalmente
-                sessao.reservarAssento(ingresso.getAssentoId());
-                sessaoRepositorio.salvar(sessao);
-            }
-            // Se já estiver ocupado, não faz nada (foi reservado anteriormente no mesmo processo)
+            assentosPorSessao.computeIfAbsent(ingresso.getSessaoId(), id -> new ArrayList<>())
+                    .add(ingresso.getAssentoId());
         }
-        
-        // Cria a compra
-        // Gera um ID positivo para a compra (será substituído pelo banco)
-        // System.identityHashCode pode retornar 0 ou negativo, então garantimos que seja positivo
-        int hash = System.identityHashCode(ingressos);
-        int idCompra = Math.abs(hash);
-        if (idCompra == 0 || idCompra < 1) {
-            // Se for 0 ou negativo, usa timestamp garantindo que seja >= 1
-            idCompra = Math.max(1, (int) (System.currentTimeMillis() % 1000000));
-        }
-        var compraId = new CompraId(idCompra);
-        var compra = new Compra(compraId, clienteId, ingressos, null, StatusCompra.PENDENTE);
-        compraRepositorio.salvar(compra);
 
-        // Busca a última compra do cliente para obter o ID real gerado pelo banco
-        var comprasDoCliente = compraRepositorio.buscarPorCliente(clienteId);
-        if (comprasDoCliente == null || comprasDoCliente.isEmpty()) {
-            throw new IllegalStateException("Erro ao salvar compra - compra não encontrada após salvar");
-        }
+        // Se a gravação da compra falhar, a ocupação dos assentos é desfeita junto
+        return executorTransacao.executar(() -> {
+            for (Map.Entry<SessaoId, List<AssentoId>> entrada : assentosPorSessao.entrySet()) {
+                // A reserva feita no checkout (/api/sessoes/{id}/assentos/reservar) só existe em memória:
+                // aqui ela vira venda, ocupando os assentos no banco em uma única gravação
+                reservasTemporarias.converter(entrada.getKey(), clienteId, entrada.getValue(), () ->
+                        sessaoRepositorio.alterarAssentos(entrada.getKey(), sessao -> {
+                            for (AssentoId assentoId : entrada.getValue()) {
+                                sessao.reservarAssento(assentoId);
+                            }
+                        }));
+                // As reservas só saem da memória depois da confirmação: antes disso a transação
+                // ainda pode ser desfeita e os assentos voltariam a ficar livres no banco
+                executorTransacao.aposConfirmar(() ->
+                        reservasTemporarias.concluirConversao(entrada.getKey(), clienteId, entrada.getValue()));
+            }
 
-        // Retorna a última compra (mais recente)
-        return comprasDoCliente.get(comprasDoCliente.size() - 1);
+            return compraRepositorio.criar(clienteId, ingressos);
+        });
     }
 }
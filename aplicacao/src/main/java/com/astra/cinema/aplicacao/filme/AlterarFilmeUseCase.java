@@ -4,7 +4,7 @@ import com.astra.cinema.dominio.comum.FilmeId;
 import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
-import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 
 import java.net.URI;
 import java.util.Date;
@@ -89,7 +89,7 @@ public class AlterarFilmeUseCase {
                                        com.astra.cinema.dominio.filme.StatusFilme novoStatus) {
         // Verifica se há sessões futuras para o filme
         Date agora = new Date();
-        List<Sessao> sessoesFuturas = sessaoRepositorio.buscarPorFilme(filmeId).stream()
+        List<ResumoSessao> sessoesFuturas = sessaoRepositorio.buscarResumosPorFilme(filmeId).stream()
                 .filter(sessao -> sessao.getHorario().after(agora))
                 .toList();
         
@@ -49,7 +49,7 @@ public class RemoverFilmeUseCase {
 
         // Verifica se há sessões futuras
         Date agora = new Date();
-        var sessoesFuturas = sessaoRepositorio.buscarPorFilme(filmeId).stream()
+        var sessoesFuturas = sessaoRepositorio.buscarResumosPorFilme(filmeId).stream()
                 .filter(sessao -> sessao.getHorario().after(agora))
                 .toList();
 
@@ -79,7 +79,7 @@ public class RemoverFilmeUseCase {
         }
 
         Date agora = new Date();
-        return sessaoRepositorio.buscarPorFilme(filmeId).stream()
+        return sessaoRepositorio.buscarResumosPorFilme(filmeId).stream()
                 .noneMatch(sessao -> sessao.getHorario().after(agora));
     }
 }
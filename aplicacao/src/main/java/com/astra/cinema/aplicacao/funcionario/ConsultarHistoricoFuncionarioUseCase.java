@@ -5,6 +5,8 @@ import com.astra.cinema.dominio.compra.Ingresso;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
 import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
+import com.astra.cinema.dominio.operacao.FiltroValidacoes;
+import com.astra.cinema.dominio.operacao.ResumoValidacoes;
 import com.astra.cinema.dominio.operacao.ValidacaoIngresso;
 import com.astra.cinema.dominio.operacao.ValidacaoIngressoRepositorio;
 import com.astra.cinema.dominio.sessao.Sessao;
@@ -12,7 +14,11 @@ import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.astra.cinema.dominio.comum.ValidacaoDominio.*;
@@ -21,6 +27,9 @@ import static com.astra.cinema.dominio.comum.ValidacaoDominio.*;
  * Caso de uso para consultar histórico de validações e operações de funcionários.
  */
 public class ConsultarHistoricoFuncionarioUseCase {
+    public static final int LIMITE_PAGINA_PADRAO = 50;
+    public static final int LIMITE_PAGINA_MAXIMO = 200;
+
     private final ValidacaoIngressoRepositorio validacaoIngressoRepositorio;
     private final CompraRepositorio compraRepositorio;
     private final SessaoRepositorio sessaoRepositorio;
@@ -42,15 +51,38 @@ public class ConsultarHistoricoFuncionarioUseCase {
     }
 
     /**
-     * Lista todas as validações realizadas, ordenadas por data (mais recentes primeiro).
+     * Página do histórico de validações, das mais recentes para as mais antigas.
+     *
+     * @param filtro Filtros do histórico (funcionário, sessão, período e resultado)
+     * @param antesDe ID da última validação da página anterior, ou null para a primeira página
+     * @param limite Quantidade de validações por página (padrão {@value #LIMITE_PAGINA_PADRAO},
+     *               no máximo {@value #LIMITE_PAGINA_MAXIMO})
      */
-    public List<ItemHistorico> listarTodasValidacoes() {
-        List<ValidacaoIngresso> validacoes = validacaoIngressoRepositorio.listarTodas();
+    public PaginaHistorico listarValidacoes(FiltroValidacoes filtro, Integer antesDe, Integer limite) {
+        exigirNaoNulo(filtro, "O filtro não pode ser nulo");
+        int tamanho = limite == null ? LIMITE_PAGINA_PADRAO : Math.min(limite, LIMITE_PAGINA_MAXIMO);
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("O limite da página deve ser positivo");
+        }
 
-        return validacoes.stream()
-                .map(this::criarItemHistorico)
-                .sorted(Comparator.comparing(ItemHistorico::getDataHora).reversed())
-                .collect(Collectors.toList());
+        // Um item a mais indica se existe a próxima página
+        List<ValidacaoIngresso> validacoes = validacaoIngressoRepositorio.buscarPagina(
+            filtro, antesDe != null ? new ValidacaoIngressoId(antesDe) : null, tamanho + 1);
+        Integer proximaPagina = null;
+        if (validacoes.size() > tamanho) {
+            validacoes = validacoes.subList(0, tamanho);
+            proximaPagina = validacoes.get(tamanho - 1).getValidacaoId().getValor();
+        }
+
+        return new PaginaHistorico(criarItensHistorico(validacoes), proximaPagina);
+    }
+
+    /**
+     * Totais das validações que atendem ao filtro, calculados no banco.
+     */
+    public ResumoValidacoes resumirValidacoes(FiltroValidacoes filtro) {
+        exigirNaoNulo(filtro, "O filtro não pode ser nulo");
+        return validacaoIngressoRepositorio.resumir(filtro);
     }
 
     /**
@@ -61,8 +93,7 @@ public class ConsultarHistoricoFuncionarioUseCase {
 
         List<ValidacaoIngresso> validacoes = validacaoIngressoRepositorio.listarPorFuncionario(funcionarioId);
 
-        return validacoes.stream()
-                .map(this::criarItemHistorico)
+        return criarItensHistorico(validacoes).stream()
                 .sorted(Comparator.comparing(ItemHistorico::getDataHora).reversed())
                 .collect(Collectors.toList());
     }
@@ -113,11 +144,30 @@ public class ConsultarHistoricoFuncionarioUseCase {
         return result;
     }
 
-    private ItemHistorico criarItemHistorico(ValidacaoIngresso validacao) {
-        // Buscar informações adicionais do ingresso
-        Ingresso ingresso = compraRepositorio.buscarIngressoPorId(validacao.getIngressoId());
-        CompraId compraId = compraRepositorio.obterCompraIdPorIngresso(validacao.getIngressoId());
+    /**
+     * Completa as validações com os dados dos ingressos, buscados de uma vez para todas.
+     */
+    private List<ItemHistorico> criarItensHistorico(List<ValidacaoIngresso> validacoes) {
+        Set<IngressoId> ids = new HashSet<>();
+        for (ValidacaoIngresso validacao : validacoes) {
+            ids.add(validacao.getIngressoId());
+        }
+        Map<IngressoId, Ingresso> ingressos = new HashMap<>();
+        for (Ingresso ingresso : compraRepositorio.buscarIngressosPorIds(ids)) {
+            ingressos.put(ingresso.getIngressoId(), ingresso);
+        }
+        Map<IngressoId, CompraId> compras = compraRepositorio.obterCompraIdsPorIngressos(ids);
+
+        List<ItemHistorico> itens = new ArrayList<>(validacoes.size());
+        for (ValidacaoIngresso validacao : validacoes) {
+            itens.add(criarItemHistorico(validacao,
+                ingressos.get(validacao.getIngressoId()),
+                compras.get(validacao.getIngressoId())));
+        }
+        return itens;
+    }
 
+    private ItemHistorico criarItemHistorico(ValidacaoIngresso validacao, Ingresso ingresso, CompraId compraId) {
         if (ingresso != null) {
             return new ItemHistorico(
                 validacao.getValidacaoId().getValor(),
@@ -148,6 +198,13 @@ public class ConsultarHistoricoFuncionarioUseCase {
         );
     }
 
+    /**
+     * Página do histórico de validações.
+     *
+     * @param proximaPagina Valor de {@code antesDe} para a próxima página, ou null se esta é a última
+     */
+    public record PaginaHistorico(List<ItemHistorico> itens, Integer proximaPagina) {}
+
     /**
      * Item do histórico de validações.
      */
@@ -0,0 +1,245 @@
+package com.astra.cinema.aplicacao.funcionario;
+
+import com.astra.cinema.aplicacao.servicos.ExecutorTransacao;
+import com.astra.cinema.dominio.comum.AssentoId;
+import com.astra.cinema.dominio.comum.FuncionarioId;
+import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.compra.CompraRepositorio;
+import com.astra.cinema.dominio.compra.Ingresso;
+import com.astra.cinema.dominio.compra.StatusIngresso;
+import com.astra.cinema.dominio.operacao.RemarcacaoSessao;
+import com.astra.cinema.dominio.operacao.RemarcacaoSessaoRepositorio;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
+import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.*;
+
+/**
+ * Caso de uso para remarcação de vários ingressos de uma vez por funcionários.
+ *
+ * Os ingressos são buscados em uma única consulta e as sessões de origem e destino de
+ * todas as remarcações são bloqueadas uma única vez cada, em ordem de id. As trocas de
+ * assento são aplicadas em memória, na ordem recebida (como se fossem remarcadas uma a
+ * uma), e as sessões, os ingressos e o histórico são gravados em lote, em uma única
+ * transação. Uma remarcação recusada não altera nada e não impede as demais.
+ */
+public class RemarcarIngressosEmLoteUseCase {
+    public static final int LIMITE_LOTE = 100;
+
+    private final CompraRepositorio compraRepositorio;
+    private final SessaoRepositorio sessaoRepositorio;
+    private final RemarcacaoSessaoRepositorio remarcacaoSessaoRepositorio;
+    private final ExecutorTransacao executorTransacao;
+
+    public RemarcarIngressosEmLoteUseCase(
+            CompraRepositorio compraRepositorio,
+            SessaoRepositorio sessaoRepositorio,
+            RemarcacaoSessaoRepositorio remarcacaoSessaoRepositorio,
+            ExecutorTransacao executorTransacao) {
+        this.compraRepositorio = exigirNaoNulo(compraRepositorio, "O repositório de compras não pode ser nulo");
+        this.sessaoRepositorio = exigirNaoNulo(sessaoRepositorio, "O repositório de sessões não pode ser nulo");
+        this.remarcacaoSessaoRepositorio = exigirNaoNulo(remarcacaoSessaoRepositorio,
+            "O repositório de remarcações não pode ser nulo");
+        this.executorTransacao = exigirNaoNulo(executorTransacao, "O executor de transações não pode ser nulo");
+    }
+
+    /**
+     * Remarca os ingressos na ordem recebida.
+     *
+     * @param remarcacoes Remarcações pedidas (no máximo {@value #LIMITE_LOTE})
+     * @param funcionarioId ID do funcionário que está fazendo as remarcações
+     * @return Um resultado por remarcação, na mesma ordem
+     */
+    public List<ResultadoItem> executar(List<Remarcacao> remarcacoes, FuncionarioId funcionarioId) {
+        exigirColecaoNaoVazia(remarcacoes, "Informe ao menos uma remarcação");
+        exigirNaoNulo(funcionarioId, "O ID do funcionário não pode ser nulo");
+        if (remarcacoes.size() > LIMITE_LOTE) {
+            throw new IllegalArgumentException("O lote aceita no máximo " + LIMITE_LOTE + " remarcações");
+        }
+
+        return executorTransacao.executar(() -> remarcar(remarcacoes, funcionarioId));
+    }
+
+    private List<ResultadoItem> remarcar(List<Remarcacao> remarcacoes, FuncionarioId funcionarioId) {
+        Set<IngressoId> ids = new LinkedHashSet<>();
+        for (Remarcacao remarcacao : remarcacoes) {
+            if (remarcacao != null && remarcacao.ingressoId() != null) {
+                ids.add(remarcacao.ingressoId());
+            }
+        }
+        Map<IngressoId, Ingresso> ingressos = new HashMap<>();
+        for (Ingresso ingresso : compraRepositorio.buscarIngressosPorIds(ids)) {
+            ingressos.put(ingresso.getIngressoId(), ingresso);
+        }
+
+        // Validações que não dependem dos assentos; as aceitas definem quais sessões bloquear
+        String[] recusas = new String[remarcacoes.size()];
+        Set<IngressoId> vistos = new HashSet<>();
+        for (int i = 0; i < remarcacoes.size(); i++) {
+            recusas[i] = validar(remarcacoes.get(i), ingressos, vistos);
+        }
+
+        Set<SessaoId> novasSessoes = new HashSet<>();
+        for (int i = 0; i < remarcacoes.size(); i++) {
+            if (recusas[i] == null) {
+                novasSessoes.add(remarcacoes.get(i).novaSessaoId());
+            }
+        }
+        Set<SessaoId> existentes = new HashSet<>();
+        for (ResumoSessao resumo : sessaoRepositorio.buscarResumosPorIds(novasSessoes)) {
+            existentes.add(resumo.getSessaoId());
+        }
+
+        Set<SessaoId> sessoes = new LinkedHashSet<>();
+        for (int i = 0; i < remarcacoes.size(); i++) {
+            Remarcacao remarcacao = remarcacoes.get(i);
+            if (recusas[i] == null && !existentes.contains(remarcacao.novaSessaoId())) {
+                recusas[i] = "Nova sessão não encontrada";
+            }
+            if (recusas[i] == null) {
+                sessoes.add(ingressos.get(remarcacao.ingressoId()).getSessaoId());
+                sessoes.add(remarcacao.novaSessaoId());
+            }
+        }
+
+        List<Ingresso> remarcados = new ArrayList<>();
+        List<RemarcacaoSessao> historico = new ArrayList<>();
+        Set<SessaoId> destinosIniciados = new HashSet<>();
+        if (!sessoes.isEmpty()) {
+            Date agora = new Date();
+            sessaoRepositorio.alterarAssentosEmLote(sessoes, porId -> {
+                for (int i = 0; i < remarcacoes.size(); i++) {
+                    if (recusas[i] != null) {
+                        continue;
+                    }
+                    Remarcacao remarcacao = remarcacoes.get(i);
+                    Ingresso ingresso = ingressos.get(remarcacao.ingressoId());
+                    SessaoId sessaoOriginal = ingresso.getSessaoId();
+                    AssentoId assentoOriginal = ingresso.getAssentoId();
+
+                    recusas[i] = moverAssento(ingresso, remarcacao, porId);
+                    if (recusas[i] == null) {
+                        remarcados.add(ingresso);
+                        if (!porId.get(remarcacao.novaSessaoId()).getHorario().after(agora)) {
+                            destinosIniciados.add(remarcacao.novaSessaoId());
+                        }
+                        historico.add(new RemarcacaoSessao(null, ingresso.getIngressoId(),
+                            sessaoOriginal, remarcacao.novaSessaoId(),
+                            assentoOriginal, remarcacao.novoAssentoId(),
+                            funcionarioId, agora, remarcacao.motivoTecnico()));
+                    }
+                }
+            });
+        }
+
+        compraRepositorio.remarcarIngressos(remarcados);
+        remarcacaoSessaoRepositorio.salvarTodas(historico);
+
+        // A expiração periódica não volta a sessões que já começaram: expira agora os
+        // ingressos remarcados para elas
+        for (SessaoId sessaoId : destinosIniciados) {
+            compraRepositorio.expirarIngressosAtivosDaSessao(sessaoId);
+        }
+
+        List<ResultadoItem> resultados = new ArrayList<>(remarcacoes.size());
+        for (int i = 0; i < remarcacoes.size(); i++) {
+            Remarcacao remarcacao = remarcacoes.get(i);
+            IngressoId ingressoId = remarcacao != null ? remarcacao.ingressoId() : null;
+            resultados.add(recusas[i] == null
+                ? new ResultadoItem(ingressoId, true, "Ingresso remarcado com sucesso")
+                : new ResultadoItem(ingressoId, false, recusas[i]));
+        }
+        return resultados;
+    }
+
+    /**
+     * @return O motivo da recusa, ou null se a remarcação pode seguir
+     */
+    private String validar(Remarcacao remarcacao, Map<IngressoId, Ingresso> ingressos, Set<IngressoId> vistos) {
+        if (remarcacao == null || remarcacao.ingressoId() == null) {
+            return "O ID do ingresso não pode ser nulo";
+        }
+        if (remarcacao.novaSessaoId() == null) {
+            return "O ID da nova sessão não pode ser nulo";
+        }
+        if (remarcacao.novoAssentoId() == null) {
+            return "O ID do novo assento não pode ser nulo";
+        }
+        if (remarcacao.motivoTecnico() == null || remarcacao.motivoTecnico().isBlank()) {
+            return "O motivo técnico da remarcação é obrigatório";
+        }
+        if (!vistos.add(remarcacao.ingressoId())) {
+            return "O ingresso aparece mais de uma vez no lote";
+        }
+
+        Ingresso ingresso = ingressos.get(remarcacao.ingressoId());
+        if (ingresso == null) {
+            return "Ingresso não encontrado";
+        }
+        if (ingresso.getStatus() == StatusIngresso.EXPIRADO) {
+            return "Não é possível remarcar um ingresso expirado. A sessão passou sem validação.";
+        }
+        if (ingresso.getStatus() == StatusIngresso.CANCELADO) {
+            return "Não é possível remarcar um ingresso cancelado.";
+        }
+        return null;
+    }
+
+    /**
+     * Libera o assento antigo e ocupa o novo, como na remarcação individual. Se o novo
+     * assento não puder ser ocupado, o antigo volta a ser ocupado.
+     *
+     * @return O motivo da recusa, ou null se o assento foi trocado
+     */
+    private String moverAssento(Ingresso ingresso, Remarcacao remarcacao, Map<SessaoId, Sessao> sessoes) {
+        Sessao origem = sessoes.get(ingresso.getSessaoId());
+        Sessao destino = sessoes.get(remarcacao.novaSessaoId());
+        AssentoId assentoAntigo = ingresso.getAssentoId();
+
+        try {
+            origem.liberarAssento(assentoAntigo);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        try {
+            if (!destino.assentoDisponivel(remarcacao.novoAssentoId())) {
+                origem.reservarAssento(assentoAntigo);
+                return "O assento não está disponível na nova sessão";
+            }
+            destino.reservarAssento(remarcacao.novoAssentoId());
+        } catch (RuntimeException e) {
+            // Assento inexistente na sala de destino
+            origem.reservarAssento(assentoAntigo);
+            return e.getMessage();
+        }
+
+        ingresso.remarcarSessao(remarcacao.novaSessaoId(), remarcacao.novoAssentoId());
+        return null;
+    }
+
+    /**
+     * Remarcação pedida para um ingresso.
+     */
+    public record Remarcacao(
+        IngressoId ingressoId,
+        SessaoId novaSessaoId,
+        AssentoId novoAssentoId,
+        String motivoTecnico
+    ) {}
+
+    /**
+     * Resultado de uma remarcação do lote.
+     */
+    public record ResultadoItem(IngressoId ingressoId, boolean sucesso, String mensagem) {}
+}
@@ -1,13 +1,15 @@
 package com.astra.cinema.aplicacao.funcionario;
 
+import com.astra.cinema.aplicacao.ingresso.IndiceValidacaoIngressos;
 import com.astra.cinema.aplicacao.ingresso.ValidarIngressoUseCase;
 import com.astra.cinema.dominio.comum.FuncionarioId;
-import com.astra.cinema.dominio.compra.CompraRepositorio;
+import com.astra.cinema.dominio.compra.Ingresso;
 import com.astra.cinema.dominio.operacao.ValidacaoIngresso;
-import com.astra.cinema.dominio.operacao.ValidacaoIngressoRepositorio;
-import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import static com.astra.cinema.dominio.comum.ValidacaoDominio.*;
 
@@ -17,23 +19,21 @@ import static com.astra.cinema.dominio.comum.ValidacaoDominio.*;
  */
 public class ValidarIngressoFuncionarioUseCase {
     private final ValidarIngressoUseCase validarIngressoUseCase;
-    private final ValidacaoIngressoRepositorio validacaoIngressoRepositorio;
-    private final CompraRepositorio compraRepositorio;
+    private final IndiceValidacaoIngressos indiceValidacao;
 
     public ValidarIngressoFuncionarioUseCase(
-            CompraRepositorio compraRepositorio,
-            SessaoRepositorio sessaoRepositorio,
-            ValidacaoIngressoRepositorio validacaoIngressoRepositorio) {
-        this.compraRepositorio = exigirNaoNulo(compraRepositorio, "O repositório de compras não pode ser nulo");
-        this.validarIngressoUseCase = new ValidarIngressoUseCase(compraRepositorio, sessaoRepositorio);
-        this.validacaoIngressoRepositorio = exigirNaoNulo(validacaoIngressoRepositorio,
-            "O repositório de validações não pode ser nulo");
+            ValidarIngressoUseCase validarIngressoUseCase,
+            IndiceValidacaoIngressos indiceValidacao) {
+        this.validarIngressoUseCase = exigirNaoNulo(validarIngressoUseCase,
+            "O caso de uso de validação não pode ser nulo");
+        this.indiceValidacao = exigirNaoNulo(indiceValidacao, "O índice de validação não pode ser nulo");
     }
 
     /**
      * Valida um ingresso e registra a operação no histórico.
      * Se o ingresso faz parte de uma compra com múltiplos ingressos,
      * TODOS os ingressos da compra serão validados e registrados no histórico.
+     * O histórico é gravado em lote pelo índice de validação, logo após a resposta.
      *
      * @param qrCode QR Code do ingresso
      * @param funcionarioId ID do funcionário que está validando
@@ -48,57 +48,28 @@ public class ValidarIngressoFuncionarioUseCase {
 
         // Registrar a validação no histórico para TODOS os ingressos da compra
         if (resultado.getIngresso() != null) {
-            // Buscar a compra completa com todos os ingressos
-            com.astra.cinema.dominio.compra.Compra compra = compraRepositorio.buscarCompraPorQrCode(qrCode);
-
-            System.out.println("=== DEBUG ValidarIngressoFuncionarioUseCase ===");
-            System.out.println("QR Code: " + qrCode);
-            System.out.println("Compra encontrada: " + (compra != null));
-
-            if (compra != null) {
-                System.out.println("Quantidade de ingressos na compra: " + (compra.getIngressos() != null ? compra.getIngressos().size() : "null"));
-                if (compra.getIngressos() != null) {
-                    for (com.astra.cinema.dominio.compra.Ingresso ing : compra.getIngressos()) {
-                        System.out.println("  - Ingresso ID: " + ing.getIngressoId().getId() + ", Assento: " + ing.getAssentoId().getValor());
-                    }
-                }
-            }
-            System.out.println("===========================================");
-
-            if (compra != null && compra.getIngressos() != null) {
-                // Validar e registrar TODOS os ingressos da compra no histórico
-                for (com.astra.cinema.dominio.compra.Ingresso ingresso : compra.getIngressos()) {
-                    ValidacaoIngresso validacao = new ValidacaoIngresso(
-                        null, // ID será gerado pelo banco
-                        ingresso.getIngressoId(),
-                        funcionarioId,
-                        new Date(),
-                        resultado.isValido(),
-                        resultado.getMensagem()
-                    );
-                    validacaoIngressoRepositorio.salvar(validacao);
-                    System.out.println("Salvou validação para ingresso: " + ingresso.getAssentoId().getValor());
-                }
-            } else {
-                // Fallback: se não conseguir buscar a compra, salva apenas o ingresso individual
-                System.out.println("FALLBACK: Salvando apenas 1 ingresso");
-                ValidacaoIngresso validacao = new ValidacaoIngresso(
-                    null,
-                    resultado.getIngresso().getIngressoId(),
+            // Mesma data/hora para todos: o histórico agrupa a compra por ela
+            Date dataHora = new Date();
+            List<ValidacaoIngresso> validacoes = new ArrayList<>();
+            for (Ingresso ingresso : resultado.getIngressosCompra()) {
+                validacoes.add(new ValidacaoIngresso(
+                    null, // ID será gerado pelo banco
+                    ingresso.getIngressoId(),
                     funcionarioId,
-                    new Date(),
+                    dataHora,
                     resultado.isValido(),
                     resultado.getMensagem()
-                );
-                validacaoIngressoRepositorio.salvar(validacao);
+                ));
             }
+            indiceValidacao.registrarHistorico(validacoes);
         }
 
         return new ResultadoValidacaoFuncionario(
             resultado.isValido(),
             resultado.getMensagem(),
             resultado.getIngresso(),
-            resultado.getSessao()
+            resultado.getSessao(),
+            resultado.getIngressosCompra()
         );
     }
 
@@ -108,16 +79,19 @@ public class ValidarIngressoFuncionarioUseCase {
     public static class ResultadoValidacaoFuncionario {
         private final boolean valido;
         private final String mensagem;
-        private final com.astra.cinema.dominio.compra.Ingresso ingresso;
-        private final com.astra.cinema.dominio.sessao.Sessao sessao;
+        private final Ingresso ingresso;
+        private final ResumoSessao sessao;
+        private final List<Ingresso> ingressosCompra;
 
         public ResultadoValidacaoFuncionario(boolean valido, String mensagem,
-                                            com.astra.cinema.dominio.compra.Ingresso ingresso,
-                                            com.astra.cinema.dominio.sessao.Sessao sessao) {
+                                            Ingresso ingresso,
+                                            ResumoSessao sessao,
+                                            List<Ingresso> ingressosCompra) {
             this.valido = valido;
             this.mensagem = mensagem;
             this.ingresso = ingresso;
             this.sessao = sessao;
+            this.ingressosCompra = ingressosCompra;
         }
 
         public boolean isValido() {
@@ -128,12 +102,16 @@ public class ValidarIngressoFuncionarioUseCase {
             return mensagem;
         }
 
-        public com.astra.cinema.dominio.compra.Ingresso getIngresso() {
+        public Ingresso getIngresso() {
             return ingresso;
         }
 
-        public com.astra.cinema.dominio.sessao.Sessao getSessao() {
+        public ResumoSessao getSessao() {
             return sessao;
         }
+
+        public List<Ingresso> getIngressosCompra() {
+            return ingressosCompra;
+        }
     }
 }
@@ -0,0 +1,184 @@
+package com.astra.cinema.aplicacao.funcionario;
+
+import com.astra.cinema.aplicacao.ingresso.ValidarIngressoUseCase;
+import com.astra.cinema.aplicacao.servicos.ExecutorTransacao;
+import com.astra.cinema.dominio.comum.CompraId;
+import com.astra.cinema.dominio.comum.FuncionarioId;
+import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.compra.CompraRepositorio;
+import com.astra.cinema.dominio.compra.Ingresso;
+import com.astra.cinema.dominio.compra.StatusIngresso;
+import com.astra.cinema.dominio.operacao.ValidacaoIngresso;
+import com.astra.cinema.dominio.operacao.ValidacaoIngressoRepositorio;
+import com.astra.cinema.dominio.validacao.ValidadorIngresso;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.astra.cinema.aplicacao.ingresso.ValidarIngressoUseCase.*;
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.*;
+
+/**
+ * Caso de uso para validação em lote de ingressos (leituras acumuladas pela catraca).
+ *
+ * Os códigos das sessões do dia são validados pelo índice em memória, como na validação
+ * individual ({@link ValidarIngressoUseCase#validarNoIndice(String)}). Os ingressos dos demais
+ * códigos são buscados em uma única consulta e passam pelas mesmas regras, na ordem recebida;
+ * os ATIVOS passam ainda pela cadeia de {@link ValidadorIngresso}, que registra a primeira
+ * validação. As mudanças de status desses (um único UPDATE) e o histórico de todos os códigos
+ * (inserido em lote) são gravados em uma única transação.
+ */
+public class ValidarIngressosEmLoteUseCase {
+    public static final int LIMITE_LOTE = 100;
+
+    private final CompraRepositorio compraRepositorio;
+    private final ValidacaoIngressoRepositorio validacaoIngressoRepositorio;
+    private final ValidarIngressoUseCase validarIngressoUseCase;
+    private final ExecutorTransacao executorTransacao;
+
+    public ValidarIngressosEmLoteUseCase(
+            CompraRepositorio compraRepositorio,
+            ValidacaoIngressoRepositorio validacaoIngressoRepositorio,
+            ValidarIngressoUseCase validarIngressoUseCase,
+            ExecutorTransacao executorTransacao) {
+        this.compraRepositorio = exigirNaoNulo(compraRepositorio, "O repositório de compras não pode ser nulo");
+        this.validacaoIngressoRepositorio = exigirNaoNulo(validacaoIngressoRepositorio,
+            "O repositório de validações não pode ser nulo");
+        this.validarIngressoUseCase = exigirNaoNulo(validarIngressoUseCase,
+            "O caso de uso de validação não pode ser nulo");
+        this.executorTransacao = exigirNaoNulo(executorTransacao, "O executor de transações não pode ser nulo");
+    }
+
+    /**
+     * Valida os QR Codes na ordem recebida e registra o histórico de todos.
+     * Um código repetido no lote é tratado como uma segunda leitura.
+     *
+     * @param qrCodes QR Codes lidos (no máximo {@value #LIMITE_LOTE})
+     * @param funcionarioId ID do funcionário responsável pela catraca
+     * @return Um resultado por código, na mesma ordem
+     */
+    public List<ResultadoItem> executar(List<String> qrCodes, FuncionarioId funcionarioId) {
+        exigirColecaoNaoVazia(qrCodes, "Informe ao menos um QR Code");
+        exigirNaoNulo(funcionarioId, "O ID do funcionário não pode ser nulo");
+        if (qrCodes.size() > LIMITE_LOTE) {
+            throw new IllegalArgumentException("O lote aceita no máximo " + LIMITE_LOTE + " QR Codes");
+        }
+
+        // Fora da transação, como na validação individual: o índice grava os status depois
+        List<ResultadoItem> resultados = new ArrayList<>(qrCodes.size());
+        for (String qrCode : qrCodes) {
+            ValidarIngressoUseCase.ResultadoValidacao resultado = qrCode != null
+                ? validarIngressoUseCase.validarNoIndice(qrCode)
+                : null;
+            resultados.add(resultado != null
+                ? new ResultadoItem(qrCode, resultado.isValido(), resultado.getMensagem(),
+                    resultado.getIngresso(), resultado.getIngressosCompra())
+                : null);
+        }
+
+        return executorTransacao.executar(() -> validar(qrCodes, resultados, funcionarioId));
+    }
+
+    /**
+     * Valida pelo banco os códigos sem resultado do índice e grava o histórico de todos.
+     */
+    private List<ResultadoItem> validar(List<String> qrCodes, List<ResultadoItem> resultados,
+                                        FuncionarioId funcionarioId) {
+        List<String> foraDoIndice = new ArrayList<>();
+        for (int i = 0; i < qrCodes.size(); i++) {
+            if (resultados.get(i) == null) {
+                foraDoIndice.add(qrCodes.get(i));
+            }
+        }
+
+        // Uma consulta traz os ingressos lidos e os demais ingressos das mesmas compras
+        Map<CompraId, List<Ingresso>> compras = foraDoIndice.isEmpty()
+            ? Map.of()
+            : compraRepositorio.buscarComprasPorQrCodes(foraDoIndice);
+        Map<String, Ingresso> porQrCode = new HashMap<>();
+        Map<IngressoId, List<Ingresso>> compraDoIngresso = new HashMap<>();
+        for (List<Ingresso> ingressosCompra : compras.values()) {
+            for (Ingresso ingresso : ingressosCompra) {
+                if (ingresso.getQrCode() != null) {
+                    porQrCode.put(ingresso.getQrCode(), ingresso);
+                }
+                compraDoIngresso.put(ingresso.getIngressoId(), ingressosCompra);
+            }
+        }
+
+        Date dataHora = new Date();
+        Set<IngressoId> validados = new LinkedHashSet<>();
+        List<ValidacaoIngresso> historico = new ArrayList<>();
+
+        for (int i = 0; i < qrCodes.size(); i++) {
+            ResultadoItem resultado = resultados.get(i);
+            if (resultado == null) {
+                String qrCode = qrCodes.get(i);
+                Ingresso ingresso = qrCode != null ? porQrCode.get(qrCode.trim().toUpperCase()) : null;
+                resultado = ingresso == null
+                    ? new ResultadoItem(qrCode, false, MENSAGEM_NAO_ENCONTRADO, null, List.of())
+                    : validarIngresso(qrCode, ingresso, compraDoIngresso.get(ingresso.getIngressoId()), validados);
+                resultados.set(i, resultado);
+            }
+
+            // Histórico para TODOS os ingressos da compra, como na validação individual
+            for (Ingresso ing : resultado.ingressosCompra()) {
+                historico.add(new ValidacaoIngresso(null, ing.getIngressoId(), funcionarioId, dataHora,
+                    resultado.valido(), resultado.mensagem()));
+            }
+        }
+
+        compraRepositorio.atualizarStatusIngressos(validados, StatusIngresso.ATIVO, StatusIngresso.VALIDADO);
+        validacaoIngressoRepositorio.salvarTodas(historico);
+        return resultados;
+    }
+
+    private ResultadoItem validarIngresso(String qrCode, Ingresso ingresso, List<Ingresso> ingressosCompra,
+                                          Set<IngressoId> validados) {
+        switch (ingresso.getStatus()) {
+            case CANCELADO:
+                return new ResultadoItem(qrCode, false, MENSAGEM_CANCELADO, ingresso, ingressosCompra);
+            case EXPIRADO:
+                return new ResultadoItem(qrCode, false, MENSAGEM_EXPIRADO, ingresso, ingressosCompra);
+            case VALIDADO:
+                return new ResultadoItem(qrCode, true, MENSAGEM_JA_VALIDADO, ingresso, ingressosCompra);
+            default:
+                break;
+        }
+
+        List<Ingresso> ativos = ingressosCompra.stream()
+            .filter(ing -> ing.getStatus() == StatusIngresso.ATIVO)
+            .toList();
+        ValidadorIngresso.ResultadoValidacao verificacao =
+            validarIngressoUseCase.registrarPrimeiraValidacao(ingresso, ativos);
+        if (!verificacao.isValido()) {
+            return new ResultadoItem(qrCode, false, verificacao.getMensagem(), ingresso, ingressosCompra);
+        }
+
+        // ATIVO -> VALIDADO para TODOS os ingressos ativos da compra; a gravação é feita no fim do lote
+        for (Ingresso ing : ativos) {
+            ing.setStatus(StatusIngresso.VALIDADO);
+            validados.add(ing.getIngressoId());
+        }
+        return new ResultadoItem(qrCode, true, MENSAGEM_VALIDADO, ingresso, ingressosCompra);
+    }
+
+    /**
+     * Resultado da validação de um código do lote.
+     *
+     * @param ingresso Ingresso lido, ou null se o código não foi encontrado
+     * @param ingressosCompra Ingressos da mesma compra, incluindo o lido
+     */
+    public record ResultadoItem(
+        String qrCode,
+        boolean valido,
+        String mensagem,
+        Ingresso ingresso,
+        List<Ingresso> ingressosCompra
+    ) {}
+}
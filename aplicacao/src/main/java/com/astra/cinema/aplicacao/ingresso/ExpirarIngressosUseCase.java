@@ -2,29 +2,45 @@ package com.astra.cinema.aplicacao.ingresso;
 
 import com.astra.cinema.dominio.comum.SessaoId;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
-import com.astra.cinema.dominio.compra.Ingresso;
-import com.astra.cinema.dominio.compra.StatusIngresso;
-import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
-import com.astra.cinema.dominio.sessao.StatusSessao;
 
 import java.util.Date;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.LongSupplier;
 
 import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
 
 /**
  * Caso de uso: Expirar ingressos de sessões concluídas
  * Responsabilidade: Identificar e expirar ingressos ATIVOS de sessões que já passaram
+ *
+ * A expiração é feita no banco, em um único UPDATE por chamada. A expiração geral guarda
+ * até que horário as sessões já foram tratadas e, a cada execução, só considera as sessões
+ * que começaram depois disso. A marca nunca passa do instante atual, então uma sessão
+ * antecipada para um horário ainda futuro continua sendo coberta. Os casos que a marca não
+ * cobre são tratados na própria gravação: a sessão antecipada para um horário que já passou
+ * ({@link com.astra.cinema.aplicacao.sessao.ModificarSessaoUseCase}) e o ingresso remarcado
+ * para uma sessão que já começou (remarcação individual e em lote).
  */
 public class ExpirarIngressosUseCase {
     private final CompraRepositorio compraRepositorio;
     private final SessaoRepositorio sessaoRepositorio;
+    private final LongSupplier relogio;
+
+    /**
+     * Sessões que começaram até este instante já tiveram os ingressos expirados
+     */
+    private long sessoesExpiradasAte = 0;
 
     public ExpirarIngressosUseCase(CompraRepositorio compraRepositorio, SessaoRepositorio sessaoRepositorio) {
+        this(compraRepositorio, sessaoRepositorio, System::currentTimeMillis);
+    }
+
+    public ExpirarIngressosUseCase(CompraRepositorio compraRepositorio, SessaoRepositorio sessaoRepositorio,
+                                   LongSupplier relogio) {
         this.compraRepositorio = exigirNaoNulo(compraRepositorio, "O repositório de compras não pode ser nulo");
         this.sessaoRepositorio = exigirNaoNulo(sessaoRepositorio, "O repositório de sessões não pode ser nulo");
+        this.relogio = exigirNaoNulo(relogio, "O relógio não pode ser nulo");
     }
 
     /**
@@ -35,57 +51,31 @@ public class ExpirarIngressosUseCase {
     public int executarParaSessao(SessaoId sessaoId) {
         exigirNaoNulo(sessaoId, "O ID da sessão não pode ser nulo");
 
-        Sessao sessao = sessaoRepositorio.obterPorId(sessaoId);
+        ResumoSessao sessao = sessaoRepositorio.obterResumo(sessaoId);
         if (sessao == null) {
             throw new IllegalArgumentException("Sessão não encontrada");
         }
 
         // Verifica se a sessão já passou
-        Date agora = new Date();
-        if (sessao.getHorario().after(agora)) {
+        if (sessao.getHorario().getTime() > relogio.getAsLong()) {
             return 0; // Sessão ainda não aconteceu
         }
 
-        // Busca todos os ingressos ativos
-        List<Ingresso> ingressosAtivos = compraRepositorio.buscarIngressosAtivos();
-
-        // Filtra ingressos ativos da sessão
-        List<Ingresso> ingressosParaExpirar = ingressosAtivos.stream()
-            .filter(ing -> ing.getSessaoId().equals(sessaoId))
-            .filter(ing -> ing.getStatus() == StatusIngresso.ATIVO)
-            .collect(Collectors.toList());
-
-        // Expira cada ingresso
-        for (Ingresso ingresso : ingressosParaExpirar) {
-            ingresso.expirar();
-            compraRepositorio.atualizarIngresso(ingresso);
-        }
-
-        return ingressosParaExpirar.size();
+        return compraRepositorio.expirarIngressosAtivosDaSessao(sessaoId);
     }
 
     /**
-     * Expira ingressos ativos de todas as sessões que já passaram
+     * Expira ingressos ativos de todas as sessões que já passaram desde a última execução
+     * (na primeira, de todas as sessões passadas)
      * @return quantidade total de ingressos expirados
      */
-    public int executarParaTodasSessoes() {
-        Date agora = new Date();
-        int totalExpirados = 0;
-
-        // Busca todas as sessões
-        List<Sessao> todasSessoes = sessaoRepositorio.listarTodas();
-
-        // Filtra sessões que já passaram e não estão canceladas
-        List<Sessao> sessoesPassadas = todasSessoes.stream()
-            .filter(s -> s.getHorario().before(agora))
-            .filter(s -> s.getStatus() != StatusSessao.CANCELADA)
-            .collect(Collectors.toList());
-
-        // Expira ingressos de cada sessão
-        for (Sessao sessao : sessoesPassadas) {
-            totalExpirados += executarParaSessao(sessao.getSessaoId());
-        }
+    public synchronized int executarParaTodasSessoes() {
+        long agora = relogio.getAsLong();
+        int totalExpirados = compraRepositorio.expirarIngressosAtivosDeSessoesIniciadas(
+            new Date(sessoesExpiradasAte), new Date(agora));
 
+        // Só avança depois do UPDATE confirmado: se falhar, a próxima execução cobre o mesmo intervalo
+        sessoesExpiradasAte = agora;
         return totalExpirados;
     }
 
@@ -0,0 +1,402 @@
+package com.astra.cinema.aplicacao.ingresso;
+
+import com.astra.cinema.dominio.comum.AssentoId;
+import com.astra.cinema.dominio.comum.CompraId;
+import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.compra.CompraRepositorio;
+import com.astra.cinema.dominio.compra.Ingresso;
+import com.astra.cinema.dominio.compra.StatusIngresso;
+import com.astra.cinema.dominio.compra.TipoIngresso;
+import com.astra.cinema.dominio.eventos.IngressosAlteradosEvento;
+import com.astra.cinema.dominio.eventos.ObservadorEvento;
+import com.astra.cinema.dominio.operacao.ValidacaoIngresso;
+import com.astra.cinema.dominio.operacao.ValidacaoIngressoRepositorio;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
+import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+import com.astra.cinema.dominio.sessao.StatusSessao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Índice em memória dos ingressos das sessões do dia, para validar na porta sem ir ao banco.
+ *
+ * Cada QR Code aponta para um registro compacto (ingresso, sessão, compra, assento, status
+ * e os ids dos ingressos da mesma compra na mesma sessão). Ingressos e sessões ficam em
+ * {@link MapaInt} pelo id. {@link #validar(String)} faz a leitura e a troca ATIVO → VALIDADO
+ * sob a mesma trava; a gravação no banco e o histórico ficam pendentes e são persistidos em
+ * lote por {@link #processar()}.
+ *
+ * Vendas, cancelamentos e remarcações chegam por {@link IngressosAlteradosEvento} e só marcam
+ * a sessão como pendente; {@link #processar()} relê as sessões pendentes. Na virada do dia
+ * (antes da primeira sessão) o índice é recarregado do zero. Códigos fora do índice
+ * retornam null e devem seguir pela consulta ao banco.
+ */
+public class IndiceValidacaoIngressos implements ObservadorEvento<IngressosAlteradosEvento> {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceValidacaoIngressos.class);
+
+    /**
+     * Tentativas de gravar um lote do histórico antes de descartá-lo. As validações não têm
+     * limite: descartá-las deixaria o ingresso ATIVO no banco e ele entraria de novo.
+     */
+    static final int LIMITE_TENTATIVAS_HISTORICO = 10;
+
+    /**
+     * Ingresso visto pela porta. O status só muda sob a trava do índice.
+     */
+    private static final class Registro {
+        private final int ingressoId;
+        private final int sessaoId;
+        private final int compraId;
+        private final String assento;
+        private final TipoIngresso tipo;
+        private final String qrCode;
+        private final int[] irmaos;
+        private StatusIngresso status;
+
+        private Registro(Ingresso ingresso, int compraId, int[] irmaos) {
+            this.ingressoId = ingresso.getIngressoId().getId();
+            this.sessaoId = ingresso.getSessaoId().getId();
+            this.compraId = compraId;
+            this.assento = ingresso.getAssentoId().getValor();
+            this.tipo = ingresso.getTipo();
+            this.qrCode = ingresso.getQrCode();
+            this.irmaos = irmaos;
+            this.status = ingresso.getStatus();
+        }
+
+        private Ingresso paraIngresso() {
+            return new Ingresso(new IngressoId(ingressoId), new SessaoId(sessaoId), new AssentoId(assento),
+                    tipo, status, qrCode);
+        }
+    }
+
+    /**
+     * Resultado de uma leitura no índice
+     *
+     * @param statusAnterior Status do ingresso antes da leitura
+     * @param ingresso Ingresso já com o status após a leitura
+     * @param sessao Sessão do ingresso
+     * @param compraId Compra do ingresso
+     * @param ingressosCompra Ingressos da mesma compra na mesma sessão, incluindo o lido
+     * @param validados Ingressos que esta leitura passou para VALIDADO, como estavam antes (ATIVOS)
+     */
+    public record Leitura(StatusIngresso statusAnterior, Ingresso ingresso, ResumoSessao sessao,
+                          CompraId compraId, List<Ingresso> ingressosCompra, List<Ingresso> validados) {
+    }
+
+    private final CompraRepositorio compraRepositorio;
+    private final SessaoRepositorio sessaoRepositorio;
+    private final ValidacaoIngressoRepositorio validacaoIngressoRepositorio;
+    private final LongSupplier relogio;
+    private final ZoneId fuso;
+    private final Set<SessaoId> pendentes = ConcurrentHashMap.newKeySet();
+    private final Object processamento = new Object();
+    // Marca a thread que grava as validações do próprio índice (ver gravarPendentes)
+    private final ThreadLocal<Boolean> gravandoValidacoes = ThreadLocal.withInitial(() -> false);
+
+    // Protegidos pela trava do índice (this)
+    private final Map<String, Registro> porQrCode = new HashMap<>();
+    private final MapaInt<Registro> porIngresso = new MapaInt<>();
+    private final MapaInt<ResumoSessao> sessoes = new MapaInt<>();
+    private final MapaInt<int[]> ingressosPorSessao = new MapaInt<>();
+    private final MapaInt<IngressoId> validacoesPendentes = new MapaInt<>();
+    private final List<ValidacaoIngresso> historicoPendente = new ArrayList<>();
+
+    // Só usado pela thread de processamento
+    private LocalDate diaCarregado;
+    private int falhasValidacoes;
+    private int falhasHistorico;
+
+    public IndiceValidacaoIngressos(CompraRepositorio compraRepositorio, SessaoRepositorio sessaoRepositorio,
+                                    ValidacaoIngressoRepositorio validacaoIngressoRepositorio) {
+        this(compraRepositorio, sessaoRepositorio, validacaoIngressoRepositorio,
+                System::currentTimeMillis, ZoneId.systemDefault());
+    }
+
+    public IndiceValidacaoIngressos(CompraRepositorio compraRepositorio, SessaoRepositorio sessaoRepositorio,
+                                    ValidacaoIngressoRepositorio validacaoIngressoRepositorio,
+                                    LongSupplier relogio, ZoneId fuso) {
+        if (compraRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de compras não pode ser nulo");
+        }
+        if (sessaoRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de sessões não pode ser nulo");
+        }
+        if (validacaoIngressoRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de validações não pode ser nulo");
+        }
+        if (relogio == null || fuso == null) {
+            throw new IllegalArgumentException("O relógio e o fuso não podem ser nulos");
+        }
+        this.compraRepositorio = compraRepositorio;
+        this.sessaoRepositorio = sessaoRepositorio;
+        this.validacaoIngressoRepositorio = validacaoIngressoRepositorio;
+        this.relogio = relogio;
+        this.fuso = fuso;
+    }
+
+    /**
+     * Lê o ingresso pelo QR Code; se estiver ATIVO, marca ele e os demais ATIVOS da mesma
+     * compra na sessão como VALIDADO. A gravação no banco fica pendente; a primeira validação
+     * de {@link Leitura#validados()} deve ser registrada pelo chamador antes de liberar a entrada.
+     *
+     * @return A leitura, ou null se o código não está no índice
+     */
+    public synchronized Leitura validar(String qrCode) {
+        if (qrCode == null) {
+            return null;
+        }
+        Registro registro = porQrCode.get(qrCode.trim().toUpperCase());
+        if (registro == null) {
+            return null;
+        }
+        ResumoSessao sessao = sessoes.obter(registro.sessaoId);
+        if (sessao == null) {
+            return null;
+        }
+
+        StatusIngresso statusAnterior = registro.status;
+        List<Ingresso> ingressosCompra = new ArrayList<>(registro.irmaos.length);
+        List<Ingresso> validados = new ArrayList<>();
+        for (int irmaoId : registro.irmaos) {
+            Registro irmao = porIngresso.obter(irmaoId);
+            if (irmao == null) {
+                continue;
+            }
+            if (statusAnterior == StatusIngresso.ATIVO && irmao.status == StatusIngresso.ATIVO) {
+                validados.add(irmao.paraIngresso());
+                irmao.status = StatusIngresso.VALIDADO;
+                validacoesPendentes.guardar(irmao.ingressoId, new IngressoId(irmao.ingressoId));
+            }
+            ingressosCompra.add(irmao.paraIngresso());
+        }
+        return new Leitura(statusAnterior, registro.paraIngresso(), sessao,
+                new CompraId(registro.compraId), ingressosCompra, validados);
+    }
+
+    /**
+     * Enfileira o histórico de validações; é gravado em lote por {@link #processar()}.
+     */
+    public synchronized void registrarHistorico(Collection<ValidacaoIngresso> validacoes) {
+        historicoPendente.addAll(validacoes);
+    }
+
+    @Override
+    public void atualizar(IngressosAlteradosEvento evento) {
+        // O evento da própria gravação de status não traz nada que o índice já não tenha
+        if (gravandoValidacoes.get()) {
+            return;
+        }
+        pendentes.addAll(evento.getSessoes());
+    }
+
+    @Override
+    public Class<IngressosAlteradosEvento> getTipoEvento() {
+        return IngressosAlteradosEvento.class;
+    }
+
+    /**
+     * Grava as validações pendentes, faz a virada do dia e relê as sessões alteradas.
+     * Deve ser chamado periodicamente.
+     *
+     * @return Quantidade de sessões recarregadas
+     */
+    public int processar() {
+        synchronized (processamento) {
+            gravarPendentes();
+
+            LocalDate hoje = hoje();
+            if (!hoje.equals(diaCarregado)) {
+                return carregarDia(hoje);
+            }
+
+            int recarregadas = 0;
+            Iterator<SessaoId> iterador = pendentes.iterator();
+            while (iterador.hasNext()) {
+                SessaoId sessaoId = iterador.next();
+                iterador.remove();
+                recarregarSessao(sessaoId, hoje);
+                recarregadas++;
+            }
+            return recarregadas;
+        }
+    }
+
+    private void gravarPendentes() {
+        List<IngressoId> validados = new ArrayList<>();
+        List<ValidacaoIngresso> historico;
+        synchronized (this) {
+            validacoesPendentes.paraCada((id, ingressoId) -> validados.add(ingressoId));
+            historico = new ArrayList<>(historicoPendente);
+            historicoPendente.clear();
+        }
+
+        if (!validados.isEmpty()) {
+            try {
+                // O repositório avisa a alteração (síncrono, nesta thread); sem a marca, o índice
+                // releria as sessões inteiras só para ver as próprias validações
+                gravandoValidacoes.set(true);
+                try {
+                    compraRepositorio.atualizarStatusIngressos(validados, StatusIngresso.ATIVO, StatusIngresso.VALIDADO);
+                } finally {
+                    gravandoValidacoes.set(false);
+                }
+                synchronized (this) {
+                    for (IngressoId ingressoId : validados) {
+                        validacoesPendentes.remover(ingressoId.getId());
+                    }
+                }
+                falhasValidacoes = 0;
+            } catch (RuntimeException e) {
+                // Continuam pendentes e são regravados na próxima chamada
+                falhasValidacoes++;
+                log.error("Erro ao gravar {} validações de ingressos (tentativa {}); continuam pendentes",
+                        validados.size(), falhasValidacoes, e);
+            }
+        }
+
+        if (!historico.isEmpty()) {
+            try {
+                validacaoIngressoRepositorio.salvarTodas(historico);
+                falhasHistorico = 0;
+            } catch (RuntimeException e) {
+                falhasHistorico++;
+                if (falhasHistorico >= LIMITE_TENTATIVAS_HISTORICO) {
+                    log.error("Histórico de {} validações descartado após {} tentativas de gravação",
+                            historico.size(), falhasHistorico, e);
+                    falhasHistorico = 0;
+                } else {
+                    log.error("Erro ao gravar histórico de {} validações (tentativa {} de {})",
+                            historico.size(), falhasHistorico, LIMITE_TENTATIVAS_HISTORICO, e);
+                    synchronized (this) {
+                        historicoPendente.addAll(0, historico);
+                    }
+                }
+            }
+        }
+    }
+
+    private int carregarDia(LocalDate dia) {
+        // Eventos que chegarem durante a carga continuam pendentes
+        pendentes.clear();
+
+        Date inicio = Date.from(dia.atStartOfDay(fuso).toInstant());
+        Date fim = Date.from(dia.plusDays(1).atStartOfDay(fuso).toInstant());
+        List<ResumoSessao> resumos = new ArrayList<>();
+        for (ResumoSessao resumo : sessaoRepositorio.buscarResumosPorPeriodo(inicio, fim)) {
+            if (resumo.getStatus() != StatusSessao.CANCELADA) {
+                resumos.add(resumo);
+            }
+        }
+        Map<CompraId, List<Ingresso>> ingressos = resumos.isEmpty()
+                ? Map.of()
+                : compraRepositorio.buscarIngressosPorSessoes(resumos.stream().map(ResumoSessao::getSessaoId).toList());
+
+        synchronized (this) {
+            porQrCode.clear();
+            porIngresso.limpar();
+            sessoes.limpar();
+            ingressosPorSessao.limpar();
+            for (ResumoSessao resumo : resumos) {
+                sessoes.guardar(resumo.getSessaoId().getId(), resumo);
+            }
+            indexar(ingressos);
+        }
+        diaCarregado = dia;
+        return resumos.size();
+    }
+
+    private void recarregarSessao(SessaoId sessaoId, LocalDate hoje) {
+        ResumoSessao resumo = sessaoRepositorio.obterResumo(sessaoId);
+        boolean indexada = resumo != null
+                && resumo.getStatus() != StatusSessao.CANCELADA
+                && dia(resumo.getHorario()).equals(hoje);
+        Map<CompraId, List<Ingresso>> ingressos = indexada
+                ? compraRepositorio.buscarIngressosPorSessoes(List.of(sessaoId))
+                : Map.of();
+
+        synchronized (this) {
+            removerSessao(sessaoId.getId());
+            if (indexada) {
+                sessoes.guardar(sessaoId.getId(), resumo);
+                indexar(ingressos);
+            }
+        }
+    }
+
+    private void removerSessao(int sessaoId) {
+        sessoes.remover(sessaoId);
+        int[] ids = ingressosPorSessao.remover(sessaoId);
+        if (ids == null) {
+            return;
+        }
+        for (int ingressoId : ids) {
+            Registro registro = porIngresso.obter(ingressoId);
+            // Um ingresso remarcado pode já estar registrado na nova sessão
+            if (registro != null && registro.sessaoId == sessaoId) {
+                porIngresso.remover(ingressoId);
+                porQrCode.remove(registro.qrCode, registro);
+            }
+        }
+    }
+
+    /**
+     * Registra os ingressos das sessões já guardadas em {@link #sessoes}. Chamado sob a trava.
+     */
+    private void indexar(Map<CompraId, List<Ingresso>> ingressosPorCompra) {
+        Map<Integer, List<Integer>> idsPorSessao = new HashMap<>();
+        for (Map.Entry<CompraId, List<Ingresso>> compra : ingressosPorCompra.entrySet()) {
+            Map<Integer, List<Ingresso>> porSessao = new LinkedHashMap<>();
+            for (Ingresso ingresso : compra.getValue()) {
+                if (sessoes.contem(ingresso.getSessaoId().getId()) && ingresso.getQrCode() != null) {
+                    porSessao.computeIfAbsent(ingresso.getSessaoId().getId(), id -> new ArrayList<>()).add(ingresso);
+                }
+            }
+            for (Map.Entry<Integer, List<Ingresso>> grupo : porSessao.entrySet()) {
+                int[] irmaos = grupo.getValue().stream().mapToInt(i -> i.getIngressoId().getId()).toArray();
+                List<Integer> idsSessao = idsPorSessao.computeIfAbsent(grupo.getKey(), id -> new ArrayList<>());
+                for (Ingresso ingresso : grupo.getValue()) {
+                    Registro registro = new Registro(ingresso, compra.getKey().getId(), irmaos);
+                    // Validação ainda não gravada prevalece sobre o que foi lido do banco
+                    if (registro.status == StatusIngresso.ATIVO && validacoesPendentes.contem(registro.ingressoId)) {
+                        registro.status = StatusIngresso.VALIDADO;
+                    }
+                    Registro anterior = porIngresso.guardar(registro.ingressoId, registro);
+                    if (anterior != null) {
+                        porQrCode.remove(anterior.qrCode, anterior);
+                    }
+                    porQrCode.put(registro.qrCode, registro);
+                    idsSessao.add(registro.ingressoId);
+                }
+            }
+        }
+        for (Map.Entry<Integer, List<Integer>> sessao : idsPorSessao.entrySet()) {
+            ingressosPorSessao.guardar(sessao.getKey(), sessao.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private LocalDate hoje() {
+        return Instant.ofEpochMilli(relogio.getAsLong()).atZone(fuso).toLocalDate();
+    }
+
+    private LocalDate dia(Date data) {
+        return Instant.ofEpochMilli(data.getTime()).atZone(fuso).toLocalDate();
+    }
+}
@@ -0,0 +1,162 @@
+package com.astra.cinema.aplicacao.ingresso;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa de chave int (ids) para objeto, sem boxing da chave.
+ *
+ * Endereçamento aberto com sondagem linear em arrays paralelos; a remoção desloca
+ * as entradas seguintes em vez de deixar marcas. Aceita apenas chaves positivas
+ * (0 marca posição vazia); as demais nunca são encontradas. Não é thread-safe.
+ */
+public final class MapaInt<V> {
+
+    private static final int CAPACIDADE_MINIMA = 16;
+
+    private int[] chaves;
+    private Object[] valores;
+    private int tamanho;
+
+    public MapaInt() {
+        this(CAPACIDADE_MINIMA);
+    }
+
+    public MapaInt(int capacidadeEsperada) {
+        int capacidade = CAPACIDADE_MINIMA;
+        // Fator de carga máximo de 1/2
+        while (capacidade < capacidadeEsperada * 2) {
+            capacidade <<= 1;
+        }
+        this.chaves = new int[capacidade];
+        this.valores = new Object[capacidade];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V obter(int chave) {
+        if (chave <= 0) {
+            return null;
+        }
+        int posicao = posicao(chave);
+        return chaves[posicao] == chave ? (V) valores[posicao] : null;
+    }
+
+    public boolean contem(int chave) {
+        return chave > 0 && chaves[posicao(chave)] == chave;
+    }
+
+    /**
+     * @return O valor anterior da chave, ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V guardar(int chave, V valor) {
+        if (chave <= 0) {
+            throw new IllegalArgumentException("A chave deve ser positiva");
+        }
+        if (valor == null) {
+            throw new IllegalArgumentException("O valor não pode ser nulo");
+        }
+        int posicao = posicao(chave);
+        if (chaves[posicao] == chave) {
+            V anterior = (V) valores[posicao];
+            valores[posicao] = valor;
+            return anterior;
+        }
+        chaves[posicao] = chave;
+        valores[posicao] = valor;
+        if (++tamanho * 2 > chaves.length) {
+            redimensionar(chaves.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @return O valor removido, ou null se a chave não existia
+     */
+    @SuppressWarnings("unchecked")
+    public V remover(int chave) {
+        if (chave <= 0) {
+            return null;
+        }
+        int posicao = posicao(chave);
+        if (chaves[posicao] != chave) {
+            return null;
+        }
+        V removido = (V) valores[posicao];
+        tamanho--;
+
+        // Desloca para trás as entradas do mesmo agrupamento que ficariam inalcançáveis
+        int mascara = chaves.length - 1;
+        int vazia = posicao;
+        int atual = (posicao + 1) & mascara;
+        while (chaves[atual] != 0) {
+            int ideal = espalhar(chaves[atual]) & mascara;
+            if (((atual - ideal) & mascara) >= ((atual - vazia) & mascara)) {
+                chaves[vazia] = chaves[atual];
+                valores[vazia] = valores[atual];
+                vazia = atual;
+            }
+            atual = (atual + 1) & mascara;
+        }
+        chaves[vazia] = 0;
+        valores[vazia] = null;
+        return removido;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean vazio() {
+        return tamanho == 0;
+    }
+
+    public void limpar() {
+        Arrays.fill(chaves, 0);
+        Arrays.fill(valores, null);
+        tamanho = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void paraCada(BiConsumer<Integer, ? super V> acao) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                acao.accept(chaves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Posição da chave, ou a posição vazia onde ela entraria
+     */
+    private int posicao(int chave) {
+        int mascara = chaves.length - 1;
+        int posicao = espalhar(chave) & mascara;
+        while (chaves[posicao] != 0 && chaves[posicao] != chave) {
+            posicao = (posicao + 1) & mascara;
+        }
+        return posicao;
+    }
+
+    private void redimensionar(int capacidade) {
+        int[] chavesAntigas = chaves;
+        Object[] valoresAntigos = valores;
+        chaves = new int[capacidade];
+        valores = new Object[capacidade];
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != 0) {
+                int posicao = posicao(chavesAntigas[i]);
+                chaves[posicao] = chavesAntigas[i];
+                valores[posicao] = valoresAntigos[i];
+            }
+        }
+    }
+
+    /**
+     * Ids sequenciais caem em posições vizinhas; o espalhamento evita agrupamentos longos
+     */
+    private static int espalhar(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -7,6 +7,9 @@ import com.astra.cinema.dominio.compra.Ingresso;
 import com.astra.cinema.dominio.sessao.Sessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
+import java.util.Date;
+import java.util.List;
+
 import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirEstado;
 import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
 
@@ -40,32 +43,24 @@ public class RemarcarIngressoUseCase {
             ", Sessão Atual=" + ingresso.getSessaoId().getId() + 
             ", Assento Atual=" + ingresso.getAssentoId().getValor());
 
-        // Buscar sessões
-        Sessao sessaoAntiga = sessaoRepositorio.obterPorId(ingresso.getSessaoId());
-        Sessao novaSessao = sessaoRepositorio.obterPorId(novaSessaoId);
-        exigirNaoNulo(sessaoAntiga, "Sessão antiga não encontrada");
-        exigirNaoNulo(novaSessao, "Nova sessão não encontrada");
-
         // Permitir remarcação para qualquer filme (regra de negócio flexibilizada)
-        // O funcionário pode remarcar para qualquer sessão disponível
-        System.out.println("Remarcando de sessão " + sessaoAntiga.getSessaoId() + 
-            " (filme: " + sessaoAntiga.getFilmeId() + ") para sessão " + novaSessao.getSessaoId() +
-            " (filme: " + novaSessao.getFilmeId() + ")");
-
-        // Liberar assento da sessão antiga PRIMEIRO
+        // Liberar o assento antigo e reservar o novo juntos, sobre o estado atual das duas sessões
+        // (linhas bloqueadas): uma reserva concorrente não é desfeita e nada fica pela metade
+        SessaoId sessaoAntigaId = ingresso.getSessaoId();
         AssentoId assentoAntigo = ingresso.getAssentoId();
-        sessaoAntiga.liberarAssento(assentoAntigo);
-        sessaoRepositorio.salvar(sessaoAntiga);
-        System.out.println("Assento antigo " + assentoAntigo + " liberado na sessão " + sessaoAntiga.getSessaoId());
+        System.out.println("Remarcando de sessão " + sessaoAntigaId + " para sessão " + novaSessaoId);
+        Date[] horarioNovaSessao = new Date[1];
+        sessaoRepositorio.alterarAssentosEmLote(List.of(sessaoAntigaId, novaSessaoId), sessoes -> {
+            sessoes.get(sessaoAntigaId).liberarAssento(assentoAntigo);
 
-        // Verificar disponibilidade do assento na nova sessão
-        exigirEstado(novaSessao.assentoDisponivel(novoAssentoId),
-            "O assento não está disponível na nova sessão");
-
-        // Reservar assento na nova sessão
-        novaSessao.reservarAssento(novoAssentoId);
-        sessaoRepositorio.salvar(novaSessao);
-        System.out.println("Novo assento " + novoAssentoId + " reservado na sessão " + novaSessao.getSessaoId());
+            Sessao novaSessao = sessoes.get(novaSessaoId);
+            exigirEstado(novaSessao.assentoDisponivel(novoAssentoId),
+                "O assento não está disponível na nova sessão");
+            novaSessao.reservarAssento(novoAssentoId);
+            horarioNovaSessao[0] = novaSessao.getHorario();
+        });
+        System.out.println("Assento antigo " + assentoAntigo + " liberado; novo assento " + novoAssentoId
+            + " reservado na sessão " + novaSessaoId);
 
         // Remarcar ingresso
         try {
@@ -74,6 +69,11 @@ public class RemarcarIngressoUseCase {
             System.out.println("remarcarSessao() concluído. Chamando atualizarIngresso()...");
             compraRepositorio.atualizarIngresso(ingresso);
             System.out.println("✅ Ingresso atualizado no repositório com sucesso!");
+
+            // A expiração periódica não volta a sessões que já começaram: expira agora
+            if (!horarioNovaSessao[0].after(new Date())) {
+                compraRepositorio.expirarIngressosAtivosDaSessao(novaSessaoId);
+            }
         } catch (Exception e) {
             System.err.println("❌ ERRO ao atualizar ingresso: " + e.getMessage());
             e.printStackTrace();
@@ -1,25 +1,46 @@
 package com.astra.cinema.aplicacao.ingresso;
 
+import com.astra.cinema.dominio.compra.Compra;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
 import com.astra.cinema.dominio.compra.Ingresso;
 import com.astra.cinema.dominio.compra.StatusIngresso;
-import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+import com.astra.cinema.dominio.validacao.ValidadorIngresso;
+
+import java.util.List;
 
 import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
 
 public class ValidarIngressoUseCase {
+    public static final String MENSAGEM_VALIDADO = "Ingresso validado - Pronto para uso";
+    public static final String MENSAGEM_JA_VALIDADO = "Ingresso já foi validado anteriormente";
+    public static final String MENSAGEM_CANCELADO = "Ingresso cancelado. Este ingresso não pode ser validado.";
+    public static final String MENSAGEM_NAO_ENCONTRADO = "Ingresso não encontrado. Verifique se o código está correto.";
+    public static final String MENSAGEM_EXPIRADO = "Ingresso expirado. A sessão passou sem validação e este ingresso não pode mais ser utilizado.";
+
     private final CompraRepositorio compraRepositorio;
     private final SessaoRepositorio sessaoRepositorio;
+    private final IndiceValidacaoIngressos indiceValidacao;
+    private final ValidadorIngresso validadorIngresso;
 
-    public ValidarIngressoUseCase(CompraRepositorio compraRepositorio, SessaoRepositorio sessaoRepositorio) {
+    public ValidarIngressoUseCase(CompraRepositorio compraRepositorio, SessaoRepositorio sessaoRepositorio,
+                                  IndiceValidacaoIngressos indiceValidacao, ValidadorIngresso validadorIngresso) {
         this.compraRepositorio = exigirNaoNulo(compraRepositorio, "O repositório de compras não pode ser nulo");
         this.sessaoRepositorio = exigirNaoNulo(sessaoRepositorio, "O repositório de sessões não pode ser nulo");
+        this.indiceValidacao = exigirNaoNulo(indiceValidacao, "O índice de validação não pode ser nulo");
+        this.validadorIngresso = exigirNaoNulo(validadorIngresso, "O validador de ingressos não pode ser nulo");
     }
 
     public ResultadoValidacao executar(String qrCode) {
         exigirNaoNulo(qrCode, "O QR Code não pode ser nulo");
 
+        // Ingressos das sessões do dia são validados em memória
+        ResultadoValidacao resultadoIndice = validarNoIndice(qrCode);
+        if (resultadoIndice != null) {
+            return resultadoIndice;
+        }
+
         Ingresso ingresso = null;
         try {
             ingresso = compraRepositorio.buscarIngressoPorQrCode(qrCode);
@@ -29,33 +50,40 @@ public class ValidarIngressoUseCase {
         }
 
         if (ingresso == null) {
-            return new ResultadoValidacao(false, "Ingresso não encontrado. Verifique se o código está correto.", null, null);
+            return new ResultadoValidacao(false, MENSAGEM_NAO_ENCONTRADO, null, null);
         }
 
-        Sessao sessao = sessaoRepositorio.obterPorId(ingresso.getSessaoId());
+        ResumoSessao sessao = sessaoRepositorio.obterResumo(ingresso.getSessaoId());
         exigirNaoNulo(sessao, "Sessão não encontrada");
 
+        // Buscar a compra completa para validar TODOS os ingressos juntos
+        Compra compra = compraRepositorio.buscarCompraPorQrCode(qrCode);
+        List<Ingresso> ingressosCompra = compra != null && compra.getIngressos() != null && !compra.getIngressos().isEmpty()
+                ? compra.getIngressos()
+                : List.of(ingresso);
+
         // Validações
         // Regra de negócio: Ingressos CANCELADOS NÃO podem ser validados
         if (ingresso.getStatus() == StatusIngresso.CANCELADO) {
-            return new ResultadoValidacao(false, "Ingresso cancelado. Este ingresso não pode ser validado.", ingresso, sessao);
+            return new ResultadoValidacao(false, MENSAGEM_CANCELADO, ingresso, sessao, ingressosCompra);
         }
 
         // Regra de negócio: Ingressos EXPIRADOS NÃO podem ser validados
         if (ingresso.getStatus() == StatusIngresso.EXPIRADO) {
-            return new ResultadoValidacao(false, "Ingresso expirado. A sessão passou sem validação e este ingresso não pode mais ser utilizado.", ingresso, sessao);
+            return new ResultadoValidacao(false, MENSAGEM_EXPIRADO, ingresso, sessao, ingressosCompra);
         }
 
         // Validação liberada para qualquer horário (modo cinema flexível)
 
-        // Buscar a compra completa para validar TODOS os ingressos juntos
-        com.astra.cinema.dominio.compra.Compra compra = compraRepositorio.buscarCompraPorQrCode(qrCode);
-
         // Ação: ATIVO -> VALIDADO para TODOS os ingressos da compra
         if (ingresso.getStatus() == StatusIngresso.ATIVO) {
-            // Se a compra tem múltiplos ingressos, valida todos
-            if (compra != null && compra.getIngressos() != null && compra.getIngressos().size() > 1) {
-                for (Ingresso ing : compra.getIngressos()) {
+            ValidadorIngresso.ResultadoValidacao verificacao = registrarPrimeiraValidacao(ingresso,
+                    ingressosCompra.stream().filter(ing -> ing.getStatus() == StatusIngresso.ATIVO).toList());
+            if (!verificacao.isValido()) {
+                return new ResultadoValidacao(false, verificacao.getMensagem(), ingresso, sessao, ingressosCompra);
+            }
+            if (ingressosCompra.size() > 1) {
+                for (Ingresso ing : ingressosCompra) {
                     if (ing.getStatus() == StatusIngresso.ATIVO) {
                         ing.setStatus(StatusIngresso.VALIDADO);
                         compraRepositorio.atualizarIngresso(ing);
@@ -66,27 +94,95 @@ public class ValidarIngressoUseCase {
                 ingresso.setStatus(StatusIngresso.VALIDADO);
                 compraRepositorio.atualizarIngresso(ingresso);
             }
-            return new ResultadoValidacao(true, "Ingresso validado - Pronto para uso", ingresso, sessao);
+            return new ResultadoValidacao(true, MENSAGEM_VALIDADO, ingresso, sessao, ingressosCompra);
         } else if (ingresso.getStatus() == StatusIngresso.VALIDADO) {
             // Já está VALIDADO
-            return new ResultadoValidacao(true, "Ingresso já foi validado anteriormente", ingresso, sessao);
+            return new ResultadoValidacao(true, MENSAGEM_JA_VALIDADO, ingresso, sessao, ingressosCompra);
         } else {
             // Status desconhecido
-            return new ResultadoValidacao(false, "Status do ingresso inválido: " + ingresso.getStatus(), ingresso, sessao);
+            return new ResultadoValidacao(false, "Status do ingresso inválido: " + ingresso.getStatus(), ingresso, sessao, ingressosCompra);
+        }
+    }
+
+    /**
+     * Valida o código pelo índice das sessões do dia, sem consultar os ingressos no banco.
+     *
+     * @return O resultado, ou null se o código não está no índice (deve seguir pelo banco)
+     */
+    public ResultadoValidacao validarNoIndice(String qrCode) {
+        IndiceValidacaoIngressos.Leitura leitura = indiceValidacao.validar(qrCode);
+        return leitura != null ? resultadoDoIndice(leitura) : null;
+    }
+
+    /**
+     * Mesmas regras da validação pelo banco, sobre a leitura feita no índice
+     */
+    private ResultadoValidacao resultadoDoIndice(IndiceValidacaoIngressos.Leitura leitura) {
+        if (leitura.statusAnterior() == StatusIngresso.ATIVO) {
+            // O índice já marcou a compra como VALIDADO, o que vale mesmo se outra instância
+            // tiver validado antes; só a entrada deixa de ser liberada
+            Ingresso lido = leitura.validados().stream()
+                    .filter(ing -> ing.getIngressoId().equals(leitura.ingresso().getIngressoId()))
+                    .findFirst()
+                    .orElseThrow();
+            ValidadorIngresso.ResultadoValidacao verificacao = registrarPrimeiraValidacao(lido, leitura.validados());
+            if (!verificacao.isValido()) {
+                return new ResultadoValidacao(false, verificacao.getMensagem(),
+                        leitura.ingresso(), leitura.sessao(), leitura.ingressosCompra());
+            }
+        }
+        return switch (leitura.statusAnterior()) {
+            case CANCELADO -> new ResultadoValidacao(false, MENSAGEM_CANCELADO,
+                    leitura.ingresso(), leitura.sessao(), leitura.ingressosCompra());
+            case EXPIRADO -> new ResultadoValidacao(false, MENSAGEM_EXPIRADO,
+                    leitura.ingresso(), leitura.sessao(), leitura.ingressosCompra());
+            case ATIVO -> new ResultadoValidacao(true, MENSAGEM_VALIDADO,
+                    leitura.ingresso(), leitura.sessao(), leitura.ingressosCompra());
+            case VALIDADO -> new ResultadoValidacao(true, MENSAGEM_JA_VALIDADO,
+                    leitura.ingresso(), leitura.sessao(), leitura.ingressosCompra());
+        };
+    }
+
+    /**
+     * Passa o ingresso lido (ainda ATIVO) pela cadeia de {@link ValidadorIngresso}, que registra a
+     * primeira validação no banco e recusa o ingresso já validado por outra instância. Se passar,
+     * registra também os demais ingressos validados junto, para que não sejam aceitos depois.
+     *
+     * @param lido Ingresso lido, com o status anterior à validação
+     * @param validadosJunto Ingressos ATIVOS da compra que a leitura valida, podendo incluir o lido
+     * @return A verificação do ingresso lido
+     */
+    public ValidadorIngresso.ResultadoValidacao registrarPrimeiraValidacao(Ingresso lido,
+                                                                         List<Ingresso> validadosJunto) {
+        ValidadorIngresso.ResultadoValidacao verificacao = validadorIngresso.validar(lido);
+        if (verificacao.isValido()) {
+            for (Ingresso ingresso : validadosJunto) {
+                if (!ingresso.getIngressoId().equals(lido.getIngressoId())) {
+                    validadorIngresso.validar(ingresso);
+                }
+            }
         }
+        return verificacao;
     }
 
     public static class ResultadoValidacao {
         private final boolean valido;
         private final String mensagem;
         private final Ingresso ingresso;
-        private final Sessao sessao;
+        private final ResumoSessao sessao;
+        private final List<Ingresso> ingressosCompra;
+
+        public ResultadoValidacao(boolean valido, String mensagem, Ingresso ingresso, ResumoSessao sessao) {
+            this(valido, mensagem, ingresso, sessao, ingresso != null ? List.of(ingresso) : List.of());
+        }
 
-        public ResultadoValidacao(boolean valido, String mensagem, Ingresso ingresso, Sessao sessao) {
+        public ResultadoValidacao(boolean valido, String mensagem, Ingresso ingresso, ResumoSessao sessao,
+                                  List<Ingresso> ingressosCompra) {
             this.valido = valido;
             this.mensagem = mensagem;
             this.ingresso = ingresso;
             this.sessao = sessao;
+            this.ingressosCompra = ingressosCompra;
         }
 
         public boolean isValido() {
@@ -101,8 +197,15 @@ public class ValidarIngressoUseCase {
             return ingresso;
         }
 
-        public Sessao getSessao() {
+        public ResumoSessao getSessao() {
             return sessao;
         }
+
+        /**
+         * Ingressos validados junto com este (a compra toda), incluindo ele
+         */
+        public List<Ingresso> getIngressosCompra() {
+            return ingressosCompra;
+        }
     }
 }
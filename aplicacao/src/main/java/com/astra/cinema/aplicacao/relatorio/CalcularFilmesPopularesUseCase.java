@@ -8,11 +8,13 @@ import java.util.stream.Collectors;
 import com.astra.cinema.dominio.compra.Compra;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
 import com.astra.cinema.dominio.compra.Ingresso;
+import com.astra.cinema.dominio.comum.FilmeId;
 import com.astra.cinema.dominio.comum.PrecoIngresso;
+import com.astra.cinema.dominio.comum.SessaoId;
 import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
 import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
-import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
 /**
@@ -40,6 +42,12 @@ public class CalcularFilmesPopularesUseCase {
         Map<Integer, Integer> ingressosPorFilme = new HashMap<>();
         Map<Integer, Double> receitaPorFilme = new HashMap<>();
         Map<Integer, String> nomesFilmes = new HashMap<>();
+
+        // Filme de cada sessão, lido uma vez pelo resumo (sem carregar assentos)
+        Map<SessaoId, FilmeId> filmePorSessao = new HashMap<>();
+        for (ResumoSessao sessao : sessaoRepositorio.listarResumos()) {
+            filmePorSessao.put(sessao.getSessaoId(), sessao.getFilmeId());
+        }
         
         for (Compra compra : todasCompras) {
             // Pula compras canceladas
@@ -53,9 +61,9 @@ public class CalcularFilmesPopularesUseCase {
                     continue;
                 }
                 
-                Sessao sessao = sessaoRepositorio.obterPorId(ingresso.getSessaoId());
-                if (sessao != null) {
-                    Integer filmeId = sessao.getFilmeId().getId();
+                FilmeId filmeIdSessao = filmePorSessao.get(ingresso.getSessaoId());
+                if (filmeIdSessao != null) {
+                    Integer filmeId = filmeIdSessao.getId();
                     
                     // Contabilizar ingresso
                     ingressosPorFilme.put(filmeId, ingressosPorFilme.getOrDefault(filmeId, 0) + 1);
@@ -68,7 +76,7 @@ public class CalcularFilmesPopularesUseCase {
                     
                     // Guardar nome do filme
                     if (!nomesFilmes.containsKey(filmeId)) {
-                        Filme filme = filmeRepositorio.obterPorId(sessao.getFilmeId());
+                        Filme filme = filmeRepositorio.obterPorId(filmeIdSessao);
                         if (filme != null) {
                             nomesFilmes.put(filmeId, filme.getTitulo());
                         }
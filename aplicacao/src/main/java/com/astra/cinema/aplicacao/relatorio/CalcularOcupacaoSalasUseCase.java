@@ -6,7 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
 public class CalcularOcupacaoSalasUseCase {
@@ -19,14 +19,15 @@ public class CalcularOcupacaoSalasUseCase {
 
     public List<Map<String, Object>> executar() {
         try {
-            List<Sessao> todasSessoes = sessaoRepositorio.listarTodas();
+            // Só os contadores de ocupação de cada sessão, sem carregar os assentos
+            List<ResumoSessao> todasSessoes = sessaoRepositorio.listarResumos();
             
             // Agrupar por sala
-            Map<Integer, List<Sessao>> sessoesPorSala = todasSessoes.stream()
+            Map<Integer, List<ResumoSessao>> sessoesPorSala = todasSessoes.stream()
                 .collect(Collectors.groupingBy(s -> s.getSalaId().getId()));
             
             List<Map<String, Object>> salas = new ArrayList<>();
-            for (Map.Entry<Integer, List<Sessao>> entry : sessoesPorSala.entrySet()) {
+            for (Map.Entry<Integer, List<ResumoSessao>> entry : sessoesPorSala.entrySet()) {
                 Map<String, Object> sala = new HashMap<>();
                 sala.put("salaId", entry.getKey());
                 sala.put("totalSessoes", entry.getValue().size());
@@ -35,10 +36,9 @@ public class CalcularOcupacaoSalasUseCase {
                 int totalAssentos = 0;
                 int assentosOcupados = 0;
                 
-                for (Sessao sessao : entry.getValue()) {
-                    Map<com.astra.cinema.dominio.comum.AssentoId, Boolean> assentos = sessao.getMapaAssentosDisponiveis();
-                    totalAssentos += assentos.size();
-                    assentosOcupados += (int) assentos.values().stream().filter(ocupado -> !ocupado).count();
+                for (ResumoSessao sessao : entry.getValue()) {
+                    totalAssentos += sessao.getTotalAssentos();
+                    assentosOcupados += sessao.getAssentosOcupados();
                 }
                 
                 double taxaOcupacao = totalAssentos > 0 ? (assentosOcupados * 100.0 / totalAssentos) : 0;
@@ -0,0 +1,76 @@
+package com.astra.cinema.aplicacao.servicos;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Carregador em lote com memória (no estilo do DataLoader), para montar uma resposta sem N+1.
+ *
+ * As chaves são registradas antes de serem lidas; a primeira leitura resolve todas as
+ * pendentes com uma única busca em lote, e os resultados (inclusive as chaves inexistentes)
+ * ficam memorizados até o fim da resposta. Uma instância por resposta; não é thread-safe.
+ *
+ * @param <K> Tipo da chave (precisa de equals/hashCode)
+ * @param <V> Tipo do valor carregado
+ */
+public class CarregadorLote<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> buscarEmLote;
+    private final Map<K, V> carregados = new HashMap<>();
+    private final Set<K> pendentes = new LinkedHashSet<>();
+
+    /**
+     * @param buscarEmLote Busca os valores de várias chaves de uma vez; chaves ausentes no
+     *                     mapa devolvido são memorizadas como inexistentes (null)
+     */
+    public CarregadorLote(Function<Set<K>, Map<K, V>> buscarEmLote) {
+        if (buscarEmLote == null) {
+            throw new IllegalArgumentException("A busca em lote não pode ser nula");
+        }
+        this.buscarEmLote = buscarEmLote;
+    }
+
+    /**
+     * Registra a chave para a próxima busca em lote (ignorada se já foi carregada ou é nula).
+     */
+    public void registrar(K chave) {
+        if (chave != null && !carregados.containsKey(chave)) {
+            pendentes.add(chave);
+        }
+    }
+
+    public void registrarTodas(Collection<K> chaves) {
+        for (K chave : chaves) {
+            registrar(chave);
+        }
+    }
+
+    /**
+     * Valor da chave. Se ela ainda não foi carregada, busca de uma vez todas as pendentes.
+     *
+     * @return O valor, ou null se a chave for nula ou não existir
+     */
+    public V obter(K chave) {
+        if (chave == null) {
+            return null;
+        }
+        if (!carregados.containsKey(chave)) {
+            pendentes.add(chave);
+            carregarPendentes();
+        }
+        return carregados.get(chave);
+    }
+
+    private void carregarPendentes() {
+        Set<K> lote = new LinkedHashSet<>(pendentes);
+        pendentes.clear();
+        Map<K, V> encontrados = buscarEmLote.apply(lote);
+        for (K chave : lote) {
+            carregados.put(chave, encontrados.get(chave));
+        }
+    }
+}
@@ -24,34 +24,38 @@ public class CompraAppService {
     private final CompraRepositorio compraRepositorio;
     private final ProdutoRepositorio produtoRepositorio;
     private final VendaProdutoService vendaProdutoService;
+    private final ExecutorTransacao executorTransacao;
 
     public CompraAppService(
             IniciarCompraUseCase iniciarCompraUseCase,
             CancelarCompraUseCase cancelarCompraUseCase,
             CompraRepositorio compraRepositorio,
             ProdutoRepositorio produtoRepositorio,
-            VendaProdutoService vendaProdutoService) {
+            VendaProdutoService vendaProdutoService,
+            ExecutorTransacao executorTransacao) {
         this.iniciarCompraUseCase = iniciarCompraUseCase;
         this.cancelarCompraUseCase = cancelarCompraUseCase;
         this.compraRepositorio = compraRepositorio;
         this.produtoRepositorio = produtoRepositorio;
         this.vendaProdutoService = vendaProdutoService;
+        this.executorTransacao = executorTransacao;
     }
 
     /**
-     * Cria uma nova compra de ingressos, opcionalmente com produtos da bomboniere
+     * Cria uma nova compra de ingressos, opcionalmente com produtos da bomboniere.
+     * Assentos, compra, ingressos e produtos são gravados em uma única transação.
      */
     public Compra criarCompra(ClienteId clienteId, List<Ingresso> ingressos, List<ItemProduto> produtos) {
-        // Cria a compra com os ingressos (gera QR Codes automaticamente)
-        Compra compra = iniciarCompraUseCase.executar(clienteId, ingressos);
+        return executorTransacao.executar(() -> {
+            // Cria a compra com os ingressos (já retorna os ids reais e os QR Codes gerados)
+            Compra compra = iniciarCompraUseCase.executar(clienteId, ingressos);
 
-        // Processar produtos da bomboniere (se houver) e associar à compra
-        if (produtos != null && !produtos.isEmpty()) {
-            processarProdutosBomboniere(compra.getCompraId(), produtos);
-        }
-
-        // Busca a compra completa com os QR Codes gerados
-        return compraRepositorio.obterPorId(compra.getCompraId());
+            // Processar produtos da bomboniere (se houver) e associar à compra
+            if (produtos != null && !produtos.isEmpty()) {
+                processarProdutosBomboniere(compra.getCompraId(), produtos);
+            }
+            return compra;
+        });
     }
 
     /**
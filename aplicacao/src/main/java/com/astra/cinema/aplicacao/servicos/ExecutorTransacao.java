@@ -0,0 +1,27 @@
+package com.astra.cinema.aplicacao.servicos;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface para executar operações de vários repositórios em uma única transação
+ * Permite desacoplamento da camada de aplicação da infraestrutura
+ */
+public interface ExecutorTransacao {
+
+    /**
+     * Executa a operação em uma transação: confirma tudo ao final ou desfaz tudo se ela
+     * lançar exceção. Se já houver uma transação em andamento, a operação participa dela.
+     *
+     * @param operacao Operação a executar
+     * @return Resultado da operação
+     */
+    <T> T executar(Supplier<T> operacao);
+
+    /**
+     * Agenda uma ação para depois da confirmação da transação em andamento; se ela for
+     * desfeita, a ação não roda. Fora de uma transação, a ação roda imediatamente.
+     *
+     * @param acao Ação a executar após a confirmação
+     */
+    void aposConfirmar(Runnable acao);
+}
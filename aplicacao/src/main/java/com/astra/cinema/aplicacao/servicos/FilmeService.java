@@ -7,7 +7,7 @@ import com.astra.cinema.dominio.comum.FilmeId;
 import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
 import com.astra.cinema.dominio.filme.StatusFilme;
-import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
 import java.util.List;
@@ -132,7 +132,7 @@ public class FilmeService {
      * Verifica se um filme pode ser removido
      */
     public VerificacaoRemocao verificarPodeRemover(Integer id) {
-        List<Sessao> sessoes = sessaoRepositorio.buscarPorFilme(new FilmeId(id));
+        List<ResumoSessao> sessoes = sessaoRepositorio.buscarResumosPorFilme(new FilmeId(id));
         boolean podeRemover = sessoes.isEmpty();
         String mensagem = podeRemover ? null : "O filme possui " + sessoes.size() + " sessão(ões) cadastrada(s)";
 
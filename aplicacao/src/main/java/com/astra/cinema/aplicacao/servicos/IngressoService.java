@@ -9,8 +9,9 @@ import com.astra.cinema.dominio.bomboniere.VendaRepositorio;
 import com.astra.cinema.dominio.comum.AssentoId;
 import com.astra.cinema.dominio.comum.ClienteId;
 import com.astra.cinema.dominio.comum.CompraId;
+import com.astra.cinema.dominio.comum.FilmeId;
+import com.astra.cinema.dominio.comum.IngressoId;
 import com.astra.cinema.dominio.comum.SessaoId;
-import com.astra.cinema.dominio.compra.Compra;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
 import com.astra.cinema.dominio.compra.Ingresso;
 import com.astra.cinema.dominio.compra.StatusIngresso;
@@ -18,7 +19,7 @@ import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
 import com.astra.cinema.dominio.operacao.RemarcacaoSessao;
 import com.astra.cinema.dominio.operacao.RemarcacaoSessaoRepositorio;
-import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
 import java.util.*;
@@ -29,6 +30,8 @@ import java.util.stream.Collectors;
  * Centraliza toda lógica de negócio relacionada a ingressos
  */
 public class IngressoService {
+    public static final int LIMITE_PAGINA_PADRAO = 20;
+    public static final int LIMITE_PAGINA_MAXIMO = 100;
 
     private final ValidarIngressoUseCase validarIngressoUseCase;
     private final RemarcarIngressoUseCase remarcarIngressoUseCase;
@@ -64,19 +67,11 @@ public class IngressoService {
     public ResultadoValidacao validarIngresso(String qrCode) {
         var resultado = validarIngressoUseCase.executar(qrCode);
 
-        Compra compra = null;
         String todosAssentos = null;
-
         if (resultado.getIngresso() != null) {
-            compra = compraRepositorio.buscarCompraPorQrCode(qrCode);
-
-            if (compra != null && compra.getIngressos() != null) {
-                todosAssentos = compra.getIngressos().stream()
-                    .map(i -> i.getAssentoId().getValor())
-                    .collect(Collectors.joining(", "));
-            } else {
-                todosAssentos = resultado.getIngresso().getAssentoId().getValor();
-            }
+            todosAssentos = resultado.getIngressosCompra().stream()
+                .map(i -> i.getAssentoId().getValor())
+                .collect(Collectors.joining(", "));
         }
 
         return new ResultadoValidacao(
@@ -110,38 +105,47 @@ public class IngressoService {
     }
 
     /**
-     * Busca ingressos de um cliente, agrupados por sessão
+     * Busca uma página dos ingressos de um cliente, agrupados por compra e sessão,
+     * da compra mais recente para a mais antiga
+     *
+     * @param antesDe Cursor devolvido na página anterior, ou null para a primeira página
+     * @param limite Quantidade de compras por página (padrão {@value #LIMITE_PAGINA_PADRAO})
      */
-    public List<IngressoDetalhado> buscarIngressosPorCliente(Integer clienteId) {
-        List<Compra> compras;
-
-        if (clienteId != null) {
-            compras = compraRepositorio.buscarPorCliente(new ClienteId(clienteId));
-        } else {
-            compras = new ArrayList<>();
-        }
-
-        return processarComprasParaIngressos(compras);
+    public PaginaIngressos buscarIngressosPorCliente(Integer clienteId, Integer antesDe, Integer limite) {
+        return buscarPaginaDoCliente(clienteId, antesDe, limite, false);
     }
 
     /**
-     * Busca apenas ingressos ativos de um cliente
+     * Busca uma página dos ingressos ativos de um cliente, como {@link #buscarIngressosPorCliente}
      */
-    public List<IngressoDetalhado> buscarIngressosAtivosPorCliente(Integer clienteId) {
-        List<Compra> compras;
+    public PaginaIngressos buscarIngressosAtivosPorCliente(Integer clienteId, Integer antesDe, Integer limite) {
+        return buscarPaginaDoCliente(clienteId, antesDe, limite, true);
+    }
 
-        if (clienteId != null) {
-            compras = compraRepositorio.buscarPorCliente(new ClienteId(clienteId));
-        } else {
-            compras = compraRepositorio.listarTodas();
+    private PaginaIngressos buscarPaginaDoCliente(Integer clienteId, Integer antesDe, Integer limite,
+                                                  boolean somenteAtivos) {
+        if (clienteId == null) {
+            return new PaginaIngressos(new ArrayList<>(), null);
+        }
+        int tamanhoPagina = limite != null ? limite : LIMITE_PAGINA_PADRAO;
+        if (tamanhoPagina < 1 || tamanhoPagina > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O limite da página deve estar entre 1 e " + LIMITE_PAGINA_MAXIMO);
         }
 
-        compras = compras.stream()
-            .filter(compra -> compra.getIngressos().stream()
-                .anyMatch(ing -> ing.getStatus() == StatusIngresso.ATIVO))
-            .collect(Collectors.toList());
+        Map<CompraId, List<Ingresso>> ingressosPorCompra = compraRepositorio.buscarPaginaIngressosDoCliente(
+            new ClienteId(clienteId), antesDe != null ? new CompraId(antesDe) : null, tamanhoPagina, somenteAtivos);
+
+        // Página cheia: a próxima começa depois da última compra (a mais antiga) desta
+        Integer proximaPagina = null;
+        if (ingressosPorCompra.size() == tamanhoPagina) {
+            CompraId ultima = null;
+            for (CompraId compraId : ingressosPorCompra.keySet()) {
+                ultima = compraId;
+            }
+            proximaPagina = ultima.getId();
+        }
 
-        return processarComprasParaIngressosAtivos(compras);
+        return new PaginaIngressos(agruparPorSessao(ingressosPorCompra), proximaPagina);
     }
 
     /**
@@ -149,76 +153,94 @@ public class IngressoService {
      */
     public List<ProdutoVenda> buscarProdutosDaCompra(CompraId compraId) {
         try {
-            List<Venda> vendas = vendaRepositorio.buscarPorCompra(compraId);
-            List<ProdutoVenda> produtos = new ArrayList<>();
-
-            for (Venda venda : vendas) {
-                Map<String, Integer> contagemPorProduto = new HashMap<>();
-                Map<String, Produto> produtoPorNome = new HashMap<>();
-
-                for (Produto produto : venda.getProdutos()) {
-                    String nome = produto.getNome();
-                    contagemPorProduto.put(nome, contagemPorProduto.getOrDefault(nome, 0) + 1);
-                    produtoPorNome.put(nome, produto);
-                }
-
-                for (Map.Entry<String, Integer> entry : contagemPorProduto.entrySet()) {
-                    String nome = entry.getKey();
-                    Integer quantidade = entry.getValue();
-                    Produto produto = produtoPorNome.get(nome);
-
-                    produtos.add(new ProdutoVenda(
-                        produto.getProdutoId().getId(),
-                        produto.getNome(),
-                        produto.getPreco(),
-                        quantidade
-                    ));
-                }
-            }
-
-            return produtos;
+            return agregarProdutos(vendaRepositorio.buscarPorCompra(compraId));
         } catch (Exception e) {
             return new ArrayList<>();
         }
     }
 
-    private List<IngressoDetalhado> processarComprasParaIngressos(List<Compra> compras) {
-        return compras.stream()
-            .flatMap(compra -> {
-                List<Ingresso> todosIngressos = compra.getIngressos();
-                if (todosIngressos.isEmpty()) return java.util.stream.Stream.empty();
+    private List<ProdutoVenda> agregarProdutos(List<Venda> vendas) {
+        List<ProdutoVenda> produtos = new ArrayList<>();
 
-                Map<SessaoId, List<Ingresso>> ingressosPorSessao = todosIngressos.stream()
-                    .collect(Collectors.groupingBy(Ingresso::getSessaoId));
+        for (Venda venda : vendas) {
+            Map<String, Integer> contagemPorProduto = new HashMap<>();
+            Map<String, Produto> produtoPorNome = new HashMap<>();
 
-                return ingressosPorSessao.values().stream()
-                    .map(grupo -> construirIngressoDetalhado(compra, grupo));
-            })
-            .collect(Collectors.toList());
-    }
+            for (Produto produto : venda.getProdutos()) {
+                String nome = produto.getNome();
+                contagemPorProduto.put(nome, contagemPorProduto.getOrDefault(nome, 0) + 1);
+                produtoPorNome.put(nome, produto);
+            }
+
+            for (Map.Entry<String, Integer> entry : contagemPorProduto.entrySet()) {
+                String nome = entry.getKey();
+                Integer quantidade = entry.getValue();
+                Produto produto = produtoPorNome.get(nome);
+
+                produtos.add(new ProdutoVenda(
+                    produto.getProdutoId().getId(),
+                    produto.getNome(),
+                    produto.getPreco(),
+                    quantidade
+                ));
+            }
+        }
 
-    private List<IngressoDetalhado> processarComprasParaIngressosAtivos(List<Compra> compras) {
-        return compras.stream()
-            .flatMap(compra -> {
-                List<Ingresso> grupo = compra.getIngressos().stream()
-                    .filter(ing -> ing.getStatus() == StatusIngresso.ATIVO)
-                    .collect(Collectors.toList());
+        return produtos;
+    }
 
-                if (grupo.isEmpty()) return java.util.stream.Stream.empty();
+    private List<IngressoDetalhado> agruparPorSessao(Map<CompraId, List<Ingresso>> ingressosPorCompra) {
+        Map<CompraId, List<List<Ingresso>>> gruposPorCompra = new LinkedHashMap<>();
+        for (Map.Entry<CompraId, List<Ingresso>> compra : ingressosPorCompra.entrySet()) {
+            gruposPorCompra.put(compra.getKey(), new ArrayList<>(compra.getValue().stream()
+                .collect(Collectors.groupingBy(Ingresso::getSessaoId, LinkedHashMap::new, Collectors.toList()))
+                .values()));
+        }
 
-                Map<SessaoId, List<Ingresso>> ingressosPorSessao = grupo.stream()
-                    .collect(Collectors.groupingBy(Ingresso::getSessaoId));
+        // Registra as chaves em etapas (cada etapa depende da anterior), para que cada tipo
+        // de dado seja buscado uma única vez para a resposta inteira
+        DetalhesEmLote detalhes = new DetalhesEmLote();
+        gruposPorCompra.forEach((compraId, grupos) -> {
+            detalhes.vendas.registrar(compraId);
+            for (List<Ingresso> grupo : grupos) {
+                Ingresso principal = ingressoPrincipal(grupo);
+                detalhes.sessoes.registrar(principal.getSessaoId());
+                detalhes.remarcacoes.registrar(principal.getIngressoId());
+            }
+        });
+        gruposPorCompra.values().forEach(grupos -> grupos.forEach(grupo -> {
+            RemarcacaoSessao remarcacao = detalhes.remarcacaoRecente(ingressoPrincipal(grupo).getIngressoId());
+            if (remarcacao != null) {
+                detalhes.sessoes.registrar(remarcacao.getSessaoOriginal());
+            }
+        }));
+        gruposPorCompra.values().forEach(grupos -> grupos.forEach(grupo -> {
+            Ingresso principal = ingressoPrincipal(grupo);
+            detalhes.registrarFilmeDaSessao(principal.getSessaoId());
+            RemarcacaoSessao remarcacao = detalhes.remarcacaoRecente(principal.getIngressoId());
+            if (remarcacao != null) {
+                detalhes.registrarFilmeDaSessao(remarcacao.getSessaoOriginal());
+            }
+        }));
 
-                return ingressosPorSessao.values().stream()
-                    .map(g -> construirIngressoDetalhado(compra, g));
-            })
-            .collect(Collectors.toList());
+        List<IngressoDetalhado> ingressos = new ArrayList<>();
+        gruposPorCompra.forEach((compraId, grupos) -> {
+            for (List<Ingresso> grupo : grupos) {
+                ingressos.add(construirIngressoDetalhado(compraId, grupo, detalhes));
+            }
+        });
+        return ingressos;
     }
 
-    private IngressoDetalhado construirIngressoDetalhado(Compra compra, List<Ingresso> grupo) {
-        Ingresso ingressoPrincipal = grupo.stream()
+    private Ingresso ingressoPrincipal(List<Ingresso> grupo) {
+        return grupo.stream()
             .min(Comparator.comparing(ing -> ing.getIngressoId().getId()))
             .orElse(grupo.get(0));
+    }
+
+    private IngressoDetalhado construirIngressoDetalhado(CompraId compraId, List<Ingresso> grupo,
+                                                         DetalhesEmLote detalhes) {
+        Ingresso ingressoPrincipal = ingressoPrincipal(grupo);
 
         String todosAssentos = grupo.stream()
             .map(ing -> ing.getAssentoId().getValor())
@@ -236,7 +258,8 @@ public class IngressoService {
             .map(ing -> new IngressoDetalhe(ing.getAssentoId().getValor(), ing.getTipo().name()))
             .collect(Collectors.toList());
 
-        List<ProdutoVenda> produtos = buscarProdutosDaCompra(compra.getCompraId());
+        List<Venda> vendas = detalhes.vendas.obter(compraId);
+        List<ProdutoVenda> produtos = vendas != null ? agregarProdutos(vendas) : new ArrayList<>();
 
         double valorProdutos = produtos.stream()
             .mapToDouble(p -> p.preco() * p.quantidade())
@@ -244,42 +267,24 @@ public class IngressoService {
 
         double total = valorIngressos + valorProdutos;
 
-        Sessao sessao = null;
-        Filme filme = null;
-        try {
-            sessao = sessaoRepositorio.obterPorId(ingressoPrincipal.getSessaoId());
-            if (sessao != null) {
-                filme = filmeRepositorio.obterPorId(sessao.getFilmeId());
-            }
-        } catch (Exception ignored) {}
+        ResumoSessao sessao = detalhes.sessoes.obter(ingressoPrincipal.getSessaoId());
+        Filme filme = sessao != null ? detalhes.filmes.obter(sessao.getFilmeId()) : null;
 
         HistoricoRemarcacao historico = null;
-        try {
-            List<RemarcacaoSessao> remarcacoes = remarcacaoSessaoRepositorio.listarPorIngresso(ingressoPrincipal.getIngressoId());
-            if (!remarcacoes.isEmpty()) {
-                RemarcacaoSessao remarcacaoRecente = remarcacoes.stream()
-                    .max(Comparator.comparing(RemarcacaoSessao::getDataHoraRemarcacao))
-                    .orElse(remarcacoes.get(0));
-
-                Sessao sessaoOriginal = null;
-                Filme filmeOriginal = null;
-                try {
-                    sessaoOriginal = sessaoRepositorio.obterPorId(remarcacaoRecente.getSessaoOriginal());
-                    if (sessaoOriginal != null) {
-                        filmeOriginal = filmeRepositorio.obterPorId(sessaoOriginal.getFilmeId());
-                    }
-                } catch (Exception ignored) {}
-
-                historico = new HistoricoRemarcacao(
-                    remarcacaoRecente.getDataHoraRemarcacao().toString(),
-                    remarcacaoRecente.getMotivoTecnico(),
-                    remarcacaoRecente.getAssentoOriginal() != null ? remarcacaoRecente.getAssentoOriginal().getValor() : null,
-                    sessaoOriginal != null ? sessaoOriginal.getHorario().toString() : null,
-                    sessaoOriginal != null ? "Sala " + sessaoOriginal.getSalaId().getId() : null,
-                    filmeOriginal != null ? filmeOriginal.getTitulo() : null
-                );
-            }
-        } catch (Exception ignored) {}
+        RemarcacaoSessao remarcacaoRecente = detalhes.remarcacaoRecente(ingressoPrincipal.getIngressoId());
+        if (remarcacaoRecente != null) {
+            ResumoSessao sessaoOriginal = detalhes.sessoes.obter(remarcacaoRecente.getSessaoOriginal());
+            Filme filmeOriginal = sessaoOriginal != null ? detalhes.filmes.obter(sessaoOriginal.getFilmeId()) : null;
+
+            historico = new HistoricoRemarcacao(
+                remarcacaoRecente.getDataHoraRemarcacao().toString(),
+                remarcacaoRecente.getMotivoTecnico(),
+                remarcacaoRecente.getAssentoOriginal() != null ? remarcacaoRecente.getAssentoOriginal().getValor() : null,
+                sessaoOriginal != null ? sessaoOriginal.getHorario().toString() : null,
+                sessaoOriginal != null ? "Sala " + sessaoOriginal.getSalaId().getId() : null,
+                filmeOriginal != null ? filmeOriginal.getTitulo() : null
+            );
+        }
 
         return new IngressoDetalhado(
             ingressoPrincipal.getIngressoId().getId(),
@@ -307,15 +312,69 @@ public class IngressoService {
         );
     }
 
+    /**
+     * Dados usados na montagem de uma resposta de ingressos, carregados em lote: cada tipo
+     * é buscado com uma única consulta IN e memorizado até o fim da resposta. Como antes,
+     * uma falha ao buscar esses dados complementares não derruba a resposta.
+     */
+    private class DetalhesEmLote {
+        private final CarregadorLote<SessaoId, ResumoSessao> sessoes = new CarregadorLote<>(ids ->
+            buscarSemFalhar(() -> sessaoRepositorio.buscarResumosPorIds(ids).stream()
+                .collect(Collectors.toMap(ResumoSessao::getSessaoId, sessao -> sessao))));
+
+        private final CarregadorLote<FilmeId, Filme> filmes = new CarregadorLote<>(ids ->
+            buscarSemFalhar(() -> filmeRepositorio.listarPorIds(ids).stream()
+                .collect(Collectors.toMap(Filme::getFilmeId, filme -> filme))));
+
+        private final CarregadorLote<IngressoId, List<RemarcacaoSessao>> remarcacoes = new CarregadorLote<>(ids ->
+            buscarSemFalhar(() -> remarcacaoSessaoRepositorio.listarPorIngressos(ids).stream()
+                .collect(Collectors.groupingBy(RemarcacaoSessao::getIngressoId))));
+
+        private final CarregadorLote<CompraId, List<Venda>> vendas = new CarregadorLote<>(ids ->
+            buscarSemFalhar(() -> vendaRepositorio.buscarPorCompras(ids)));
+
+        private RemarcacaoSessao remarcacaoRecente(IngressoId ingressoId) {
+            List<RemarcacaoSessao> doIngresso = remarcacoes.obter(ingressoId);
+            if (doIngresso == null || doIngresso.isEmpty()) {
+                return null;
+            }
+            return doIngresso.stream()
+                .max(Comparator.comparing(RemarcacaoSessao::getDataHoraRemarcacao))
+                .orElse(doIngresso.get(0));
+        }
+
+        private void registrarFilmeDaSessao(SessaoId sessaoId) {
+            ResumoSessao sessao = sessoes.obter(sessaoId);
+            if (sessao != null) {
+                filmes.registrar(sessao.getFilmeId());
+            }
+        }
+
+        private <K, V> Map<K, V> buscarSemFalhar(java.util.function.Supplier<Map<K, V>> busca) {
+            try {
+                return busca.get();
+            } catch (Exception e) {
+                return Map.of();
+            }
+        }
+    }
+
     // Classes de resultado
     public record ResultadoValidacao(
         boolean valido,
         String mensagem,
         Ingresso ingresso,
-        Sessao sessao,
+        ResumoSessao sessao,
         String todosAssentos
     ) {}
 
+    /**
+     * Página de ingressos do cliente
+     *
+     * @param proximaPagina Cursor da próxima página, ou null se esta é a última
+     */
+    public record PaginaIngressos(List<IngressoDetalhado> ingressos, Integer proximaPagina) {}
+
     public record IngressoDetalhado(
         int id,
         String qrCode,
@@ -1,23 +1,28 @@
 package com.astra.cinema.aplicacao.servicos;
 
-import java.util.Calendar;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import com.astra.cinema.aplicacao.ingresso.ExpirarIngressosUseCase;
 import com.astra.cinema.aplicacao.sessao.CriarSessaoUseCase;
+import com.astra.cinema.aplicacao.sessao.IndicadoresSessoes;
 import com.astra.cinema.aplicacao.sessao.ModificarSessaoUseCase;
 import com.astra.cinema.aplicacao.sessao.RemarcarIngressosSessaoUseCase;
 import com.astra.cinema.aplicacao.sessao.RemoverSessaoUseCase;
+import com.astra.cinema.aplicacao.sessao.ReservasTemporariasAssentos;
+import com.astra.cinema.aplicacao.sessao.TransicaoStatusSessoes;
 import com.astra.cinema.dominio.comum.AssentoId;
+import com.astra.cinema.dominio.comum.ClienteId;
 import com.astra.cinema.dominio.comum.FilmeId;
 import com.astra.cinema.dominio.comum.SalaId;
 import com.astra.cinema.dominio.comum.SessaoId;
 import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.Sala;
 import com.astra.cinema.dominio.sessao.SalaRepositorio;
 import com.astra.cinema.dominio.sessao.Sessao;
@@ -37,7 +42,9 @@ public class SessaoService {
     private final ModificarSessaoUseCase modificarSessaoUseCase;
     private final RemoverSessaoUseCase removerSessaoUseCase;
     private final RemarcarIngressosSessaoUseCase remarcarIngressosSessaoUseCase;
-    private final ExpirarIngressosUseCase expirarIngressosUseCase;
+    private final TransicaoStatusSessoes transicaoStatusSessoes;
+    private final ReservasTemporariasAssentos reservasTemporarias;
+    private final IndicadoresSessoes indicadoresSessoes;
 
     public SessaoService(
             SessaoRepositorio sessaoRepositorio,
@@ -47,7 +54,9 @@ public class SessaoService {
             ModificarSessaoUseCase modificarSessaoUseCase,
             RemoverSessaoUseCase removerSessaoUseCase,
             RemarcarIngressosSessaoUseCase remarcarIngressosSessaoUseCase,
-            ExpirarIngressosUseCase expirarIngressosUseCase) {
+            TransicaoStatusSessoes transicaoStatusSessoes,
+            ReservasTemporariasAssentos reservasTemporarias,
+            IndicadoresSessoes indicadoresSessoes) {
         this.sessaoRepositorio = sessaoRepositorio;
         this.filmeRepositorio = filmeRepositorio;
         this.salaRepositorio = salaRepositorio;
@@ -55,62 +64,30 @@ public class SessaoService {
         this.modificarSessaoUseCase = modificarSessaoUseCase;
         this.removerSessaoUseCase = removerSessaoUseCase;
         this.remarcarIngressosSessaoUseCase = remarcarIngressosSessaoUseCase;
-        this.expirarIngressosUseCase = expirarIngressosUseCase;
-    }
-
-    /**
-     * Atualiza automaticamente o status da sessão para CONCLUIDA se já passou
-     * E expira os ingressos ativos da sessão
-     */
-    private Sessao atualizarStatusSeNecessario(Sessao sessao) {
-        if (sessao.getStatus() == StatusSessao.DISPONIVEL || sessao.getStatus() == StatusSessao.ESGOTADA) {
-            Date agora = new Date();
-            if (sessao.getHorario().before(agora)) {
-                // Sessão já começou, marcar como CONCLUIDA
-                Sessao sessaoAtualizada = new Sessao(
-                    sessao.getSessaoId(),
-                    sessao.getFilmeId(),
-                    sessao.getHorario(),
-                    StatusSessao.CONCLUIDA,
-                    sessao.getMapaAssentosDisponiveis(),
-                    sessao.getSalaId()
-                );
-                sessaoRepositorio.salvar(sessaoAtualizada);
-                
-                // Expira ingressos ativos da sessão concluída
-                try {
-                    expirarIngressosUseCase.executarParaSessao(sessao.getSessaoId());
-                } catch (Exception e) {
-                    // Log erro mas não interrompe o fluxo
-                    System.err.println("Erro ao expirar ingressos da sessão " + sessao.getSessaoId().getId() + ": " + e.getMessage());
-                }
-                
-                return sessaoAtualizada;
-            }
-        }
-        return sessao;
+        this.transicaoStatusSessoes = transicaoStatusSessoes;
+        this.reservasTemporarias = reservasTemporarias;
+        this.indicadoresSessoes = indicadoresSessoes;
     }
 
     /**
      * Lista sessões com filtros opcionais
      */
     public List<SessaoDTO> listarSessoes(Integer filmeId, String status, boolean apenasAtivas) {
-        List<Sessao> sessoes;
+        List<ResumoSessao> sessoes;
+        StatusSessao statusEnum = status != null && !status.isEmpty()
+                ? StatusSessao.valueOf(status.toUpperCase())
+                : null;
 
         if (filmeId != null) {
-            sessoes = sessaoRepositorio.buscarPorFilme(new FilmeId(filmeId));
+            sessoes = sessaoRepositorio.buscarResumosPorFilme(new FilmeId(filmeId));
+        } else if (statusEnum != null) {
+            sessoes = sessaoRepositorio.buscarResumosPorStatus(EnumSet.of(statusEnum));
         } else {
-            sessoes = sessaoRepositorio.listarTodas();
+            sessoes = sessaoRepositorio.listarResumos();
         }
 
-        // Atualizar status de sessões que já passaram
-        sessoes = sessoes.stream()
-                .map(this::atualizarStatusSeNecessario)
-                .collect(Collectors.toList());
-
         // Filtro por status
-        if (status != null && !status.isEmpty()) {
-            StatusSessao statusEnum = StatusSessao.valueOf(status.toUpperCase());
+        if (statusEnum != null) {
             sessoes = sessoes.stream()
                     .filter(s -> s.getStatus() == statusEnum)
                     .collect(Collectors.toList());
@@ -123,102 +100,24 @@ public class SessaoService {
                     .collect(Collectors.toList());
         }
 
-        return sessoes.stream()
-                .map(this::mapearSessaoParaDTO)
-                .collect(Collectors.toList());
+        return mapearResumosParaDTO(sessoes);
     }
 
     /**
      * Obtém indicadores do dashboard (total de sessões, ocupação média, etc.)
      */
     public IndicadoresSessao obterIndicadores() {
-        List<Sessao> todasSessoes = sessaoRepositorio.listarTodas();
-        
-        // Atualizar status de sessões que já passaram
-        todasSessoes = todasSessoes.stream()
-                .map(this::atualizarStatusSeNecessario)
-                .collect(Collectors.toList());
-
-        long totalSessoes = todasSessoes.size();
-        long sessoesDisponiveis = todasSessoes.stream()
-                .filter(s -> s.getStatus() == StatusSessao.DISPONIVEL)
-                .count();
-        long sessoesEsgotadas = todasSessoes.stream()
-                .filter(s -> s.getStatus() == StatusSessao.ESGOTADA)
-                .count();
-        long sessoesCanceladas = todasSessoes.stream()
-                .filter(s -> s.getStatus() == StatusSessao.CANCELADA)
-                .count();
-
-        // Calcula ocupação média APENAS de sessões DISPONIVEL
-        double ocupacaoMedia = todasSessoes.stream()
-                .filter(s -> s.getStatus() == StatusSessao.DISPONIVEL)
-                .mapToDouble(this::calcularOcupacao)
-                .average()
-                .orElse(0.0);
-
-        // Sessões hoje
-        long sessoesHoje = todasSessoes.stream()
-                .filter(s -> {
-                    Calendar now = Calendar.getInstance();
-                    Calendar sh = Calendar.getInstance();
-                    sh.setTime(s.getHorario());
-                    return now.get(Calendar.YEAR) == sh.get(Calendar.YEAR)
-                            && now.get(Calendar.DAY_OF_YEAR) == sh.get(Calendar.DAY_OF_YEAR);
-                }).count();
-
-        // Sessões esta semana
-        long sessoesSemana = todasSessoes.stream()
-                .filter(s -> {
-                    Calendar now = Calendar.getInstance();
-                    Calendar st = Calendar.getInstance();
-                    st.setTime(s.getHorario());
-                    return now.get(Calendar.YEAR) == st.get(Calendar.YEAR)
-                            && now.get(Calendar.WEEK_OF_YEAR) == st.get(Calendar.WEEK_OF_YEAR);
-                }).count();
-
-        // Contar ingressos apenas de sessões DISPONIVEL
-        long ingressosReservados = todasSessoes.stream()
-                .filter(s -> s.getStatus() == StatusSessao.DISPONIVEL)
-                .mapToLong(s -> s.getMapaAssentosDisponiveis().values().stream()
-                        .filter(d -> !d)
-                        .count()
-                ).sum();
-
-        long ingressosDisponiveis = todasSessoes.stream()
-                .filter(s -> s.getStatus() == StatusSessao.DISPONIVEL)
-                .mapToLong(s -> s.getMapaAssentosDisponiveis().values().stream()
-                        .filter(d -> d)
-                        .count()
-                ).sum();
-
-        return new IndicadoresSessao(
-                totalSessoes,
-                sessoesDisponiveis,
-                sessoesEsgotadas,
-                sessoesCanceladas,
-                sessoesHoje,
-                sessoesSemana,
-                Math.round(ocupacaoMedia * 100.0) / 100.0,
-                ingressosReservados,
-                Math.max(0L, ingressosDisponiveis)
-        );
+        // Mantidos de forma incremental: não percorre as sessões a cada chamada
+        return indicadoresSessoes.obter();
     }
 
     /**
      * Lista sessões de um filme específico
      */
     public List<SessaoDTO> listarSessoesPorFilme(Integer filmeId) {
-        List<Sessao> sessoes = sessaoRepositorio.buscarPorFilme(new FilmeId(filmeId));
+        List<ResumoSessao> sessoes = sessaoRepositorio.buscarResumosPorFilme(new FilmeId(filmeId));
         
-        // Atualizar status de sessões que já passaram
-        sessoes = sessoes.stream()
-                .map(this::atualizarStatusSeNecessario)
-                .collect(Collectors.toList());
-        
-        return sessoes.stream()
-                .map(this::mapearSessaoParaDTO)
-                .collect(Collectors.toList());
+        return mapearResumosParaDTO(sessoes);
     }
 
     /**
@@ -230,9 +129,6 @@ public class SessaoService {
             throw new IllegalArgumentException("Sessão não encontrada");
         }
         
-        // Atualizar status se necessário
-        sessao = atualizarStatusSeNecessario(sessao);
-        
         return mapearSessaoParaDTO(sessao);
     }
 
@@ -245,9 +141,11 @@ public class SessaoService {
             throw new IllegalArgumentException("Sessão não encontrada");
         }
 
+        // Assentos reservados por clientes em checkout aparecem como indisponíveis
+        Set<AssentoId> reservados = reservasTemporarias.assentosReservados(sessao.getSessaoId());
         Map<String, Boolean> assentosMap = new HashMap<>();
         sessao.getMapaAssentosDisponiveis().forEach((assentoId, disponivel) -> {
-            assentosMap.put(assentoId.getValor(), disponivel);
+            assentosMap.put(assentoId.getValor(), disponivel && !reservados.contains(assentoId));
         });
 
         long disponiveis = assentosMap.values().stream().filter(d -> d).count();
@@ -256,30 +154,55 @@ public class SessaoService {
     }
 
     /**
-     * Reserva assentos em uma sessão
+     * Reserva temporariamente assentos de uma sessão para o cliente concluir a compra.
+     * A reserva não grava no banco e vence sozinha se a compra não for concluída.
+     *
+     * @return Instante em que a reserva vence
      */
-    public void reservarAssentos(Integer id, List<String> assentos) {
+    public Date reservarAssentos(Integer id, Integer clienteId, List<String> assentos) {
+        if (clienteId == null) {
+            throw new IllegalArgumentException("O id do cliente é obrigatório para reservar assentos");
+        }
+        if (assentos == null || assentos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum assento foi selecionado");
+        }
         Sessao sessao = sessaoRepositorio.obterPorId(new SessaoId(id));
         if (sessao == null) {
             throw new IllegalArgumentException("Sessão não encontrada");
         }
         
-        // Atualizar status se necessário
-        sessao = atualizarStatusSeNecessario(sessao);
-        
-        // Validar se sessão está disponível para venda
-        if (sessao.getStatus() != StatusSessao.DISPONIVEL) {
+        // Validar se sessão está disponível para venda (a conclusão pode estar a até um segundo de distância)
+        if (sessao.getStatus() != StatusSessao.DISPONIVEL || !sessao.getHorario().after(new Date())) {
             throw new IllegalStateException("Esta sessão não está mais disponível para compra de ingressos");
         }
 
-        // Reserva cada assento
-        for (String assentoStr : assentos) {
-            AssentoId assentoId = new AssentoId(assentoStr);
-            sessao.reservarAssento(assentoId);
+        List<AssentoId> assentoIds = assentos.stream()
+                .map(AssentoId::new)
+                .collect(Collectors.toList());
+        return reservasTemporarias.reservar(sessao.getSessaoId(), new ClienteId(clienteId), assentoIds);
+    }
+
+    /**
+     * Escolhe e reserva temporariamente os melhores assentos lado a lado para um grupo
+     */
+    public ReservasTemporariasAssentos.ReservaTemporaria reservarMelhoresAssentos(Integer id, Integer clienteId,
+                                                                                   Integer quantidade) {
+        if (clienteId == null) {
+            throw new IllegalArgumentException("O id do cliente é obrigatório para reservar assentos");
+        }
+        if (quantidade == null || quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade de assentos deve ser positiva");
+        }
+        Sessao sessao = sessaoRepositorio.obterPorId(new SessaoId(id));
+        if (sessao == null) {
+            throw new IllegalArgumentException("Sessão não encontrada");
+        }
+
+        if (sessao.getStatus() != StatusSessao.DISPONIVEL || !sessao.getHorario().after(new Date())) {
+            throw new IllegalStateException("Esta sessão não está mais disponível para compra de ingressos");
         }
 
-        // Salva a sessão atualizada
-        sessaoRepositorio.salvar(sessao);
+        return reservasTemporarias.reservarMelhoresAssentos(sessao.getSessaoId(), new ClienteId(clienteId), quantidade);
     }
 
     /**
@@ -312,6 +235,7 @@ public class SessaoService {
                 salaIdObj,
                 capacidade
         );
+        transicaoStatusSessoes.sessaoAgendada(sessao.getSessaoId());
 
         return mapearSessaoParaDTO(sessao);
     }
@@ -320,31 +244,10 @@ public class SessaoService {
      * Valida se há conflito de horário na mesma sala
      */
     private void validarConflitoSala(SalaId salaId, Date novoHorario, int duracaoFilme, SessaoId sessaoAtualId) {
-        // Buscar todas as sessões da sala
-        List<Sessao> sessoesDaSala = sessaoRepositorio.listarTodas().stream()
-                .filter(s -> s.getSalaId().equals(salaId))
-                .filter(s -> s.getStatus() != StatusSessao.CANCELADA && s.getStatus() != StatusSessao.CONCLUIDA)
-                .filter(s -> sessaoAtualId == null || !s.getSessaoId().equals(sessaoAtualId))
-                .collect(Collectors.toList());
-        
-        long novoHorarioInicio = novoHorario.getTime();
-        long novoHorarioFim = novoHorarioInicio + (duracaoFilme * 60 * 1000); // duração em minutos -> milissegundos
-        
-        for (Sessao sessao : sessoesDaSala) {
-            long horarioExistenteInicio = sessao.getHorario().getTime();
-            
-            // Buscar duração do filme da sessão existente
-            Filme filmeExistente = filmeRepositorio.obterPorId(sessao.getFilmeId());
-            if (filmeExistente == null) continue;
-            
-            long horarioExistenteFim = horarioExistenteInicio + (filmeExistente.getDuracao() * 60 * 1000);
-            
-            // Verificar sobreposição
-            boolean haConflito = (novoHorarioInicio < horarioExistenteFim) && (novoHorarioFim > horarioExistenteInicio);
-            
-            if (haConflito) {
-                throw new IllegalStateException("Conflito de horário: a sala já possui uma sessão agendada neste horário");
-            }
+        // Consulta por intervalo no índice (sala_id, horario), usando a duração real de cada filme
+        Date novoHorarioFim = new Date(novoHorario.getTime() + duracaoFilme * 60_000L);
+        if (sessaoRepositorio.existeConflitoHorario(salaId, novoHorario, novoHorarioFim, sessaoAtualId)) {
+            throw new IllegalStateException("Conflito de horário: a sala já possui uma sessão agendada neste horário");
         }
     }
 
@@ -380,6 +283,7 @@ public class SessaoService {
                 novoHorario,
                 novaSala
         );
+        transicaoStatusSessoes.sessaoAgendada(new SessaoId(id));
 
         Sessao sessaoAtualizada = sessaoRepositorio.obterPorId(new SessaoId(id));
         return mapearSessaoParaDTO(sessaoAtualizada);
@@ -395,6 +299,7 @@ public class SessaoService {
                         novoHorario,
                         assentosAfetados
                 );
+        transicaoStatusSessoes.sessaoAgendada(new SessaoId(id));
 
         return new ResultadoRemarcacao(
                 "Ingressos remarcados com sucesso",
@@ -423,52 +328,81 @@ public class SessaoService {
     /**
      * Calcula a ocupação percentual de uma sessão baseada na capacidade real da sala
      */
-    private double calcularOcupacao(Sessao sessao) {
-        // Busca a capacidade real da sala
-        Sala sala = salaRepositorio.obterPorId(sessao.getSalaId());
+    private double calcularOcupacao(ResumoSessao sessao, Sala sala) {
         if (sala == null || sala.getCapacidade() == 0) return 0.0;
 
-        long assentosOcupados = sessao.getMapaAssentosDisponiveis().values().stream()
-                .filter(disponivel -> !disponivel)
-                .count();
-
         // Retorna fração entre 0.0 e 1.0 (ex: 0.08 para 8%) usando capacidade real da sala
-        return (double) assentosOcupados / (double) sala.getCapacidade();
+        return (double) sessao.getAssentosOcupados() / (double) sala.getCapacidade();
+    }
+
+    /**
+     * Salas das sessões, buscadas de uma vez (uma consulta IN por página)
+     */
+    private Map<SalaId, Sala> salasPorId(List<ResumoSessao> sessoes) {
+        Set<SalaId> ids = sessoes.stream().map(ResumoSessao::getSalaId).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return salaRepositorio.listarPorIds(ids).stream()
+                .collect(Collectors.toMap(Sala::getSalaId, sala -> sala, (a, b) -> a));
+    }
+
+    /**
+     * Filmes das sessões, buscados de uma vez (uma consulta IN por página)
+     */
+    private Map<FilmeId, Filme> filmesPorId(List<ResumoSessao> sessoes) {
+        Set<FilmeId> ids = sessoes.stream().map(ResumoSessao::getFilmeId).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return filmeRepositorio.listarPorIds(ids).stream()
+                .collect(Collectors.toMap(Filme::getFilmeId, filme -> filme, (a, b) -> a));
     }
 
     /**
      * Mapeia Sessao para DTO
      */
     private SessaoDTO mapearSessaoParaDTO(Sessao sessao) {
-        // Busca a capacidade real da sala
-        Sala sala = salaRepositorio.obterPorId(sessao.getSalaId());
-        int capacidadeReal = sala != null ? sala.getCapacidade() : sessao.getCapacidade();
+        ResumoSessao resumo = ResumoSessao.de(sessao);
+        return mapearResumoParaDTO(
+                resumo,
+                salaRepositorio.obterPorId(resumo.getSalaId()),
+                filmeRepositorio.obterPorId(resumo.getFilmeId()));
+    }
+
+    /**
+     * Mapeia uma página de sessões para DTO com uma consulta de salas e uma de filmes,
+     * independente da quantidade de sessões
+     */
+    private List<SessaoDTO> mapearResumosParaDTO(List<ResumoSessao> sessoes) {
+        Map<SalaId, Sala> salas = salasPorId(sessoes);
+        Map<FilmeId, Filme> filmes = filmesPorId(sessoes);
+        return sessoes.stream()
+                .map(sessao -> mapearResumoParaDTO(sessao, salas.get(sessao.getSalaId()), filmes.get(sessao.getFilmeId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mapeia o resumo da sessão para DTO usando os contadores de ocupação
+     */
+    private SessaoDTO mapearResumoParaDTO(ResumoSessao sessao, Sala sala, Filme filme) {
+        // Capacidade real da sala
+        int capacidadeReal = sala != null ? sala.getCapacidade() : sessao.getTotalAssentos();
         String nomeSala = sala != null ? sala.getNome() : "Sala " + sessao.getSalaId().getId();
 
         // Adiciona informações do filme
         FilmeInfo filmeInfo = null;
         String filmeTitulo = "Filme #" + sessao.getFilmeId().getId();
-        try {
-            Filme filme = filmeRepositorio.obterPorId(sessao.getFilmeId());
-            if (filme != null) {
-                filmeInfo = new FilmeInfo(
-                        filme.getFilmeId().getId(),
-                        filme.getTitulo(),
-                        filme.getDuracao(),
-                        filme.getClassificacaoEtaria(),
-                        filme.getImagemUrl()
-                );
-                filmeTitulo = filme.getTitulo();
-            }
-        } catch (Exception ignored) {}
-
-        // Adiciona estatísticas de ocupação baseadas nos assentos realmente cadastrados
-        long assentosDisponiveis = sessao.getMapaAssentosDisponiveis().values().stream()
-                .filter(disponivel -> disponivel)
-                .count();
-        long assentosOcupados = sessao.getMapaAssentosDisponiveis().values().stream()
-                .filter(disponivel -> !disponivel)
-                .count();
+        if (filme != null) {
+            filmeInfo = new FilmeInfo(
+                    filme.getFilmeId().getId(),
+                    filme.getTitulo(),
+                    filme.getDuracao(),
+                    filme.getClassificacaoEtaria(),
+                    filme.getImagemUrl()
+            );
+            filmeTitulo = filme.getTitulo();
+        }
 
         return new SessaoDTO(
                 sessao.getSessaoId().getId(),
@@ -480,9 +414,9 @@ public class SessaoService {
                 capacidadeReal,
                 filmeTitulo,
                 filmeInfo,
-                assentosDisponiveis,
-                assentosOcupados,
-                Math.round(calcularOcupacao(sessao) * 100.0) / 100.0
+                sessao.getAssentosDisponiveis(),
+                sessao.getAssentosOcupados(),
+                Math.round(calcularOcupacao(sessao, sala) * 100.0) / 100.0
         );
     }
 
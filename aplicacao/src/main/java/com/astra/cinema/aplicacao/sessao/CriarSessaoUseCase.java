@@ -6,7 +6,6 @@ import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
 import com.astra.cinema.dominio.filme.StatusFilme;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -80,22 +79,23 @@ public class CriarSessaoUseCase {
             throw new IllegalArgumentException("O id da sala não pode ser nulo");
         }
 
-        // Verificar conflito de horário
-        if (sessaoRepositorio.existeConflitoHorario(salaId, horario, null)) {
-            throw new IllegalStateException("Já existe uma sessão agendada para esta sala neste horário ou próximo a ele");
-        }
-
         // Busca o filme
         Filme filme = filmeRepositorio.obterPorId(filmeId);
         if (filme == null) {
             throw new IllegalArgumentException("Filme não encontrado");
         }
 
+        // Verificar conflito de horário durante toda a duração do filme
+        Date fim = new Date(horario.getTime() + filme.getDuracao() * 60_000L);
+        if (sessaoRepositorio.existeConflitoHorario(salaId, horario, fim, null)) {
+            throw new IllegalStateException("Já existe uma sessão agendada para esta sala neste horário ou próximo a ele");
+        }
+
         // Verifica se o filme está em cartaz
         validarStatusFilme(filme);
 
         // Cria o mapa de assentos disponíveis
-        Map<AssentoId, Boolean> mapaAssentos = criarMapaAssentosDisponiveis(capacidadeSala);
+        MapaAssentos mapaAssentos = criarMapaAssentosDisponiveis(capacidadeSala);
 
         // Cria a sessão (ID será gerado automaticamente pelo banco via IDENTITY)
         Sessao sessao = new Sessao(null, filmeId, horario, StatusSessao.DISPONIVEL, mapaAssentos, salaId);
@@ -137,24 +137,9 @@ public class CriarSessaoUseCase {
     /**
      * Template Method - Criação do mapa de assentos
      */
-    private Map<AssentoId, Boolean> criarMapaAssentosDisponiveis(int capacidadeSala) {
-        Map<AssentoId, Boolean> mapaAssentos = new HashMap<>();
-        
-        // Gera assentos no formato A1, A2, ..., B1, B2, etc.
-        int assentosPorFileira = 10;
-        int numFileiras = (int) Math.ceil((double) capacidadeSala / assentosPorFileira);
-        
-        for (int fileira = 0; fileira < numFileiras; fileira++) {
-            char letraFileira = (char) ('A' + fileira);
-            int assentosNestaFileira = Math.min(assentosPorFileira, capacidadeSala - (fileira * assentosPorFileira));
-            
-            for (int numero = 1; numero <= assentosNestaFileira; numero++) {
-                String codigoAssento = letraFileira + String.valueOf(numero);
-                mapaAssentos.put(new AssentoId(codigoAssento), true); // true = disponível
-            }
-        }
-        
-        return mapaAssentos;
+    private MapaAssentos criarMapaAssentosDisponiveis(int capacidadeSala) {
+        // Gera assentos no formato A1, A2, ..., B1, B2, etc. (10 por fileira)
+        return MapaAssentos.todosDisponiveis(LayoutAssentos.padrao(capacidadeSala));
     }
 
     /**
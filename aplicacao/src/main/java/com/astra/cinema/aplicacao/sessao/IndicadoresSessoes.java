@@ -0,0 +1,238 @@
+package com.astra.cinema.aplicacao.sessao;
+
+import com.astra.cinema.aplicacao.servicos.SessaoService.IndicadoresSessao;
+import com.astra.cinema.dominio.comum.SalaId;
+import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.eventos.AssentosSessaoAlteradosEvento;
+import com.astra.cinema.dominio.eventos.ObservadorEvento;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
+import com.astra.cinema.dominio.sessao.Sala;
+import com.astra.cinema.dominio.sessao.SalaRepositorio;
+import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+import com.astra.cinema.dominio.sessao.StatusSessao;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.WeekFields;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Indicadores do dashboard de sessões mantidos de forma incremental.
+ *
+ * Guarda a contribuição de cada sessão (status, dia, assentos, ocupação) e os totais
+ * agregados. Cada {@link AssentosSessaoAlteradosEvento} (criação, cancelamento, venda,
+ * conclusão...) só marca a sessão como pendente; {@link #processarPendentes()} relê o
+ * resumo das sessões pendentes, troca a contribuição antiga pela nova e publica um novo
+ * {@link IndicadoresSessao}. {@link #obter()} apenas devolve o último publicado.
+ *
+ * "Hoje" e "esta semana" são lidos de uma contagem de sessões por dia; na virada do dia
+ * os totais são recalculados do zero, o que também corrige qualquer evento perdido.
+ */
+public class IndicadoresSessoes implements ObservadorEvento<AssentosSessaoAlteradosEvento> {
+
+    private static final long ESCALA_OCUPACAO = 1_000_000L;
+
+    /**
+     * Quanto uma sessão soma aos indicadores
+     */
+    private record Contribuicao(StatusSessao status, LocalDate dia, int ocupados, int disponiveis, long ocupacao) {
+    }
+
+    private final SessaoRepositorio sessaoRepositorio;
+    private final SalaRepositorio salaRepositorio;
+    private final LongSupplier relogio;
+    private final ZoneId fuso;
+    private final WeekFields semana = WeekFields.of(Locale.getDefault());
+    private final Set<SessaoId> pendentes = ConcurrentHashMap.newKeySet();
+
+    private final Map<SessaoId, Contribuicao> contribuicoes = new HashMap<>();
+    private final Map<StatusSessao, Long> sessoesPorStatus = new EnumMap<>(StatusSessao.class);
+    private final Map<LocalDate, Long> sessoesPorDia = new HashMap<>();
+    private long ingressosReservados;
+    private long ingressosDisponiveis;
+    private long somaOcupacao;
+    private LocalDate diaCalculado;
+
+    private volatile IndicadoresSessao indicadores;
+
+    public IndicadoresSessoes(SessaoRepositorio sessaoRepositorio, SalaRepositorio salaRepositorio) {
+        this(sessaoRepositorio, salaRepositorio, System::currentTimeMillis, ZoneId.systemDefault());
+    }
+
+    public IndicadoresSessoes(SessaoRepositorio sessaoRepositorio, SalaRepositorio salaRepositorio,
+                              LongSupplier relogio, ZoneId fuso) {
+        if (sessaoRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de sessões não pode ser nulo");
+        }
+        if (salaRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de salas não pode ser nulo");
+        }
+        if (relogio == null || fuso == null) {
+            throw new IllegalArgumentException("O relógio e o fuso não podem ser nulos");
+        }
+        this.sessaoRepositorio = sessaoRepositorio;
+        this.salaRepositorio = salaRepositorio;
+        this.relogio = relogio;
+        this.fuso = fuso;
+    }
+
+    /**
+     * Últimos indicadores calculados. Só consulta o banco na primeira chamada.
+     */
+    public IndicadoresSessao obter() {
+        IndicadoresSessao atuais = indicadores;
+        if (atuais != null) {
+            return atuais;
+        }
+        synchronized (this) {
+            if (indicadores == null) {
+                recalcularTudo();
+            }
+            return indicadores;
+        }
+    }
+
+    @Override
+    public void atualizar(AssentosSessaoAlteradosEvento evento) {
+        pendentes.add(evento.getSessaoId());
+    }
+
+    @Override
+    public Class<AssentosSessaoAlteradosEvento> getTipoEvento() {
+        return AssentosSessaoAlteradosEvento.class;
+    }
+
+    /**
+     * Aplica as sessões alteradas desde a última chamada e faz a virada do dia.
+     * Deve ser chamado periodicamente.
+     *
+     * @return Quantidade de sessões reaplicadas
+     */
+    public synchronized int processarPendentes() {
+        if (indicadores == null) {
+            // Ninguém consultou ainda: a primeira consulta carrega tudo
+            pendentes.clear();
+            return 0;
+        }
+        if (!hoje().equals(diaCalculado)) {
+            pendentes.clear();
+            recalcularTudo();
+            return contribuicoes.size();
+        }
+
+        int aplicadas = 0;
+        Iterator<SessaoId> iterador = pendentes.iterator();
+        while (iterador.hasNext()) {
+            SessaoId sessaoId = iterador.next();
+            iterador.remove();
+            ResumoSessao resumo = sessaoRepositorio.obterResumo(sessaoId);
+            Contribuicao nova = resumo != null
+                    ? contribuicao(resumo, salaRepositorio.obterPorId(resumo.getSalaId()))
+                    : null;
+            if (substituir(sessaoId, nova)) {
+                aplicadas++;
+            }
+        }
+        if (aplicadas > 0) {
+            publicar();
+        }
+        return aplicadas;
+    }
+
+    private void recalcularTudo() {
+        contribuicoes.clear();
+        sessoesPorStatus.clear();
+        sessoesPorDia.clear();
+        ingressosReservados = 0;
+        ingressosDisponiveis = 0;
+        somaOcupacao = 0;
+
+        Map<SalaId, Sala> salas = new HashMap<>();
+        for (Sala sala : salaRepositorio.listarTodas()) {
+            salas.put(sala.getSalaId(), sala);
+        }
+        for (ResumoSessao resumo : sessaoRepositorio.listarResumos()) {
+            substituir(resumo.getSessaoId(), contribuicao(resumo, salas.get(resumo.getSalaId())));
+        }
+        diaCalculado = hoje();
+        publicar();
+    }
+
+    private Contribuicao contribuicao(ResumoSessao resumo, Sala sala) {
+        // Ocupação em relação à capacidade real da sala, como na listagem
+        long ocupacao = sala == null || sala.getCapacidade() == 0
+                ? 0
+                : Math.round(resumo.getAssentosOcupados() * (double) ESCALA_OCUPACAO / sala.getCapacidade());
+        LocalDate dia = Instant.ofEpochMilli(resumo.getHorario().getTime()).atZone(fuso).toLocalDate();
+        return new Contribuicao(resumo.getStatus(), dia, resumo.getAssentosOcupados(),
+                resumo.getAssentosDisponiveis(), ocupacao);
+    }
+
+    /**
+     * Troca a contribuição da sessão; retorna false se nada mudou
+     */
+    private boolean substituir(SessaoId sessaoId, Contribuicao nova) {
+        Contribuicao antiga = nova != null ? contribuicoes.put(sessaoId, nova) : contribuicoes.remove(sessaoId);
+        if (nova != null ? nova.equals(antiga) : antiga == null) {
+            return false;
+        }
+        if (antiga != null) {
+            aplicar(antiga, -1);
+        }
+        if (nova != null) {
+            aplicar(nova, 1);
+        }
+        return true;
+    }
+
+    private void aplicar(Contribuicao contribuicao, int sinal) {
+        sessoesPorStatus.merge(contribuicao.status(), (long) sinal, Long::sum);
+        if (sessoesPorDia.merge(contribuicao.dia(), (long) sinal, Long::sum) == 0) {
+            sessoesPorDia.remove(contribuicao.dia());
+        }
+        // Ingressos e ocupação consideram APENAS sessões DISPONIVEL
+        if (contribuicao.status() == StatusSessao.DISPONIVEL) {
+            ingressosReservados += (long) sinal * contribuicao.ocupados();
+            ingressosDisponiveis += (long) sinal * contribuicao.disponiveis();
+            somaOcupacao += sinal * contribuicao.ocupacao();
+        }
+    }
+
+    private void publicar() {
+        LocalDate hoje = hoje();
+        LocalDate inicioSemana = hoje.with(semana.dayOfWeek(), 1);
+        long sessoesSemana = 0;
+        for (int dia = 0; dia < 7; dia++) {
+            sessoesSemana += sessoesPorDia.getOrDefault(inicioSemana.plusDays(dia), 0L);
+        }
+
+        long disponiveis = sessoesPorStatus.getOrDefault(StatusSessao.DISPONIVEL, 0L);
+        double ocupacaoMedia = disponiveis > 0
+                ? (double) somaOcupacao / ESCALA_OCUPACAO / disponiveis
+                : 0.0;
+
+        indicadores = new IndicadoresSessao(
+                contribuicoes.size(),
+                disponiveis,
+                sessoesPorStatus.getOrDefault(StatusSessao.ESGOTADA, 0L),
+                sessoesPorStatus.getOrDefault(StatusSessao.CANCELADA, 0L),
+                sessoesPorDia.getOrDefault(hoje, 0L),
+                sessoesSemana,
+                Math.round(ocupacaoMedia * 100.0) / 100.0,
+                ingressosReservados,
+                Math.max(0L, ingressosDisponiveis)
+        );
+    }
+
+    private LocalDate hoje() {
+        return Instant.ofEpochMilli(relogio.getAsLong()).atZone(fuso).toLocalDate();
+    }
+}
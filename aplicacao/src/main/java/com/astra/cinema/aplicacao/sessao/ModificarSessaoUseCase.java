@@ -1,7 +1,10 @@
 package com.astra.cinema.aplicacao.sessao;
 
+import com.astra.cinema.aplicacao.ingresso.ExpirarIngressosUseCase;
 import com.astra.cinema.dominio.comum.SalaId;
 import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.filme.Filme;
+import com.astra.cinema.dominio.filme.FilmeRepositorio;
 import com.astra.cinema.dominio.sessao.Sessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 import com.astra.cinema.dominio.sessao.StatusSessao;
@@ -16,12 +19,23 @@ import java.util.Date;
  */
 public class ModificarSessaoUseCase {
     private final SessaoRepositorio sessaoRepositorio;
+    private final FilmeRepositorio filmeRepositorio;
+    private final ExpirarIngressosUseCase expirarIngressosUseCase;
 
-    public ModificarSessaoUseCase(SessaoRepositorio sessaoRepositorio) {
+    public ModificarSessaoUseCase(SessaoRepositorio sessaoRepositorio, FilmeRepositorio filmeRepositorio,
+                                  ExpirarIngressosUseCase expirarIngressosUseCase) {
         if (sessaoRepositorio == null) {
             throw new IllegalArgumentException("O repositório de sessões não pode ser nulo");
         }
+        if (filmeRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de filmes não pode ser nulo");
+        }
+        if (expirarIngressosUseCase == null) {
+            throw new IllegalArgumentException("O caso de uso de expiração de ingressos não pode ser nulo");
+        }
         this.sessaoRepositorio = sessaoRepositorio;
+        this.filmeRepositorio = filmeRepositorio;
+        this.expirarIngressosUseCase = expirarIngressosUseCase;
     }
 
     /**
@@ -53,8 +67,14 @@ public class ModificarSessaoUseCase {
         Date horarioAtualizado = (novoHorario != null) ? novoHorario : sessao.getHorario();
         SalaId salaAtualizada = (novaSala != null) ? novaSala : sessao.getSalaId();
 
-        // Verificar conflito de horário (excluindo a própria sessão da verificação)
-        if (sessaoRepositorio.existeConflitoHorario(salaAtualizada, horarioAtualizado, sessaoId)) {
+        Filme filme = filmeRepositorio.obterPorId(sessao.getFilmeId());
+        if (filme == null) {
+            throw new IllegalArgumentException("Filme não encontrado");
+        }
+
+        // Verificar conflito de horário durante toda a duração do filme (excluindo a própria sessão)
+        Date fimAtualizado = new Date(horarioAtualizado.getTime() + filme.getDuracao() * 60_000L);
+        if (sessaoRepositorio.existeConflitoHorario(salaAtualizada, horarioAtualizado, fimAtualizado, sessaoId)) {
             throw new IllegalStateException("Já existe uma sessão agendada para esta sala neste horário ou próximo a ele");
         }
 
@@ -67,9 +87,13 @@ public class ModificarSessaoUseCase {
             salaAtualizada
         );
 
-        // Persiste
+        // Persiste só horário e sala; os assentos continuam como estão no banco
         sessaoRepositorio.salvar(sessaoModificada);
 
+        // A expiração periódica só considera sessões que começam depois da última execução:
+        // se a sessão foi antecipada para um horário que já passou, expira os ingressos agora
+        expirarIngressosUseCase.executarParaSessao(sessaoId);
+
         return sessaoModificada;
     }
 
@@ -87,6 +87,8 @@ public class RemarcarIngressosSessaoUseCase {
             sessao.getSalaId()
         );
 
+        // Grava só o novo horário; os assentos continuam como estão no banco.
+        // O novo horário é futuro, então a expiração periódica ainda vai cobrir a sessão
         sessaoRepositorio.salvar(sessaoAtualizada);
 
         // Define estrategia para resposta para compatibilidade
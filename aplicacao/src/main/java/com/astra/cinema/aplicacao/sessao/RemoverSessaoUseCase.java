@@ -8,6 +8,7 @@ import com.astra.cinema.dominio.compra.StatusIngresso;
 import com.astra.cinema.dominio.filme.Filme;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
 import com.astra.cinema.dominio.filme.StatusFilme;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.Sessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 import com.astra.cinema.dominio.sessao.StatusSessao;
@@ -72,18 +73,8 @@ public class RemoverSessaoUseCase {
         // Verifica se há ingressos ativos para a sessão
         validarIngressosAtivos(sessaoId);
 
-        // Cancela a sessão (cria nova instância)
-        Sessao sessaoCancelada = new Sessao(
-            sessao.getSessaoId(),
-            sessao.getFilmeId(),
-            sessao.getHorario(),
-            StatusSessao.CANCELADA,
-            sessao.getMapaAssentosDisponiveis(),
-            sessao.getSalaId()
-        );
-
-        // Persiste
-        sessaoRepositorio.salvar(sessaoCancelada);
+        // Cancela e persiste sobre o estado mais recente (update condicionado à versão)
+        sessaoRepositorio.alterarAssentos(sessaoId, Sessao::cancelar);
 
         // Verifica se todas as sessões do filme foram canceladas
         verificarEAtualizarStatusFilme(sessao.getFilmeId());
@@ -119,7 +110,7 @@ public class RemoverSessaoUseCase {
      */
     private void verificarEAtualizarStatusFilme(FilmeId filmeId) {
         // Buscar todas as sessões do filme
-        List<Sessao> sessoesDoFilme = sessaoRepositorio.buscarPorFilme(filmeId);
+        List<ResumoSessao> sessoesDoFilme = sessaoRepositorio.buscarResumosPorFilme(filmeId);
 
         // Verificar se todas as sessões estão canceladas
         boolean todasCanceladas = sessoesDoFilme.stream()
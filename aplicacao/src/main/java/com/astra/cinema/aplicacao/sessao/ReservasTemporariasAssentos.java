@@ -0,0 +1,391 @@
+package com.astra.cinema.aplicacao.sessao;
+
+import com.astra.cinema.dominio.comum.AssentoId;
+import com.astra.cinema.dominio.comum.ClienteId;
+import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.eventos.AssentosSessaoAlteradosEvento;
+import com.astra.cinema.dominio.eventos.PublicadorEventos;
+import com.astra.cinema.dominio.sessao.MapaAssentos;
+import com.astra.cinema.dominio.sessao.Sessao;
+import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reservas temporárias de assentos (enquanto o cliente conclui o checkout).
+ *
+ * As reservas ficam apenas em memória: reservar não grava nada no banco, só a
+ * conversão em compra grava os assentos como ocupados. Cada reserva vence após o
+ * TTL configurado e é liberada pela roda de temporização a cada chamada de
+ * {@link #expirarVencidas()}.
+ *
+ * As reservas de uma sessão são protegidas por uma trava escolhida pelo id da
+ * sessão (travas por faixas), de modo que sessões diferentes não disputam a mesma trava.
+ * Criar, liberar ou vencer reservas publica {@link AssentosSessaoAlteradosEvento}.
+ */
+public class ReservasTemporariasAssentos {
+
+    private static final int QUANTIDADE_TRAVAS = 64;
+    private static final long TICK_RODA_MS = 1000;
+    private static final int BALDES_POR_NIVEL = 60;
+
+    private static final class Reserva {
+        private final SessaoId sessaoId;
+        private final AssentoId assentoId;
+        private final ClienteId clienteId;
+        private final long expiraEm;
+        private RodaTemporizacao.Tarefa<Reserva> tarefa;
+
+        private Reserva(SessaoId sessaoId, AssentoId assentoId, ClienteId clienteId, long expiraEm) {
+            this.sessaoId = sessaoId;
+            this.assentoId = assentoId;
+            this.clienteId = clienteId;
+            this.expiraEm = expiraEm;
+        }
+    }
+
+    private final SessaoRepositorio sessaoRepositorio;
+    private final PublicadorEventos publicadorEventos;
+    private final long ttlMs;
+    private final LongSupplier relogio;
+    private final ReentrantLock[] travas = new ReentrantLock[QUANTIDADE_TRAVAS];
+    private final Map<SessaoId, Map<AssentoId, Reserva>> reservasPorSessao = new ConcurrentHashMap<>();
+    private final RodaTemporizacao<Reserva> roda;
+
+    public ReservasTemporariasAssentos(SessaoRepositorio sessaoRepositorio, PublicadorEventos publicadorEventos,
+                                       Duration ttl) {
+        this(sessaoRepositorio, publicadorEventos, ttl, System::currentTimeMillis);
+    }
+
+    public ReservasTemporariasAssentos(SessaoRepositorio sessaoRepositorio, PublicadorEventos publicadorEventos,
+                                       Duration ttl, LongSupplier relogio) {
+        if (sessaoRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de sessões não pode ser nulo");
+        }
+        if (publicadorEventos == null) {
+            throw new IllegalArgumentException("O publicador de eventos não pode ser nulo");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("O tempo de reserva deve ser positivo");
+        }
+        if (relogio == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo");
+        }
+        this.sessaoRepositorio = sessaoRepositorio;
+        this.publicadorEventos = publicadorEventos;
+        this.ttlMs = ttl.toMillis();
+        this.relogio = relogio;
+        for (int i = 0; i < travas.length; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        this.roda = new RodaTemporizacao<>(TICK_RODA_MS, BALDES_POR_NIVEL, relogio.getAsLong());
+    }
+
+    /**
+     * Reserva os assentos para o cliente, substituindo as reservas anteriores dele na sessão.
+     * Todos os assentos precisam estar livres no banco e sem reserva de outro cliente;
+     * caso contrário nenhum é reservado.
+     *
+     * @return Instante em que a reserva vence
+     */
+    public Date reservar(SessaoId sessaoId, ClienteId clienteId, Collection<AssentoId> assentos) {
+        validar(sessaoId, clienteId, assentos);
+
+        // Leitura apenas: o estado gravado decide o que já foi vendido
+        Sessao sessao = sessaoRepositorio.obterPorId(sessaoId);
+        if (sessao == null) {
+            throw new IllegalArgumentException("Sessão não encontrada");
+        }
+        for (AssentoId assentoId : assentos) {
+            if (!sessao.assentoDisponivel(assentoId)) {
+                throw new IllegalStateException("O assento " + assentoId + " não está disponível");
+            }
+        }
+
+        Date expiracao;
+        ReentrantLock trava = trava(sessaoId);
+        trava.lock();
+        try {
+            long agora = relogio.getAsLong();
+            Map<AssentoId, Reserva> reservas = reservasPorSessao.computeIfAbsent(sessaoId, id -> new HashMap<>());
+            exigirSemReservaDeOutroCliente(reservas, clienteId, assentos, agora);
+            expiracao = registrar(sessaoId, clienteId, assentos, reservas, agora);
+        } finally {
+            trava.unlock();
+        }
+        publicadorEventos.publicar(new AssentosSessaoAlteradosEvento(sessaoId));
+        return expiracao;
+    }
+
+    /**
+     * Escolhe e reserva para o cliente os melhores assentos lado a lado da sessão,
+     * desconsiderando os já vendidos e os reservados por outros clientes. As reservas
+     * anteriores do cliente na sessão são substituídas.
+     */
+    public ReservaTemporaria reservarMelhoresAssentos(SessaoId sessaoId, ClienteId clienteId, int quantidade) {
+        if (sessaoId == null) {
+            throw new IllegalArgumentException("O id da sessão não pode ser nulo");
+        }
+        if (clienteId == null) {
+            throw new IllegalArgumentException("O id do cliente não pode ser nulo");
+        }
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade de assentos deve ser positiva");
+        }
+
+        Sessao sessao = sessaoRepositorio.obterPorId(sessaoId);
+        if (sessao == null) {
+            throw new IllegalArgumentException("Sessão não encontrada");
+        }
+        // Cópia do estado gravado; as reservas de outros clientes são marcadas nela como ocupadas
+        MapaAssentos mapa = sessao.getMapaAssentos();
+
+        ReservaTemporaria resultado;
+        ReentrantLock trava = trava(sessaoId);
+        trava.lock();
+        try {
+            long agora = relogio.getAsLong();
+            Map<AssentoId, Reserva> reservas = reservasPorSessao.computeIfAbsent(sessaoId, id -> new HashMap<>());
+            for (Reserva reserva : reservas.values()) {
+                if (reserva.expiraEm > agora && !reserva.clienteId.equals(clienteId)
+                        && mapa.disponivel(reserva.assentoId)) {
+                    mapa.ocupar(reserva.assentoId);
+                }
+            }
+
+            List<AssentoId> escolhidos = mapa.melhoresAssentosJuntos(quantidade);
+            if (escolhidos.isEmpty()) {
+                removerSeVazia(sessaoId, reservas);
+                throw new IllegalStateException("Não há " + quantidade + " assentos juntos disponíveis nesta sessão");
+            }
+            resultado = new ReservaTemporaria(escolhidos, registrar(sessaoId, clienteId, escolhidos, reservas, agora));
+        } finally {
+            trava.unlock();
+        }
+        publicadorEventos.publicar(new AssentosSessaoAlteradosEvento(sessaoId));
+        return resultado;
+    }
+
+    /**
+     * Assentos reservados e instante em que a reserva vence.
+     */
+    public record ReservaTemporaria(List<AssentoId> assentos, Date expiraEm) {}
+
+    /**
+     * Grava as reservas do cliente (chamado com a trava da sessão).
+     */
+    private Date registrar(SessaoId sessaoId, ClienteId clienteId, Collection<AssentoId> assentos,
+                           Map<AssentoId, Reserva> reservas, long agora) {
+        // Libera o que o cliente tinha reservado e não pediu de novo
+        Iterator<Reserva> iterator = reservas.values().iterator();
+        while (iterator.hasNext()) {
+            Reserva reserva = iterator.next();
+            if (reserva.clienteId.equals(clienteId) && !assentos.contains(reserva.assentoId)) {
+                roda.cancelar(reserva.tarefa);
+                iterator.remove();
+            }
+        }
+
+        long expiraEm = agora + ttlMs;
+        for (AssentoId assentoId : new LinkedHashSet<>(assentos)) {
+            Reserva anterior = reservas.get(assentoId);
+            if (anterior != null) {
+                roda.cancelar(anterior.tarefa);
+            }
+            Reserva reserva = new Reserva(sessaoId, assentoId, clienteId, expiraEm);
+            reserva.tarefa = roda.agendar(reserva, expiraEm);
+            reservas.put(assentoId, reserva);
+        }
+        return new Date(expiraEm);
+    }
+
+    /**
+     * Libera todas as reservas do cliente na sessão.
+     */
+    public void liberar(SessaoId sessaoId, ClienteId clienteId) {
+        if (sessaoId == null || clienteId == null) {
+            return;
+        }
+        boolean liberou = false;
+        ReentrantLock trava = trava(sessaoId);
+        trava.lock();
+        try {
+            Map<AssentoId, Reserva> reservas = reservasPorSessao.get(sessaoId);
+            if (reservas == null) {
+                return;
+            }
+            Iterator<Reserva> iterator = reservas.values().iterator();
+            while (iterator.hasNext()) {
+                Reserva reserva = iterator.next();
+                if (reserva.clienteId.equals(clienteId)) {
+                    roda.cancelar(reserva.tarefa);
+                    iterator.remove();
+                    liberou = true;
+                }
+            }
+            removerSeVazia(sessaoId, reservas);
+        } finally {
+            trava.unlock();
+        }
+        if (liberou) {
+            publicadorEventos.publicar(new AssentosSessaoAlteradosEvento(sessaoId));
+        }
+    }
+
+    /**
+     * Converte reservas em venda de forma atômica em relação às demais reservas da sessão:
+     * verifica que nenhum assento está reservado por outro cliente e executa a gravação.
+     * As reservas do cliente não são removidas aqui: a gravação costuma participar de uma
+     * transação maior que ainda pode ser desfeita, então quem chama deve removê-las com
+     * {@link #concluirConversao} só depois da confirmação. Até lá elas continuam bloqueando
+     * os assentos para os outros clientes; se a transação for desfeita, continuam valendo.
+     * Assentos sem reserva podem ser vendidos diretamente, desde que livres.
+     *
+     * @param gravacao Gravação definitiva dos assentos (ex.: ocupação no banco)
+     */
+    public <R> R converter(SessaoId sessaoId, ClienteId clienteId, Collection<AssentoId> assentos,
+                           Supplier<R> gravacao) {
+        validar(sessaoId, clienteId, assentos);
+        if (gravacao == null) {
+            throw new IllegalArgumentException("A gravação não pode ser nula");
+        }
+
+        ReentrantLock trava = trava(sessaoId);
+        trava.lock();
+        try {
+            Map<AssentoId, Reserva> reservas = reservasPorSessao.get(sessaoId);
+            if (reservas != null) {
+                exigirSemReservaDeOutroCliente(reservas, clienteId, assentos, relogio.getAsLong());
+            }
+            return gravacao.get();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Remove as reservas do cliente sobre assentos cuja venda já foi confirmada no banco.
+     * Não publica evento: a gravação da venda já publica a alteração dos assentos.
+     */
+    public void concluirConversao(SessaoId sessaoId, ClienteId clienteId, Collection<AssentoId> assentos) {
+        validar(sessaoId, clienteId, assentos);
+
+        ReentrantLock trava = trava(sessaoId);
+        trava.lock();
+        try {
+            Map<AssentoId, Reserva> reservas = reservasPorSessao.get(sessaoId);
+            if (reservas == null) {
+                return;
+            }
+            for (AssentoId assentoId : assentos) {
+                Reserva reserva = reservas.get(assentoId);
+                if (reserva != null && reserva.clienteId.equals(clienteId)) {
+                    roda.cancelar(reserva.tarefa);
+                    reservas.remove(assentoId);
+                }
+            }
+            removerSeVazia(sessaoId, reservas);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Assentos da sessão com reserva em vigor (de qualquer cliente).
+     */
+    public Set<AssentoId> assentosReservados(SessaoId sessaoId) {
+        Set<AssentoId> reservados = new HashSet<>();
+        if (sessaoId == null || !reservasPorSessao.containsKey(sessaoId)) {
+            return reservados;
+        }
+        ReentrantLock trava = trava(sessaoId);
+        trava.lock();
+        try {
+            Map<AssentoId, Reserva> reservas = reservasPorSessao.get(sessaoId);
+            if (reservas != null) {
+                long agora = relogio.getAsLong();
+                reservas.values().stream()
+                        .filter(reserva -> reserva.expiraEm > agora)
+                        .forEach(reserva -> reservados.add(reserva.assentoId));
+            }
+            return reservados;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Libera as reservas vencidas. Deve ser chamado periodicamente.
+     *
+     * @return Quantidade de reservas liberadas
+     */
+    public int expirarVencidas() {
+        List<Reserva> vencidas = roda.avancar(relogio.getAsLong());
+        Set<SessaoId> sessoesAlteradas = new LinkedHashSet<>();
+        int liberadas = 0;
+        for (Reserva reserva : vencidas) {
+            ReentrantLock trava = trava(reserva.sessaoId);
+            trava.lock();
+            try {
+                Map<AssentoId, Reserva> reservas = reservasPorSessao.get(reserva.sessaoId);
+                // Só remove se a reserva não foi renovada nem convertida nesse meio tempo
+                if (reservas != null && reservas.remove(reserva.assentoId, reserva)) {
+                    liberadas++;
+                    sessoesAlteradas.add(reserva.sessaoId);
+                    removerSeVazia(reserva.sessaoId, reservas);
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+        // Um evento por sessão, não por assento
+        sessoesAlteradas.forEach(sessaoId ->
+                publicadorEventos.publicar(new AssentosSessaoAlteradosEvento(sessaoId)));
+        return liberadas;
+    }
+
+    private void exigirSemReservaDeOutroCliente(Map<AssentoId, Reserva> reservas, ClienteId clienteId,
+                                                Collection<AssentoId> assentos, long agora) {
+        for (AssentoId assentoId : assentos) {
+            Reserva reserva = reservas.get(assentoId);
+            if (reserva != null && reserva.expiraEm > agora && !reserva.clienteId.equals(clienteId)) {
+                throw new IllegalStateException("O assento " + assentoId + " está reservado por outro cliente");
+            }
+        }
+    }
+
+    private void removerSeVazia(SessaoId sessaoId, Map<AssentoId, Reserva> reservas) {
+        if (reservas.isEmpty()) {
+            reservasPorSessao.remove(sessaoId, reservas);
+        }
+    }
+
+    private ReentrantLock trava(SessaoId sessaoId) {
+        return travas[Math.floorMod(sessaoId.hashCode(), travas.length)];
+    }
+
+    private static void validar(SessaoId sessaoId, ClienteId clienteId, Collection<AssentoId> assentos) {
+        if (sessaoId == null) {
+            throw new IllegalArgumentException("O id da sessão não pode ser nulo");
+        }
+        if (clienteId == null) {
+            throw new IllegalArgumentException("O id do cliente não pode ser nulo");
+        }
+        if (assentos == null || assentos.isEmpty()) {
+            throw new IllegalArgumentException("A lista de assentos não pode ser vazia");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.astra.cinema.aplicacao.sessao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Roda de temporização hierárquica para prazos de expiração.
+ *
+ * Cada nível tem {@code baldesPorNivel} baldes; o balde de um nível cobre o intervalo
+ * inteiro de um nível abaixo. Agendar e cancelar custam O(1) e o avanço só visita os
+ * baldes que venceram (ordenados por uma fila de prioridade com no máximo um registro
+ * por balde), não as tarefas. Ao vencer um balde de nível superior, suas tarefas
+ * descem para os níveis inferiores até vencerem de fato.
+ *
+ * Thread-safe: todas as operações sincronizam na própria roda.
+ */
+public final class RodaTemporizacao<T> {
+
+    /**
+     * Tarefa agendada; serve de referência para cancelamento.
+     */
+    public static final class Tarefa<T> {
+        private final T valor;
+        private final long expiraEm;
+        // Prazo arredondado para cima até o tick da roda, para nunca vencer antes da hora
+        private final long alvo;
+        private Balde<T> balde;
+
+        private Tarefa(T valor, long expiraEm, long alvo) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+            this.alvo = alvo;
+        }
+
+        public T getValor() {
+            return valor;
+        }
+
+        public long getExpiraEm() {
+            return expiraEm;
+        }
+    }
+
+    private static final class Balde<T> {
+        private final Set<Tarefa<T>> tarefas = new HashSet<>();
+        private long expiracao = -1;
+    }
+
+    private static final class Nivel<T> {
+        private final long tickMs;
+        private final long intervalo;
+        private final Balde<T>[] baldes;
+        private long tempoAtual;
+        private Nivel<T> superior;
+
+        @SuppressWarnings("unchecked")
+        private Nivel(long tickMs, int quantidadeBaldes, long inicio) {
+            this.tickMs = tickMs;
+            this.intervalo = tickMs * quantidadeBaldes;
+            this.baldes = new Balde[quantidadeBaldes];
+            for (int i = 0; i < quantidadeBaldes; i++) {
+                baldes[i] = new Balde<>();
+            }
+            this.tempoAtual = inicio - (inicio % tickMs);
+        }
+    }
+
+    private final Nivel<T> base;
+    private final PriorityQueue<Balde<T>> baldesAgendados =
+            new PriorityQueue<>(Comparator.comparingLong((Balde<T> balde) -> balde.expiracao));
+    private final List<Tarefa<T>> vencidasAoAgendar = new ArrayList<>();
+    private int tamanho;
+
+    /**
+     * @param tickMs Resolução da roda em milissegundos
+     * @param baldesPorNivel Quantidade de baldes em cada nível
+     * @param inicio Instante inicial (ms)
+     */
+    public RodaTemporizacao(long tickMs, int baldesPorNivel, long inicio) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("O tick deve ser positivo");
+        }
+        if (baldesPorNivel < 2) {
+            throw new IllegalArgumentException("A roda precisa de pelo menos dois baldes por nível");
+        }
+        this.base = new Nivel<>(tickMs, baldesPorNivel, inicio);
+    }
+
+    /**
+     * Agenda um valor para vencer em {@code expiraEm} (ms). Prazos já passados
+     * vencem no próximo avanço.
+     */
+    public synchronized Tarefa<T> agendar(T valor, long expiraEm) {
+        long alvo = Math.floorDiv(expiraEm + base.tickMs - 1, base.tickMs) * base.tickMs;
+        Tarefa<T> tarefa = new Tarefa<>(valor, expiraEm, alvo);
+        if (!inserir(base, tarefa)) {
+            vencidasAoAgendar.add(tarefa);
+        }
+        tamanho++;
+        return tarefa;
+    }
+
+    /**
+     * Cancela uma tarefa ainda não vencida. Retorna false se ela já venceu ou foi cancelada.
+     */
+    public synchronized boolean cancelar(Tarefa<T> tarefa) {
+        if (tarefa == null) {
+            return false;
+        }
+        boolean removida;
+        if (tarefa.balde != null) {
+            removida = tarefa.balde.tarefas.remove(tarefa);
+            tarefa.balde = null;
+        } else {
+            removida = vencidasAoAgendar.remove(tarefa);
+        }
+        if (removida) {
+            tamanho--;
+        }
+        return removida;
+    }
+
+    /**
+     * Avança o relógio da roda até {@code agora} e retorna os valores vencidos.
+     */
+    public synchronized List<T> avancar(long agora) {
+        List<T> vencidas = new ArrayList<>();
+        for (Tarefa<T> tarefa : vencidasAoAgendar) {
+            vencidas.add(tarefa.valor);
+        }
+        tamanho -= vencidasAoAgendar.size();
+        vencidasAoAgendar.clear();
+
+        Balde<T> balde;
+        while ((balde = baldesAgendados.peek()) != null && balde.expiracao <= agora) {
+            baldesAgendados.poll();
+            avancarRelogio(base, balde.expiracao);
+
+            List<Tarefa<T>> tarefas = new ArrayList<>(balde.tarefas);
+            balde.tarefas.clear();
+            balde.expiracao = -1;
+
+            // Reinsere: as que ainda não venceram descem para um nível mais fino
+            for (Tarefa<T> tarefa : tarefas) {
+                tarefa.balde = null;
+                if (!inserir(base, tarefa)) {
+                    vencidas.add(tarefa.valor);
+                    tamanho--;
+                }
+            }
+        }
+        avancarRelogio(base, agora);
+        return vencidas;
+    }
+
+    /**
+     * Quantidade de tarefas agendadas e ainda não vencidas.
+     */
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private boolean inserir(Nivel<T> nivel, Tarefa<T> tarefa) {
+        if (tarefa.alvo < nivel.tempoAtual + nivel.tickMs) {
+            return false;
+        }
+        if (tarefa.alvo < nivel.tempoAtual + nivel.intervalo) {
+            long tickVirtual = tarefa.alvo / nivel.tickMs;
+            Balde<T> balde = nivel.baldes[(int) (tickVirtual % nivel.baldes.length)];
+            balde.tarefas.add(tarefa);
+            tarefa.balde = balde;
+
+            long expiracao = tickVirtual * nivel.tickMs;
+            if (balde.expiracao != expiracao) {
+                if (balde.expiracao != -1) {
+                    baldesAgendados.remove(balde);
+                }
+                balde.expiracao = expiracao;
+                baldesAgendados.add(balde);
+            }
+            return true;
+        }
+        if (nivel.superior == null) {
+            nivel.superior = new Nivel<>(nivel.intervalo, nivel.baldes.length, nivel.tempoAtual);
+        }
+        return inserir(nivel.superior, tarefa);
+    }
+
+    private void avancarRelogio(Nivel<T> nivel, long tempo) {
+        if (tempo >= nivel.tempoAtual + nivel.tickMs) {
+            nivel.tempoAtual = tempo - (tempo % nivel.tickMs);
+            if (nivel.superior != null) {
+                avancarRelogio(nivel.superior, nivel.tempoAtual);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.astra.cinema.aplicacao.sessao;
+
+import com.astra.cinema.aplicacao.ingresso.ExpirarIngressosUseCase;
+import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
+import com.astra.cinema.dominio.sessao.SessaoRepositorio;
+import com.astra.cinema.dominio.sessao.StatusSessao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Conclui as sessões (DISPONIVEL/ESGOTADA → CONCLUIDA) no momento em que começam
+ * e expira os ingressos ativos delas.
+ *
+ * Mantém uma fila de prioridade com o horário de cada sessão à venda, carregada na
+ * primeira chamada. {@link #processar()} só olha o topo da fila, então pode ser chamado
+ * a cada segundo sem consultar o banco; cada sessão vencida é concluída e tem os
+ * ingressos expirados em um único UPDATE. Sessões criadas, modificadas ou remarcadas
+ * devem ser avisadas por {@link #sessaoAgendada(SessaoId)}. Entradas de horários
+ * antigos ficam na fila e são descartadas ao chegar ao topo.
+ *
+ * A cada {@value #INTERVALO_RESSINCRONIZACAO_MS} ms a fila é recarregada do banco (cobre
+ * sessões agendadas por outras instâncias) e os ingressos ativos de sessões que começaram
+ * desde a última ressincronização são expirados de uma vez.
+ */
+public class TransicaoStatusSessoes {
+
+    private static final Logger log = LoggerFactory.getLogger(TransicaoStatusSessoes.class);
+
+    private static final long INTERVALO_RESSINCRONIZACAO_MS = 10 * 60_000;
+
+    private static final Set<StatusSessao> STATUS_A_VENDA = EnumSet.of(StatusSessao.DISPONIVEL, StatusSessao.ESGOTADA);
+
+    private record Agendamento(long instante, SessaoId sessaoId) {
+    }
+
+    private final SessaoRepositorio sessaoRepositorio;
+    private final ExpirarIngressosUseCase expirarIngressosUseCase;
+    private final LongSupplier relogio;
+    private final Object processamento = new Object();
+
+    // Protegidos pela trava do objeto (this)
+    private final PriorityQueue<Agendamento> agenda = new PriorityQueue<>(Comparator.comparingLong(Agendamento::instante));
+    private final Map<SessaoId, Long> horarioVigente = new HashMap<>();
+
+    // Só usado sob a trava de processamento; Long.MIN_VALUE força carregar na próxima chamada
+    private long proximaRessincronizacao = Long.MIN_VALUE;
+
+    public TransicaoStatusSessoes(SessaoRepositorio sessaoRepositorio, ExpirarIngressosUseCase expirarIngressosUseCase) {
+        this(sessaoRepositorio, expirarIngressosUseCase, System::currentTimeMillis);
+    }
+
+    public TransicaoStatusSessoes(SessaoRepositorio sessaoRepositorio, ExpirarIngressosUseCase expirarIngressosUseCase,
+                                  LongSupplier relogio) {
+        if (sessaoRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de sessões não pode ser nulo");
+        }
+        if (expirarIngressosUseCase == null) {
+            throw new IllegalArgumentException("O caso de uso de expiração de ingressos não pode ser nulo");
+        }
+        if (relogio == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo");
+        }
+        this.sessaoRepositorio = sessaoRepositorio;
+        this.expirarIngressosUseCase = expirarIngressosUseCase;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Conclui as sessões cujo horário já chegou.
+     *
+     * @return Quantidade de sessões concluídas
+     */
+    public int processar() {
+        synchronized (processamento) {
+            long agora = relogio.getAsLong();
+            if (agora >= proximaRessincronizacao) {
+                ressincronizar(agora);
+            }
+
+            int concluidas = 0;
+            SessaoId vencida;
+            while ((vencida = proximaVencida(agora)) != null) {
+                if (concluir(vencida, agora)) {
+                    concluidas++;
+                }
+            }
+            return concluidas;
+        }
+    }
+
+    /**
+     * Avisa que uma sessão foi criada ou teve o horário alterado: ela é (re)agendada pelo horário atual.
+     */
+    public void sessaoAgendada(SessaoId sessaoId) {
+        if (sessaoId == null) {
+            throw new IllegalArgumentException("O id da sessão não pode ser nulo");
+        }
+        ResumoSessao resumo = sessaoRepositorio.obterResumo(sessaoId);
+        synchronized (this) {
+            if (resumo != null) {
+                agendar(resumo);
+            } else {
+                horarioVigente.remove(sessaoId);
+            }
+        }
+    }
+
+    private void ressincronizar(long agora) {
+        // Ingressos que ficaram ativos em sessões já iniciadas (ex.: concluídas por outra instância)
+        try {
+            expirarIngressosUseCase.executarParaTodasSessoes();
+        } catch (Exception e) {
+            log.error("Erro ao expirar ingressos de sessões passadas", e);
+        }
+
+        List<ResumoSessao> sessoesAVenda = sessaoRepositorio.buscarResumosPorStatus(STATUS_A_VENDA);
+        synchronized (this) {
+            agenda.clear();
+            horarioVigente.clear();
+            for (ResumoSessao sessao : sessoesAVenda) {
+                agendar(sessao);
+            }
+        }
+        proximaRessincronizacao = agora + INTERVALO_RESSINCRONIZACAO_MS;
+    }
+
+    /**
+     * Agenda a sessão pelo horário do resumo; sessões fora de venda saem da agenda. Chamado sob a trava.
+     */
+    private void agendar(ResumoSessao sessao) {
+        if (!STATUS_A_VENDA.contains(sessao.getStatus())) {
+            horarioVigente.remove(sessao.getSessaoId());
+            return;
+        }
+        long instante = sessao.getHorario().getTime();
+        Long anterior = horarioVigente.put(sessao.getSessaoId(), instante);
+        if (anterior == null || anterior != instante) {
+            agenda.add(new Agendamento(instante, sessao.getSessaoId()));
+        }
+    }
+
+    /**
+     * Retira do topo da agenda a próxima sessão vencida, ou null se nenhuma venceu
+     */
+    private synchronized SessaoId proximaVencida(long agora) {
+        while (!agenda.isEmpty() && agenda.peek().instante() <= agora) {
+            Agendamento agendamento = agenda.poll();
+            Long vigente = horarioVigente.get(agendamento.sessaoId());
+            // Entradas de horários antigos (sessão remarcada ou fora de venda) são só descartadas
+            if (vigente != null && vigente == agendamento.instante()) {
+                horarioVigente.remove(agendamento.sessaoId());
+                return agendamento.sessaoId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Conclui a sessão se o horário gravado já chegou. A agenda pode estar desatualizada (sessão
+     * adiada por outra instância), então o horário é conferido no estado lido para a alteração.
+     */
+    private boolean concluir(SessaoId sessaoId, long agora) {
+        try {
+            sessaoRepositorio.alterarAssentos(sessaoId, sessao -> {
+                if (sessao.getHorario().getTime() > agora) {
+                    throw new IllegalStateException("A sessão foi adiada");
+                }
+                sessao.concluir();
+            });
+        } catch (IllegalStateException e) {
+            // Adiada: volta para a agenda pelo horário atual
+            ResumoSessao resumo = sessaoRepositorio.obterResumo(sessaoId);
+            if (resumo != null && resumo.getHorario().getTime() > agora) {
+                synchronized (this) {
+                    agendar(resumo);
+                }
+                return false;
+            }
+            // Cancelada ou concluída por outra operação nesse meio tempo
+            log.warn("Não foi possível concluir a sessão {}", sessaoId.getId(), e);
+            return false;
+        }
+
+        // Expira ingressos ativos da sessão concluída
+        try {
+            expirarIngressosUseCase.executarParaSessao(sessaoId);
+        } catch (Exception e) {
+            // Log erro mas não interrompe o fluxo
+            log.error("Erro ao expirar ingressos da sessão {}", sessaoId.getId(), e);
+        }
+        return true;
+    }
+}
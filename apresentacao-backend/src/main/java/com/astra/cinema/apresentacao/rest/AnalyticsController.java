@@ -10,6 +10,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.astra.cinema.aplicacao.relatorio.CalcularAnalyticsUseCase;
+import com.astra.cinema.infraestrutura.persistencia.cache.CacheLeitura;
+import com.astra.cinema.infraestrutura.persistencia.cache.FilmeRepositorioEmCache;
+import com.astra.cinema.infraestrutura.persistencia.cache.ProdutoRepositorioEmCache;
+import com.astra.cinema.infraestrutura.persistencia.cache.SalaRepositorioEmCache;
 
 @RestController
 @RequestMapping("/api/admin/analytics")
@@ -17,9 +21,18 @@ import com.astra.cinema.aplicacao.relatorio.CalcularAnalyticsUseCase;
 public class AnalyticsController {
 
     private final CalcularAnalyticsUseCase calcularAnalyticsUseCase;
+    private final FilmeRepositorioEmCache filmeRepositorioEmCache;
+    private final SalaRepositorioEmCache salaRepositorioEmCache;
+    private final ProdutoRepositorioEmCache produtoRepositorioEmCache;
 
-    public AnalyticsController(CalcularAnalyticsUseCase calcularAnalyticsUseCase) {
+    public AnalyticsController(CalcularAnalyticsUseCase calcularAnalyticsUseCase,
+                               FilmeRepositorioEmCache filmeRepositorioEmCache,
+                               SalaRepositorioEmCache salaRepositorioEmCache,
+                               ProdutoRepositorioEmCache produtoRepositorioEmCache) {
         this.calcularAnalyticsUseCase = calcularAnalyticsUseCase;
+        this.filmeRepositorioEmCache = filmeRepositorioEmCache;
+        this.salaRepositorioEmCache = salaRepositorioEmCache;
+        this.produtoRepositorioEmCache = produtoRepositorioEmCache;
     }
 
     // Vendas agrupadas por dia (yyyy-MM-dd) - inclui apenas vendas confirmadas
@@ -46,4 +59,14 @@ public class AnalyticsController {
         double total = calcularAnalyticsUseCase.calcularValorInventario();
         return Map.of("total", total);
     }
+
+    // Acertos, falhas e remoções dos caches de filmes, salas e produtos
+    @GetMapping("/cache")
+    public List<CacheLeitura.Estatisticas> estatisticasCache() {
+        List<CacheLeitura.Estatisticas> estatisticas = new ArrayList<>();
+        estatisticas.addAll(filmeRepositorioEmCache.estatisticas());
+        estatisticas.addAll(salaRepositorioEmCache.estatisticas());
+        estatisticas.addAll(produtoRepositorioEmCache.estatisticas());
+        return estatisticas;
+    }
 }
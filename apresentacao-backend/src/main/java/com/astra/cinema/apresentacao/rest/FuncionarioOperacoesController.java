@@ -1,6 +1,9 @@
 package com.astra.cinema.apresentacao.rest;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -8,9 +11,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -21,7 +24,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.astra.cinema.aplicacao.funcionario.ConsultarHistoricoFuncionarioUseCase;
 import com.astra.cinema.aplicacao.funcionario.RemarcarIngressoFuncionarioUseCase;
+import com.astra.cinema.aplicacao.funcionario.RemarcarIngressosEmLoteUseCase;
 import com.astra.cinema.aplicacao.funcionario.ValidarIngressoFuncionarioUseCase;
+import com.astra.cinema.aplicacao.funcionario.ValidarIngressosEmLoteUseCase;
 import com.astra.cinema.dominio.bomboniere.VendaRepositorio;
 import com.astra.cinema.dominio.compra.Compra;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
@@ -31,24 +36,32 @@ import com.astra.cinema.dominio.comum.FuncionarioId;
 import com.astra.cinema.dominio.comum.IngressoId;
 import com.astra.cinema.dominio.comum.PrecoIngresso;
 import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.operacao.FiltroValidacoes;
+import com.astra.cinema.dominio.operacao.ResumoValidacoes;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.Sessao;
 
 /**
  * Controller REST para operações de funcionários.
  * Endpoints:
  * - POST /api/funcionario/ingressos/validar - Validar ingresso
+ * - POST /api/funcionario/ingressos/validar-lote - Validar vários ingressos (catraca)
  * - GET /api/funcionario/ingressos/historico - Listar histórico de validações
  * - GET /api/funcionario/ingressos/ativos - Listar ingressos ativos para remarcação
  * - POST /api/funcionario/ingressos/remarcar - Remarcar ingresso
  */
 @RestController
 @RequestMapping("/api/funcionario")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = FuncionarioOperacoesController.CABECALHO_PROXIMA_PAGINA)
 public class FuncionarioOperacoesController {
 
+    static final String CABECALHO_PROXIMA_PAGINA = "X-Proxima-Pagina";
+
     private final ValidarIngressoFuncionarioUseCase validarIngressoUseCase;
+    private final ValidarIngressosEmLoteUseCase validarIngressosEmLoteUseCase;
     private final ConsultarHistoricoFuncionarioUseCase consultarHistoricoUseCase;
     private final RemarcarIngressoFuncionarioUseCase remarcarIngressoUseCase;
+    private final RemarcarIngressosEmLoteUseCase remarcarIngressosEmLoteUseCase;
     private final CompraRepositorio compraRepositorio;
     private final com.astra.cinema.dominio.filme.FilmeRepositorio filmeRepositorio;
     private final VendaRepositorio vendaRepositorio;
@@ -56,15 +69,19 @@ public class FuncionarioOperacoesController {
 
     public FuncionarioOperacoesController(
             ValidarIngressoFuncionarioUseCase validarIngressoUseCase,
+            ValidarIngressosEmLoteUseCase validarIngressosEmLoteUseCase,
             ConsultarHistoricoFuncionarioUseCase consultarHistoricoUseCase,
             RemarcarIngressoFuncionarioUseCase remarcarIngressoUseCase,
+            RemarcarIngressosEmLoteUseCase remarcarIngressosEmLoteUseCase,
             CompraRepositorio compraRepositorio,
             com.astra.cinema.dominio.filme.FilmeRepositorio filmeRepositorio,
             VendaRepositorio vendaRepositorio,
             com.astra.cinema.dominio.usuario.ClienteRepositorio clienteRepositorio) {
         this.validarIngressoUseCase = validarIngressoUseCase;
+        this.validarIngressosEmLoteUseCase = validarIngressosEmLoteUseCase;
         this.consultarHistoricoUseCase = consultarHistoricoUseCase;
         this.remarcarIngressoUseCase = remarcarIngressoUseCase;
+        this.remarcarIngressosEmLoteUseCase = remarcarIngressosEmLoteUseCase;
         this.compraRepositorio = compraRepositorio;
         this.filmeRepositorio = filmeRepositorio;
         this.vendaRepositorio = vendaRepositorio;
@@ -89,7 +106,7 @@ public class FuncionarioOperacoesController {
             response.put("mensagem", resultado.getMensagem());
 
             if (resultado.getIngresso() != null) {
-                response.put("ingresso", mapearIngressoComTodosAssentos(resultado.getIngresso(), request.qrCode));
+                response.put("ingresso", mapearIngressoComTodosAssentos(resultado.getIngresso(), resultado.getIngressosCompra()));
             }
 
             if (resultado.getSessao() != null) {
@@ -112,13 +129,80 @@ public class FuncionarioOperacoesController {
     }
 
     /**
-     * Lista o histórico de validações.
+     * Valida em lote os QR Codes acumulados por uma catraca.
+     * Retorna um resultado por código, na ordem recebida.
+     */
+    @PostMapping("/ingressos/validar-lote")
+    public ResponseEntity<?> validarIngressosEmLote(@RequestBody ValidarIngressosEmLoteRequest request) {
+        try {
+            // Por enquanto, usa um funcionário padrão (ID 1)
+            // TODO: Pegar do contexto de autenticação
+            FuncionarioId funcionarioId = new FuncionarioId(1);
+
+            List<ValidarIngressosEmLoteUseCase.ResultadoItem> resultados =
+                validarIngressosEmLoteUseCase.executar(
+                    request.qrCodes != null ? request.qrCodes : List.of(), funcionarioId);
+
+            List<Map<String, Object>> itens = new ArrayList<>();
+            int validos = 0;
+            for (ValidarIngressosEmLoteUseCase.ResultadoItem resultado : resultados) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("qrCode", resultado.qrCode());
+                item.put("valido", resultado.valido());
+                item.put("mensagem", resultado.mensagem());
+                if (resultado.ingresso() != null) {
+                    item.put("ingresso", mapearIngressoComTodosAssentos(resultado.ingresso(), resultado.ingressosCompra()));
+                }
+                if (resultado.valido()) {
+                    validos++;
+                }
+                itens.add(item);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("total", resultados.size());
+            response.put("validos", validos);
+            response.put("resultados", itens);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
+        } catch (Exception e) {
+            Map<String, Object> erro = new HashMap<>();
+            erro.put("erro", "Erro interno ao validar ingressos: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
+        }
+    }
+
+    /**
+     * Lista o histórico de validações, uma página por vez (mais recentes primeiro).
+     * Filtros opcionais por funcionário, sessão, período (de/ate, datas inclusivas) e resultado
+     * (sucesso). Quando houver mais validações, o cabeçalho X-Proxima-Pagina traz o valor de
+     * {@code antesDe} da próxima página. Uma compra validada junto pode ficar dividida entre
+     * duas páginas; o cliente junta os itens de mesmo compraId e dataHora.
      */
     @GetMapping("/ingressos/historico")
-    public ResponseEntity<?> listarHistorico() {
+    public ResponseEntity<?> listarHistorico(
+            @RequestParam(required = false) Integer funcionarioId,
+            @RequestParam(required = false) Integer sessaoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) Boolean sucesso,
+            @RequestParam(required = false) Integer antesDe,
+            @RequestParam(required = false) Integer limite) {
         try {
-            List<ConsultarHistoricoFuncionarioUseCase.ItemHistorico> historico =
-                consultarHistoricoUseCase.listarTodasValidacoes();
+            FiltroValidacoes filtro = new FiltroValidacoes(
+                funcionarioId != null ? new FuncionarioId(funcionarioId) : null,
+                sessaoId != null ? new SessaoId(sessaoId) : null,
+                de != null ? inicioDoDia(de) : null,
+                ate != null ? inicioDoDia(ate.plusDays(1)) : null,
+                sucesso);
+
+            ConsultarHistoricoFuncionarioUseCase.PaginaHistorico pagina =
+                consultarHistoricoUseCase.listarValidacoes(filtro, antesDe, limite);
+            List<ConsultarHistoricoFuncionarioUseCase.ItemHistorico> historico = pagina.itens();
 
             // Agrupar por compra + data/hora para mostrar múltiplos assentos juntos
             Map<String, List<ConsultarHistoricoFuncionarioUseCase.ItemHistorico>> agrupadoPorCompraEHora = historico.stream()
@@ -156,8 +240,17 @@ public class FuncionarioOperacoesController {
                 response.add(map);
             }
 
-            return ResponseEntity.ok(response);
+            if (pagina.proximaPagina() == null) {
+                return ResponseEntity.ok(response);
+            }
+            return ResponseEntity.ok()
+                .header(CABECALHO_PROXIMA_PAGINA, String.valueOf(pagina.proximaPagina()))
+                .body(response);
 
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
         } catch (Exception e) {
             Map<String, Object> erro = new HashMap<>();
             erro.put("erro", "Erro ao carregar histórico: " + e.getMessage());
@@ -322,7 +415,7 @@ public class FuncionarioOperacoesController {
 
     // Métodos auxiliares de mapeamento
 
-    private Map<String, Object> mapearIngressoComTodosAssentos(Ingresso ingresso, String qrCode) {
+    private Map<String, Object> mapearIngressoComTodosAssentos(Ingresso ingresso, List<Ingresso> ingressosCompra) {
         Map<String, Object> map = new HashMap<>();
         map.put("id", ingresso.getIngressoId().getId());
         map.put("qrCode", ingresso.getQrCode());
@@ -330,19 +423,12 @@ public class FuncionarioOperacoesController {
         map.put("status", ingresso.getStatus().toString());
         map.put("sessaoId", ingresso.getSessaoId().getId());
 
-        // Buscar todos os assentos da compra
-        try {
-            Compra compra = compraRepositorio.buscarCompraPorQrCode(qrCode);
-            if (compra != null && compra.getIngressos() != null) {
-                String todosAssentos = compra.getIngressos().stream()
-                    .map(i -> i.getAssentoId().getValor())
-                    .collect(Collectors.joining(", "));
-                map.put("assento", todosAssentos);
-            } else {
-                map.put("assento", ingresso.getAssentoId().getValor());
-            }
-        } catch (Exception e) {
-            // Se falhar ao buscar compra, usa apenas o assento do ingresso
+        // Todos os assentos da compra, já trazidos pela validação
+        if (ingressosCompra != null && !ingressosCompra.isEmpty()) {
+            map.put("assento", ingressosCompra.stream()
+                .map(i -> i.getAssentoId().getValor())
+                .collect(Collectors.joining(", ")));
+        } else {
             map.put("assento", ingresso.getAssentoId().getValor());
         }
 
@@ -360,6 +446,16 @@ public class FuncionarioOperacoesController {
         return map;
     }
 
+    private Map<String, Object> mapearSessao(ResumoSessao sessao) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", sessao.getSessaoId().getId());
+        map.put("salaId", sessao.getSalaId().getId());
+        map.put("sala", "Sala " + sessao.getSalaId().getId());
+        map.put("horario", sessao.getHorario());
+        map.put("filmeId", sessao.getFilmeId().getId());
+        return map;
+    }
+
     private Map<String, Object> mapearSessao(Sessao sessao) {
         Map<String, Object> map = new HashMap<>();
         map.put("id", sessao.getSessaoId() != null ? sessao.getSessaoId().getId() : null);
@@ -462,76 +558,51 @@ public class FuncionarioOperacoesController {
 
     /**
      * Remarca múltiplos ingressos de uma só vez.
+     * Retorna um resultado por remarcação, na ordem recebida.
      */
     @PostMapping("/ingressos/remarcar-multiplos")
-    @Transactional
     public ResponseEntity<?> remarcarMultiplosIngressos(@RequestBody RemarcarMultiplosRequest request) {
         try {
-            System.out.println("🎫 Iniciando remarcação de múltiplos ingressos: " + request.remarcacoes.size() + " ingresso(s)");
-            
             FuncionarioId funcionarioId = new FuncionarioId(1);
-            List<Map<String, Object>> resultados = new java.util.ArrayList<>();
-            int sucessos = 0;
-            int falhas = 0;
 
-            for (RemarcarIngressoRequest remarcacao : request.remarcacoes) {
-                try {
-                    System.out.println("   Processando remarcação - Ingresso: " + remarcacao.ingressoId + 
-                        ", Nova Sessão: " + remarcacao.novaSessaoId + 
-                        ", Novo Assento: " + remarcacao.novoAssentoId);
-                    
-                    IngressoId ingressoId = new IngressoId(remarcacao.ingressoId);
-                    SessaoId novaSessaoId = new SessaoId(remarcacao.novaSessaoId);
-                    AssentoId novoAssentoId = remarcacao.novoAssentoId != null ?
-                        new AssentoId(remarcacao.novoAssentoId) : null;
-
-                    RemarcarIngressoFuncionarioUseCase.ResultadoRemarcacao resultado =
-                        remarcarIngressoUseCase.executar(
-                            ingressoId,
-                            novaSessaoId,
-                            novoAssentoId,
-                            funcionarioId,
-                            remarcacao.motivoTecnico
-                        );
-
-                    Map<String, Object> itemResultado = new HashMap<>();
-                    itemResultado.put("ingressoId", remarcacao.ingressoId);
-                    itemResultado.put("sucesso", resultado.isSucesso());
-                    itemResultado.put("mensagem", resultado.getMensagem());
-                    resultados.add(itemResultado);
-
-                    if (resultado.isSucesso()) {
-                        sucessos++;
-                        System.out.println("   ✅ Remarcação bem-sucedida!");
-                    } else {
-                        falhas++;
-                        System.out.println("   ❌ Remarcação falhou: " + resultado.getMensagem());
-                    }
-                } catch (Exception e) {
-                    System.err.println("   ❌ EXCEÇÃO ao remarcar ingresso " + remarcacao.ingressoId + ": " + e.getMessage());
-                    e.printStackTrace();
-                    
-                    Map<String, Object> itemResultado = new HashMap<>();
-                    itemResultado.put("ingressoId", remarcacao.ingressoId);
-                    itemResultado.put("sucesso", false);
-                    itemResultado.put("mensagem", e.getMessage() != null ? e.getMessage() : "Erro desconhecido ao remarcar");
-                    resultados.add(itemResultado);
-                    falhas++;
+            List<RemarcarIngressosEmLoteUseCase.Remarcacao> remarcacoes = new ArrayList<>();
+            if (request.remarcacoes != null) {
+                for (RemarcarIngressoRequest remarcacao : request.remarcacoes) {
+                    remarcacoes.add(remarcacao == null ? null : new RemarcarIngressosEmLoteUseCase.Remarcacao(
+                        remarcacao.ingressoId != null ? new IngressoId(remarcacao.ingressoId) : null,
+                        remarcacao.novaSessaoId != null ? new SessaoId(remarcacao.novaSessaoId) : null,
+                        remarcacao.novoAssentoId != null ? new AssentoId(remarcacao.novoAssentoId) : null,
+                        remarcacao.motivoTecnico));
+                }
+            }
+
+            List<RemarcarIngressosEmLoteUseCase.ResultadoItem> resultados =
+                remarcarIngressosEmLoteUseCase.executar(remarcacoes, funcionarioId);
+
+            List<Map<String, Object>> itens = new ArrayList<>();
+            int sucessos = 0;
+            for (RemarcarIngressosEmLoteUseCase.ResultadoItem resultado : resultados) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("ingressoId", resultado.ingressoId() != null ? resultado.ingressoId().getId() : null);
+                item.put("sucesso", resultado.sucesso());
+                item.put("mensagem", resultado.mensagem());
+                if (resultado.sucesso()) {
+                    sucessos++;
                 }
+                itens.add(item);
             }
 
             Map<String, Object> response = new HashMap<>();
             response.put("sucessos", sucessos);
-            response.put("falhas", falhas);
-            response.put("resultados", resultados);
-
-            System.out.println("🎫 Remarcação concluída: " + sucessos + " sucesso(s), " + falhas + " falha(s)");
+            response.put("falhas", resultados.size() - sucessos);
+            response.put("resultados", itens);
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
         } catch (Exception e) {
-            System.err.println("❌ ERRO GERAL ao remarcar ingressos: " + e.getMessage());
-            e.printStackTrace();
-            
             Map<String, Object> erro = new HashMap<>();
             erro.put("erro", "Erro ao remarcar ingressos: " + (e.getMessage() != null ? e.getMessage() : "Erro desconhecido"));
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
@@ -579,28 +650,19 @@ public class FuncionarioOperacoesController {
     @GetMapping("/estatisticas")
     public ResponseEntity<?> obterEstatisticas() {
         try {
-            // Contadores reais
-            List<ConsultarHistoricoFuncionarioUseCase.ItemHistorico> historico =
-                consultarHistoricoUseCase.listarTodasValidacoes();
+            // Contadores de validações agregados no banco
+            ResumoValidacoes validacoes =
+                consultarHistoricoUseCase.resumirValidacoes(FiltroValidacoes.todas());
+            ResumoValidacoes validacoesDoDia = consultarHistoricoUseCase.resumirValidacoes(
+                FiltroValidacoes.todas().aPartirDe(inicioDoDia(LocalDate.now())));
 
             List<ConsultarHistoricoFuncionarioUseCase.IngressoAtivo> ingressosAtivos =
                 consultarHistoricoUseCase.listarIngressosAtivos();
 
             // Calcular estatísticas
-            long totalValidacoes = historico.size();
-            long validacoesHoje = historico.stream()
-                .filter(h -> {
-                    if (h.getDataHora() == null) return false;
-                    java.time.LocalDate dataValidacao = h.getDataHora().toInstant()
-                        .atZone(java.time.ZoneId.systemDefault())
-                        .toLocalDate();
-                    return dataValidacao.equals(java.time.LocalDate.now());
-                })
-                .count();
-
-            long validacoesSucesso = historico.stream()
-                .filter(ConsultarHistoricoFuncionarioUseCase.ItemHistorico::isSucesso)
-                .count();
+            long totalValidacoes = validacoes.getTotal();
+            long validacoesHoje = validacoesDoDia.getTotal();
+            long validacoesSucesso = validacoes.getSucessos();
 
             long ingressosPendentes = ingressosAtivos.stream()
                 .filter(i -> "ATIVO".equals(i.getStatus()) || "PENDENTE".equals(i.getStatus()))
@@ -643,10 +705,7 @@ public class FuncionarioOperacoesController {
             response.put("totalVendasIngressos", Math.round(totalVendasIngressos * 100) / 100.0);
 
             // Taxa de sucesso
-            double taxaSucesso = totalValidacoes > 0
-                ? (validacoesSucesso * 100.0 / totalValidacoes)
-                : 0;
-            response.put("taxaSucesso", Math.round(taxaSucesso * 10) / 10.0);
+            response.put("taxaSucesso", Math.round(validacoes.getTaxaSucesso() * 10) / 10.0);
 
             return ResponseEntity.ok(response);
 
@@ -657,9 +716,14 @@ public class FuncionarioOperacoesController {
         }
     }
 
+    private static Date inicioDoDia(LocalDate dia) {
+        return Date.from(dia.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
     // DTOs para requests
 
     public record ValidarIngressoRequest(String qrCode) {}
+    public record ValidarIngressosEmLoteRequest(List<String> qrCodes) {}
 
     public record RemarcarIngressoRequest(
         Integer ingressoId,
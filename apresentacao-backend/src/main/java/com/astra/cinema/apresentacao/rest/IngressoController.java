@@ -20,9 +20,10 @@ import java.util.stream.Collectors;
  */
 @RestController
 @RequestMapping("/api/ingressos")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = IngressoController.CABECALHO_PROXIMA_PAGINA)
 public class IngressoController {
     private static final Logger logger = LoggerFactory.getLogger(IngressoController.class);
+    static final String CABECALHO_PROXIMA_PAGINA = "X-Proxima-Pagina";
 
     private final IngressoService ingressoService;
 
@@ -96,19 +97,21 @@ public class IngressoController {
     }
 
     @GetMapping
-    public ResponseEntity<?> buscarIngressos(@RequestParam(required = false) Integer clienteId) {
+    public ResponseEntity<?> buscarIngressos(@RequestParam(required = false) Integer clienteId,
+                                             @RequestParam(required = false) Integer antesDe,
+                                             @RequestParam(required = false) Integer limite) {
         try {
             logger.info("Buscando ingressos para cliente: {}", clienteId);
 
-            List<IngressoService.IngressoDetalhado> ingressos =
-                ingressoService.buscarIngressosPorCliente(clienteId);
+            IngressoService.PaginaIngressos pagina =
+                ingressoService.buscarIngressosPorCliente(clienteId, antesDe, limite);
 
-            List<Map<String, Object>> response = ingressos.stream()
+            List<Map<String, Object>> response = pagina.ingressos().stream()
                 .map(this::converterParaMap)
                 .collect(Collectors.toList());
 
             logger.info("Retornando {} grupos de ingressos", response.size());
-            return ResponseEntity.ok(response);
+            return respostaPaginada(response, pagina);
         } catch (Exception e) {
             logger.error("Erro ao buscar ingressos: ", e);
             return ResponseEntity.badRequest()
@@ -117,16 +120,18 @@ public class IngressoController {
     }
 
     @GetMapping("/ativos")
-    public ResponseEntity<?> buscarIngressosAtivos(@RequestParam(required = false) Integer clienteId) {
+    public ResponseEntity<?> buscarIngressosAtivos(@RequestParam(required = false) Integer clienteId,
+                                                   @RequestParam(required = false) Integer antesDe,
+                                                   @RequestParam(required = false) Integer limite) {
         try {
-            List<IngressoService.IngressoDetalhado> ingressos =
-                ingressoService.buscarIngressosAtivosPorCliente(clienteId);
+            IngressoService.PaginaIngressos pagina =
+                ingressoService.buscarIngressosAtivosPorCliente(clienteId, antesDe, limite);
 
-            List<Map<String, Object>> response = ingressos.stream()
+            List<Map<String, Object>> response = pagina.ingressos().stream()
                 .map(this::converterParaMap)
                 .collect(Collectors.toList());
 
-            return ResponseEntity.ok(response);
+            return respostaPaginada(response, pagina);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("erro", e.getMessage()));
@@ -144,6 +149,19 @@ public class IngressoController {
         }
     }
 
+    /**
+     * O corpo continua sendo a lista; o cursor da próxima página (parâmetro antesDe) vai no cabeçalho
+     */
+    private ResponseEntity<?> respostaPaginada(List<Map<String, Object>> response,
+                                               IngressoService.PaginaIngressos pagina) {
+        if (pagina.proximaPagina() == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok()
+            .header(CABECALHO_PROXIMA_PAGINA, String.valueOf(pagina.proximaPagina()))
+            .body(response);
+    }
+
     private Map<String, Object> converterParaMap(IngressoService.IngressoDetalhado ingresso) {
         Map<String, Object> map = new HashMap<>();
         map.put("id", ingresso.id());
@@ -1,9 +1,15 @@
 package com.astra.cinema.apresentacao.rest;
 
 import com.astra.cinema.aplicacao.servicos.SessaoService;
+import com.astra.cinema.aplicacao.sessao.ReservasTemporariasAssentos;
+import com.astra.cinema.apresentacao.exception.RecursoNaoEncontradoException;
+import com.astra.cinema.apresentacao.servicos.TransmissaoMapaAssentos;
+import com.astra.cinema.dominio.comum.AssentoId;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,9 +24,12 @@ import java.util.stream.Collectors;
 public class SessaoController {
 
     private final SessaoService sessaoService;
+    private final TransmissaoMapaAssentos transmissaoMapaAssentos;
 
-    public SessaoController(SessaoService sessaoService) {
+    public SessaoController(SessaoService sessaoService,
+                            TransmissaoMapaAssentos transmissaoMapaAssentos) {
         this.sessaoService = sessaoService;
+        this.transmissaoMapaAssentos = transmissaoMapaAssentos;
     }
 
     /**
@@ -130,6 +139,19 @@ public class SessaoController {
         }
     }
 
+    /**
+     * Acompanha o mapa de assentos ao vivo (Server-Sent Events):
+     * evento "snapshot" na inscrição e eventos "delta" com os assentos alterados
+     */
+    @GetMapping(value = "/{id}/assentos/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharAssentos(@PathVariable Integer id) {
+        try {
+            return transmissaoMapaAssentos.assinar(id);
+        } catch (IllegalArgumentException e) {
+            throw new RecursoNaoEncontradoException("Sessão", Long.valueOf(id));
+        }
+    }
+
     /**
      * Reserva assentos em uma sessão
      */
@@ -137,9 +159,36 @@ public class SessaoController {
     public ResponseEntity<?> reservarAssentos(@PathVariable Integer id,
                                               @RequestBody ReservarAssentosRequest request) {
         try {
-            sessaoService.reservarAssentos(id, request.getAssentos());
-            return ResponseEntity.ok(Map.of("mensagem", "Assentos reservados com sucesso"));
-        } catch (IllegalStateException e) {
+            Date expiraEm = sessaoService.reservarAssentos(id, request.getClienteId(), request.getAssentos());
+            return ResponseEntity.ok(Map.of(
+                    "mensagem", "Assentos reservados com sucesso",
+                    "expiraEm", expiraEm));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("erro", e.getMessage()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500)
+                    .body(Map.of("erro", "Erro ao reservar assentos: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Reserva os melhores assentos lado a lado disponíveis para um grupo
+     */
+    @PostMapping("/{id}/assentos/melhores")
+    public ResponseEntity<?> reservarMelhoresAssentos(@PathVariable Integer id,
+                                                      @RequestBody MelhoresAssentosRequest request) {
+        try {
+            ReservasTemporariasAssentos.ReservaTemporaria reserva = sessaoService.reservarMelhoresAssentos(
+                    id, request.getClienteId(), request.getQuantidade());
+            List<String> assentos = reserva.assentos().stream()
+                    .map(AssentoId::getValor)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(Map.of(
+                    "assentos", assentos,
+                    "expiraEm", reserva.expiraEm()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("erro", e.getMessage()));
         } catch (Exception e) {
@@ -346,6 +395,7 @@ public class SessaoController {
 
     public static class ReservarAssentosRequest {
         private List<String> assentos;
+        private Integer clienteId;
 
         public List<String> getAssentos() {
             return assentos;
@@ -354,6 +404,35 @@ public class SessaoController {
         public void setAssentos(List<String> assentos) {
             this.assentos = assentos;
         }
+
+        public Integer getClienteId() {
+            return clienteId;
+        }
+
+        public void setClienteId(Integer clienteId) {
+            this.clienteId = clienteId;
+        }
+    }
+
+    public static class MelhoresAssentosRequest {
+        private Integer quantidade;
+        private Integer clienteId;
+
+        public Integer getQuantidade() {
+            return quantidade;
+        }
+
+        public void setQuantidade(Integer quantidade) {
+            this.quantidade = quantidade;
+        }
+
+        public Integer getClienteId() {
+            return clienteId;
+        }
+
+        public void setClienteId(Integer clienteId) {
+            this.clienteId = clienteId;
+        }
     }
 
     public static class RemarcarRequest {
@@ -0,0 +1,50 @@
+package com.astra.cinema.apresentacao.servicos;
+
+import com.astra.cinema.aplicacao.servicos.ExecutorTransacao;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Implementação do executor de transações
+ * Delega ao gerenciador de transações do Spring (propagação REQUIRED)
+ */
+public class ExecutorTransacaoImpl implements ExecutorTransacao {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ExecutorTransacaoImpl(PlatformTransactionManager transactionManager) {
+        if (transactionManager == null) {
+            throw new IllegalArgumentException("O gerenciador de transações não pode ser nulo");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public <T> T executar(Supplier<T> operacao) {
+        if (operacao == null) {
+            throw new IllegalArgumentException("A operação não pode ser nula");
+        }
+        return transactionTemplate.execute(status -> operacao.get());
+    }
+
+    @Override
+    public void aposConfirmar(Runnable acao) {
+        if (acao == null) {
+            throw new IllegalArgumentException("A ação não pode ser nula");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
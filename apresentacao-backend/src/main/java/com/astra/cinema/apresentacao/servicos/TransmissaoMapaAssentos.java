@@ -0,0 +1,296 @@
+package com.astra.cinema.apresentacao.servicos;
+
+import com.astra.cinema.aplicacao.servicos.SessaoService;
+import com.astra.cinema.dominio.eventos.AssentosSessaoAlteradosEvento;
+import com.astra.cinema.dominio.eventos.ObservadorEvento;
+import com.astra.cinema.dominio.eventos.PublicadorEventos;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transmissão ao vivo do mapa de assentos (Server-Sent Events).
+ *
+ * Cada assinante recebe um evento "snapshot" com o mapa completo ao se inscrever e,
+ * depois, eventos "delta" apenas com os assentos que mudaram. As alterações de uma
+ * sessão são agrupadas até a próxima chamada de {@link #transmitirAlteracoes()}:
+ * o mapa é recalculado uma vez, o delta é codificado uma vez e a mesma mensagem
+ * é enviada a todos os assinantes da sessão.
+ *
+ * O envio aos assinantes é feito por threads próprias, fora da trava do canal e da
+ * thread do agendador: um cliente lento não atrasa as demais tarefas agendadas. Os
+ * deltas de uma sessão são enviados um de cada vez, na ordem em que foram calculados,
+ * e o assinante cujo envio falha é descartado.
+ */
+@Component
+public class TransmissaoMapaAssentos implements ObservadorEvento<AssentosSessaoAlteradosEvento> {
+
+    private static final Logger log = LoggerFactory.getLogger(TransmissaoMapaAssentos.class);
+
+    /**
+     * Tempo máximo de uma conexão; o EventSource do navegador reconecta sozinho e recebe novo snapshot
+     */
+    private static final long TIMEOUT_CONEXAO_MS = 30 * 60 * 1000L;
+
+    private static final String EVENTO_SNAPSHOT = "snapshot";
+    private static final String EVENTO_DELTA = "delta";
+
+    private static final int THREADS_ENVIO = 4;
+
+    /**
+     * Delta a enviar e os assinantes que já existiam quando ele foi calculado
+     * (quem se inscreveu depois recebeu um snapshot mais novo)
+     */
+    private record Envio(String mensagem, List<SseEmitter> destinatarios) {}
+
+    /**
+     * Assinantes e último estado transmitido de uma sessão
+     */
+    private static final class Canal {
+        private final List<SseEmitter> assinantes = new CopyOnWriteArrayList<>();
+        private Map<String, Boolean> estado;
+        private String snapshotCodificado;
+        private volatile boolean pendente;
+        private final Queue<Envio> filaEnvio = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+    }
+
+    private final SessaoService sessaoService;
+    private final PublicadorEventos publicadorEventos;
+    private final ObjectMapper objectMapper;
+    private final Map<Integer, Canal> canais = new ConcurrentHashMap<>();
+    private final ExecutorService executorEnvio = criarExecutorEnvio();
+
+    public TransmissaoMapaAssentos(SessaoService sessaoService,
+                                   PublicadorEventos publicadorEventos,
+                                   ObjectMapper objectMapper) {
+        this.sessaoService = sessaoService;
+        this.publicadorEventos = publicadorEventos;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void registrar() {
+        publicadorEventos.registrar(this);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executorEnvio.shutdownNow();
+    }
+
+    private static ExecutorService criarExecutorEnvio() {
+        AtomicInteger contador = new AtomicInteger();
+        return Executors.newFixedThreadPool(THREADS_ENVIO, tarefa -> {
+            Thread thread = new Thread(tarefa, "transmissao-assentos-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inscreve um assinante no mapa de assentos da sessão e envia o snapshot atual.
+     */
+    public SseEmitter assinar(Integer sessaoId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_CONEXAO_MS);
+        Canal canal;
+        while (true) {
+            canal = canais.computeIfAbsent(sessaoId, id -> new Canal());
+            synchronized (canal) {
+                // O canal pode ter sido descartado (sem assinantes) entre a busca e a trava
+                if (canais.get(sessaoId) != canal) {
+                    continue;
+                }
+                try {
+                    if (canal.estado == null) {
+                        canal.estado = obterEstado(sessaoId);
+                        canal.snapshotCodificado = null;
+                    }
+                    if (canal.snapshotCodificado == null) {
+                        canal.snapshotCodificado = codificar(sessaoId, canal.estado, canal.estado);
+                    }
+                    emitter.send(SseEmitter.event().name(EVENTO_SNAPSHOT).data(canal.snapshotCodificado));
+                    canal.assinantes.add(emitter);
+                } catch (IOException e) {
+                    removerCanalSemAssinantes(sessaoId, canal);
+                    emitter.completeWithError(e);
+                    return emitter;
+                } catch (RuntimeException e) {
+                    removerCanalSemAssinantes(sessaoId, canal);
+                    throw e;
+                }
+                break;
+            }
+        }
+
+        Canal canalAssinado = canal;
+        Runnable remover = () -> remover(sessaoId, canalAssinado, emitter);
+        emitter.onCompletion(remover);
+        emitter.onTimeout(remover);
+        emitter.onError(erro -> remover.run());
+        return emitter;
+    }
+
+    /**
+     * Só marca a sessão como pendente; o envio acontece em {@link #transmitirAlteracoes()}.
+     */
+    @Override
+    public void atualizar(AssentosSessaoAlteradosEvento evento) {
+        Canal canal = canais.get(evento.getSessaoId().getId());
+        if (canal != null) {
+            canal.pendente = true;
+        }
+    }
+
+    @Override
+    public Class<AssentosSessaoAlteradosEvento> getTipoEvento() {
+        return AssentosSessaoAlteradosEvento.class;
+    }
+
+    /**
+     * Calcula os deltas acumulados das sessões com assinantes e os entrega às threads de
+     * envio, sem esperar pelos assinantes. Deve ser chamado periodicamente.
+     *
+     * @return Quantidade de sessões que tiveram delta transmitido
+     */
+    public int transmitirAlteracoes() {
+        int transmitidas = 0;
+        for (Map.Entry<Integer, Canal> entrada : canais.entrySet()) {
+            Canal canal = entrada.getValue();
+            if (!canal.pendente) {
+                continue;
+            }
+            synchronized (canal) {
+                canal.pendente = false;
+                if (transmitirDelta(entrada.getKey(), canal)) {
+                    transmitidas++;
+                }
+            }
+        }
+        return transmitidas;
+    }
+
+    private boolean transmitirDelta(Integer sessaoId, Canal canal) {
+        Map<String, Boolean> novoEstado;
+        try {
+            novoEstado = obterEstado(sessaoId);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível atualizar o mapa de assentos da sessão {}: {}", sessaoId, e.getMessage());
+            return false;
+        }
+
+        Map<String, Boolean> alterados = new LinkedHashMap<>();
+        novoEstado.forEach((assento, disponivel) -> {
+            if (canal.estado == null || !disponivel.equals(canal.estado.get(assento))) {
+                alterados.put(assento, disponivel);
+            }
+        });
+        canal.estado = novoEstado;
+        canal.snapshotCodificado = null;
+        if (alterados.isEmpty()) {
+            return false;
+        }
+
+        String mensagem = codificar(sessaoId, alterados, novoEstado);
+        canal.filaEnvio.add(new Envio(mensagem, List.copyOf(canal.assinantes)));
+        agendarEnvio(sessaoId, canal);
+        return true;
+    }
+
+    /**
+     * Garante uma única tarefa de envio por canal, preservando a ordem dos deltas.
+     */
+    private void agendarEnvio(Integer sessaoId, Canal canal) {
+        if (!canal.enviando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executorEnvio.execute(() -> enviarPendentes(sessaoId, canal));
+        } catch (RejectedExecutionException e) {
+            // Aplicação encerrando
+            canal.filaEnvio.clear();
+            canal.enviando.set(false);
+        }
+    }
+
+    private void enviarPendentes(Integer sessaoId, Canal canal) {
+        try {
+            Envio envio;
+            while ((envio = canal.filaEnvio.poll()) != null) {
+                for (SseEmitter emitter : envio.destinatarios()) {
+                    try {
+                        emitter.send(SseEmitter.event().name(EVENTO_DELTA).data(envio.mensagem()));
+                    } catch (IOException | RuntimeException e) {
+                        // Conexão encerrada ou com falha: o assinante é descartado e reconecta com novo snapshot
+                        descartar(sessaoId, canal, emitter, e);
+                    }
+                }
+            }
+        } finally {
+            canal.enviando.set(false);
+        }
+        // Um delta enfileirado entre o fim do laço e a liberação acima ainda precisa ser enviado
+        if (!canal.filaEnvio.isEmpty()) {
+            agendarEnvio(sessaoId, canal);
+        }
+    }
+
+    private void descartar(Integer sessaoId, Canal canal, SseEmitter emitter, Exception erro) {
+        remover(sessaoId, canal, emitter);
+        try {
+            emitter.completeWithError(erro);
+        } catch (RuntimeException e) {
+            log.debug("Assinante do mapa de assentos da sessão {} já encerrado: {}", sessaoId, e.getMessage());
+        }
+    }
+
+    private Map<String, Boolean> obterEstado(Integer sessaoId) {
+        return new HashMap<>(sessaoService.obterAssentos(sessaoId).assentos());
+    }
+
+    private String codificar(Integer sessaoId, Map<String, Boolean> assentos, Map<String, Boolean> estadoCompleto) {
+        long disponiveis = estadoCompleto.values().stream().filter(Boolean::booleanValue).count();
+        Map<String, Object> mensagem = new LinkedHashMap<>();
+        mensagem.put("sessaoId", sessaoId);
+        mensagem.put("assentos", assentos);
+        mensagem.put("disponiveis", disponiveis);
+        try {
+            return objectMapper.writeValueAsString(mensagem);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao codificar mapa de assentos", e);
+        }
+    }
+
+    private void remover(Integer sessaoId, Canal canal, SseEmitter emitter) {
+        synchronized (canal) {
+            canal.assinantes.remove(emitter);
+            removerCanalSemAssinantes(sessaoId, canal);
+        }
+    }
+
+    private void removerCanalSemAssinantes(Integer sessaoId, Canal canal) {
+        if (canal.assinantes.isEmpty()) {
+            canais.remove(sessaoId, canal);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.astra.cinema.config;
 
-import com.astra.cinema.aplicacao.servicos.IngressoService;
+import com.astra.cinema.aplicacao.ingresso.IndiceValidacaoIngressos;
+import com.astra.cinema.aplicacao.sessao.IndicadoresSessoes;
+import com.astra.cinema.aplicacao.sessao.ReservasTemporariasAssentos;
+import com.astra.cinema.aplicacao.sessao.TransicaoStatusSessoes;
+import com.astra.cinema.apresentacao.servicos.TransmissaoMapaAssentos;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,26 +18,94 @@ public class ScheduledTasks {
     
     private static final Logger log = LoggerFactory.getLogger(ScheduledTasks.class);
     
-    private final IngressoService ingressoService;
+    private final ReservasTemporariasAssentos reservasTemporariasAssentos;
+    private final TransmissaoMapaAssentos transmissaoMapaAssentos;
+    private final TransicaoStatusSessoes transicaoStatusSessoes;
+    private final IndicadoresSessoes indicadoresSessoes;
+    private final IndiceValidacaoIngressos indiceValidacaoIngressos;
     
-    public ScheduledTasks(IngressoService ingressoService) {
-        this.ingressoService = ingressoService;
+    public ScheduledTasks(ReservasTemporariasAssentos reservasTemporariasAssentos,
+                          TransmissaoMapaAssentos transmissaoMapaAssentos,
+                          TransicaoStatusSessoes transicaoStatusSessoes,
+                          IndicadoresSessoes indicadoresSessoes,
+                          IndiceValidacaoIngressos indiceValidacaoIngressos) {
+        this.reservasTemporariasAssentos = reservasTemporariasAssentos;
+        this.transmissaoMapaAssentos = transmissaoMapaAssentos;
+        this.transicaoStatusSessoes = transicaoStatusSessoes;
+        this.indicadoresSessoes = indicadoresSessoes;
+        this.indiceValidacaoIngressos = indiceValidacaoIngressos;
+    }
+
+    /**
+     * Conclui as sessões que começaram e expira seus ingressos
+     * Executa a cada segundo; a agenda de horários fica em memória e o banco só é
+     * consultado quando uma sessão vence ou na ressincronização periódica
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void concluirSessoesIniciadas() {
+        try {
+            int concluidas = transicaoStatusSessoes.processar();
+            if (concluidas > 0) {
+                log.info("Concluídas {} sessões que já começaram", concluidas);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao concluir sessões iniciadas", e);
+        }
     }
     
     /**
-     * Expira automaticamente ingressos de sessões que já passaram
-     * Executa a cada 30 minutos
+     * Aplica aos indicadores do dashboard as sessões alteradas e faz a virada do dia
+     * Executa a cada segundo
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void atualizarIndicadoresSessoes() {
+        try {
+            indicadoresSessoes.processarPendentes();
+        } catch (Exception e) {
+            log.error("Erro ao atualizar indicadores das sessões", e);
+        }
+    }
+
+    /**
+     * Grava as validações feitas na porta, relê as sessões alteradas no índice de validação
+     * e recarrega o índice na virada do dia
+     * Executa a cada segundo
      */
-    @Scheduled(fixedRate = 1800000) // 30 minutos = 1800000 ms
-    public void expirarIngressosAutomaticamente() {
+    @Scheduled(fixedDelay = 1000)
+    public void atualizarIndiceValidacao() {
         try {
-            log.info("Iniciando expiração automática de ingressos...");
-            int quantidadeExpirada = ingressoService.expirarTodosIngressosExpirados();
-            if (quantidadeExpirada > 0) {
-                log.info("Expirados {} ingressos de sessões passadas", quantidadeExpirada);
+            indiceValidacaoIngressos.processar();
+        } catch (Exception e) {
+            log.error("Erro ao atualizar o índice de validação de ingressos", e);
+        }
+    }
+
+    /**
+     * Libera reservas temporárias de assentos cujo checkout não foi concluído
+     * Executa a cada segundo (resolução da roda de temporização)
+     */
+    @Scheduled(fixedRate = 1000)
+    public void expirarReservasTemporarias() {
+        try {
+            int liberadas = reservasTemporariasAssentos.expirarVencidas();
+            if (liberadas > 0) {
+                log.debug("Liberadas {} reservas temporárias de assentos vencidas", liberadas);
             }
         } catch (Exception e) {
-            log.error("Erro ao expirar ingressos automaticamente", e);
+            log.error("Erro ao liberar reservas temporárias de assentos", e);
+        }
+    }
+
+    /**
+     * Envia aos assinantes do mapa de assentos as alterações acumuladas
+     * Executa a cada 250 ms (alterações dentro da janela viram um único delta)
+     */
+    @Scheduled(fixedDelay = 250)
+    public void transmitirMapasAssentos() {
+        try {
+            transmissaoMapaAssentos.transmitirAlteracoes();
+        } catch (Exception e) {
+            log.error("Erro ao transmitir alterações do mapa de assentos", e);
         }
     }
 }
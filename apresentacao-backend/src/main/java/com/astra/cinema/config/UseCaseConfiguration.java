@@ -1,7 +1,11 @@
                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                             package com.astra.cinema.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
 
 import com.astra.cinema.aplicacao.bomboniere.AdicionarProdutoUseCase;
 import com.astra.cinema.aplicacao.bomboniere.AjusteEstoqueUseCase;
@@ -15,8 +19,11 @@ import com.astra.cinema.aplicacao.filme.AlterarFilmeUseCase;
 import com.astra.cinema.aplicacao.filme.RemoverFilmeUseCase;
 import com.astra.cinema.aplicacao.funcionario.ConsultarHistoricoFuncionarioUseCase;
 import com.astra.cinema.aplicacao.funcionario.RemarcarIngressoFuncionarioUseCase;
+import com.astra.cinema.aplicacao.funcionario.RemarcarIngressosEmLoteUseCase;
 import com.astra.cinema.aplicacao.funcionario.ValidarIngressoFuncionarioUseCase;
+import com.astra.cinema.aplicacao.funcionario.ValidarIngressosEmLoteUseCase;
 import com.astra.cinema.aplicacao.ingresso.ExpirarIngressosUseCase;
+import com.astra.cinema.aplicacao.ingresso.IndiceValidacaoIngressos;
 import com.astra.cinema.aplicacao.ingresso.RemarcarIngressoUseCase;
 import com.astra.cinema.aplicacao.ingresso.ValidarIngressoUseCase;
 import com.astra.cinema.aplicacao.relatorio.CalcularAnalyticsUseCase;
@@ -31,18 +38,24 @@ import com.astra.cinema.aplicacao.servicos.FilmeService;
 import com.astra.cinema.aplicacao.servicos.IngressoService;
 import com.astra.cinema.aplicacao.servicos.SalaService;
 import com.astra.cinema.aplicacao.servicos.SessaoService;
+import com.astra.cinema.aplicacao.servicos.ExecutorTransacao;
 import com.astra.cinema.aplicacao.servicos.VendaProdutoService;
 import com.astra.cinema.aplicacao.sessao.CriarSessaoUseCase;
+import com.astra.cinema.aplicacao.sessao.IndicadoresSessoes;
 import com.astra.cinema.aplicacao.sessao.ModificarSessaoUseCase;
 import com.astra.cinema.aplicacao.sessao.RemarcarIngressosSessaoUseCase;
 import com.astra.cinema.aplicacao.sessao.RemoverSessaoUseCase;
+import com.astra.cinema.aplicacao.sessao.ReservasTemporariasAssentos;
+import com.astra.cinema.aplicacao.sessao.TransicaoStatusSessoes;
 import com.astra.cinema.aplicacao.usuario.AutenticarUsuarioUseCase;
 import com.astra.cinema.aplicacao.usuario.RegistrarClienteUseCase;
 import com.astra.cinema.aplicacao.usuario.funcionario.GerenciarFuncionariosUseCase;
+import com.astra.cinema.apresentacao.servicos.ExecutorTransacaoImpl;
 import com.astra.cinema.apresentacao.servicos.VendaProdutoServiceImpl;
 import com.astra.cinema.dominio.bomboniere.ProdutoRepositorio;
 import com.astra.cinema.dominio.bomboniere.VendaRepositorio;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
+import com.astra.cinema.dominio.eventos.PublicadorEventos;
 import com.astra.cinema.dominio.filme.FilmeRepositorio;
 import com.astra.cinema.dominio.operacao.RemarcacaoSessaoRepositorio;
 import com.astra.cinema.dominio.operacao.ValidacaoIngressoRepositorio;
@@ -53,6 +66,11 @@ import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 import com.astra.cinema.dominio.usuario.ClienteRepositorio;
 import com.astra.cinema.dominio.usuario.FuncionarioRepositorio;
 import com.astra.cinema.dominio.usuario.UsuarioRepositorio;
+import com.astra.cinema.dominio.validacao.PrimeiraValidacaoRepositorio;
+import com.astra.cinema.dominio.validacao.ValidadorDuplicidade;
+import com.astra.cinema.dominio.validacao.ValidadorIngresso;
+import com.astra.cinema.dominio.validacao.ValidadorIngressoBase;
+import com.astra.cinema.dominio.validacao.ValidadorQRCode;
 import com.astra.cinema.infraestrutura.persistencia.jpa.VendaJpaRepository;
 
 @Configuration
@@ -75,13 +93,38 @@ public class UseCaseConfiguration {
 
     @Bean
     public ValidarIngressoFuncionarioUseCase validarIngressoFuncionarioUseCase(
-            CompraRepositorio compraRepositorio,
-            SessaoRepositorio sessaoRepositorio,
-            ValidacaoIngressoRepositorio validacaoIngressoRepositorio) {
+            ValidarIngressoUseCase validarIngressoUseCase,
+            IndiceValidacaoIngressos indiceValidacaoIngressos) {
         return new ValidarIngressoFuncionarioUseCase(
-            compraRepositorio,
+            validarIngressoUseCase,
+            indiceValidacaoIngressos
+        );
+    }
+
+    @Bean
+    public ValidadorIngresso validadorIngresso(
+            SessaoRepositorio sessaoRepositorio,
+            PrimeiraValidacaoRepositorio primeiraValidacaoRepositorio) {
+        // Usado pela validação individual e em lote. Sem ValidadorHorario: a validação é liberada
+        // para qualquer horário
+        return new ValidadorDuplicidade(
+            new ValidadorQRCode(new ValidadorIngressoBase()),
             sessaoRepositorio,
-            validacaoIngressoRepositorio
+            primeiraValidacaoRepositorio
+        );
+    }
+
+    @Bean
+    public ValidarIngressosEmLoteUseCase validarIngressosEmLoteUseCase(
+            CompraRepositorio compraRepositorio,
+            ValidacaoIngressoRepositorio validacaoIngressoRepositorio,
+            ValidarIngressoUseCase validarIngressoUseCase,
+            ExecutorTransacao executorTransacao) {
+        return new ValidarIngressosEmLoteUseCase(
+            compraRepositorio,
+            validacaoIngressoRepositorio,
+            validarIngressoUseCase,
+            executorTransacao
         );
     }
 
@@ -111,11 +154,36 @@ public class UseCaseConfiguration {
         );
     }
 
+    @Bean
+    public RemarcarIngressosEmLoteUseCase remarcarIngressosEmLoteUseCase(
+            CompraRepositorio compraRepositorio,
+            SessaoRepositorio sessaoRepositorio,
+            RemarcacaoSessaoRepositorio remarcacaoSessaoRepositorio,
+            ExecutorTransacao executorTransacao) {
+        return new RemarcarIngressosEmLoteUseCase(
+            compraRepositorio,
+            sessaoRepositorio,
+            remarcacaoSessaoRepositorio,
+            executorTransacao
+        );
+    }
+
+    @Bean
+    public ReservasTemporariasAssentos reservasTemporariasAssentos(
+            SessaoRepositorio sessaoRepositorio,
+            PublicadorEventos publicadorEventos,
+            @Value("${astra.assentos.reserva-temporaria-minutos:10}") long minutosReserva) {
+        return new ReservasTemporariasAssentos(sessaoRepositorio, publicadorEventos, Duration.ofMinutes(minutosReserva));
+    }
+
     @Bean
     public IniciarCompraUseCase iniciarCompraUseCase(
             CompraRepositorio compraRepositorio,
-            SessaoRepositorio sessaoRepositorio) {
-        return new IniciarCompraUseCase(compraRepositorio, sessaoRepositorio);
+            SessaoRepositorio sessaoRepositorio,
+            ReservasTemporariasAssentos reservasTemporariasAssentos,
+            ExecutorTransacao executorTransacao) {
+        return new IniciarCompraUseCase(compraRepositorio, sessaoRepositorio, reservasTemporariasAssentos,
+                executorTransacao);
     }
 
     @Bean
@@ -154,8 +222,11 @@ public class UseCaseConfiguration {
     }
 
     @Bean
-    public ModificarSessaoUseCase modificarSessaoUseCase(SessaoRepositorio sessaoRepositorio) {
-        return new ModificarSessaoUseCase(sessaoRepositorio);
+    public ModificarSessaoUseCase modificarSessaoUseCase(
+            SessaoRepositorio sessaoRepositorio,
+            FilmeRepositorio filmeRepositorio,
+            ExpirarIngressosUseCase expirarIngressosUseCase) {
+        return new ModificarSessaoUseCase(sessaoRepositorio, filmeRepositorio, expirarIngressosUseCase);
     }
 
     @Bean
@@ -172,8 +243,23 @@ public class UseCaseConfiguration {
     @Bean
     public ValidarIngressoUseCase validarIngressoUseCase(
             CompraRepositorio compraRepositorio,
-            SessaoRepositorio sessaoRepositorio) {
-        return new ValidarIngressoUseCase(compraRepositorio, sessaoRepositorio);
+            SessaoRepositorio sessaoRepositorio,
+            IndiceValidacaoIngressos indiceValidacaoIngressos,
+            ValidadorIngresso validadorIngresso) {
+        return new ValidarIngressoUseCase(compraRepositorio, sessaoRepositorio, indiceValidacaoIngressos,
+            validadorIngresso);
+    }
+
+    @Bean
+    public IndiceValidacaoIngressos indiceValidacaoIngressos(
+            CompraRepositorio compraRepositorio,
+            SessaoRepositorio sessaoRepositorio,
+            ValidacaoIngressoRepositorio validacaoIngressoRepositorio,
+            PublicadorEventos publicadorEventos) {
+        IndiceValidacaoIngressos indice = new IndiceValidacaoIngressos(
+            compraRepositorio, sessaoRepositorio, validacaoIngressoRepositorio);
+        publicadorEventos.registrar(indice);
+        return indice;
     }
 
     @Bean
@@ -190,6 +276,23 @@ public class UseCaseConfiguration {
         return new ExpirarIngressosUseCase(compraRepositorio, sessaoRepositorio);
     }
 
+    @Bean
+    public IndicadoresSessoes indicadoresSessoes(
+            SessaoRepositorio sessaoRepositorio,
+            SalaRepositorio salaRepositorio,
+            PublicadorEventos publicadorEventos) {
+        IndicadoresSessoes indicadoresSessoes = new IndicadoresSessoes(sessaoRepositorio, salaRepositorio);
+        publicadorEventos.registrar(indicadoresSessoes);
+        return indicadoresSessoes;
+    }
+
+    @Bean
+    public TransicaoStatusSessoes transicaoStatusSessoes(
+            SessaoRepositorio sessaoRepositorio,
+            ExpirarIngressosUseCase expirarIngressosUseCase) {
+        return new TransicaoStatusSessoes(sessaoRepositorio, expirarIngressosUseCase);
+    }
+
     // Produto Use Cases
     @Bean
     public AdicionarProdutoUseCase adicionarProdutoUseCase(ProdutoRepositorio produtoRepositorio) {
@@ -231,6 +334,11 @@ public class UseCaseConfiguration {
         return new VendaProdutoServiceImpl(vendaJpaRepository);
     }
 
+    @Bean
+    public ExecutorTransacao executorTransacao(PlatformTransactionManager transactionManager) {
+        return new ExecutorTransacaoImpl(transactionManager);
+    }
+
     @Bean
     public IngressoService ingressoService(
             ValidarIngressoUseCase validarIngressoUseCase,
@@ -285,7 +393,9 @@ public class UseCaseConfiguration {
             ModificarSessaoUseCase modificarSessaoUseCase,
             RemoverSessaoUseCase removerSessaoUseCase,
             RemarcarIngressosSessaoUseCase remarcarIngressosSessaoUseCase,
-            ExpirarIngressosUseCase expirarIngressosUseCase) {
+            TransicaoStatusSessoes transicaoStatusSessoes,
+            ReservasTemporariasAssentos reservasTemporariasAssentos,
+            IndicadoresSessoes indicadoresSessoes) {
         return new SessaoService(
                 sessaoRepositorio,
                 filmeRepositorio,
@@ -294,7 +404,9 @@ public class UseCaseConfiguration {
                 modificarSessaoUseCase,
                 removerSessaoUseCase,
                 remarcarIngressosSessaoUseCase,
-                expirarIngressosUseCase
+                transicaoStatusSessoes,
+                reservasTemporariasAssentos,
+                indicadoresSessoes
         );
     }
 
@@ -318,13 +430,15 @@ public class UseCaseConfiguration {
             CancelarCompraUseCase cancelarCompraUseCase,
             CompraRepositorio compraRepositorio,
             ProdutoRepositorio produtoRepositorio,
-            VendaProdutoService vendaProdutoService) {
+            VendaProdutoService vendaProdutoService,
+            ExecutorTransacao executorTransacao) {
         return new CompraAppService(
                 iniciarCompraUseCase,
                 cancelarCompraUseCase,
                 compraRepositorio,
                 produtoRepositorio,
-                vendaProdutoService
+                vendaProdutoService,
+                executorTransacao
         );
     }
 
@@ -23,43 +23,19 @@ INSERT INTO SALA (nome, capacidade, tipo) VALUES ('Sala VIP', 50, 'VIP');
 INSERT INTO SALA (nome, capacidade, tipo) VALUES ('Sala IMAX', 150, 'IMAX');
 
 -- Inserindo sessões para filmes em cartaz
--- Sessão 1: Duna 2 - hoje às 14h - Sala 1
-INSERT INTO SESSAO (filme_id, horario, status, sala_id) VALUES
-(1, DATEADD('HOUR', 2, CURRENT_TIMESTAMP), 'DISPONIVEL', 1);
+-- Assentos em bitmap (1 bit por assento, A1 = bit 0): 50 assentos disponíveis (A1-E10)
 
--- Criando assentos para a sessão 1 (100 assentos: A1-A10, B1-B10, ..., J1-J10)
-INSERT INTO SESSAO_ASSENTO (sessao_id, assento_id, disponivel) VALUES
--- Fileira A
-(1, 'A1', true), (1, 'A2', true), (1, 'A3', true), (1, 'A4', true), (1, 'A5', true),
-(1, 'A6', true), (1, 'A7', true), (1, 'A8', true), (1, 'A9', true), (1, 'A10', true),
--- Fileira B
-(1, 'B1', true), (1, 'B2', true), (1, 'B3', true), (1, 'B4', true), (1, 'B5', true),
-(1, 'B6', true), (1, 'B7', true), (1, 'B8', true), (1, 'B9', true), (1, 'B10', true),
--- Fileira C
-(1, 'C1', true), (1, 'C2', true), (1, 'C3', true), (1, 'C4', true), (1, 'C5', true),
-(1, 'C6', true), (1, 'C7', true), (1, 'C8', true), (1, 'C9', true), (1, 'C10', true),
--- Fileira D
-(1, 'D1', true), (1, 'D2', true), (1, 'D3', true), (1, 'D4', true), (1, 'D5', true),
-(1, 'D6', true), (1, 'D7', true), (1, 'D8', true), (1, 'D9', true), (1, 'D10', true),
--- Fileira E
-(1, 'E1', true), (1, 'E2', true), (1, 'E3', true), (1, 'E4', true), (1, 'E5', true),
-(1, 'E6', true), (1, 'E7', true), (1, 'E8', true), (1, 'E9', true), (1, 'E10', true);
+-- Sessão 1: Duna 2 - hoje às 14h - Sala 1
+INSERT INTO SESSAO (filme_id, horario, status, sala_id, assentos_bitmap, assentos_total, assentos_disponiveis, assentos_ocupados) VALUES
+(1, DATEADD('HOUR', 2, CURRENT_TIMESTAMP), 'DISPONIVEL', 1, X'FFFFFFFFFFFF03', 50, 50, 0);
 
 -- Sessão 2: Matrix - amanhã às 19h - Sala 2
-INSERT INTO SESSAO (filme_id, horario, status, sala_id) VALUES
-(2, DATEADD('DAY', 1, DATEADD('HOUR', 19, CURRENT_DATE)), 'DISPONIVEL', 2);
-
--- Criando assentos para a sessão 2 (80 assentos - capacidade da Sala 2)
-INSERT INTO SESSAO_ASSENTO (sessao_id, assento_id, disponivel)
-SELECT 2, assento_id, disponivel FROM SESSAO_ASSENTO WHERE sessao_id = 1 AND assento_id NOT LIKE 'I%' AND assento_id NOT LIKE 'J%';
+INSERT INTO SESSAO (filme_id, horario, status, sala_id, assentos_bitmap, assentos_total, assentos_disponiveis, assentos_ocupados) VALUES
+(2, DATEADD('DAY', 1, DATEADD('HOUR', 19, CURRENT_DATE)), 'DISPONIVEL', 2, X'FFFFFFFFFFFF03', 50, 50, 0);
 
 -- Sessão 3: Oppenheimer - amanhã às 15h - Sala VIP
-INSERT INTO SESSAO (filme_id, horario, status, sala_id) VALUES
-(4, DATEADD('DAY', 1, DATEADD('HOUR', 15, CURRENT_DATE)), 'DISPONIVEL', 3);
-
--- Criando assentos para a sessão 3
-INSERT INTO SESSAO_ASSENTO (sessao_id, assento_id, disponivel)
-SELECT 3, assento_id, disponivel FROM SESSAO_ASSENTO WHERE sessao_id = 1;
+INSERT INTO SESSAO (filme_id, horario, status, sala_id, assentos_bitmap, assentos_total, assentos_disponiveis, assentos_ocupados) VALUES
+(4, DATEADD('DAY', 1, DATEADD('HOUR', 15, CURRENT_DATE)), 'DISPONIVEL', 3, X'FFFFFFFFFFFF03', 50, 50, 0);
 
 -- Inserindo produtos da bomboniere (sem ID explícito para usar auto-incremento)
 INSERT INTO PRODUTO (nome, preco, estoque) VALUES ('Pipoca Grande', 18.00, 50);
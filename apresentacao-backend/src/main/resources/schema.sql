@@ -28,19 +28,16 @@ CREATE TABLE IF NOT EXISTS SESSAO (
     horario TIMESTAMP NOT NULL,
     status VARCHAR(20) NOT NULL,
     sala_id INTEGER NOT NULL,
+    assentos_bitmap VARBINARY NOT NULL,
+    assentos_total INTEGER NOT NULL,
+    assentos_layout VARCHAR(10000),
+    assentos_disponiveis INTEGER NOT NULL DEFAULT 0,
+    assentos_ocupados INTEGER NOT NULL DEFAULT 0,
+    versao INTEGER NOT NULL DEFAULT 0,
     FOREIGN KEY (filme_id) REFERENCES FILME(id),
     FOREIGN KEY (sala_id) REFERENCES SALA(id)
 );
 
--- Tabela SESSAO_ASSENTO (ElementCollection)
-CREATE TABLE IF NOT EXISTS SESSAO_ASSENTO (
-    sessao_id INTEGER NOT NULL,
-    assento_id VARCHAR(10) NOT NULL,
-    disponivel BOOLEAN NOT NULL,
-    PRIMARY KEY (sessao_id, assento_id),
-    FOREIGN KEY (sessao_id) REFERENCES SESSAO(id) ON DELETE CASCADE
-);
-
 -- Tabela FUNCIONARIO
 CREATE TABLE IF NOT EXISTS FUNCIONARIO (
     id INTEGER AUTO_INCREMENT PRIMARY KEY,
@@ -59,4 +56,6 @@ CREATE TABLE IF NOT EXISTS PRODUTO (
 -- Índices para otimização
 CREATE INDEX IF NOT EXISTS idx_sessao_filme ON SESSAO(filme_id);
 CREATE INDEX IF NOT EXISTS idx_sessao_horario ON SESSAO(horario);
+CREATE INDEX IF NOT EXISTS idx_sessao_sala_horario ON SESSAO(sala_id, horario);
+CREATE INDEX IF NOT EXISTS idx_filme_duracao ON FILME(duracao);
 CREATE INDEX IF NOT EXISTS idx_filme_status ON FILME(status);
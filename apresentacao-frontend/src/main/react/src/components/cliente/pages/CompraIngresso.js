@@ -69,6 +69,31 @@ const CompraIngresso = ({ sessao, filme, usuario, onVoltar, onConcluir }) => {
     carregarAssentos();
   }, [carregarAssentos]);
 
+  // Mapa de assentos ao vivo: o backend envia um snapshot e depois só os assentos alterados
+  useEffect(() => {
+    if (!sessao?.id || typeof EventSource === 'undefined') {
+      return undefined;
+    }
+
+    const stream = new EventSource(`/api/sessoes/${sessao.id}/assentos/stream`);
+    const aplicarAlteracoes = (evento) => {
+      try {
+        const { assentos: alterados } = JSON.parse(evento.data);
+        setAssentos((atuais) => atuais.map((assento) => (
+          Object.prototype.hasOwnProperty.call(alterados, assento.id)
+            ? { ...assento, disponivel: alterados[assento.id] }
+            : assento
+        )));
+      } catch (e) {
+        console.error('Erro ao aplicar atualização do mapa de assentos:', e);
+      }
+    };
+
+    stream.addEventListener('snapshot', aplicarAlteracoes);
+    stream.addEventListener('delta', aplicarAlteracoes);
+    return () => stream.close();
+  }, [sessao?.id]);
+
   useEffect(() => {
     const carregarProdutos = async () => {
       setCarregandoProdutos(true);
@@ -118,7 +143,7 @@ const CompraIngresso = ({ sessao, filme, usuario, onVoltar, onConcluir }) => {
     }
 
     if (!response.ok) {
-      throw new Error(payload?.mensagem || 'Falha ao reservar assentos. Atualize e tente novamente.');
+      throw new Error(payload?.erro || payload?.mensagem || 'Falha ao reservar assentos. Atualize e tente novamente.');
     }
 
     return payload;
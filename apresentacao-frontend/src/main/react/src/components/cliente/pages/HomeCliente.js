@@ -15,8 +15,9 @@ const HomeCliente = ({ usuario, onIniciarCompra, abaInicial = 'filmes' }) => {
   const [carregando, setCarregando] = useState(true);
   const [ingressoQrAberto, setIngressoQrAberto] = useState(null);
   
-  const { ingressos, sincronizarComBackend, cancelarCompra } = useMeusIngressos(usuario);
+  const { ingressos, sincronizarComBackend, cancelarCompra, carregarMais, temMais } = useMeusIngressos(usuario);
   const [cancelando, setCancelando] = useState(null);
+  const [carregandoMais, setCarregandoMais] = useState(false);
 
   useEffect(() => {
     carregarFilmesESessoes();
@@ -403,6 +404,19 @@ const HomeCliente = ({ usuario, onIniciarCompra, abaInicial = 'filmes' }) => {
               ))}
             </div>
           )}
+
+          {temMais && (
+            <button
+              className="btn-secondary-novo"
+              onClick={() => {
+                setCarregandoMais(true);
+                carregarMais().finally(() => setCarregandoMais(false));
+              }}
+              disabled={carregandoMais}
+            >
+              {carregandoMais ? 'Carregando...' : 'Carregar mais'}
+            </button>
+          )}
         </section>
       )}
 
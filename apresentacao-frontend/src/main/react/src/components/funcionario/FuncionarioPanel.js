@@ -61,6 +61,7 @@ const FuncionarioPanel = ({ usuario, onLogout }) => {
 
   // Estados para Histórico
   const [historico, setHistorico] = useState([]);
+  const [proximaPaginaHistorico, setProximaPaginaHistorico] = useState(null);
   const [filtroHistorico, setFiltroHistorico] = useState('todos');
 
   // Estados para Remarcação (agora carregamos TODOS os ingressos para remarcação)
@@ -232,51 +233,50 @@ const FuncionarioPanel = ({ usuario, onLogout }) => {
   // ==========================================
   // HISTÓRICO
   // ==========================================
-  const carregarHistorico = async () => {
+  // O backend pagina e filtra o histórico; o cabeçalho X-Proxima-Pagina indica se há mais validações
+  const carregarHistorico = async (antesDe = null) => {
     try {
-      const response = await fetch('/api/funcionario/ingressos/historico');
+      const params = new URLSearchParams({ limite: '50' });
+      if (antesDe) params.set('antesDe', antesDe);
+      if (filtroHistorico !== 'todos') params.set('sucesso', filtroHistorico === 'sucesso');
+      const response = await fetch(`/api/funcionario/ingressos/historico?${params}`);
       if (response.ok) {
         const data = await response.json();
-        setHistorico(data);
+        setHistorico(anterior => (antesDe ? [...anterior, ...data] : data));
+        setProximaPaginaHistorico(response.headers.get('X-Proxima-Pagina'));
       }
     } catch (error) {
       console.error('Erro ao carregar histórico:', error);
     }
   };
 
+  // Recarrega do início quando o filtro muda (o filtro é aplicado no backend)
+  useEffect(() => {
+    if (telaAtiva === 'historico' && isGerente) {
+      carregarHistorico();
+    }
+  }, [filtroHistorico]);
+
   const agruparHistoricoPorCompra = () => {
-    // Agrupar validações por compraId
-    const grupos = {};
+    // Agrupar validações da mesma compra feitas juntas (mesma data/hora), como o backend.
+    // Um grupo pode vir dividido entre duas páginas: os assentos das partes são somados
+    const grupos = new Map();
     historico.forEach(item => {
-      const compraId = item.compraId || item.id; // fallback para item.id se compraId não existir
-      if (!grupos[compraId]) {
-        grupos[compraId] = {
-          ...item,
-          assentos: [item.assento]
-        };
+      const chave = item.compraId ? `${item.compraId}_${item.dataHora}` : `v${item.id}`;
+      const assentos = item.assentos || [item.assento];
+      const grupo = grupos.get(chave);
+      if (!grupo) {
+        grupos.set(chave, { ...item, assentos: [...assentos] });
       } else {
-        // Adicionar assento ao grupo se ainda não estiver lá
-        if (!grupos[compraId].assentos.includes(item.assento)) {
-          grupos[compraId].assentos.push(item.assento);
-        }
-        // Manter a data/hora mais recente
-        if (new Date(item.dataHora) > new Date(grupos[compraId].dataHora)) {
-          grupos[compraId].dataHora = item.dataHora;
-        }
+        assentos.forEach(assento => {
+          if (!grupo.assentos.includes(assento)) {
+            grupo.assentos.push(assento);
+          }
+        });
       }
     });
 
-    return Object.values(grupos);
-  };
-
-  const filtrarHistorico = () => {
-    const agrupado = agruparHistoricoPorCompra();
-    if (filtroHistorico === 'todos') return agrupado;
-    return agrupado.filter(item => {
-      if (filtroHistorico === 'sucesso') return item.sucesso;
-      if (filtroHistorico === 'falha') return !item.sucesso;
-      return true;
-    });
+    return Array.from(grupos.values());
   };
 
   // ==========================================
@@ -816,7 +816,7 @@ const FuncionarioPanel = ({ usuario, onLogout }) => {
         </button>
       </div>
 
-      {filtrarHistorico().length === 0 ? (
+      {agruparHistoricoPorCompra().length === 0 ? (
         <div className="func-empty-state">
           <History size={64} />
           <h3>Nenhum registro encontrado</h3>
@@ -824,7 +824,7 @@ const FuncionarioPanel = ({ usuario, onLogout }) => {
         </div>
       ) : (
         <div className="func-historico-lista">
-          {filtrarHistorico().map((item) => (
+          {agruparHistoricoPorCompra().map((item) => (
             <div key={item.id} className="func-historico-item">
               <div className="func-historico-info">
                 <div className="func-historico-qr">
@@ -849,6 +849,15 @@ const FuncionarioPanel = ({ usuario, onLogout }) => {
           ))}
         </div>
       )}
+
+      {proximaPaginaHistorico && (
+        <button
+          className="func-btn-secondary"
+          onClick={() => carregarHistorico(proximaPaginaHistorico)}
+        >
+          Carregar mais
+        </button>
+      )}
     </div>
   );
 
@@ -38,6 +38,8 @@ export const useMeusIngressos = (usuario) => {
   );
 
   const [ingressos, setIngressos] = useState([]);
+  // Cursor da próxima página do backend (cabeçalho X-Proxima-Pagina); null quando não há mais
+  const [proximaPagina, setProximaPagina] = useState(null);
 
   useEffect(() => {
     try {
@@ -134,14 +136,18 @@ export const useMeusIngressos = (usuario) => {
   );
 
     // Função interna para sincronizar com backend
-    const sincronizarComBackendInterno = async () => {
+    // Sem cursor carrega a primeira página e substitui a lista; com cursor acrescenta a página seguinte
+    const sincronizarComBackendInterno = async (antesDe = null) => {
       if (!usuario || !usuario.clienteId) return;
       try {
         console.log('Sincronizando ingressos com backend...');
-        // Busca TODOS os ingressos (ativos E cancelados) do usuário logado
-        const res = await fetch(`/api/ingressos?clienteId=${usuario.clienteId}&_t=${Date.now()}`);
+        // Busca os ingressos (ativos E cancelados) do usuário logado, uma página por vez.
+        // O backend pagina por compra; o cabeçalho X-Proxima-Pagina indica se há mais compras
+        const cursor = antesDe ? `&antesDe=${antesDe}` : '';
+        const res = await fetch(`/api/ingressos?clienteId=${usuario.clienteId}${cursor}&limite=100&_t=${Date.now()}`);
         if (!res.ok) return;
         const dados = await res.json();
+        const proxima = res.headers.get('X-Proxima-Pagina');
         console.log('Dados recebidos do backend:', dados);
 
         // AGRUPAR ingressos por compra (mesmo qrCode = mesma compra)
@@ -202,6 +208,16 @@ export const useMeusIngressos = (usuario) => {
 
         console.log('Compras processadas do backend:', compras);
 
+        setProximaPagina(proxima);
+        if (antesDe) {
+          // Páginas seguintes só acrescentam as compras ainda não listadas
+          persistir((listaAtual) => {
+            const codigos = new Set(listaAtual.map((c) => c.codigo));
+            return [...listaAtual, ...compras.filter((c) => !codigos.has(c.codigo))];
+          });
+          return;
+        }
+
         // Substituir TUDO pelo que veio do backend (source of truth)
         // Isso garante que se o banco foi resetado, o localStorage também será limpo
         persistir(() => compras);
@@ -215,6 +231,12 @@ export const useMeusIngressos = (usuario) => {
       await sincronizarComBackendInterno();
     }, [usuario, persistir]);
 
+    // Carrega a próxima página do histórico (botão "Carregar mais")
+    const carregarMais = useCallback(async () => {
+      if (!proximaPagina) return;
+      await sincronizarComBackendInterno(proximaPagina);
+    }, [usuario, persistir, proximaPagina]);
+
   const removerCompra = useCallback(
     (id) => {
       persistir((listaAtual) => listaAtual.filter((compra) => compra.id !== id));
@@ -278,5 +300,7 @@ export const useMeusIngressos = (usuario) => {
     cancelarCompra,
     limparHistorico,
     sincronizarComBackend,
+    carregarMais,
+    temMais: Boolean(proximaPagina),
   };
 };
@@ -1,5 +1,6 @@
 package com.astra.cinema.dominio.bomboniere;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +11,13 @@ public interface VendaRepositorio {
     Venda obterPorId(VendaId vendaId);
     List<Venda> listarVendasPorStatus(StatusVenda status);
     List<Venda> buscarPorCompra(com.astra.cinema.dominio.comum.CompraId compraId);
+
+    /**
+     * Vendas de várias compras, agrupadas pela compra, com os produtos carregados em uma
+     * única consulta. Compras sem venda não aparecem no mapa.
+     */
+    Map<com.astra.cinema.dominio.comum.CompraId, List<Venda>> buscarPorCompras(
+            Collection<com.astra.cinema.dominio.comum.CompraId> compraIds);
     double calcularReceitaTotal();
     Map<String, Double> calcularVendasPorDia();
     List<Map<String, Object>> calcularTopProdutos();
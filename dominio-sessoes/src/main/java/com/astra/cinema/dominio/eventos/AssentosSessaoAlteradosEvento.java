@@ -0,0 +1,37 @@
+package com.astra.cinema.dominio.eventos;
+
+import com.astra.cinema.dominio.comum.SessaoId;
+
+import java.util.Date;
+
+/**
+ * PADRÃO OBSERVER - Evento Concreto
+ * Evento publicado quando a disponibilidade de assentos de uma sessão muda
+ * (venda, cancelamento, reserva temporária criada ou vencida).
+ */
+public class AssentosSessaoAlteradosEvento {
+
+    private final SessaoId sessaoId;
+    private final Date dataHora;
+
+    public AssentosSessaoAlteradosEvento(SessaoId sessaoId) {
+        this.sessaoId = sessaoId;
+        this.dataHora = new Date();
+    }
+
+    public SessaoId getSessaoId() {
+        return sessaoId;
+    }
+
+    public Date getDataHora() {
+        return dataHora;
+    }
+
+    @Override
+    public String toString() {
+        return "AssentosSessaoAlteradosEvento{" +
+                "sessaoId=" + sessaoId.getId() +
+                ", dataHora=" + dataHora +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package com.astra.cinema.dominio.filme;
 
 import com.astra.cinema.dominio.comum.FilmeId;
+import java.util.Collection;
 import java.util.List;
 
 public interface FilmeRepositorio {
@@ -12,6 +13,11 @@ public interface FilmeRepositorio {
     Filme salvar(Filme filme);
     
     Filme obterPorId(FilmeId filmeId);
+
+    /**
+     * Busca vários filmes em uma única consulta. Ids inexistentes são ignorados.
+     */
+    List<Filme> listarPorIds(Collection<FilmeId> filmeIds);
     List<Filme> listarFilmesEmCartaz();
     List<Filme> listarTodos();
 }
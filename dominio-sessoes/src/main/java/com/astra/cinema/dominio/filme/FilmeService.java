@@ -36,7 +36,7 @@ public class FilmeService {
         exigirNaoNulo(filmeId, "O id do filme não pode ser nulo");
         var filme = exigirNaoNulo(filmeRepositorio.obterPorId(filmeId), "Filme não encontrado");
 
-        var sessoes = sessaoRepositorio.buscarPorFilme(filmeId);
+        var sessoes = sessaoRepositorio.buscarResumosPorFilme(filmeId);
         var agora = new Date();
 
         // RN6: Verifica apenas sessões futuras
@@ -0,0 +1,103 @@
+package com.astra.cinema.dominio.sessao;
+
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirPositivo;
+
+import com.astra.cinema.dominio.comum.AssentoId;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Escolhe os melhores N assentos lado a lado disponíveis em um {@link MapaAssentos}.
+ *
+ * Percorre apenas as sequências de assentos livres, pulando de uma para a outra pelas
+ * buscas de bit do bitset (que avançam 64 assentos por palavra). Em cada sequência
+ * longa o bastante, a melhor janela é calculada diretamente (a mais próxima do centro
+ * da fileira), então o custo é proporcional ao número de sequências livres, não de assentos.
+ *
+ * Pontuação (menor é melhor): distância do centro do bloco ao centro da fileira, em
+ * assentos, mais {@value #PESO_FILEIRA} por fileira de distância da fileira central.
+ */
+final class AlocadorAssentos {
+
+    /**
+     * Peso de cada fileira de distância da fileira central, em assentos de deslocamento lateral.
+     */
+    static final double PESO_FILEIRA = 1.0;
+
+    private AlocadorAssentos() {
+    }
+
+    /**
+     * Retorna os melhores {@code quantidade} assentos juntos na mesma fileira,
+     * ou lista vazia se não houver sequência livre desse tamanho.
+     */
+    static List<AssentoId> melhoresJuntos(MapaAssentos mapa, int quantidade) {
+        exigirNaoNulo(mapa, "O mapa de assentos não pode ser nulo");
+        exigirPositivo(quantidade, "A quantidade de assentos deve ser positiva");
+        if (quantidade > mapa.contarDisponiveis()) {
+            return Collections.emptyList();
+        }
+
+        LayoutAssentos layout = mapa.getLayout();
+        double fileiraCentral = (layout.quantidadeFileiras() - 1) / 2.0;
+        int melhorInicio = -1;
+        double melhorPontuacao = Double.MAX_VALUE;
+
+        int livre = mapa.proximo(0, true);
+        while (livre >= 0) {
+            int ocupado = mapa.proximo(livre, false);
+            int fimLivre = ocupado >= 0 ? ocupado : layout.total();
+
+            // Uma sequência livre pode atravessar fileiras: divide nos trechos lado a lado
+            int inicio = livre;
+            while (inicio < fimLivre) {
+                int fim = Math.min(layout.fimTrecho(inicio), fimLivre);
+                if (fim - inicio >= quantidade) {
+                    int janela = melhorJanela(layout, inicio, fim, quantidade);
+                    double pontuacao = pontuar(layout, janela, quantidade, fileiraCentral);
+                    if (pontuacao < melhorPontuacao) {
+                        melhorPontuacao = pontuacao;
+                        melhorInicio = janela;
+                    }
+                }
+                inicio = fim;
+            }
+
+            livre = fimLivre < layout.total() ? mapa.proximo(fimLivre, true) : -1;
+        }
+
+        if (melhorInicio < 0) {
+            return Collections.emptyList();
+        }
+        List<AssentoId> escolhidos = new ArrayList<>(quantidade);
+        for (int ordinal = melhorInicio; ordinal < melhorInicio + quantidade; ordinal++) {
+            escolhidos.add(layout.assento(ordinal));
+        }
+        return escolhidos;
+    }
+
+    /**
+     * Início da janela de {@code quantidade} assentos, dentro de [inicio, fim), cujo centro
+     * fica mais perto do centro da fileira.
+     */
+    private static int melhorJanela(LayoutAssentos layout, int inicio, int fim, int quantidade) {
+        if (layout.numero(inicio) == Integer.MAX_VALUE) {
+            return inicio;
+        }
+        double centroFileira = layout.centroFileira(layout.fileira(inicio));
+        double deslocamento = centroFileira - (quantidade - 1) / 2.0 - layout.numero(inicio);
+        long ideal = inicio + Math.round(deslocamento);
+        return (int) Math.max(inicio, Math.min(fim - quantidade, ideal));
+    }
+
+    private static double pontuar(LayoutAssentos layout, int inicio, int quantidade, double fileiraCentral) {
+        int fileira = layout.fileira(inicio);
+        double distanciaLateral = layout.numero(inicio) == Integer.MAX_VALUE
+                ? Integer.MAX_VALUE
+                : Math.abs(layout.numero(inicio) + (quantidade - 1) / 2.0 - layout.centroFileira(fileira));
+        return distanciaLateral + PESO_FILEIRA * Math.abs(fileira - fileiraCentral);
+    }
+}
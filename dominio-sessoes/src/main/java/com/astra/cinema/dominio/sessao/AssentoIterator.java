@@ -2,6 +2,7 @@ package com.astra.cinema.dominio.sessao;
 
 import com.astra.cinema.dominio.comum.AssentoId;
 
+import java.util.AbstractMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -10,12 +11,15 @@ import java.util.NoSuchElementException;
  * PADRÃO ITERATOR
  * Iterator customizado para percorrer assentos de uma sessão.
  * Permite iterar apenas sobre assentos disponíveis, ocupados, ou todos.
+ *
+ * Percorre o bitset do {@link MapaAssentos} pulando direto para o próximo
+ * bit do estado pedido, na ordem dos ordinais dos assentos.
  */
 public class AssentoIterator implements Iterator<Map.Entry<AssentoId, Boolean>> {
 
-    private final Iterator<Map.Entry<AssentoId, Boolean>> iterator;
+    private final MapaAssentos mapa;
     private final FiltroAssento filtro;
-    private Map.Entry<AssentoId, Boolean> proximoElemento;
+    private int proximoOrdinal;
 
     public enum FiltroAssento {
         TODOS,         // Todos os assentos
@@ -24,14 +28,18 @@ public class AssentoIterator implements Iterator<Map.Entry<AssentoId, Boolean>>
     }
 
     public AssentoIterator(Map<AssentoId, Boolean> assentos, FiltroAssento filtro) {
-        this.iterator = assentos.entrySet().iterator();
+        this(MapaAssentos.de(assentos), filtro);
+    }
+
+    public AssentoIterator(MapaAssentos mapa, FiltroAssento filtro) {
+        this.mapa = mapa;
         this.filtro = filtro != null ? filtro : FiltroAssento.TODOS;
-        this.proximoElemento = encontrarProximo();
+        this.proximoOrdinal = encontrarProximo(0);
     }
 
     @Override
     public boolean hasNext() {
-        return proximoElemento != null;
+        return proximoOrdinal >= 0;
     }
 
     @Override
@@ -40,29 +48,20 @@ public class AssentoIterator implements Iterator<Map.Entry<AssentoId, Boolean>>
             throw new NoSuchElementException("Não há mais assentos para iterar");
         }
 
-        Map.Entry<AssentoId, Boolean> atual = proximoElemento;
-        proximoElemento = encontrarProximo();
-        return atual;
+        int atual = proximoOrdinal;
+        proximoOrdinal = encontrarProximo(atual + 1);
+        return new AbstractMap.SimpleImmutableEntry<>(mapa.getLayout().assento(atual), mapa.disponivel(atual));
     }
 
     /**
-     * Encontra o próximo elemento que satisfaz o filtro.
+     * Encontra o próximo ordinal que satisfaz o filtro, ou -1 se não houver.
      */
-    private Map.Entry<AssentoId, Boolean> encontrarProximo() {
-        while (iterator.hasNext()) {
-            Map.Entry<AssentoId, Boolean> entry = iterator.next();
-
-            boolean atendeFiltro = switch (filtro) {
-                case TODOS -> true;
-                case DISPONIVEIS -> entry.getValue(); // true = disponível
-                case OCUPADOS -> !entry.getValue();   // false = ocupado
-            };
-
-            if (atendeFiltro) {
-                return entry;
-            }
-        }
-        return null;
+    private int encontrarProximo(int inicio) {
+        return switch (filtro) {
+            case TODOS -> inicio < mapa.total() ? inicio : -1;
+            case DISPONIVEIS -> mapa.proximo(inicio, true);  // bit 1 = disponível
+            case OCUPADOS -> mapa.proximo(inicio, false);    // bit 0 = ocupado
+        };
     }
 
     @Override
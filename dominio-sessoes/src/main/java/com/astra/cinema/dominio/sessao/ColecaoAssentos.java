@@ -2,8 +2,8 @@ package com.astra.cinema.dominio.sessao;
 
 import com.astra.cinema.dominio.comum.AssentoId;
 
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -11,10 +11,11 @@ import java.util.Map;
  * Coleção de assentos que implementa Iterable para permitir iteração customizada.
  * 
  * CORREÇÃO: Usa cópia defensiva no construtor para evitar exposição da estrutura interna.
+ * A cópia é do bitset do {@link MapaAssentos}, e as contagens vêm do contador do mapa.
  */
 public class ColecaoAssentos implements Iterable<Map.Entry<AssentoId, Boolean>> {
 
-    private final Map<AssentoId, Boolean> assentos;
+    private final MapaAssentos assentos;
     private final AssentoIterator.FiltroAssento filtroDefault;
 
     public ColecaoAssentos(Map<AssentoId, Boolean> assentos) {
@@ -22,8 +23,16 @@ public class ColecaoAssentos implements Iterable<Map.Entry<AssentoId, Boolean>>
     }
 
     public ColecaoAssentos(Map<AssentoId, Boolean> assentos, AssentoIterator.FiltroAssento filtro) {
+        this(MapaAssentos.de(assentos), filtro);
+    }
+
+    public ColecaoAssentos(MapaAssentos assentos) {
+        this(assentos, AssentoIterator.FiltroAssento.TODOS);
+    }
+
+    public ColecaoAssentos(MapaAssentos assentos, AssentoIterator.FiltroAssento filtro) {
         // Cópia defensiva para evitar modificações externas
-        this.assentos = assentos != null ? new HashMap<>(assentos) : new HashMap<>();
+        this.assentos = assentos != null ? assentos.clone() : MapaAssentos.de(null);
         this.filtroDefault = filtro;
     }
 
@@ -54,39 +63,38 @@ public class ColecaoAssentos implements Iterable<Map.Entry<AssentoId, Boolean>>
     }
 
     /**
-     * Conta assentos disponíveis usando o iterator.
+     * Conta assentos disponíveis.
      */
     public int contarDisponiveis() {
-        int count = 0;
-        for (@SuppressWarnings("unused") Map.Entry<AssentoId, Boolean> assento : disponiveis()) {
-            count++;
-        }
-        return count;
+        return assentos.contarDisponiveis();
     }
 
     /**
-     * Conta assentos ocupados usando o iterator.
+     * Conta assentos ocupados.
      */
     public int contarOcupados() {
-        int count = 0;
-        for (@SuppressWarnings("unused") Map.Entry<AssentoId, Boolean> assento : ocupados()) {
-            count++;
-        }
-        return count;
+        return assentos.contarOcupados();
     }
 
     /**
      * Retorna total de assentos.
      */
     public int total() {
-        return assentos.size();
+        return assentos.total();
+    }
+
+    /**
+     * Melhores assentos disponíveis lado a lado para um grupo.
+     */
+    public List<AssentoId> melhoresAssentosJuntos(int quantidade) {
+        return assentos.melhoresAssentosJuntos(quantidade);
     }
 
     /**
      * Retorna percentual de ocupação.
      */
     public double percentualOcupacao() {
-        if (assentos.isEmpty()) {
+        if (assentos.total() == 0) {
             return 0.0;
         }
         return (contarOcupados() * 100.0) / total();
@@ -0,0 +1,223 @@
+package com.astra.cinema.dominio.sessao;
+
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
+
+import com.astra.cinema.dominio.comum.AssentoId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Disposição imutável dos assentos de uma sessão.
+ *
+ * Atribui a cada assento um ordinal estável (fileira e número em ordem natural:
+ * A1, A2, ..., A10, B1, ...), usado como índice no bitset do {@link MapaAssentos}.
+ * Por ser imutável, pode ser compartilhada entre cópias do mesmo mapa.
+ */
+public final class LayoutAssentos {
+
+    /**
+     * Quantidade de assentos por fileira no layout padrão das salas.
+     */
+    public static final int ASSENTOS_POR_FILEIRA = 10;
+
+    /**
+     * Ordena por fileira (letras iniciais) e depois pelo número do assento.
+     * Códigos fora do padrão ficam ao final, em ordem alfabética.
+     */
+    private static final Comparator<AssentoId> ORDEM_NATURAL = Comparator
+            .comparing((AssentoId assento) -> fileira(assento.getValor()), Comparator.comparingInt(String::length)
+                    .thenComparing(Comparator.naturalOrder()))
+            .thenComparingInt(assento -> numero(assento.getValor()))
+            .thenComparing(AssentoId::getValor);
+
+    /**
+     * Layouts padrão já montados, por capacidade (são imutáveis e compartilháveis).
+     */
+    private static final Map<Integer, LayoutAssentos> PADROES = new ConcurrentHashMap<>();
+
+    private final AssentoId[] assentos;
+    private final Map<AssentoId, Integer> ordinais;
+
+    // Geometria da sala por ordinal: índice da fileira, número do assento e fim
+    // (exclusivo) do trecho de assentos lado a lado a que ele pertence
+    private final int[] fileiras;
+    private final int[] numeros;
+    private final int[] fimTrechos;
+    private final double[] centrosFileiras;
+
+    private LayoutAssentos(AssentoId[] assentos) {
+        this.assentos = assentos;
+        this.ordinais = new HashMap<>(assentos.length * 2);
+        for (int ordinal = 0; ordinal < assentos.length; ordinal++) {
+            ordinais.put(assentos[ordinal], ordinal);
+        }
+
+        this.fileiras = new int[assentos.length];
+        this.numeros = new int[assentos.length];
+        this.fimTrechos = new int[assentos.length];
+        List<Double> centros = new ArrayList<>();
+        int inicioFileira = 0;
+        for (int ordinal = 0; ordinal < assentos.length; ordinal++) {
+            numeros[ordinal] = numero(assentos[ordinal].getValor());
+            boolean novaFileira = ordinal > 0
+                    && !fileira(assentos[ordinal].getValor()).equals(fileira(assentos[ordinal - 1].getValor()));
+            if (novaFileira) {
+                centros.add(centro(inicioFileira, ordinal));
+                inicioFileira = ordinal;
+            }
+            fileiras[ordinal] = ordinal > 0 ? fileiras[ordinal - 1] + (novaFileira ? 1 : 0) : 0;
+        }
+        if (assentos.length > 0) {
+            centros.add(centro(inicioFileira, assentos.length));
+        }
+        this.centrosFileiras = centros.stream().mapToDouble(Double::doubleValue).toArray();
+
+        // Trechos: mesma fileira e números consecutivos
+        for (int ordinal = assentos.length - 1; ordinal >= 0; ordinal--) {
+            boolean continuaNoProximo = ordinal + 1 < assentos.length
+                    && fileiras[ordinal + 1] == fileiras[ordinal]
+                    && numeros[ordinal] != Integer.MAX_VALUE
+                    && numeros[ordinal + 1] == numeros[ordinal] + 1;
+            fimTrechos[ordinal] = continuaNoProximo ? fimTrechos[ordinal + 1] : ordinal + 1;
+        }
+    }
+
+    private double centro(int inicio, int fim) {
+        int menor = Integer.MAX_VALUE;
+        int maior = Integer.MIN_VALUE;
+        for (int ordinal = inicio; ordinal < fim; ordinal++) {
+            if (numeros[ordinal] != Integer.MAX_VALUE) {
+                menor = Math.min(menor, numeros[ordinal]);
+                maior = Math.max(maior, numeros[ordinal]);
+            }
+        }
+        return menor <= maior ? (menor + maior) / 2.0 : 0;
+    }
+
+    /**
+     * Cria o layout a partir de um conjunto qualquer de assentos.
+     */
+    public static LayoutAssentos de(Collection<AssentoId> assentos) {
+        exigirNaoNulo(assentos, "Os assentos não podem ser nulos");
+        List<AssentoId> ordenados = new ArrayList<>(assentos);
+        ordenados.sort(ORDEM_NATURAL);
+        return new LayoutAssentos(ordenados.toArray(new AssentoId[0]));
+    }
+
+    /**
+     * Layout padrão de uma sala: fileiras A, B, C... com {@value #ASSENTOS_POR_FILEIRA}
+     * assentos cada, até completar a capacidade.
+     */
+    public static LayoutAssentos padrao(int capacidade) {
+        return PADROES.computeIfAbsent(Math.max(0, capacidade), LayoutAssentos::montarPadrao);
+    }
+
+    private static LayoutAssentos montarPadrao(int capacidade) {
+        AssentoId[] assentos = new AssentoId[capacidade];
+        for (int ordinal = 0; ordinal < assentos.length; ordinal++) {
+            assentos[ordinal] = new AssentoId(codigoPadrao(ordinal));
+        }
+        return new LayoutAssentos(assentos);
+    }
+
+    /**
+     * Indica se o layout coincide com {@link #padrao(int)} para a mesma quantidade de assentos,
+     * caso em que pode ser reconstruído apenas a partir do total.
+     */
+    public boolean isPadrao() {
+        for (int ordinal = 0; ordinal < assentos.length; ordinal++) {
+            if (!assentos[ordinal].getValor().equals(codigoPadrao(ordinal))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Quantidade de assentos do layout.
+     */
+    public int total() {
+        return assentos.length;
+    }
+
+    /**
+     * Retorna o ordinal do assento, ou -1 se ele não pertence ao layout.
+     */
+    public int ordinal(AssentoId assentoId) {
+        Integer ordinal = ordinais.get(assentoId);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Retorna o assento de um ordinal.
+     */
+    public AssentoId assento(int ordinal) {
+        return assentos[ordinal];
+    }
+
+    public boolean contem(AssentoId assentoId) {
+        return ordinais.containsKey(assentoId);
+    }
+
+    /**
+     * Quantidade de fileiras do layout.
+     */
+    public int quantidadeFileiras() {
+        return centrosFileiras.length;
+    }
+
+    /**
+     * Índice da fileira do assento (0 = primeira fileira, mais próxima da tela).
+     */
+    int fileira(int ordinal) {
+        return fileiras[ordinal];
+    }
+
+    /**
+     * Número do assento na fileira, ou {@link Integer#MAX_VALUE} se o código não tiver número.
+     */
+    int numero(int ordinal) {
+        return numeros[ordinal];
+    }
+
+    /**
+     * Fim (exclusivo) do trecho de assentos lado a lado que contém o ordinal.
+     */
+    int fimTrecho(int ordinal) {
+        return fimTrechos[ordinal];
+    }
+
+    /**
+     * Número (possivelmente fracionário) do centro da fileira.
+     */
+    double centroFileira(int fileira) {
+        return centrosFileiras[fileira];
+    }
+
+    private static String codigoPadrao(int ordinal) {
+        char letraFileira = (char) ('A' + ordinal / ASSENTOS_POR_FILEIRA);
+        return letraFileira + String.valueOf(ordinal % ASSENTOS_POR_FILEIRA + 1);
+    }
+
+    private static String fileira(String codigo) {
+        int fim = 0;
+        while (fim < codigo.length() && Character.isLetter(codigo.charAt(fim))) {
+            fim++;
+        }
+        return codigo.substring(0, fim);
+    }
+
+    private static int numero(String codigo) {
+        String sufixo = codigo.substring(fileira(codigo).length());
+        if (sufixo.isEmpty() || !sufixo.chars().allMatch(Character::isDigit) || sufixo.length() > 9) {
+            return Integer.MAX_VALUE;
+        }
+        return Integer.parseInt(sufixo);
+    }
+}
@@ -0,0 +1,171 @@
+package com.astra.cinema.dominio.sessao;
+
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirEstado;
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
+
+import com.astra.cinema.dominio.comum.AssentoId;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estado dos assentos de uma sessão.
+ *
+ * Cada assento ocupa um bit no índice do seu ordinal no {@link LayoutAssentos}
+ * (1 = disponível, 0 = ocupado). Um contador de assentos disponíveis é mantido
+ * a cada alteração, de modo que reservar, liberar, consultar um assento e
+ * verificar se a sessão está esgotada custam O(1).
+ */
+public class MapaAssentos implements Cloneable {
+
+    private final LayoutAssentos layout;
+    private BitSet disponiveis;
+    private int quantidadeDisponiveis;
+
+    MapaAssentos(LayoutAssentos layout, BitSet disponiveis) {
+        this.layout = exigirNaoNulo(layout, "O layout de assentos não pode ser nulo");
+        this.disponiveis = exigirNaoNulo(disponiveis, "O estado dos assentos não pode ser nulo");
+        this.disponiveis.clear(layout.total(), Math.max(layout.total(), this.disponiveis.length()));
+        this.quantidadeDisponiveis = this.disponiveis.cardinality();
+    }
+
+    /**
+     * Cria o mapa a partir da representação (assento -> disponível).
+     */
+    public static MapaAssentos de(Map<AssentoId, Boolean> assentos) {
+        Map<AssentoId, Boolean> origem = assentos != null ? assentos : new HashMap<>();
+        LayoutAssentos layout = LayoutAssentos.de(origem.keySet());
+        BitSet bits = new BitSet(layout.total());
+        origem.forEach((assentoId, disponivel) -> {
+            if (Boolean.TRUE.equals(disponivel)) {
+                bits.set(layout.ordinal(assentoId));
+            }
+        });
+        return new MapaAssentos(layout, bits);
+    }
+
+    /**
+     * Cria o mapa com todos os assentos do layout disponíveis.
+     */
+    public static MapaAssentos todosDisponiveis(LayoutAssentos layout) {
+        BitSet bits = new BitSet(layout.total());
+        bits.set(0, layout.total());
+        return new MapaAssentos(layout, bits);
+    }
+
+    /**
+     * Reconstrói o mapa a partir do bitmap compactado gerado por {@link #paraBitmap()}.
+     */
+    public static MapaAssentos deBitmap(LayoutAssentos layout, byte[] bitmap) {
+        return new MapaAssentos(layout, BitSet.valueOf(bitmap != null ? bitmap : new byte[0]));
+    }
+
+    /**
+     * Estado compactado em bytes: o bit {@code i % 8} do byte {@code i / 8} corresponde
+     * ao assento de ordinal {@code i} (little-endian, como {@link BitSet#toByteArray()}).
+     * O tamanho é sempre {@code ceil(total / 8)} bytes, mesmo com os últimos assentos ocupados.
+     */
+    public byte[] paraBitmap() {
+        return Arrays.copyOf(disponiveis.toByteArray(), (layout.total() + 7) / 8);
+    }
+
+    public LayoutAssentos getLayout() {
+        return layout;
+    }
+
+    public int total() {
+        return layout.total();
+    }
+
+    public int contarDisponiveis() {
+        return quantidadeDisponiveis;
+    }
+
+    public int contarOcupados() {
+        return layout.total() - quantidadeDisponiveis;
+    }
+
+    public boolean esgotado() {
+        return quantidadeDisponiveis == 0;
+    }
+
+    public boolean contem(AssentoId assentoId) {
+        return layout.contem(assentoId);
+    }
+
+    public boolean disponivel(AssentoId assentoId) {
+        int ordinal = layout.ordinal(assentoId);
+        return ordinal >= 0 && disponiveis.get(ordinal);
+    }
+
+    public boolean disponivel(int ordinal) {
+        return disponiveis.get(ordinal);
+    }
+
+    /**
+     * Marca o assento como ocupado.
+     */
+    public void ocupar(AssentoId assentoId) {
+        int ordinal = layout.ordinal(assentoId);
+        exigirEstado(ordinal >= 0 && disponiveis.get(ordinal), "O assento não está disponível");
+        disponiveis.clear(ordinal);
+        quantidadeDisponiveis--;
+    }
+
+    /**
+     * Marca o assento como disponível. Liberar um assento já livre não altera nada.
+     */
+    public void liberar(AssentoId assentoId) {
+        int ordinal = layout.ordinal(assentoId);
+        exigirEstado(ordinal >= 0, "O assento " + assentoId + " não pertence à sessão");
+        if (!disponiveis.get(ordinal)) {
+            disponiveis.set(ordinal);
+            quantidadeDisponiveis++;
+        }
+    }
+
+    /**
+     * Melhores {@code quantidade} assentos disponíveis lado a lado na mesma fileira,
+     * priorizando o centro da sala. Lista vazia se não houver sequência livre desse tamanho.
+     */
+    public List<AssentoId> melhoresAssentosJuntos(int quantidade) {
+        return AlocadorAssentos.melhoresJuntos(this, quantidade);
+    }
+
+    /**
+     * Próximo ordinal a partir de {@code inicio} com o estado pedido, ou -1 se não houver.
+     */
+    int proximo(int inicio, boolean disponivel) {
+        if (inicio >= layout.total()) {
+            return -1;
+        }
+        int ordinal = disponivel ? disponiveis.nextSetBit(inicio) : disponiveis.nextClearBit(inicio);
+        return ordinal >= 0 && ordinal < layout.total() ? ordinal : -1;
+    }
+
+    /**
+     * Cópia do estado no formato (assento -> disponível), na ordem dos ordinais.
+     */
+    public Map<AssentoId, Boolean> comoMapa() {
+        Map<AssentoId, Boolean> mapa = new LinkedHashMap<>(layout.total() * 2);
+        for (int ordinal = 0; ordinal < layout.total(); ordinal++) {
+            mapa.put(layout.assento(ordinal), disponiveis.get(ordinal));
+        }
+        return mapa;
+    }
+
+    @Override
+    public MapaAssentos clone() {
+        try {
+            MapaAssentos cloned = (MapaAssentos) super.clone();
+            cloned.disponiveis = (BitSet) this.disponiveis.clone();
+            return cloned;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+}
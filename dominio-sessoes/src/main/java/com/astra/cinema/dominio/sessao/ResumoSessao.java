@@ -0,0 +1,88 @@
+package com.astra.cinema.dominio.sessao;
+
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNegativo;
+import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirNaoNulo;
+
+import com.astra.cinema.dominio.comum.FilmeId;
+import com.astra.cinema.dominio.comum.SalaId;
+import com.astra.cinema.dominio.comum.SessaoId;
+
+import java.util.Date;
+
+/**
+ * Visão resumida de uma sessão para listagens, indicadores e relatórios.
+ *
+ * Traz apenas os contadores de assentos mantidos na própria linha da sessão,
+ * sem carregar o mapa de assentos.
+ */
+public class ResumoSessao {
+
+    private final SessaoId sessaoId;
+    private final FilmeId filmeId;
+    private final SalaId salaId;
+    private final Date horario;
+    private final StatusSessao status;
+    private final int totalAssentos;
+    private final int assentosDisponiveis;
+    private final int assentosOcupados;
+
+    public ResumoSessao(SessaoId sessaoId, FilmeId filmeId, SalaId salaId, Date horario, StatusSessao status,
+                        int totalAssentos, int assentosDisponiveis, int assentosOcupados) {
+        this.sessaoId = exigirNaoNulo(sessaoId, "O id da sessão não pode ser nulo");
+        this.filmeId = exigirNaoNulo(filmeId, "O id do filme não pode ser nulo");
+        this.salaId = exigirNaoNulo(salaId, "O id da sala não pode ser nulo");
+        this.horario = exigirNaoNulo(horario, "O horário não pode ser nulo");
+        this.status = exigirNaoNulo(status, "O status não pode ser nulo");
+        this.totalAssentos = exigirNaoNegativo(totalAssentos, "O total de assentos não pode ser negativo");
+        this.assentosDisponiveis = exigirNaoNegativo(assentosDisponiveis, "Os assentos disponíveis não podem ser negativos");
+        this.assentosOcupados = exigirNaoNegativo(assentosOcupados, "Os assentos ocupados não podem ser negativos");
+    }
+
+    /**
+     * Resumo de uma sessão já carregada por completo.
+     */
+    public static ResumoSessao de(Sessao sessao) {
+        exigirNaoNulo(sessao, "A sessão não pode ser nula");
+        return new ResumoSessao(
+                sessao.getSessaoId(),
+                sessao.getFilmeId(),
+                sessao.getSalaId(),
+                sessao.getHorario(),
+                sessao.getStatus(),
+                sessao.getCapacidade(),
+                sessao.getQuantidadeAssentosDisponiveis(),
+                sessao.getQuantidadeAssentosOcupados());
+    }
+
+    public SessaoId getSessaoId() {
+        return sessaoId;
+    }
+
+    public FilmeId getFilmeId() {
+        return filmeId;
+    }
+
+    public SalaId getSalaId() {
+        return salaId;
+    }
+
+    public Date getHorario() {
+        return horario;
+    }
+
+    public StatusSessao getStatus() {
+        return status;
+    }
+
+    public int getTotalAssentos() {
+        return totalAssentos;
+    }
+
+    public int getAssentosDisponiveis() {
+        return assentosDisponiveis;
+    }
+
+    public int getAssentosOcupados() {
+        return assentosOcupados;
+    }
+}
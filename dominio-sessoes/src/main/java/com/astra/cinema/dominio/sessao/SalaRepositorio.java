@@ -1,6 +1,7 @@
 package com.astra.cinema.dominio.sessao;
 
 import com.astra.cinema.dominio.comum.SalaId;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +21,11 @@ public interface SalaRepositorio {
      * Busca uma sala pelo seu identificador.
      */
     Sala obterPorId(SalaId salaId);
+
+    /**
+     * Busca várias salas em uma única consulta. Ids inexistentes são ignorados.
+     */
+    List<Sala> listarPorIds(Collection<SalaId> salaIds);
     
     /**
      * Busca uma sala pelo nome.
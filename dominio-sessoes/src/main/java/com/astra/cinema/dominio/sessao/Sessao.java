@@ -7,7 +7,7 @@ import static com.astra.cinema.dominio.comum.ValidacaoDominio.exigirTexto;
 
 import com.astra.cinema.dominio.comum.*;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,7 +18,8 @@ import java.util.Map;
  * - Sala onde ocorrerá (a sala define a capacidade)
  * - Horário da exibição
  * - Status (disponível, esgotada, cancelada)
- * - Mapa de assentos (derivado da capacidade da sala)
+ * - Mapa de assentos (derivado da capacidade da sala), mantido em um bitset
+ *   ({@link MapaAssentos}) com contador de assentos disponíveis
  * 
  * IMPORTANTE: A capacidade vem da Sala, não é um atributo da Sessão!
  */
@@ -27,7 +28,7 @@ public class Sessao implements Cloneable {
     private FilmeId filmeId;
     private Date horario;
     private StatusSessao status;
-    private Map<AssentoId, Boolean> mapaAssentosDisponiveis;
+    private MapaAssentos mapaAssentos;
     private final SalaId salaId;
 
     public Sessao(SessaoId sessaoId, FilmeId filmeId, Date horario, StatusSessao status,
@@ -40,7 +41,17 @@ public class Sessao implements Cloneable {
         this.filmeId = exigirNaoNulo(filmeId, "O id do filme não pode ser nulo");
         this.horario = horario;
         this.status = exigirNaoNulo(status, "O status não pode ser nulo");
-        this.mapaAssentosDisponiveis = new HashMap<>(mapaAssentosDisponiveis != null ? mapaAssentosDisponiveis : new HashMap<>());
+        this.mapaAssentos = MapaAssentos.de(mapaAssentosDisponiveis);
+        this.salaId = exigirNaoNulo(salaId, "O id da sala não pode ser nulo");
+    }
+
+    public Sessao(SessaoId sessaoId, FilmeId filmeId, Date horario, StatusSessao status,
+                  MapaAssentos mapaAssentos, SalaId salaId) {
+        this.sessaoId = sessaoId;
+        this.filmeId = exigirNaoNulo(filmeId, "O id do filme não pode ser nulo");
+        this.horario = horario;
+        this.status = exigirNaoNulo(status, "O status não pode ser nulo");
+        this.mapaAssentos = exigirNaoNulo(mapaAssentos, "O mapa de assentos não pode ser nulo").clone();
         this.salaId = exigirNaoNulo(salaId, "O id da sala não pode ser nulo");
     }
 
@@ -61,7 +72,29 @@ public class Sessao implements Cloneable {
     }
 
     public Map<AssentoId, Boolean> getMapaAssentosDisponiveis() {
-        return new HashMap<>(mapaAssentosDisponiveis);
+        return mapaAssentos.comoMapa();
+    }
+
+    /**
+     * Cópia do estado dos assentos no formato compacto (bitset).
+     */
+    public MapaAssentos getMapaAssentos() {
+        return mapaAssentos.clone();
+    }
+
+    /**
+     * Visão iterável dos assentos (cópia do bitset atual).
+     */
+    public ColecaoAssentos getAssentos() {
+        return new ColecaoAssentos(mapaAssentos);
+    }
+
+    public int getQuantidadeAssentosDisponiveis() {
+        return mapaAssentos.contarDisponiveis();
+    }
+
+    public int getQuantidadeAssentosOcupados() {
+        return mapaAssentos.contarOcupados();
     }
 
     public SalaId getSalaId() {
@@ -74,19 +107,26 @@ public class Sessao implements Cloneable {
      * retornamos o tamanho do mapa de assentos.
      */
     public int getCapacidade() {
-        return mapaAssentosDisponiveis.size();
+        return mapaAssentos.total();
     }
 
     public boolean assentoDisponivel(AssentoId assentoId) {
-        return mapaAssentosDisponiveis.getOrDefault(assentoId, false);
+        return mapaAssentos.disponivel(assentoId);
+    }
+
+    /**
+     * Sugere os melhores assentos disponíveis lado a lado para um grupo (sem reservá-los).
+     */
+    public List<AssentoId> melhoresAssentosJuntos(int quantidade) {
+        return mapaAssentos.melhoresAssentosJuntos(quantidade);
     }
 
     public void reservarAssento(AssentoId assentoId) {
         exigirEstado(assentoDisponivel(assentoId), "O assento não está disponível");
-        mapaAssentosDisponiveis.put(assentoId, false);
+        mapaAssentos.ocupar(assentoId);
 
         // Verifica se todos os assentos foram reservados
-        if (mapaAssentosDisponiveis.values().stream().noneMatch(disponivel -> disponivel)) {
+        if (mapaAssentos.esgotado()) {
             marcarComoEsgotada();
         }
     }
@@ -94,7 +134,7 @@ public class Sessao implements Cloneable {
     public void liberarAssento(AssentoId assentoId) {
         exigirNaoNulo(assentoId, "O assento não pode ser nulo");
         // Libera o assento, marcando como disponível
-        mapaAssentosDisponiveis.put(assentoId, true);
+        mapaAssentos.liberar(assentoId);
 
         // Se estava esgotada e agora tem assento disponível, volta para DISPONIVEL
         if (this.status == StatusSessao.ESGOTADA) {
@@ -104,16 +144,33 @@ public class Sessao implements Cloneable {
 
     public void marcarComoEsgotada() {
         // Verifica se ainda há assentos disponíveis
-        exigirEstado(mapaAssentosDisponiveis.values().stream().noneMatch(Boolean::booleanValue),
+        exigirEstado(mapaAssentos.esgotado(),
             "Não é possível marcar como esgotada enquanto houver assentos disponíveis");
         this.status = StatusSessao.ESGOTADA;
     }
 
+    /**
+     * Cancela a sessão
+     */
+    public void cancelar() {
+        exigirEstado(status != StatusSessao.CANCELADA, "A sessão já está cancelada");
+        this.status = StatusSessao.CANCELADA;
+    }
+
+    /**
+     * Encerra a venda quando a sessão começa
+     */
+    public void concluir() {
+        exigirEstado(status == StatusSessao.DISPONIVEL || status == StatusSessao.ESGOTADA,
+            "Apenas sessões disponíveis ou esgotadas podem ser concluídas");
+        this.status = StatusSessao.CONCLUIDA;
+    }
+
     @Override
     public Sessao clone() {
         try {
             Sessao cloned = (Sessao) super.clone();
-            cloned.mapaAssentosDisponiveis = new HashMap<>(this.mapaAssentosDisponiveis);
+            cloned.mapaAssentos = this.mapaAssentos.clone();
             return cloned;
         } catch (CloneNotSupportedException e) {
             throw new InternalError(e);
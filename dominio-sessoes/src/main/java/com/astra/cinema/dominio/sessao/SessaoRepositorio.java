@@ -1,27 +1,98 @@
 package com.astra.cinema.dominio.sessao;
 
 import com.astra.cinema.dominio.comum.*;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface SessaoRepositorio {
     /**
      * Salva uma sessão no repositório.
+     * Em uma sessão já existente, grava só o filme, o horário e a sala: os assentos e o status
+     * mudam por {@link #alterarAssentos(SessaoId, Consumer)} ou {@link #alterarAssentosEmLote}.
      * @param sessao Sessão a ser salva (pode ter ID null para novas sessões)
      * @return Sessão salva com ID preenchido pelo banco de dados
      */
     Sessao salvar(Sessao sessao);
 
     Sessao obterPorId(SessaoId sessaoId);
+
+    /**
+     * Altera os assentos de uma sessão de forma atômica, sem bloqueio global.
+     * A alteração é aplicada sobre o estado mais recente da sessão e gravada com um único
+     * update condicional à versão lida; se outra operação gravou antes, o estado é relido
+     * e a alteração reaplicada. Exceções lançadas pela alteração interrompem a operação.
+     *
+     * @param sessaoId ID da sessão
+     * @param alteracao Alteração a aplicar (ex.: reservar ou liberar assentos)
+     * @return Sessão no estado gravado
+     * @throws IllegalStateException se a concorrência persistir após as novas tentativas
+     */
+    Sessao alterarAssentos(SessaoId sessaoId, Consumer<Sessao> alteracao);
+
+    /**
+     * Altera os assentos de várias sessões de uma vez, na transação do chamador.
+     * As sessões são bloqueadas em ordem crescente de id (operações em lote concorrentes
+     * não entram em deadlock), a alteração recebe todas já carregadas e o estado de todas
+     * é gravado no fim, em lote. Exceções lançadas pela alteração interrompem a operação.
+     *
+     * @param sessaoIds IDs das sessões
+     * @param alteracao Alteração a aplicar, com as sessões por id
+     * @return Sessões no estado gravado, por id
+     * @throws IllegalArgumentException se alguma sessão não existir
+     */
+    Map<SessaoId, Sessao> alterarAssentosEmLote(Collection<SessaoId> sessaoIds,
+                                               Consumer<Map<SessaoId, Sessao>> alteracao);
     List<Sessao> buscarPorFilme(FilmeId filmeId);
     List<Sessao> listarTodas();
 
     /**
-     * Verifica se existe conflito de horário para uma sessão em uma sala específica.
+     * Lista o resumo de todas as sessões, com os contadores de ocupação
+     * gravados na própria sessão (sem carregar os assentos).
+     */
+    List<ResumoSessao> listarResumos();
+
+    /**
+     * Resumo de uma sessão, sem carregar os assentos.
+     * @return Resumo da sessão ou null se não existir
+     */
+    ResumoSessao obterResumo(SessaoId sessaoId);
+
+    /**
+     * Resumo de várias sessões em uma única consulta. Ids inexistentes são ignorados.
+     */
+    List<ResumoSessao> buscarResumosPorIds(Collection<SessaoId> sessaoIds);
+
+    /**
+     * Resumo das sessões de um filme, com os contadores de ocupação (sem carregar os assentos).
+     */
+    List<ResumoSessao> buscarResumosPorFilme(FilmeId filmeId);
+
+    /**
+     * Resumo das sessões de uma sala, ordenado por horário.
+     */
+    List<ResumoSessao> buscarResumosPorSala(SalaId salaId);
+
+    /**
+     * Resumo das sessões com horário em [inicio, fim), ordenado por horário.
+     */
+    List<ResumoSessao> buscarResumosPorPeriodo(Date inicio, Date fim);
+
+    /**
+     * Resumo das sessões que estão em algum dos status informados, ordenado por horário.
+     */
+    List<ResumoSessao> buscarResumosPorStatus(Collection<StatusSessao> status);
+
+    /**
+     * Verifica se alguma sessão não cancelada da sala ocupa parte do intervalo [inicio, fim).
+     * Cada sessão existente ocupa a sala do seu horário até o fim do seu filme.
      * @param salaId ID da sala
-     * @param horario Horário da sessão
+     * @param inicio Início da sessão
+     * @param fim Fim da sessão (início + duração do filme)
      * @param sessaoIdExcluir ID da sessão a excluir da verificação (para edição)
      * @return true se houver conflito, false caso contrário
      */
-    boolean existeConflitoHorario(SalaId salaId, Date horario, SessaoId sessaoIdExcluir);
+    boolean existeConflitoHorario(SalaId salaId, Date inicio, Date fim, SessaoId sessaoIdExcluir);
 }
@@ -1,10 +1,21 @@
 package com.astra.cinema.dominio.compra;
 
 import com.astra.cinema.dominio.comum.*;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 public interface CompraRepositorio {
     void salvar(Compra compra);
+
+    /**
+     * Grava uma nova compra PENDENTE com seus ingressos e gera um QR Code para cada ingresso.
+     *
+     * @return A compra gravada, com os ids gerados pelo banco e os QR Codes
+     */
+    Compra criar(ClienteId clienteId, List<Ingresso> ingressos);
+
     Compra obterPorId(CompraId compraId);
     List<Compra> buscarPorCliente(ClienteId clienteId);
     List<Compra> listarTodas();
@@ -12,7 +23,67 @@ public interface CompraRepositorio {
     Ingresso buscarIngressoPorId(IngressoId ingressoId);
     Compra buscarCompraPorQrCode(String qrCode);
     void atualizarIngresso(Ingresso ingresso);
+
+    /**
+     * Ingressos por id em uma única consulta. Ids inexistentes são ignorados.
+     */
+    List<Ingresso> buscarIngressosPorIds(Collection<IngressoId> ingressoIds);
+
+    /**
+     * Grava a sessão e o assento dos ingressos remarcados, em lote.
+     */
+    void remarcarIngressos(Collection<Ingresso> ingressos);
+
+    /**
+     * Muda o status dos ingressos que ainda estão em {@code statusAtual}, em um único UPDATE.
+     *
+     * @return Quantidade de ingressos alterados
+     */
+    int atualizarStatusIngressos(Collection<IngressoId> ingressos, StatusIngresso statusAtual, StatusIngresso novoStatus);
+
+    /**
+     * Ingressos das sessões informadas, agrupados pela compra, em uma única consulta.
+     */
+    Map<CompraId, List<Ingresso>> buscarIngressosPorSessoes(Collection<SessaoId> sessoes);
+
+    /**
+     * Ingressos das compras que contêm algum dos QR Codes informados, agrupados pela
+     * compra, em uma única consulta. Códigos inexistentes são ignorados.
+     */
+    Map<CompraId, List<Ingresso>> buscarComprasPorQrCodes(Collection<String> qrCodes);
+
+    /**
+     * Uma página das compras do cliente, da mais recente para a mais antiga, com seus
+     * ingressos, em uma única consulta. A paginação é por chave: a próxima página começa
+     * depois da última compra desta.
+     *
+     * @param antesDe Última compra da página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de compras na página
+     * @param somenteAtivos Se true, só as compras com ingressos ATIVOS, e só esses ingressos
+     */
+    Map<CompraId, List<Ingresso>> buscarPaginaIngressosDoCliente(ClienteId clienteId, CompraId antesDe, int limite,
+                                                                boolean somenteAtivos);
+
+    /**
+     * Expira (ATIVO → EXPIRADO) os ingressos da sessão em um único UPDATE.
+     *
+     * @return Quantidade de ingressos expirados
+     */
+    int expirarIngressosAtivosDaSessao(SessaoId sessaoId);
+
+    /**
+     * Expira os ingressos ATIVOS das sessões não canceladas que começaram no intervalo
+     * ({@code desde}, {@code ate}], em um único UPDATE.
+     *
+     * @return Quantidade de ingressos expirados
+     */
+    int expirarIngressosAtivosDeSessoesIniciadas(Date desde, Date ate);
     List<Ingresso> buscarIngressosAtivos();
     List<Ingresso> buscarIngressosAtivosPorCliente(ClienteId clienteId);
     CompraId obterCompraIdPorIngresso(IngressoId ingressoId);
+
+    /**
+     * Compra de cada ingresso em uma única consulta. Ids inexistentes ficam fora do mapa.
+     */
+    Map<IngressoId, CompraId> obterCompraIdsPorIngressos(Collection<IngressoId> ingressoIds);
 }
@@ -50,11 +50,9 @@ public class CompraService {
             );
         });
 
-        ingressosValidados.forEach(ingresso -> {
-            var sessao = sessaoRepositorio.obterPorId(ingresso.getSessaoId());
-            sessao.reservarAssento(ingresso.getAssentoId());
-            sessaoRepositorio.salvar(sessao);
-        });
+        ingressosValidados.forEach(ingresso ->
+            sessaoRepositorio.alterarAssentos(ingresso.getSessaoId(),
+                sessao -> sessao.reservarAssento(ingresso.getAssentoId())));
 
         var identificador = Math.max(1, Math.abs(System.identityHashCode(ingressosValidados)));
         var compra = new Compra(new CompraId(identificador), clienteId, ingressosValidados, null, StatusCompra.PENDENTE);
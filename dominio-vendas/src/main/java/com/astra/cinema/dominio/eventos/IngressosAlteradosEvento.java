@@ -0,0 +1,38 @@
+package com.astra.cinema.dominio.eventos;
+
+import com.astra.cinema.dominio.comum.SessaoId;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * PADRÃO OBSERVER - Evento Concreto
+ * Evento publicado quando ingressos são gravados (venda, cancelamento, remarcação,
+ * validação, expiração), com as sessões dos ingressos alterados.
+ */
+public class IngressosAlteradosEvento {
+
+    private final Set<SessaoId> sessoes;
+    private final Date dataHora;
+
+    public IngressosAlteradosEvento(Set<SessaoId> sessoes) {
+        this.sessoes = Set.copyOf(sessoes);
+        this.dataHora = new Date();
+    }
+
+    public Set<SessaoId> getSessoes() {
+        return sessoes;
+    }
+
+    public Date getDataHora() {
+        return dataHora;
+    }
+
+    @Override
+    public String toString() {
+        return "IngressosAlteradosEvento{" +
+                "sessoes=" + sessoes.size() +
+                ", dataHora=" + dataHora +
+                '}';
+    }
+}
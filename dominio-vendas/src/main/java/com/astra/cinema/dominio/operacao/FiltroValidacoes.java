@@ -0,0 +1,70 @@
+package com.astra.cinema.dominio.operacao;
+
+import com.astra.cinema.dominio.comum.*;
+
+import java.util.Date;
+
+/**
+ * Filtros opcionais do histórico de validações. Campos nulos não restringem a busca.
+ *
+ * O período é fechado no início e aberto no fim ({@code inicio <= dataHora < fim}).
+ */
+public class FiltroValidacoes {
+    private final FuncionarioId funcionarioId;
+    private final SessaoId sessaoId;
+    private final Date inicio;
+    private final Date fim;
+    private final Boolean sucesso;
+
+    public FiltroValidacoes(FuncionarioId funcionarioId, SessaoId sessaoId, Date inicio, Date fim) {
+        this(funcionarioId, sessaoId, inicio, fim, null);
+    }
+
+    /**
+     * @param sucesso true para só as validações com sucesso, false para só as falhas
+     */
+    public FiltroValidacoes(FuncionarioId funcionarioId, SessaoId sessaoId, Date inicio, Date fim, Boolean sucesso) {
+        if (inicio != null && fim != null && !inicio.before(fim)) {
+            throw new IllegalArgumentException("O início do período deve ser anterior ao fim");
+        }
+        this.funcionarioId = funcionarioId;
+        this.sessaoId = sessaoId;
+        this.inicio = inicio;
+        this.fim = fim;
+        this.sucesso = sucesso;
+    }
+
+    /**
+     * Filtro sem restrições (todo o histórico).
+     */
+    public static FiltroValidacoes todas() {
+        return new FiltroValidacoes(null, null, null, null);
+    }
+
+    /**
+     * Mesmo filtro, restrito às validações a partir de {@code inicio}.
+     */
+    public FiltroValidacoes aPartirDe(Date inicio) {
+        return new FiltroValidacoes(funcionarioId, sessaoId, inicio, fim, sucesso);
+    }
+
+    public FuncionarioId getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public SessaoId getSessaoId() {
+        return sessaoId;
+    }
+
+    public Date getInicio() {
+        return inicio;
+    }
+
+    public Date getFim() {
+        return fim;
+    }
+
+    public Boolean getSucesso() {
+        return sucesso;
+    }
+}
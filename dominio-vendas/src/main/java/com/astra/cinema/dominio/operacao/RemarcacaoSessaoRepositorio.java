@@ -2,6 +2,7 @@ package com.astra.cinema.dominio.operacao;
 
 import com.astra.cinema.dominio.comum.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,11 @@ public interface RemarcacaoSessaoRepositorio {
      */
     RemarcacaoSessao salvar(RemarcacaoSessao remarcacao);
 
+    /**
+     * Salva várias remarcações de uma vez (em lote).
+     */
+    void salvarTodas(List<RemarcacaoSessao> remarcacoes);
+
     /**
      * Busca uma remarcação por ID.
      */
@@ -30,6 +36,11 @@ public interface RemarcacaoSessaoRepositorio {
      */
     List<RemarcacaoSessao> listarPorIngresso(IngressoId ingressoId);
 
+    /**
+     * Lista as remarcações de vários ingressos em uma única consulta.
+     */
+    List<RemarcacaoSessao> listarPorIngressos(Collection<IngressoId> ingressoIds);
+
     /**
      * Lista todas as remarcações (para histórico geral).
      */
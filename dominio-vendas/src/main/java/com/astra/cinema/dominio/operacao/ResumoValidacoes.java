@@ -0,0 +1,36 @@
+package com.astra.cinema.dominio.operacao;
+
+/**
+ * Totais do histórico de validações, calculados no banco sem carregar as validações.
+ */
+public class ResumoValidacoes {
+    private final long total;
+    private final long sucessos;
+
+    public ResumoValidacoes(long total, long sucessos) {
+        if (total < 0 || sucessos < 0 || sucessos > total) {
+            throw new IllegalArgumentException("Totais de validações inválidos");
+        }
+        this.total = total;
+        this.sucessos = sucessos;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getSucessos() {
+        return sucessos;
+    }
+
+    public long getFalhas() {
+        return total - sucessos;
+    }
+
+    /**
+     * Percentual de validações com sucesso (0 quando não há validações).
+     */
+    public double getTaxaSucesso() {
+        return total > 0 ? sucessos * 100.0 / total : 0;
+    }
+}
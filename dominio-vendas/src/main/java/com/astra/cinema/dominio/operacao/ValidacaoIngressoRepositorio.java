@@ -15,6 +15,11 @@ public interface ValidacaoIngressoRepositorio {
      */
     ValidacaoIngresso salvar(ValidacaoIngresso validacao);
 
+    /**
+     * Salva várias validações de uma vez (em lote).
+     */
+    void salvarTodas(List<ValidacaoIngresso> validacoes);
+
     /**
      * Busca uma validação por ID.
      */
@@ -34,4 +39,19 @@ public interface ValidacaoIngressoRepositorio {
      * Lista todas as validações (para histórico geral).
      */
     List<ValidacaoIngresso> listarTodas();
+
+    /**
+     * Página do histórico, da validação mais recente para a mais antiga (data/hora e id).
+     *
+     * @param filtro Filtros do histórico
+     * @param antesDe Última validação da página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de validações na página
+     * @throws IllegalArgumentException se a validação {@code antesDe} não existir
+     */
+    List<ValidacaoIngresso> buscarPagina(FiltroValidacoes filtro, ValidacaoIngressoId antesDe, int limite);
+
+    /**
+     * Totais das validações que atendem ao filtro, em uma única consulta de agregação.
+     */
+    ResumoValidacoes resumir(FiltroValidacoes filtro);
 }
@@ -0,0 +1,18 @@
+package com.astra.cinema.dominio.validacao;
+
+import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.comum.SessaoId;
+
+/**
+ * Registro persistente da primeira validação de cada ingresso, compartilhado por
+ * todas as instâncias da aplicação.
+ */
+public interface PrimeiraValidacaoRepositorio {
+
+    /**
+     * Registra a primeira validação do ingresso de forma atômica (restrição única no banco).
+     *
+     * @return true se esta foi a primeira validação; false se o ingresso já havia sido validado
+     */
+    boolean registrar(IngressoId ingressoId, SessaoId sessaoId);
+}
@@ -0,0 +1,144 @@
+package com.astra.cinema.dominio.validacao;
+
+import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.comum.SessaoId;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Ingressos já validados, particionados por sessão.
+ *
+ * Cada partição é um bitmap dos ids de ingresso dividido em blocos de
+ * {@value #BITS_POR_BLOCO} bits, criados só quando algum id do bloco é marcado (ids
+ * de uma mesma sessão costumam ser vendidos próximos). A partição é descartada quando
+ * a sessão passa do horário de início mais a retenção (por padrão, um dia), então a
+ * memória acompanha só as sessões recentes, não o tempo de execução do processo.
+ */
+public class ValidacoesPorSessao {
+
+    private static final int BITS_POR_BLOCO = 1024;
+    private static final int PALAVRAS_POR_BLOCO = BITS_POR_BLOCO / Long.SIZE;
+    private static final long RETENCAO_PADRAO_MS = 24L * 60 * 60 * 1000;
+    private static final long INTERVALO_LIMPEZA_MS = 60_000;
+
+    private static final class Particao {
+        private final long descartarEm;
+        private final Map<Integer, long[]> blocos = new HashMap<>();
+        private int marcados;
+
+        private Particao(long descartarEm) {
+            this.descartarEm = descartarEm;
+        }
+
+        private boolean contem(int id) {
+            long[] bloco = blocos.get(id / BITS_POR_BLOCO);
+            int bit = id % BITS_POR_BLOCO;
+            return bloco != null && (bloco[bit / Long.SIZE] & (1L << bit)) != 0;
+        }
+
+        private boolean marcar(int id) {
+            long[] bloco = blocos.computeIfAbsent(id / BITS_POR_BLOCO, b -> new long[PALAVRAS_POR_BLOCO]);
+            int bit = id % BITS_POR_BLOCO;
+            long mascara = 1L << bit;
+            if ((bloco[bit / Long.SIZE] & mascara) != 0) {
+                return false;
+            }
+            bloco[bit / Long.SIZE] |= mascara;
+            marcados++;
+            return true;
+        }
+    }
+
+    private final long retencaoMs;
+    private final LongSupplier relogio;
+    private final Map<SessaoId, Particao> particoes = new HashMap<>();
+    private long proximaLimpeza;
+
+    public ValidacoesPorSessao() {
+        this(RETENCAO_PADRAO_MS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param retencaoMs Por quanto tempo após o início da sessão a partição é mantida
+     * @param relogio Fonte do horário atual
+     */
+    public ValidacoesPorSessao(long retencaoMs, LongSupplier relogio) {
+        if (retencaoMs <= 0) {
+            throw new IllegalArgumentException("A retenção deve ser positiva");
+        }
+        if (relogio == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo");
+        }
+        this.retencaoMs = retencaoMs;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Indica se já existe partição para a sessão (se não, {@link #marcar} precisa do horário).
+     */
+    public synchronized boolean possuiParticao(SessaoId sessaoId) {
+        return particoes.containsKey(sessaoId);
+    }
+
+    public synchronized boolean contem(SessaoId sessaoId, IngressoId ingressoId) {
+        Particao particao = particoes.get(sessaoId);
+        return particao != null && particao.contem(ingressoId.getId());
+    }
+
+    /**
+     * Marca o ingresso como validado na partição da sessão.
+     *
+     * @param horarioSessaoMs Início da sessão; só é usado se a partição ainda não existe
+     * @return false se o ingresso já estava marcado
+     */
+    public synchronized boolean marcar(SessaoId sessaoId, long horarioSessaoMs, IngressoId ingressoId) {
+        long agora = relogio.getAsLong();
+        if (agora >= proximaLimpeza) {
+            descartarEncerradas(agora);
+            proximaLimpeza = agora + INTERVALO_LIMPEZA_MS;
+        }
+        Particao particao = particoes.computeIfAbsent(sessaoId,
+                id -> new Particao(Math.max(horarioSessaoMs, agora) + retencaoMs));
+        return particao.marcar(ingressoId.getId());
+    }
+
+    /**
+     * Descarta as partições de sessões encerradas.
+     *
+     * @return Quantidade de partições descartadas
+     */
+    public synchronized int descartarEncerradas() {
+        return descartarEncerradas(relogio.getAsLong());
+    }
+
+    public synchronized int getQuantidadeParticoes() {
+        return particoes.size();
+    }
+
+    public synchronized int getQuantidadeValidados() {
+        int total = 0;
+        for (Particao particao : particoes.values()) {
+            total += particao.marcados;
+        }
+        return total;
+    }
+
+    public synchronized void limpar() {
+        particoes.clear();
+    }
+
+    private int descartarEncerradas(long agora) {
+        int descartadas = 0;
+        Iterator<Particao> iterador = particoes.values().iterator();
+        while (iterador.hasNext()) {
+            if (iterador.next().descartarEm <= agora) {
+                iterador.remove();
+                descartadas++;
+            }
+        }
+        return descartadas;
+    }
+}
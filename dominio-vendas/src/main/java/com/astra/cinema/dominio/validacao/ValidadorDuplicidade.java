@@ -1,68 +1,107 @@
 package com.astra.cinema.dominio.validacao;
 
 import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.comum.SessaoId;
 import com.astra.cinema.dominio.compra.Ingresso;
-
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
+import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 
 /**
  * PADRÃO DECORATOR - Decorator Concreto
  * Adiciona validação anti-duplicidade (impede validar o mesmo ingresso duas vezes).
- * 
- * CORREÇÃO: Usa ConcurrentHashMap.newKeySet() para thread-safety.
- * O estado é gerenciado externamente via injeção, não como variável de instância.
+ *
+ * As duplicidades já detectadas ficam em memória, particionadas por sessão e descartadas
+ * depois que a sessão passa ({@link ValidacoesPorSessao}), o que responde sem ir ao
+ * banco às novas tentativas na mesma instância. A primeira validação é registrada em
+ * {@link PrimeiraValidacaoRepositorio}, cuja restrição única no banco decide entre
+ * instâncias diferentes e cobre sessões já descartadas da memória.
  */
 public class ValidadorDuplicidade extends ValidadorIngressoDecorator {
 
-    private final Set<IngressoId> ingressosJaValidados;
+    private final ValidacoesPorSessao validacoesRecentes;
+    private final SessaoRepositorio sessaoRepositorio;
+    private final PrimeiraValidacaoRepositorio primeiraValidacaoRepositorio;
 
     /**
-     * Construtor que recebe o validador base e um Set thread-safe para rastrear validações.
-     * Permite gerenciamento externo do estado (injeção de dependência).
+     * Construtor que recebe as partições de validações recentes, permitindo
+     * compartilhá-las entre validadores (injeção de dependência).
      */
-    public ValidadorDuplicidade(ValidadorIngresso validadorBase, Set<IngressoId> cacheValidacoes) {
+    public ValidadorDuplicidade(ValidadorIngresso validadorBase,
+                                ValidacoesPorSessao validacoesRecentes,
+                                SessaoRepositorio sessaoRepositorio,
+                                PrimeiraValidacaoRepositorio primeiraValidacaoRepositorio) {
         super(validadorBase);
-        if (cacheValidacoes == null) {
-            throw new IllegalArgumentException("Cache de validações não pode ser nulo");
+        if (validacoesRecentes == null) {
+            throw new IllegalArgumentException("As validações recentes não podem ser nulas");
+        }
+        if (sessaoRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de sessões não pode ser nulo");
+        }
+        if (primeiraValidacaoRepositorio == null) {
+            throw new IllegalArgumentException("O repositório de primeiras validações não pode ser nulo");
         }
-        this.ingressosJaValidados = cacheValidacoes;
+        this.validacoesRecentes = validacoesRecentes;
+        this.sessaoRepositorio = sessaoRepositorio;
+        this.primeiraValidacaoRepositorio = primeiraValidacaoRepositorio;
     }
 
     /**
-     * Construtor alternativo que cria seu próprio cache thread-safe.
-     * Útil para uso standalone, mas não recomendado em produção.
+     * Construtor alternativo que cria suas próprias partições em memória.
      */
-    public ValidadorDuplicidade(ValidadorIngresso validadorBase) {
-        this(validadorBase, ConcurrentHashMap.newKeySet());
+    public ValidadorDuplicidade(ValidadorIngresso validadorBase,
+                                SessaoRepositorio sessaoRepositorio,
+                                PrimeiraValidacaoRepositorio primeiraValidacaoRepositorio) {
+        this(validadorBase, new ValidacoesPorSessao(), sessaoRepositorio, primeiraValidacaoRepositorio);
     }
 
     @Override
     protected ResultadoValidacao validarAdicional(Ingresso ingresso) {
         IngressoId id = ingresso.getIngressoId();
+        SessaoId sessaoId = ingresso.getSessaoId();
 
-        if (ingressosJaValidados.contains(id)) {
-            return new ResultadoValidacao(false,
-                "⚠️  FRAUDE DETECTADA! Ingresso já foi validado anteriormente");
+        if (validacoesRecentes.contem(sessaoId, id)) {
+            return fraude();
         }
 
-        // Marca como validado
-        ingressosJaValidados.add(id);
+        // A restrição única do banco decide quem validou primeiro, mesmo entre instâncias.
+        // Só a recusa vai para a memória: o registro da primeira validação ainda pode ser
+        // desfeito se a transação do chamador não for confirmada.
+        if (!primeiraValidacaoRepositorio.registrar(id, sessaoId)) {
+            validacoesRecentes.marcar(sessaoId, horarioSessao(sessaoId), id);
+            return fraude();
+        }
 
         return new ResultadoValidacao(true, "Primeira validação deste ingresso");
     }
 
     /**
-     * Limpa o histórico de validações (útil para testes).
+     * Limpa as validações mantidas em memória (útil para testes).
+     * O registro persistente não é afetado.
      */
     public void limparHistorico() {
-        ingressosJaValidados.clear();
+        validacoesRecentes.limpar();
     }
 
     /**
-     * Retorna quantidade de ingressos já validados.
+     * Retorna quantidade de ingressos já recusados mantidos em memória.
      */
     public int getQuantidadeValidados() {
-        return ingressosJaValidados.size();
+        return validacoesRecentes.getQuantidadeValidados();
+    }
+
+    private ResultadoValidacao fraude() {
+        return new ResultadoValidacao(false,
+            "⚠️  FRAUDE DETECTADA! Ingresso já foi validado anteriormente");
+    }
+
+    /**
+     * Início da sessão, para a retenção da partição. Só consulta quando a partição ainda não existe.
+     */
+    private long horarioSessao(SessaoId sessaoId) {
+        if (validacoesRecentes.possuiParticao(sessaoId)) {
+            return 0;
+        }
+        ResumoSessao sessao = sessaoRepositorio.obterResumo(sessaoId);
+        return sessao != null ? sessao.getHorario().getTime() : 0;
     }
 }
@@ -1,13 +1,24 @@
 package com.astra.cinema.infraestrutura.config;
 
+import com.astra.cinema.dominio.bomboniere.ProdutoRepositorio;
 import com.astra.cinema.dominio.eventos.ObservadorEvento;
 import com.astra.cinema.dominio.eventos.PublicadorEventos;
 import com.astra.cinema.dominio.eventos.CompraConfirmadaEvento;
+import com.astra.cinema.dominio.filme.FilmeRepositorio;
+import com.astra.cinema.dominio.sessao.SalaRepositorio;
 import com.astra.cinema.infraestrutura.eventos.AtualizadorEstatisticasCompraImpl;
 import com.astra.cinema.infraestrutura.eventos.NotificadorEmailCompraImpl;
+import com.astra.cinema.infraestrutura.persistencia.cache.FilmeRepositorioEmCache;
+import com.astra.cinema.infraestrutura.persistencia.cache.ProdutoRepositorioEmCache;
+import com.astra.cinema.infraestrutura.persistencia.cache.SalaRepositorioEmCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
 
 /**
  * Configuração de Infraestrutura
@@ -28,6 +39,43 @@ public class InfraestruturaConfiguration {
         return new PublicadorEventos();
     }
 
+    /**
+     * Cache de leitura de filmes na frente do repositório JPA.
+     * Marcado como @Primary: quem injeta FilmeRepositorio recebe a versão em cache.
+     */
+    @Bean
+    @Primary
+    public FilmeRepositorioEmCache filmeRepositorioEmCache(
+            @Qualifier("filmeRepositorioJpaImpl") FilmeRepositorio filmeRepositorio,
+            @Value("${astra.cache.catalogo.capacidade:1000}") int capacidade,
+            @Value("${astra.cache.catalogo.ttl-segundos:300}") long ttlSegundos) {
+        return new FilmeRepositorioEmCache(filmeRepositorio, capacidade, Duration.ofSeconds(ttlSegundos));
+    }
+
+    /**
+     * Cache de leitura de salas na frente do repositório JPA.
+     */
+    @Bean
+    @Primary
+    public SalaRepositorioEmCache salaRepositorioEmCache(
+            @Qualifier("salaRepositorioJpa") SalaRepositorio salaRepositorio,
+            @Value("${astra.cache.catalogo.capacidade:1000}") int capacidade,
+            @Value("${astra.cache.catalogo.ttl-segundos:300}") long ttlSegundos) {
+        return new SalaRepositorioEmCache(salaRepositorio, capacidade, Duration.ofSeconds(ttlSegundos));
+    }
+
+    /**
+     * Cache de leitura de produtos na frente do repositório JPA.
+     */
+    @Bean
+    @Primary
+    public ProdutoRepositorioEmCache produtoRepositorioEmCache(
+            @Qualifier("produtoRepositorioJpa") ProdutoRepositorio produtoRepositorio,
+            @Value("${astra.cache.catalogo.capacidade:1000}") int capacidade,
+            @Value("${astra.cache.catalogo.ttl-segundos:300}") long ttlSegundos) {
+        return new ProdutoRepositorioEmCache(produtoRepositorio, capacidade, Duration.ofSeconds(ttlSegundos));
+    }
+
     /**
      * Registra observadores de eventos no PublicadorEventos
      * ao iniciar a aplicação.
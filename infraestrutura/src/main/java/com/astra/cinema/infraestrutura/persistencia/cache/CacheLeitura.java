@@ -0,0 +1,170 @@
+package com.astra.cinema.infraestrutura.persistencia.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache de leitura (read-through) limitado por tamanho e por tempo de vida.
+ *
+ * Quando cheio, remove a entrada usada há mais tempo (LRU); entradas mais velhas
+ * que o TTL são descartadas ao serem lidas. Valores nulos não são guardados.
+ *
+ * Uma carga iniciada antes de uma invalidação não é guardada: cada invalidação
+ * avança a geração do cache e a carga só é gravada se a geração não mudou.
+ */
+public final class CacheLeitura<K, V> {
+
+    /**
+     * Contadores do cache desde a inicialização
+     */
+    public record Estatisticas(String nome, long acertos, long falhas, long remocoes, int tamanho, int capacidade) {
+    }
+
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long expiraEm;
+
+        private Entrada(V valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+    }
+
+    private final String nome;
+    private final int capacidade;
+    private final long ttlMs;
+    private final LongSupplier relogio;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+    private long geracao;
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+
+    public CacheLeitura(String nome, int capacidade, Duration ttl) {
+        this(nome, capacidade, ttl, System::currentTimeMillis);
+    }
+
+    public CacheLeitura(String nome, int capacidade, Duration ttl, LongSupplier relogio) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("O nome do cache não pode ser vazio");
+        }
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser positiva");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("O tempo de vida do cache deve ser positivo");
+        }
+        if (relogio == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo");
+        }
+        this.nome = nome;
+        this.capacidade = capacidade;
+        this.ttlMs = ttl.toMillis();
+        this.relogio = relogio;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                if (size() > CacheLeitura.this.capacidade) {
+                    remocoes++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor em cache ou carrega, guarda e retorna o valor da fonte.
+     */
+    public V obter(K chave, Function<? super K, ? extends V> carregar) {
+        long geracaoCarga;
+        synchronized (this) {
+            V valor = buscar(chave);
+            if (valor != null) {
+                acertos++;
+                return valor;
+            }
+            falhas++;
+            geracaoCarga = geracao;
+        }
+
+        // A carga acontece fora da trava para não serializar consultas ao banco
+        V carregado = carregar.apply(chave);
+        if (carregado != null) {
+            guardar(chave, carregado, geracaoCarga);
+        }
+        return carregado;
+    }
+
+    /**
+     * Busca só no cache, contando acerto ou falha. Retorna null se ausente ou vencido.
+     */
+    public synchronized V obterSePresente(K chave) {
+        V valor = buscar(chave);
+        if (valor != null) {
+            acertos++;
+        } else {
+            falhas++;
+        }
+        return valor;
+    }
+
+    /**
+     * Geração atual; usada com {@link #guardar(Object, Object, long)} por cargas em lote.
+     */
+    public synchronized long geracao() {
+        return geracao;
+    }
+
+    /**
+     * Guarda um valor carregado pelo chamador, se nada foi invalidado desde {@code geracaoCarga}.
+     */
+    public synchronized void guardar(K chave, V valor, long geracaoCarga) {
+        if (valor != null && geracaoCarga == geracao) {
+            entradas.put(chave, new Entrada<>(valor, relogio.getAsLong() + ttlMs));
+        }
+    }
+
+    public synchronized void invalidar(K chave) {
+        geracao++;
+        entradas.remove(chave);
+    }
+
+    public synchronized void invalidarTudo() {
+        geracao++;
+        entradas.clear();
+    }
+
+    public synchronized Estatisticas estatisticas() {
+        removerVencidas();
+        return new Estatisticas(nome, acertos, falhas, remocoes, entradas.size(), capacidade);
+    }
+
+    private V buscar(K chave) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEm <= relogio.getAsLong()) {
+            entradas.remove(chave);
+            remocoes++;
+            return null;
+        }
+        return entrada.valor;
+    }
+
+    private void removerVencidas() {
+        long agora = relogio.getAsLong();
+        Iterator<Entrada<V>> iterador = entradas.values().iterator();
+        while (iterador.hasNext()) {
+            if (iterador.next().expiraEm <= agora) {
+                iterador.remove();
+                remocoes++;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.astra.cinema.infraestrutura.persistencia.cache;
+
+import com.astra.cinema.dominio.comum.FilmeId;
+import com.astra.cinema.dominio.filme.Filme;
+import com.astra.cinema.dominio.filme.FilmeRepositorio;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache de leitura na frente do repositório de filmes.
+ * Padrão: Decorator (mesma interface do repositório, delega as consultas que faltam)
+ *
+ * Gravações passam direto para o repositório e invalidam o filme e as listas em cache
+ * (de novo ao fim da transação).
+ * Os filmes devolvidos são cópias, para que alterações de quem lê não cheguem ao cache.
+ */
+public class FilmeRepositorioEmCache implements FilmeRepositorio {
+
+    private static final String LISTA_TODOS = "todos";
+    private static final String LISTA_EM_CARTAZ = "emCartaz";
+
+    private final FilmeRepositorio repositorio;
+    private final CacheLeitura<FilmeId, Filme> filmes;
+    private final CacheLeitura<String, List<Filme>> listas;
+
+    public FilmeRepositorioEmCache(FilmeRepositorio repositorio, int capacidade, Duration ttl) {
+        if (repositorio == null) {
+            throw new IllegalArgumentException("O repositório de filmes não pode ser nulo");
+        }
+        this.repositorio = repositorio;
+        this.filmes = new CacheLeitura<>("filmes", capacidade, ttl);
+        this.listas = new CacheLeitura<>("filmes-listas", 2, ttl);
+    }
+
+    @Override
+    public Filme salvar(Filme filme) {
+        Filme salvo = repositorio.salvar(filme);
+        FilmeId filmeId = salvo != null ? salvo.getFilmeId() : null;
+        InvalidacaoTransacional.invalidar(() -> {
+            if (filmeId != null) {
+                filmes.invalidar(filmeId);
+            }
+            listas.invalidarTudo();
+        });
+        return salvo;
+    }
+
+    @Override
+    public Filme obterPorId(FilmeId filmeId) {
+        if (filmeId == null) {
+            throw new IllegalArgumentException("O id do filme não pode ser nulo");
+        }
+        return copiar(filmes.obter(filmeId, repositorio::obterPorId));
+    }
+
+    @Override
+    public List<Filme> listarPorIds(Collection<FilmeId> filmeIds) {
+        if (filmeIds == null || filmeIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Filme> encontrados = new ArrayList<>();
+        Set<FilmeId> faltantes = new LinkedHashSet<>();
+        for (FilmeId filmeId : new LinkedHashSet<>(filmeIds)) {
+            Filme filme = filmes.obterSePresente(filmeId);
+            if (filme != null) {
+                encontrados.add(filme);
+            } else {
+                faltantes.add(filmeId);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            long geracao = filmes.geracao();
+            for (Filme filme : repositorio.listarPorIds(faltantes)) {
+                filmes.guardar(filme.getFilmeId(), filme, geracao);
+                encontrados.add(filme);
+            }
+        }
+        return copiar(encontrados);
+    }
+
+    @Override
+    public List<Filme> listarFilmesEmCartaz() {
+        return copiar(listas.obter(LISTA_EM_CARTAZ, chave -> repositorio.listarFilmesEmCartaz()));
+    }
+
+    @Override
+    public List<Filme> listarTodos() {
+        return copiar(listas.obter(LISTA_TODOS, chave -> repositorio.listarTodos()));
+    }
+
+    public List<CacheLeitura.Estatisticas> estatisticas() {
+        return List.of(filmes.estatisticas(), listas.estatisticas());
+    }
+
+    private static Filme copiar(Filme filme) {
+        return filme != null ? filme.clone() : null;
+    }
+
+    private static List<Filme> copiar(List<Filme> lista) {
+        return lista.stream().map(Filme::clone).toList();
+    }
+}
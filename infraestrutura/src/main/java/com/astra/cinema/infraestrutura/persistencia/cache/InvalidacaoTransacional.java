@@ -0,0 +1,29 @@
+package com.astra.cinema.infraestrutura.persistencia.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidação de cache alinhada à transação do chamador.
+ *
+ * A invalidação roda na hora (as leituras da própria transação já veem o novo estado)
+ * e de novo no fim da transação: uma leitura concorrente feita entre a alteração e o
+ * commit recarrega o estado antigo, e um rollback deixaria no cache o estado desfeito.
+ */
+final class InvalidacaoTransacional {
+
+    private InvalidacaoTransacional() {
+    }
+
+    static void invalidar(Runnable invalidacao) {
+        invalidacao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.astra.cinema.infraestrutura.persistencia.cache;
+
+import com.astra.cinema.dominio.bomboniere.Produto;
+import com.astra.cinema.dominio.bomboniere.ProdutoRepositorio;
+import com.astra.cinema.dominio.comum.ProdutoId;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache de leitura na frente do repositório de produtos.
+ * Padrão: Decorator (mesma interface do repositório, delega as consultas que faltam)
+ *
+ * Toda alteração de produto (cadastro, preço, estoque) passa por salvar ou remover,
+ * que invalidam o produto e a lista em cache (de novo ao fim da transação). Os produtos devolvidos são cópias.
+ */
+public class ProdutoRepositorioEmCache implements ProdutoRepositorio {
+
+    private static final String LISTA_PRODUTOS = "produtos";
+
+    private final ProdutoRepositorio repositorio;
+    private final CacheLeitura<ProdutoId, Produto> produtos;
+    private final CacheLeitura<String, List<Produto>> listas;
+
+    public ProdutoRepositorioEmCache(ProdutoRepositorio repositorio, int capacidade, Duration ttl) {
+        if (repositorio == null) {
+            throw new IllegalArgumentException("O repositório de produtos não pode ser nulo");
+        }
+        this.repositorio = repositorio;
+        this.produtos = new CacheLeitura<>("produtos", capacidade, ttl);
+        this.listas = new CacheLeitura<>("produtos-listas", 1, ttl);
+    }
+
+    @Override
+    public void salvar(Produto produto) {
+        repositorio.salvar(produto);
+        ProdutoId produtoId = produto != null ? produto.getProdutoId() : null;
+        InvalidacaoTransacional.invalidar(() -> {
+            if (produtoId != null) {
+                produtos.invalidar(produtoId);
+            }
+            listas.invalidarTudo();
+        });
+    }
+
+    @Override
+    public Produto obterPorId(ProdutoId produtoId) {
+        if (produtoId == null) {
+            throw new IllegalArgumentException("O id do produto não pode ser nulo");
+        }
+        Produto produto = produtos.obter(produtoId, repositorio::obterPorId);
+        return produto != null ? produto.clone() : null;
+    }
+
+    @Override
+    public List<Produto> listarProdutos() {
+        return listas.obter(LISTA_PRODUTOS, chave -> repositorio.listarProdutos()).stream()
+                .map(Produto::clone)
+                .toList();
+    }
+
+    @Override
+    public void remover(ProdutoId produtoId) {
+        repositorio.remover(produtoId);
+        InvalidacaoTransacional.invalidar(() -> {
+            produtos.invalidar(produtoId);
+            listas.invalidarTudo();
+        });
+    }
+
+    @Override
+    public double calcularValorInventario() {
+        return repositorio.calcularValorInventario();
+    }
+
+    public List<CacheLeitura.Estatisticas> estatisticas() {
+        return List.of(produtos.estatisticas(), listas.estatisticas());
+    }
+}
@@ -0,0 +1,108 @@
+package com.astra.cinema.infraestrutura.persistencia.cache;
+
+import com.astra.cinema.dominio.comum.SalaId;
+import com.astra.cinema.dominio.sessao.Sala;
+import com.astra.cinema.dominio.sessao.SalaRepositorio;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache de leitura na frente do repositório de salas.
+ * Padrão: Decorator (mesma interface do repositório, delega as consultas que faltam)
+ *
+ * Salas são imutáveis, então as instâncias em cache são devolvidas diretamente.
+ * Salvar ou remover uma sala invalida a sala e a lista em cache (de novo ao fim da transação).
+ */
+public class SalaRepositorioEmCache implements SalaRepositorio {
+
+    private static final String LISTA_TODAS = "todas";
+
+    private final SalaRepositorio repositorio;
+    private final CacheLeitura<SalaId, Sala> salas;
+    private final CacheLeitura<String, List<Sala>> listas;
+
+    public SalaRepositorioEmCache(SalaRepositorio repositorio, int capacidade, Duration ttl) {
+        if (repositorio == null) {
+            throw new IllegalArgumentException("O repositório de salas não pode ser nulo");
+        }
+        this.repositorio = repositorio;
+        this.salas = new CacheLeitura<>("salas", capacidade, ttl);
+        this.listas = new CacheLeitura<>("salas-listas", 1, ttl);
+    }
+
+    @Override
+    public Sala salvar(Sala sala) {
+        Sala salva = repositorio.salvar(sala);
+        SalaId salaId = salva != null ? salva.getSalaId() : null;
+        InvalidacaoTransacional.invalidar(() -> {
+            if (salaId != null) {
+                salas.invalidar(salaId);
+            }
+            listas.invalidarTudo();
+        });
+        return salva;
+    }
+
+    @Override
+    public Sala obterPorId(SalaId salaId) {
+        if (salaId == null) {
+            throw new IllegalArgumentException("O id da sala não pode ser nulo");
+        }
+        return salas.obter(salaId, repositorio::obterPorId);
+    }
+
+    @Override
+    public List<Sala> listarPorIds(Collection<SalaId> salaIds) {
+        if (salaIds == null || salaIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Sala> encontradas = new ArrayList<>();
+        Set<SalaId> faltantes = new LinkedHashSet<>();
+        for (SalaId salaId : new LinkedHashSet<>(salaIds)) {
+            Sala sala = salas.obterSePresente(salaId);
+            if (sala != null) {
+                encontradas.add(sala);
+            } else {
+                faltantes.add(salaId);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            long geracao = salas.geracao();
+            for (Sala sala : repositorio.listarPorIds(faltantes)) {
+                salas.guardar(sala.getSalaId(), sala, geracao);
+                encontradas.add(sala);
+            }
+        }
+        return encontradas;
+    }
+
+    @Override
+    public Sala obterPorNome(String nome) {
+        return repositorio.obterPorNome(nome);
+    }
+
+    @Override
+    public List<Sala> listarTodas() {
+        return listas.obter(LISTA_TODAS, chave -> repositorio.listarTodas());
+    }
+
+    @Override
+    public void remover(SalaId salaId) {
+        repositorio.remover(salaId);
+        InvalidacaoTransacional.invalidar(() -> {
+            salas.invalidar(salaId);
+            listas.invalidarTudo();
+        });
+    }
+
+    public List<CacheLeitura.Estatisticas> estatisticas() {
+        return List.of(salas.estatisticas(), listas.estatisticas());
+    }
+}
@@ -4,12 +4,14 @@ import com.astra.cinema.dominio.bomboniere.Produto;
 import com.astra.cinema.dominio.comum.*;
 import com.astra.cinema.dominio.compra.*;
 import com.astra.cinema.dominio.filme.Filme;
+import com.astra.cinema.dominio.sessao.LayoutAssentos;
+import com.astra.cinema.dominio.sessao.MapaAssentos;
 import com.astra.cinema.dominio.sessao.Sessao;
 import com.astra.cinema.dominio.usuario.Funcionario;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -92,19 +94,50 @@ public class CinemaMapeador {
         sessaoJpa.setHorario(sessao.getHorario());
         sessaoJpa.setStatus(sessao.getStatus());
         sessaoJpa.setSala(sala);
-        
-        // Mapeia o mapa de assentos (AssentoId -> Boolean) para (String -> Boolean)
-        Map<String, Boolean> assentosJpa = sessao.getMapaAssentosDisponiveis().entrySet().stream()
-                .collect(Collectors.toMap(
-                    entry -> entry.getKey().getValor(),
-                    Map.Entry::getValue
-                ));
-        
-        sessaoJpa.setAssentosDisponiveis(assentosJpa);
+        aplicarAssentos(sessaoJpa, sessao.getMapaAssentos());
         
         return sessaoJpa;
     }
 
+    /**
+     * Copia o estado dos assentos para as colunas compactadas da SessaoJpa
+     */
+    public void aplicarAssentos(SessaoJpa sessaoJpa, MapaAssentos mapaAssentos) {
+        LayoutAssentos layout = mapaAssentos.getLayout();
+
+        sessaoJpa.setAssentosBitmap(mapaAssentos.paraBitmap());
+        sessaoJpa.setAssentosTotal(layout.total());
+        sessaoJpa.setAssentosDisponiveis(mapaAssentos.contarDisponiveis());
+        sessaoJpa.setAssentosOcupados(mapaAssentos.contarOcupados());
+        // Layout padrão é reconstruído só pelo total; os demais guardam os códigos em ordem
+        sessaoJpa.setAssentosLayout(layout.isPadrao() ? null : serializarLayout(layout));
+    }
+
+    /**
+     * Reconstrói o estado dos assentos a partir das colunas compactadas da SessaoJpa
+     */
+    public MapaAssentos mapearAssentos(SessaoJpa sessaoJpa) {
+        String layoutSerializado = sessaoJpa.getAssentosLayout();
+        LayoutAssentos layout = layoutSerializado == null || layoutSerializado.isBlank()
+                ? LayoutAssentos.padrao(sessaoJpa.getAssentosTotal() != null ? sessaoJpa.getAssentosTotal() : 0)
+                : LayoutAssentos.de(Arrays.stream(layoutSerializado.split(","))
+                        .map(AssentoId::new)
+                        .collect(Collectors.toList()));
+
+        return MapaAssentos.deBitmap(layout, sessaoJpa.getAssentosBitmap());
+    }
+
+    private String serializarLayout(LayoutAssentos layout) {
+        StringBuilder codigos = new StringBuilder();
+        for (int ordinal = 0; ordinal < layout.total(); ordinal++) {
+            if (ordinal > 0) {
+                codigos.append(',');
+            }
+            codigos.append(layout.assento(ordinal).getValor());
+        }
+        return codigos.toString();
+    }
+
     /**
      * Mapeia SessaoJpa para Sessao de domínio
      */
@@ -119,19 +152,12 @@ public class CinemaMapeador {
             new SalaId(sessaoJpa.getSala().getId()) : 
             new SalaId(1); // fallback temporário
         
-        // Mapeia o mapa de assentos (String -> Boolean) para (AssentoId -> Boolean)
-        Map<AssentoId, Boolean> assentosDominio = sessaoJpa.getAssentosDisponiveis().entrySet().stream()
-                .collect(Collectors.toMap(
-                    entry -> new AssentoId(entry.getKey()),
-                    Map.Entry::getValue
-                ));
-        
         return new Sessao(
             sessaoId,
             filmeId,
             sessaoJpa.getHorario(),
             sessaoJpa.getStatus(),
-            assentosDominio,
+            mapearAssentos(sessaoJpa),
             salaId
         );
     }
@@ -1,20 +1,35 @@
 package com.astra.cinema.infraestrutura.persistencia.jpa;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.astra.cinema.dominio.compra.Compra;
 import com.astra.cinema.dominio.compra.CompraRepositorio;
 import com.astra.cinema.dominio.compra.Ingresso;
+import com.astra.cinema.dominio.compra.StatusCompra;
 import com.astra.cinema.dominio.compra.StatusIngresso;
 import com.astra.cinema.dominio.comum.ClienteId;
 import com.astra.cinema.dominio.comum.CompraId;
 import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.comum.PagamentoId;
+import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.eventos.IngressosAlteradosEvento;
+import com.astra.cinema.dominio.eventos.PublicadorEventos;
 import com.astra.cinema.infraestrutura.util.QrCodeGenerator;
 
 import jakarta.persistence.EntityManager;
@@ -39,6 +54,9 @@ public class CompraRepositorioJpa implements CompraRepositorio {
     @Autowired
     private QrCodeGenerator qrCodeGenerator;
 
+    @Autowired
+    private PublicadorEventos publicadorEventos;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -49,15 +67,13 @@ public class CompraRepositorioJpa implements CompraRepositorio {
             throw new IllegalArgumentException("A compra não pode ser nula");
         }
 
-        CompraJpa compraSalva;
-        
         // Verifica se a compra já existe no banco (UPDATE) ou é nova (INSERT)
         boolean compraExiste = compra.getCompraId() != null && 
                               compraJpaRepository.existsById(compra.getCompraId().getId());
         
         if (compraExiste) {
             // UPDATE: Atualiza compra existente
-            compraSalva = compraJpaRepository.findById(compra.getCompraId().getId())
+            CompraJpa compraSalva = compraJpaRepository.findById(compra.getCompraId().getId())
                     .orElseThrow(() -> new IllegalArgumentException("Compra não encontrada para atualizar: " + compra.getCompraId().getId()));
             
             compraSalva.setStatus(compra.getStatus().name());
@@ -67,6 +83,7 @@ public class CompraRepositorioJpa implements CompraRepositorio {
             // Atualiza os ingressos existentes
             List<IngressoJpa> ingressosExistentes = ingressoJpaRepository.findByCompraId(compraSalva.getId());
             List<Ingresso> ingressosDominio = compra.getIngressos();
+            Set<SessaoId> sessoesAlteradas = new HashSet<>();
             
             for (Ingresso ingresso : ingressosDominio) {
                 // Procura o ingresso existente pela sessão e assento
@@ -80,45 +97,85 @@ public class CompraRepositorioJpa implements CompraRepositorio {
                     // Atualiza o status do ingresso existente
                     ingressoJpa.setStatus(ingresso.getStatus().name());
                     ingressoJpaRepository.save(ingressoJpa);
+                    sessoesAlteradas.add(ingresso.getSessaoId());
                 }
             }
+            publicarIngressosAlterados(sessoesAlteradas);
         } else {
             // INSERT: Cria nova compra
-            CompraJpa compraJpa = new CompraJpa();
-            compraJpa.setClienteId(compra.getClienteId().getId());
-            compraJpa.setStatus(compra.getStatus().name());
-            compraJpa.setPagamentoId(compra.getPagamentoId() != null ? compra.getPagamentoId().getId() : null);
-            compraJpa.setCriadoEm(java.time.LocalDateTime.now());
-            
-            entityManager.persist(compraJpa);
-            entityManager.flush();
-            
-            compraSalva = compraJpa;
-
-            // Salva os novos ingressos
-            List<Ingresso> ingressos = compra.getIngressos();
-            for (Ingresso ingresso : ingressos) {
-                // Gera um QR Code único para este ingresso
-                String qrCode = qrCodeGenerator.gerarQrCode();
-
-                // Garante que o QR Code seja único
-                int tentativas = 0;
-                while (ingressoJpaRepository.findByQrCode(qrCode).isPresent() && tentativas < 5) {
-                    qrCode = qrCodeGenerator.gerarQrCode();
-                    tentativas++;
-                }
+            inserir(compra.getClienteId(), compra.getStatus(), compra.getPagamentoId(), compra.getIngressos());
+        }
+    }
 
-                IngressoJpa ingressoJpa = new IngressoJpa();
-                ingressoJpa.setCompraId(compraSalva.getId());
-                ingressoJpa.setSessaoId(ingresso.getSessaoId().getId());
-                ingressoJpa.setAssento(ingresso.getAssentoId().getValor());
-                ingressoJpa.setTipo(ingresso.getTipo().name());
-                ingressoJpa.setStatus(ingresso.getStatus().name());
-                ingressoJpa.setQrCode(qrCode);
+    @Override
+    @Transactional
+    public Compra criar(ClienteId clienteId, List<Ingresso> ingressos) {
+        if (clienteId == null) {
+            throw new IllegalArgumentException("O ID do cliente não pode ser nulo");
+        }
+        if (ingressos == null || ingressos.isEmpty()) {
+            throw new IllegalArgumentException("A compra deve ter pelo menos um ingresso");
+        }
+        return inserir(clienteId, StatusCompra.PENDENTE, null, ingressos);
+    }
 
-                ingressoJpaRepository.save(ingressoJpa);
+    /**
+     * Insere a compra e seus ingressos, retornando a compra com os ids gerados.
+     *
+     * A compra é um único INSERT (id IDENTITY). Os ids dos ingressos são reservados da
+     * sequência antes do persist (um bloco de 50 por ida ao banco, ver IngressoJpa), então
+     * o QR Code assinado, que leva o id, entra no próprio INSERT, e os INSERTs dos
+     * ingressos são enviados em lote no flush.
+     */
+    private Compra inserir(ClienteId clienteId, StatusCompra status, PagamentoId pagamentoId, List<Ingresso> ingressos) {
+        CompraJpa compraJpa = new CompraJpa();
+        compraJpa.setClienteId(clienteId.getId());
+        compraJpa.setStatus(status.name());
+        compraJpa.setPagamentoId(pagamentoId != null ? pagamentoId.getId() : null);
+        compraJpa.setCriadoEm(java.time.LocalDateTime.now());
+        entityManager.persist(compraJpa);
+
+        List<Integer> ids = reservarIdsIngressos(ingressos.size());
+        List<IngressoJpa> ingressosJpa = new ArrayList<>(ingressos.size());
+        for (Ingresso ingresso : ingressos) {
+            IngressoJpa ingressoJpa = new IngressoJpa();
+            ingressoJpa.setId(ids.get(ingressosJpa.size()));
+            ingressoJpa.setCompraId(compraJpa.getId());
+            ingressoJpa.setSessaoId(ingresso.getSessaoId().getId());
+            ingressoJpa.setAssento(ingresso.getAssentoId().getValor());
+            ingressoJpa.setTipo(ingresso.getTipo().name());
+            ingressoJpa.setStatus(ingresso.getStatus().name());
+
+            ingressoJpa.setQrCode(qrCodeGenerator.gerarQrCodeAssinado(ingressoJpa.getId(), ingressoJpa.getSessaoId()));
+            entityManager.persist(ingressoJpa);
+            ingressosJpa.add(ingressoJpa);
+        }
+        entityManager.flush();
+
+        List<Ingresso> ingressosSalvos = ingressosJpa.stream()
+                .map(mapeador::mapearParaIngresso)
+                .collect(Collectors.toList());
+        publicarIngressosAlterados(ingressosSalvos.stream().map(Ingresso::getSessaoId).collect(Collectors.toSet()));
+        return mapeador.mapearParaCompra(compraJpa, ingressosSalvos);
+    }
+
+    /**
+     * Ids para {@code quantidade} ingressos novos, em uma única consulta à sequência.
+     */
+    private List<Integer> reservarIdsIngressos(int quantidade) {
+        List<Integer> ids = new ArrayList<>(quantidade);
+        while (ids.size() < quantidade) {
+            int faltam = quantidade - ids.size();
+            int blocos = (faltam + IngressoJpa.TAMANHO_BLOCO_IDS - 1) / IngressoJpa.TAMANHO_BLOCO_IDS;
+            for (Long fimBloco : ingressoJpaRepository.reservarBlocosDeIds(blocos)) {
+                // O primeiro valor de uma sequência nova (1) reserva só o id 1
+                long id = Math.max(1, fimBloco - IngressoJpa.TAMANHO_BLOCO_IDS + 1);
+                for (; id <= fimBloco && ids.size() < quantidade; id++) {
+                    ids.add(Math.toIntExact(id));
+                }
             }
         }
+        return ids;
     }
 
     @Override
@@ -147,18 +204,17 @@ public class CompraRepositorioJpa implements CompraRepositorio {
             throw new IllegalArgumentException("O ID do cliente não pode ser nulo");
         }
 
-        // Limpar cache do EntityManager para garantir dados frescos do banco
-        entityManager.clear();
+        // Duas consultas, independente da quantidade de compras: as compras e os ingressos de todas elas
+        Map<Integer, List<Ingresso>> ingressosPorCompra = new HashMap<>();
+        for (IngressoJpa ingressoJpa : ingressoJpaRepository.findDasComprasDoCliente(clienteId.getId())) {
+            ingressosPorCompra.computeIfAbsent(ingressoJpa.getCompraId(), id -> new ArrayList<>())
+                    .add(mapeador.mapearParaIngresso(ingressoJpa));
+        }
 
-        List<CompraJpa> comprasJpa = compraJpaRepository.findByClienteId(clienteId.getId());
         List<Compra> compras = new ArrayList<>();
-
-        for (CompraJpa compraJpa : comprasJpa) {
-            List<IngressoJpa> ingressosJpa = ingressoJpaRepository.findByCompraId(compraJpa.getId());
-            List<Ingresso> ingressos = ingressosJpa.stream()
-                    .map(mapeador::mapearParaIngresso)
-                    .collect(Collectors.toList());
-            compras.add(mapeador.mapearParaCompra(compraJpa, ingressos));
+        for (CompraJpa compraJpa : compraJpaRepository.findByClienteId(clienteId.getId())) {
+            compras.add(mapeador.mapearParaCompra(compraJpa,
+                    ingressosPorCompra.getOrDefault(compraJpa.getId(), new ArrayList<>())));
         }
 
         return compras;
@@ -189,8 +245,7 @@ public class CompraRepositorioJpa implements CompraRepositorio {
         // Remove espaços e converte para maiúsculo
         String codigoLimpo = qrCode.trim().toUpperCase();
 
-        // Busca direta por QR Code no banco (solução definitiva)
-        return ingressoJpaRepository.findByQrCode(codigoLimpo)
+        return buscarIngressoJpaPorQrCode(codigoLimpo)
                 .map(mapeador::mapearParaIngresso)
                 .orElse(null);
     }
@@ -216,7 +271,7 @@ public class CompraRepositorioJpa implements CompraRepositorio {
         String codigoLimpo = qrCode.trim().toUpperCase();
 
         // Busca o ingresso pelo QR Code
-        IngressoJpa ingressoJpa = ingressoJpaRepository.findByQrCode(codigoLimpo).orElse(null);
+        IngressoJpa ingressoJpa = buscarIngressoJpaPorQrCode(codigoLimpo).orElse(null);
         if (ingressoJpa == null) {
             return null;
         }
@@ -225,6 +280,26 @@ public class CompraRepositorioJpa implements CompraRepositorio {
         return obterPorId(new CompraId(ingressoJpa.getCompraId()));
     }
 
+    /**
+     * Código assinado: confere a assinatura em memória e busca pela chave primária.
+     * Código mal formado (ou com assinatura errada) não existe: nem consulta o banco.
+     * Só os formatos sem assinatura são buscados pela coluna qr_code.
+     */
+    private Optional<IngressoJpa> buscarIngressoJpaPorQrCode(String codigoLimpo) {
+        if (qrCodeGenerator.assinado(codigoLimpo)) {
+            QrCodeGenerator.DadosQrCode dados = qrCodeGenerator.lerQrCodeAssinado(codigoLimpo);
+            if (dados == null) {
+                return Optional.empty();
+            }
+            return ingressoJpaRepository.findById(dados.ingressoId())
+                    .filter(ingresso -> codigoLimpo.equals(ingresso.getQrCode()));
+        }
+        if (!qrCodeGenerator.formatoValido(codigoLimpo)) {
+            return Optional.empty();
+        }
+        return ingressoJpaRepository.findByQrCode(codigoLimpo);
+    }
+
     @Override
     @Transactional
     public void atualizarIngresso(Ingresso ingresso) {
@@ -239,6 +314,9 @@ public class CompraRepositorioJpa implements CompraRepositorio {
             throw new IllegalArgumentException("Ingresso não encontrado");
         }
 
+        // Remarcação muda a sessão: as duas sessões são avisadas
+        Set<SessaoId> sessoesAlteradas = Set.of(new SessaoId(ingressoJpa.getSessaoId()), ingresso.getSessaoId());
+
         // Atualiza os campos do ingresso
         ingressoJpa.setSessaoId(ingresso.getSessaoId().getId());
         ingressoJpa.setAssento(ingresso.getAssentoId().getValor());
@@ -251,12 +329,169 @@ public class CompraRepositorioJpa implements CompraRepositorio {
 
         ingressoJpaRepository.save(ingressoJpa);
         entityManager.flush(); // Força a gravação imediata no banco
+        publicarIngressosAlterados(sessoesAlteradas);
         
         System.out.println("✅ Ingresso " + ingresso.getIngressoId().getId() + 
             " atualizado: sessão=" + ingresso.getSessaoId().getId() + 
             ", assento=" + ingresso.getAssentoId().getValor());
     }
 
+    @Override
+    public List<Ingresso> buscarIngressosPorIds(Collection<IngressoId> ingressoIds) {
+        if (ingressoIds == null || ingressoIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> ids = ingressoIds.stream()
+                .map(IngressoId::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        return ingressoJpaRepository.findAllById(ids).stream()
+                .map(mapeador::mapearParaIngresso)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void remarcarIngressos(Collection<Ingresso> ingressos) {
+        if (ingressos == null || ingressos.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Ingresso> porId = new HashMap<>();
+        for (Ingresso ingresso : ingressos) {
+            porId.put(ingresso.getIngressoId().getId(), ingresso);
+        }
+
+        // As entidades carregadas de uma vez são atualizadas e gravadas no flush (UPDATEs em lote JDBC)
+        Set<SessaoId> sessoesAlteradas = new HashSet<>();
+        List<IngressoJpa> ingressosJpa = ingressoJpaRepository.findAllById(porId.keySet());
+        if (ingressosJpa.size() != porId.size()) {
+            throw new IllegalArgumentException("Ingresso não encontrado");
+        }
+        for (IngressoJpa ingressoJpa : ingressosJpa) {
+            Ingresso ingresso = porId.get(ingressoJpa.getId());
+            sessoesAlteradas.add(new SessaoId(ingressoJpa.getSessaoId()));
+            sessoesAlteradas.add(ingresso.getSessaoId());
+            ingressoJpa.setSessaoId(ingresso.getSessaoId().getId());
+            ingressoJpa.setAssento(ingresso.getAssentoId().getValor());
+        }
+        entityManager.flush();
+        publicarIngressosAlterados(sessoesAlteradas);
+    }
+
+    @Override
+    @Transactional
+    public int atualizarStatusIngressos(Collection<IngressoId> ingressos, StatusIngresso statusAtual,
+                                        StatusIngresso novoStatus) {
+        if (statusAtual == null || novoStatus == null) {
+            throw new IllegalArgumentException("Os status não podem ser nulos");
+        }
+        if (ingressos == null || ingressos.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> ids = ingressos.stream().map(IngressoId::getId).distinct().collect(Collectors.toList());
+        int alterados = ingressoJpaRepository.atualizarStatus(ids, statusAtual.name(), novoStatus.name());
+        if (alterados > 0) {
+            publicarIngressosAlterados(ingressoJpaRepository.findSessaoIdsByIdIn(ids).stream()
+                    .map(SessaoId::new)
+                    .collect(Collectors.toSet()));
+        }
+        return alterados;
+    }
+
+    @Override
+    public Map<CompraId, List<Ingresso>> buscarIngressosPorSessoes(Collection<SessaoId> sessoes) {
+        Map<CompraId, List<Ingresso>> ingressosPorCompra = new LinkedHashMap<>();
+        if (sessoes == null || sessoes.isEmpty()) {
+            return ingressosPorCompra;
+        }
+
+        List<Integer> ids = sessoes.stream().map(SessaoId::getId).distinct().collect(Collectors.toList());
+        for (IngressoJpa ingressoJpa : ingressoJpaRepository.findBySessaoIdIn(ids)) {
+            ingressosPorCompra.computeIfAbsent(new CompraId(ingressoJpa.getCompraId()), id -> new ArrayList<>())
+                    .add(mapeador.mapearParaIngresso(ingressoJpa));
+        }
+        return ingressosPorCompra;
+    }
+
+    @Override
+    public Map<CompraId, List<Ingresso>> buscarComprasPorQrCodes(Collection<String> qrCodes) {
+        Map<CompraId, List<Ingresso>> ingressosPorCompra = new LinkedHashMap<>();
+        if (qrCodes == null || qrCodes.isEmpty()) {
+            return ingressosPorCompra;
+        }
+
+        List<String> codigos = qrCodes.stream()
+                .filter(codigo -> codigo != null && !codigo.isBlank())
+                .map(codigo -> codigo.trim().toUpperCase())
+                .filter(qrCodeGenerator::formatoValido)
+                .distinct()
+                .collect(Collectors.toList());
+        if (codigos.isEmpty()) {
+            return ingressosPorCompra;
+        }
+
+        for (IngressoJpa ingressoJpa : ingressoJpaRepository.findDasComprasByQrCodeIn(codigos)) {
+            ingressosPorCompra.computeIfAbsent(new CompraId(ingressoJpa.getCompraId()), id -> new ArrayList<>())
+                    .add(mapeador.mapearParaIngresso(ingressoJpa));
+        }
+        return ingressosPorCompra;
+    }
+
+    @Override
+    public Map<CompraId, List<Ingresso>> buscarPaginaIngressosDoCliente(ClienteId clienteId, CompraId antesDe,
+                                                                       int limite, boolean somenteAtivos) {
+        if (clienteId == null) {
+            throw new IllegalArgumentException("O ID do cliente não pode ser nulo");
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite da página deve ser positivo");
+        }
+
+        Integer cursor = antesDe != null ? antesDe.getId() : Integer.MAX_VALUE;
+        List<IngressoJpa> ingressosJpa = somenteAtivos
+                ? ingressoJpaRepository.findPaginaAtivaDoCliente(clienteId.getId(), cursor, limite)
+                : ingressoJpaRepository.findPaginaDoCliente(clienteId.getId(), cursor, limite);
+
+        // A consulta já vem ordenada da compra mais recente para a mais antiga
+        Map<CompraId, List<Ingresso>> ingressosPorCompra = new LinkedHashMap<>();
+        for (IngressoJpa ingressoJpa : ingressosJpa) {
+            ingressosPorCompra.computeIfAbsent(new CompraId(ingressoJpa.getCompraId()), id -> new ArrayList<>())
+                    .add(mapeador.mapearParaIngresso(ingressoJpa));
+        }
+        return ingressosPorCompra;
+    }
+
+    @Override
+    @Transactional
+    public int expirarIngressosAtivosDaSessao(SessaoId sessaoId) {
+        if (sessaoId == null) {
+            throw new IllegalArgumentException("O id da sessão não pode ser nulo");
+        }
+        int expirados = ingressoJpaRepository.expirarAtivosDaSessao(sessaoId.getId());
+        if (expirados > 0) {
+            publicarIngressosAlterados(Set.of(sessaoId));
+        }
+        return expirados;
+    }
+
+    @Override
+    @Transactional
+    public int expirarIngressosAtivosDeSessoesIniciadas(Date desde, Date ate) {
+        if (desde == null || ate == null) {
+            throw new IllegalArgumentException("O intervalo não pode ser nulo");
+        }
+        if (!ate.after(desde)) {
+            return 0;
+        }
+        List<Integer> sessoesDosExpirados = ingressoJpaRepository.expirarAtivosDeSessoesIniciadasEntre(desde, ate);
+        publicarIngressosAlterados(sessoesDosExpirados.stream()
+                .map(SessaoId::new)
+                .collect(Collectors.toSet()));
+        return sessoesDosExpirados.size();
+    }
+
     @Override
     public List<Ingresso> buscarIngressosAtivos() {
         // Busca ingressos com status ATIVO e VALIDADO (para exibir em "Meus Ingressos")
@@ -299,5 +534,42 @@ public class CompraRepositorioJpa implements CompraRepositorio {
 
         return new CompraId(ingressoJpa.getCompraId());
     }
-}
 
+    @Override
+    public Map<IngressoId, CompraId> obterCompraIdsPorIngressos(Collection<IngressoId> ingressoIds) {
+        Map<IngressoId, CompraId> compras = new HashMap<>();
+        if (ingressoIds == null || ingressoIds.isEmpty()) {
+            return compras;
+        }
+        List<Integer> ids = ingressoIds.stream()
+                .map(IngressoId::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        for (IngressoJpa ingressoJpa : ingressoJpaRepository.findAllById(ids)) {
+            if (ingressoJpa.getCompraId() != null) {
+                compras.put(new IngressoId(ingressoJpa.getId()), new CompraId(ingressoJpa.getCompraId()));
+            }
+        }
+        return compras;
+    }
+
+    /**
+     * Avisa os observadores só depois do commit, para que leiam o estado já gravado.
+     */
+    private void publicarIngressosAlterados(Set<SessaoId> sessoes) {
+        if (sessoes.isEmpty()) {
+            return;
+        }
+        IngressosAlteradosEvento evento = new IngressosAlteradosEvento(sessoes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicadorEventos.publicar(evento);
+                }
+            });
+        } else {
+            publicadorEventos.publicar(evento);
+        }
+    }
+}
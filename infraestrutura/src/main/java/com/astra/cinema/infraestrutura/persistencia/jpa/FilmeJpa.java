@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -140,6 +141,18 @@ class FilmeRepositorioJpaImpl implements FilmeRepositorio {
                 .orElse(null);
     }
 
+    @Override
+    public List<Filme> listarPorIds(Collection<FilmeId> filmeIds) {
+        if (filmeIds == null || filmeIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> ids = filmeIds.stream().map(FilmeId::getId).distinct().toList();
+        return repository.findAllById(ids).stream()
+                .map(mapeador::mapearParaFilme)
+                .toList();
+    }
+
     @Override
     public List<Filme> listarFilmesEmCartaz() {
         return repository.findByStatus(StatusFilme.EM_CARTAZ).stream()
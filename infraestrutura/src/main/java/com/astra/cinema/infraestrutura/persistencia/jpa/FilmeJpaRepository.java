@@ -2,6 +2,7 @@ package com.astra.cinema.infraestrutura.persistencia.jpa;
 
 import com.astra.cinema.dominio.filme.StatusFilme;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +10,10 @@ import java.util.List;
 @Repository
 public interface FilmeJpaRepository extends JpaRepository<FilmeJpa, Integer> {
     List<FilmeJpa> findByStatus(StatusFilme status);
+
+    /**
+     * Maior duração (em minutos) entre os filmes cadastrados, resolvida pelo índice em duracao
+     */
+    @Query("SELECT COALESCE(MAX(f.duracao), 0) FROM FilmeJpa f")
+    int duracaoMaxima();
 }
@@ -10,8 +10,16 @@ import jakarta.persistence.*;
 @Table(name = "ingresso")
 public class IngressoJpa {
     
+    /**
+     * Ids da sequência ingresso_id_seq, reservados em blocos de 50 (V19) antes do persist
+     * (ver IngressoJpaRepository.reservarBlocosDeIds): o QR Code assinado, que leva o id,
+     * já entra no INSERT, e os ingressos de uma compra são inseridos em lote
+     * (hibernate.jdbc.batch_size). Precisa ser igual ao incremento da sequência: mudar
+     * um sem o outro (nova migração) faz blocos se sobreporem e repete ids.
+     */
+    static final int TAMANHO_BLOCO_IDS = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Integer id;
     
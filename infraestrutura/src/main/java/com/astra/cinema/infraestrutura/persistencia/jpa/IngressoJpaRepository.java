@@ -1,10 +1,13 @@
 package com.astra.cinema.infraestrutura.persistencia.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -25,5 +28,91 @@ public interface IngressoJpaRepository extends JpaRepository<IngressoJpa, Intege
            "WHERE c.clienteId = :clienteId AND i.status IN :statuses")
     List<IngressoJpa> findByClienteIdAndStatusIn(@Param("clienteId") Integer clienteId, 
                                                   @Param("statuses") List<String> statuses);
-}
 
+    /**
+     * Ingressos de várias sessões de uma vez (usa idx_ingresso_sessao_id)
+     */
+    List<IngressoJpa> findBySessaoIdIn(Collection<Integer> sessaoIds);
+
+    /**
+     * Todos os ingressos das compras que contêm algum dos QR Codes (busca pela chave única qr_code)
+     */
+    @Query("SELECT i FROM IngressoJpa i WHERE i.compraId IN " +
+           "(SELECT j.compraId FROM IngressoJpa j WHERE j.qrCode IN :qrCodes) ORDER BY i.compraId, i.id")
+    List<IngressoJpa> findDasComprasByQrCodeIn(@Param("qrCodes") Collection<String> qrCodes);
+
+    /**
+     * Todos os ingressos das compras do cliente, agrupáveis pela compra (usa idx_ingresso_compra_status)
+     */
+    @Query("SELECT i FROM IngressoJpa i JOIN CompraJpa c ON i.compraId = c.id " +
+           "WHERE c.clienteId = :clienteId ORDER BY i.compraId, i.id")
+    List<IngressoJpa> findDasComprasDoCliente(@Param("clienteId") Integer clienteId);
+
+    /**
+     * Ingressos das {@code limite} compras mais recentes do cliente com id menor que
+     * {@code antesDe} (paginação por chave em idx_compra_cliente_id)
+     */
+    @Query(value = "SELECT i.* FROM (" +
+                   "SELECT c.id FROM compra c WHERE c.cliente_id = :clienteId AND c.id < :antesDe " +
+                   "ORDER BY c.id DESC LIMIT :limite) p " +
+                   "JOIN ingresso i ON i.compra_id = p.id " +
+                   "ORDER BY i.compra_id DESC, i.id",
+           nativeQuery = true)
+    List<IngressoJpa> findPaginaDoCliente(@Param("clienteId") Integer clienteId,
+                                          @Param("antesDe") Integer antesDe,
+                                          @Param("limite") int limite);
+
+    /**
+     * Como {@link #findPaginaDoCliente}, mas só as compras com ingressos ATIVOS e só esses ingressos
+     */
+    @Query(value = "SELECT i.* FROM (" +
+                   "SELECT c.id FROM compra c WHERE c.cliente_id = :clienteId AND c.id < :antesDe " +
+                   "AND EXISTS (SELECT 1 FROM ingresso a WHERE a.compra_id = c.id AND a.status = 'ATIVO') " +
+                   "ORDER BY c.id DESC LIMIT :limite) p " +
+                   "JOIN ingresso i ON i.compra_id = p.id AND i.status = 'ATIVO' " +
+                   "ORDER BY i.compra_id DESC, i.id",
+           nativeQuery = true)
+    List<IngressoJpa> findPaginaAtivaDoCliente(@Param("clienteId") Integer clienteId,
+                                               @Param("antesDe") Integer antesDe,
+                                               @Param("limite") int limite);
+
+    @Query("SELECT DISTINCT i.sessaoId FROM IngressoJpa i WHERE i.id IN :ids")
+    List<Integer> findSessaoIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Muda o status só dos ingressos que ainda estão no status esperado
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IngressoJpa i SET i.status = :novoStatus WHERE i.id IN :ids AND i.status = :statusAtual")
+    int atualizarStatus(@Param("ids") Collection<Integer> ids,
+                        @Param("statusAtual") String statusAtual,
+                        @Param("novoStatus") String novoStatus);
+
+    /**
+     * Expira os ingressos ativos de uma sessão
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IngressoJpa i SET i.status = 'EXPIRADO' WHERE i.sessaoId = :sessaoId AND i.status = 'ATIVO'")
+    int expirarAtivosDaSessao(@Param("sessaoId") Integer sessaoId);
+
+    /**
+     * Expira os ingressos ativos das sessões não canceladas que começaram em (desde, ate].
+     * Retorna a sessão de cada ingresso expirado (UPDATE ... RETURNING em uma CTE).
+     */
+    @Query(value = "WITH expirados AS (" +
+                   "UPDATE ingresso i SET status = 'EXPIRADO' FROM sessao s " +
+                   "WHERE i.sessao_id = s.id AND i.status = 'ATIVO' AND s.status <> 'CANCELADA' " +
+                   "AND s.horario > :desde AND s.horario <= :ate " +
+                   "RETURNING i.sessao_id) " +
+                   "SELECT sessao_id FROM expirados",
+           nativeQuery = true)
+    List<Integer> expirarAtivosDeSessoesIniciadasEntre(@Param("desde") Date desde, @Param("ate") Date ate);
+
+    /**
+     * Reserva blocos de ids de ingresso em uma única ida ao banco. Com a sequência
+     * incrementando de {@value IngressoJpa#TAMANHO_BLOCO_IDS} (V19), cada valor {@code v}
+     * devolvido reserva os ids de {@code v - TAMANHO_BLOCO_IDS + 1} a {@code v}.
+     */
+    @Query(value = "SELECT nextval('ingresso_id_seq') FROM generate_series(1, :blocos)", nativeQuery = true)
+    List<Long> reservarBlocosDeIds(@Param("blocos") int blocos);
+}
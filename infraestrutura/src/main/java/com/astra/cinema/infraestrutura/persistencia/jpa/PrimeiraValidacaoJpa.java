@@ -0,0 +1,49 @@
+package com.astra.cinema.infraestrutura.persistencia.jpa;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+/**
+ * Entidade JPA para a primeira validação de cada ingresso.
+ * A chave primária no ingresso garante uma única primeira validação, mesmo com várias instâncias.
+ */
+@Entity
+@Table(name = "INGRESSO_PRIMEIRA_VALIDACAO")
+public class PrimeiraValidacaoJpa {
+
+    @Id
+    @Column(name = "ingresso_id")
+    private Integer ingressoId;
+
+    @Column(name = "sessao_id", nullable = false)
+    private Integer sessaoId;
+
+    @Column(name = "validado_em", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date validadoEm;
+
+    // Getters e Setters
+    public Integer getIngressoId() {
+        return ingressoId;
+    }
+
+    public void setIngressoId(Integer ingressoId) {
+        this.ingressoId = ingressoId;
+    }
+
+    public Integer getSessaoId() {
+        return sessaoId;
+    }
+
+    public void setSessaoId(Integer sessaoId) {
+        this.sessaoId = sessaoId;
+    }
+
+    public Date getValidadoEm() {
+        return validadoEm;
+    }
+
+    public void setValidadoEm(Date validadoEm) {
+        this.validadoEm = validadoEm;
+    }
+}
@@ -0,0 +1,20 @@
+package com.astra.cinema.infraestrutura.persistencia.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PrimeiraValidacaoJpaRepository extends JpaRepository<PrimeiraValidacaoJpa, Integer> {
+
+    /**
+     * Insere a primeira validação; se o ingresso já tem uma, não faz nada e retorna 0
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ingresso_primeira_validacao (ingresso_id, sessao_id, validado_em) " +
+                   "VALUES (:ingressoId, :sessaoId, NOW()) ON CONFLICT (ingresso_id) DO NOTHING",
+           nativeQuery = true)
+    int inserirSeAusente(@Param("ingressoId") Integer ingressoId, @Param("sessaoId") Integer sessaoId);
+}
@@ -0,0 +1,27 @@
+package com.astra.cinema.infraestrutura.persistencia.jpa;
+
+import com.astra.cinema.dominio.comum.IngressoId;
+import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.validacao.PrimeiraValidacaoRepositorio;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class PrimeiraValidacaoRepositorioJpa implements PrimeiraValidacaoRepositorio {
+
+    private final PrimeiraValidacaoJpaRepository jpaRepository;
+
+    public PrimeiraValidacaoRepositorioJpa(PrimeiraValidacaoJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    @Transactional
+    public boolean registrar(IngressoId ingressoId, SessaoId sessaoId) {
+        if (ingressoId == null || sessaoId == null) {
+            throw new IllegalArgumentException("O ingresso e a sessão não podem ser nulos");
+        }
+        // ON CONFLICT evita a exceção (e o rollback) quando outra instância já registrou
+        return jpaRepository.inserirSeAusente(ingressoId.getId(), sessaoId.getId()) == 1;
+    }
+}
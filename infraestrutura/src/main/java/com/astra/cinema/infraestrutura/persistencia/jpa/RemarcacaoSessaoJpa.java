@@ -12,7 +12,8 @@ import java.util.Date;
 public class RemarcacaoSessaoJpa {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "remarcacao_sessao_id_seq")
+    @SequenceGenerator(name = "remarcacao_sessao_id_seq", sequenceName = "remarcacao_sessao_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "ingresso_id", nullable = false)
@@ -3,6 +3,7 @@ package com.astra.cinema.infraestrutura.persistencia.jpa;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,5 +13,7 @@ public interface RemarcacaoSessaoJpaRepository extends JpaRepository<RemarcacaoS
 
     List<RemarcacaoSessaoJpa> findByIngressoId(Integer ingressoId);
 
+    List<RemarcacaoSessaoJpa> findByIngressoIdIn(Collection<Integer> ingressoIds);
+
     List<RemarcacaoSessaoJpa> findAllByOrderByDataHoraRemarcacaoDesc();
 }
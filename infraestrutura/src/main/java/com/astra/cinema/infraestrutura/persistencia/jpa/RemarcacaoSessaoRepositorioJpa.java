@@ -5,6 +5,7 @@ import com.astra.cinema.dominio.operacao.RemarcacaoSessao;
 import com.astra.cinema.dominio.operacao.RemarcacaoSessaoRepositorio;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -25,6 +26,16 @@ public class RemarcacaoSessaoRepositorioJpa implements RemarcacaoSessaoRepositor
         return paraDominio(salvo);
     }
 
+    @Override
+    public void salvarTodas(List<RemarcacaoSessao> remarcacoes) {
+        if (remarcacoes == null || remarcacoes.isEmpty()) {
+            return;
+        }
+        jpaRepository.saveAll(remarcacoes.stream()
+                .map(this::paraJpa)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public Optional<RemarcacaoSessao> buscarPorId(RemarcacaoId id) {
         return jpaRepository.findById(id.getValor())
@@ -47,6 +58,21 @@ public class RemarcacaoSessaoRepositorioJpa implements RemarcacaoSessaoRepositor
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<RemarcacaoSessao> listarPorIngressos(Collection<IngressoId> ingressoIds) {
+        if (ingressoIds == null || ingressoIds.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> ids = ingressoIds.stream()
+                .map(IngressoId::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        return jpaRepository.findByIngressoIdIn(ids)
+                .stream()
+                .map(this::paraDominio)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<RemarcacaoSessao> listarTodas() {
         return jpaRepository.findAllByOrderByDataHoraRemarcacaoDesc()
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -109,6 +110,18 @@ class SalaRepositorioJpa implements SalaRepositorio {
                 .orElse(null);
     }
 
+    @Override
+    public List<Sala> listarPorIds(Collection<SalaId> salaIds) {
+        if (salaIds == null || salaIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> ids = salaIds.stream().map(SalaId::getId).distinct().toList();
+        return repository.findAllById(ids).stream()
+                .map(this::mapearParaDominio)
+                .toList();
+    }
+
     @Override
     public Sala obterPorNome(String nome) {
         if (nome == null || nome.isBlank()) {
@@ -3,17 +3,26 @@ package com.astra.cinema.infraestrutura.persistencia.jpa;
 import com.astra.cinema.dominio.comum.FilmeId;
 import com.astra.cinema.dominio.comum.SalaId;
 import com.astra.cinema.dominio.comum.SessaoId;
+import com.astra.cinema.dominio.eventos.AssentosSessaoAlteradosEvento;
+import com.astra.cinema.dominio.eventos.PublicadorEventos;
+import com.astra.cinema.dominio.sessao.MapaAssentos;
+import com.astra.cinema.dominio.sessao.ResumoSessao;
 import com.astra.cinema.dominio.sessao.Sessao;
 import com.astra.cinema.dominio.sessao.SessaoRepositorio;
 import com.astra.cinema.dominio.sessao.StatusSessao;
 import jakarta.persistence.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Entidade JPA para Sessão
@@ -36,15 +45,40 @@ class SessaoJpa {
     @Column(nullable = false)
     private StatusSessao status;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sala_id", nullable = false)
     private SalaJpa sala;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "SESSAO_ASSENTO", joinColumns = @JoinColumn(name = "sessao_id"))
-    @MapKeyColumn(name = "assento_id")
-    @Column(name = "disponivel")
-    private Map<String, Boolean> assentosDisponiveis = new HashMap<>();
+    /**
+     * Estado dos assentos compactado: um bit por assento, indexado pelo ordinal
+     * do assento no layout (1 = disponível). Ver MapaAssentos#paraBitmap().
+     */
+    @Column(name = "assentos_bitmap", nullable = false)
+    private byte[] assentosBitmap = new byte[0];
+
+    @Column(name = "assentos_total", nullable = false)
+    private Integer assentosTotal = 0;
+
+    /**
+     * Códigos dos assentos separados por vírgula, na ordem dos ordinais.
+     * Nulo quando o layout é o padrão da capacidade (A1..A10, B1...).
+     */
+    @Column(name = "assentos_layout", columnDefinition = "TEXT")
+    private String assentosLayout;
+
+    /**
+     * Contadores de ocupação gravados junto com o bitmap, para listagens
+     * e indicadores não precisarem ler o estado dos assentos.
+     */
+    @Column(name = "assentos_disponiveis", nullable = false)
+    private Integer assentosDisponiveis = 0;
+
+    @Column(name = "assentos_ocupados", nullable = false)
+    private Integer assentosOcupados = 0;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Integer versao;
 
     // Getters e Setters
     public Integer getId() {
@@ -87,13 +121,53 @@ class SessaoJpa {
         this.sala = sala;
     }
 
-    public Map<String, Boolean> getAssentosDisponiveis() {
+    public byte[] getAssentosBitmap() {
+        return assentosBitmap;
+    }
+
+    public void setAssentosBitmap(byte[] assentosBitmap) {
+        this.assentosBitmap = assentosBitmap;
+    }
+
+    public Integer getAssentosTotal() {
+        return assentosTotal;
+    }
+
+    public void setAssentosTotal(Integer assentosTotal) {
+        this.assentosTotal = assentosTotal;
+    }
+
+    public String getAssentosLayout() {
+        return assentosLayout;
+    }
+
+    public void setAssentosLayout(String assentosLayout) {
+        this.assentosLayout = assentosLayout;
+    }
+
+    public Integer getAssentosDisponiveis() {
         return assentosDisponiveis;
     }
 
-    public void setAssentosDisponiveis(Map<String, Boolean> assentosDisponiveis) {
+    public void setAssentosDisponiveis(Integer assentosDisponiveis) {
         this.assentosDisponiveis = assentosDisponiveis;
     }
+
+    public Integer getAssentosOcupados() {
+        return assentosOcupados;
+    }
+
+    public void setAssentosOcupados(Integer assentosOcupados) {
+        this.assentosOcupados = assentosOcupados;
+    }
+
+    public Integer getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Integer versao) {
+        this.versao = versao;
+    }
 }
 
 /**
@@ -102,6 +176,11 @@ class SessaoJpa {
  */
 @Repository
 class SessaoRepositorioJpaImpl implements SessaoRepositorio {
+
+    /**
+     * Novas tentativas de alterarAssentos quando outra operação grava a sessão primeiro
+     */
+    private static final int MAX_TENTATIVAS_CONCORRENCIA = 5;
     
     @Autowired
     private SessaoJpaRepository repository;
@@ -109,10 +188,17 @@ class SessaoRepositorioJpaImpl implements SessaoRepositorio {
     @Autowired
     private SalaJpaRepository salaRepository;
 
+    @Autowired
+    private FilmeJpaRepository filmeRepository;
+
     @Autowired
     private CinemaMapeador mapeador;
 
+    @Autowired
+    private PublicadorEventos publicadorEventos;
+
     @Override
+    @Transactional
     public Sessao salvar(Sessao sessao) {
         if (sessao == null) {
             throw new IllegalArgumentException("A sessão não pode ser nula");
@@ -122,33 +208,24 @@ class SessaoRepositorioJpaImpl implements SessaoRepositorio {
         SalaJpa sala = salaRepository.findById(sessao.getSalaId().getId())
             .orElseThrow(() -> new IllegalArgumentException("Sala não encontrada: " + sessao.getSalaId().getId()));
         
-        SessaoJpa sessaoJpa;
+        SessaoJpa sessaoSalva;
         
-        // Se a sessão já existe, busca do banco para manter o contexto JPA
         if (sessao.getSessaoId() != null && sessao.getSessaoId().getId() > 0) {
-            sessaoJpa = repository.findById(sessao.getSessaoId().getId())
-                    .orElse(new SessaoJpa());
-            
-            // Atualiza os campos da entidade existente
-            sessaoJpa.setFilmeId(sessao.getFilmeId().getId());
-            sessaoJpa.setHorario(sessao.getHorario());
-            sessaoJpa.setStatus(sessao.getStatus());
-            sessaoJpa.setSala(sala);
-            
-            // IMPORTANTE: Limpa o mapa antigo e adiciona o novo
-            sessaoJpa.getAssentosDisponiveis().clear();
-            Map<String, Boolean> assentosJpa = sessao.getMapaAssentosDisponiveis().entrySet().stream()
-                    .collect(java.util.stream.Collectors.toMap(
-                        entry -> entry.getKey().getValor(),
-                        java.util.Map.Entry::getValue
-                    ));
-            sessaoJpa.getAssentosDisponiveis().putAll(assentosJpa);
+            // Sessão existente: só filme, horário e sala. Assentos e status mudam por alterarAssentos,
+            // que grava condicionado à versão; copiar aqui o mapa lido pelo chamador desfaria
+            // reservas gravadas nesse meio tempo
+            int linhasAtualizadas = repository.atualizarDados(sessao.getSessaoId().getId(),
+                    sessao.getFilmeId().getId(), sessao.getHorario(), sala);
+            if (linhasAtualizadas == 0) {
+                throw new IllegalArgumentException("Sessão não encontrada");
+            }
+            sessaoSalva = repository.findById(sessao.getSessaoId().getId())
+                    .orElseThrow(() -> new IllegalArgumentException("Sessão não encontrada"));
         } else {
             // Nova sessão - usa o mapeador normalmente
-            sessaoJpa = mapeador.mapearParaSessaoJpa(sessao, sala);
+            sessaoSalva = repository.save(mapeador.mapearParaSessaoJpa(sessao, sala));
         }
-        
-        SessaoJpa sessaoSalva = repository.save(sessaoJpa);
+        publicarAssentosAlterados(new SessaoId(sessaoSalva.getId()));
         
         // Retorna a sessão com o ID gerado pelo banco
         return mapeador.mapearParaSessao(sessaoSalva);
@@ -165,6 +242,104 @@ class SessaoRepositorioJpaImpl implements SessaoRepositorio {
                 .orElse(null);
     }
 
+    @Override
+    @Transactional
+    public Sessao alterarAssentos(SessaoId sessaoId, Consumer<Sessao> alteracao) {
+        if (sessaoId == null) {
+            throw new IllegalArgumentException("O id da sessão não pode ser nulo");
+        }
+        if (alteracao == null) {
+            throw new IllegalArgumentException("A alteração não pode ser nula");
+        }
+
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS_CONCORRENCIA; tentativa++) {
+            SessaoJpa atual = repository.findById(sessaoId.getId())
+                    .orElseThrow(() -> new IllegalArgumentException("Sessão não encontrada"));
+
+            // Aplica as regras de domínio sobre uma cópia desanexada do estado lido
+            Sessao sessao = mapeador.mapearParaSessao(atual);
+            alteracao.accept(sessao);
+
+            // Um único UPDATE por lote de assentos (bitmap e contadores), condicionado à versão lida
+            MapaAssentos mapa = sessao.getMapaAssentos();
+            int linhasAtualizadas = repository.atualizarAssentosSeVersao(
+                    atual.getId(),
+                    mapa.paraBitmap(),
+                    mapa.contarDisponiveis(),
+                    mapa.contarOcupados(),
+                    sessao.getStatus(),
+                    atual.getVersao());
+
+            if (linhasAtualizadas == 1) {
+                publicarAssentosAlterados(sessaoId);
+                return sessao;
+            }
+            // Outra operação gravou antes: o contexto foi limpo pelo update, relê e reaplica
+        }
+
+        throw new IllegalStateException("A sessão está sendo alterada por outras compras no momento. Tente novamente.");
+    }
+
+    @Override
+    @Transactional
+    public Map<SessaoId, Sessao> alterarAssentosEmLote(Collection<SessaoId> sessaoIds,
+                                                      Consumer<Map<SessaoId, Sessao>> alteracao) {
+        if (sessaoIds == null || sessaoIds.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma sessão");
+        }
+        if (alteracao == null) {
+            throw new IllegalArgumentException("A alteração não pode ser nula");
+        }
+
+        List<Integer> ids = sessaoIds.stream()
+                .map(SessaoId::getId)
+                .distinct()
+                .sorted()
+                .toList();
+        List<SessaoJpa> bloqueadas = repository.bloquearPorIds(ids);
+        if (bloqueadas.size() != ids.size()) {
+            throw new IllegalArgumentException("Sessão não encontrada");
+        }
+
+        // Com as linhas bloqueadas, as regras de domínio são aplicadas em memória sobre todas
+        Map<SessaoId, Sessao> sessoes = new LinkedHashMap<>();
+        for (SessaoJpa sessaoJpa : bloqueadas) {
+            sessoes.put(new SessaoId(sessaoJpa.getId()), mapeador.mapearParaSessao(sessaoJpa));
+        }
+        alteracao.accept(sessoes);
+
+        // As entidades gerenciadas são atualizadas e gravadas no flush (UPDATEs em lote JDBC).
+        // O @Version avança nas alteradas, e alterarAssentos concorrente relê o estado.
+        for (SessaoJpa sessaoJpa : bloqueadas) {
+            Sessao sessao = sessoes.get(new SessaoId(sessaoJpa.getId()));
+            mapeador.aplicarAssentos(sessaoJpa, sessao.getMapaAssentos());
+            sessaoJpa.setStatus(sessao.getStatus());
+        }
+        repository.flush();
+
+        for (SessaoId sessaoId : sessoes.keySet()) {
+            publicarAssentosAlterados(sessaoId);
+        }
+        return sessoes;
+    }
+
+    /**
+     * Avisa os observadores só depois do commit, para que leiam o estado já gravado.
+     */
+    private void publicarAssentosAlterados(SessaoId sessaoId) {
+        AssentosSessaoAlteradosEvento evento = new AssentosSessaoAlteradosEvento(sessaoId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicadorEventos.publicar(evento);
+                }
+            });
+        } else {
+            publicadorEventos.publicar(evento);
+        }
+    }
+
     @Override
     public List<Sessao> buscarPorFilme(FilmeId filmeId) {
         if (filmeId == null) {
@@ -198,28 +373,114 @@ class SessaoRepositorioJpaImpl implements SessaoRepositorio {
     }
 
     @Override
-    public boolean existeConflitoHorario(SalaId salaId, Date horario, SessaoId sessaoIdExcluir) {
-        if (salaId == null || horario == null) {
-            return false;
+    public List<ResumoSessao> listarResumos() {
+        return repository.listarResumos().stream()
+                .map(this::mapearResumo)
+                .toList();
+    }
+
+    @Override
+    public ResumoSessao obterResumo(SessaoId sessaoId) {
+        if (sessaoId == null) {
+            throw new IllegalArgumentException("O id da sessão não pode ser nulo");
+        }
+
+        return repository.obterResumo(sessaoId.getId())
+                .map(this::mapearResumo)
+                .orElse(null);
+    }
+
+    @Override
+    public List<ResumoSessao> buscarResumosPorIds(Collection<SessaoId> sessaoIds) {
+        if (sessaoIds == null || sessaoIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> ids = sessaoIds.stream()
+                .map(SessaoId::getId)
+                .distinct()
+                .toList();
+        return repository.listarResumosPorIds(ids).stream()
+                .map(this::mapearResumo)
+                .toList();
+    }
+
+    @Override
+    public List<ResumoSessao> buscarResumosPorFilme(FilmeId filmeId) {
+        if (filmeId == null) {
+            throw new IllegalArgumentException("O id do filme não pode ser nulo");
+        }
+
+        return repository.listarResumosPorFilme(filmeId.getId()).stream()
+                .map(this::mapearResumo)
+                .toList();
+    }
+
+    @Override
+    public List<ResumoSessao> buscarResumosPorSala(SalaId salaId) {
+        if (salaId == null) {
+            throw new IllegalArgumentException("O id da sala não pode ser nulo");
+        }
+
+        return repository.listarResumosPorSala(salaId.getId()).stream()
+                .map(this::mapearResumo)
+                .toList();
+    }
+
+    @Override
+    public List<ResumoSessao> buscarResumosPorPeriodo(Date inicio, Date fim) {
+        if (inicio == null || fim == null) {
+            throw new IllegalArgumentException("O início e o fim do período não podem ser nulos");
+        }
+
+        return repository.listarResumosPorPeriodo(inicio, fim).stream()
+                .map(this::mapearResumo)
+                .toList();
+    }
+
+    @Override
+    public List<ResumoSessao> buscarResumosPorStatus(Collection<StatusSessao> status) {
+        if (status == null || status.isEmpty()) {
+            return List.of();
         }
 
-        // Buscar todas as sessões da sala
-        List<SessaoJpa> sessoesNaSala = repository.findAll().stream()
-                .filter(s -> s.getSala() != null && s.getSala().getId().equals(salaId.getId()))
-                .filter(s -> !s.getStatus().equals(StatusSessao.CANCELADA))
+        return repository.listarResumosPorStatus(status).stream()
+                .map(this::mapearResumo)
                 .toList();
+    }
+
+    private ResumoSessao mapearResumo(SessaoJpaRepository.ResumoSessaoJpa resumo) {
+        return new ResumoSessao(
+                new SessaoId(resumo.getId()),
+                new FilmeId(resumo.getFilmeId()),
+                new SalaId(resumo.getSalaId()),
+                resumo.getHorario(),
+                resumo.getStatus(),
+                resumo.getAssentosTotal(),
+                resumo.getAssentosDisponiveis(),
+                resumo.getAssentosOcupados());
+    }
+
+    @Override
+    public boolean existeConflitoHorario(SalaId salaId, Date inicio, Date fim, SessaoId sessaoIdExcluir) {
+        if (salaId == null || inicio == null || fim == null) {
+            return false;
+        }
 
-        // Verificar conflito de horário (considera margem de 30 minutos antes e depois)
-        long margemMs = 30 * 60 * 1000; // 30 minutos em milissegundos
+        // Só sessões que começam a menos de uma duração máxima antes do início podem sobrepor:
+        // range scan em (sala_id, horario) em vez de ler todas as sessões
+        long duracaoMaximaMs = filmeRepository.duracaoMaxima() * 60_000L;
+        Date inicioBusca = new Date(inicio.getTime() - duracaoMaximaMs);
 
-        for (SessaoJpa sessao : sessoesNaSala) {
+        for (SessaoJpaRepository.OcupacaoSalaJpa ocupacao : repository.listarOcupacoesSala(
+                salaId.getId(), inicioBusca, fim, StatusSessao.CANCELADA)) {
             // Pular a própria sessão se estiver editando
-            if (sessaoIdExcluir != null && sessao.getId().equals(sessaoIdExcluir.getId())) {
+            if (sessaoIdExcluir != null && ocupacao.getId().equals(sessaoIdExcluir.getId())) {
                 continue;
             }
 
-            long diferencaMs = Math.abs(horario.getTime() - sessao.getHorario().getTime());
-            if (diferencaMs < margemMs) {
+            long fimExistente = ocupacao.getHorario().getTime() + ocupacao.getDuracao() * 60_000L;
+            if (fimExistente > inicio.getTime()) {
                 return true; // Conflito detectado
             }
         }
@@ -1,20 +1,124 @@
 package com.astra.cinema.infraestrutura.persistencia.jpa;
 
+import com.astra.cinema.dominio.sessao.StatusSessao;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface Spring Data JPA para Sessão
  */
 @Repository
 public interface SessaoJpaRepository extends JpaRepository<SessaoJpa, Integer> {
+
+    /**
+     * Projeção com as colunas escalares da sessão: não lê o bitmap nem carrega a sala
+     */
+    interface ResumoSessaoJpa {
+        Integer getId();
+        Integer getFilmeId();
+        Integer getSalaId();
+        Date getHorario();
+        StatusSessao getStatus();
+        Integer getAssentosTotal();
+        Integer getAssentosDisponiveis();
+        Integer getAssentosOcupados();
+    }
+
+    String SELECT_RESUMO = "SELECT s.id AS id, s.filmeId AS filmeId, s.sala.id AS salaId, s.horario AS horario, " +
+            "s.status AS status, s.assentosTotal AS assentosTotal, " +
+            "s.assentosDisponiveis AS assentosDisponiveis, s.assentosOcupados AS assentosOcupados " +
+            "FROM SessaoJpa s ";
+
+    /**
+     * Início e duração (do filme) de uma sessão, para verificar sobreposição na sala
+     */
+    interface OcupacaoSalaJpa {
+        Integer getId();
+        Date getHorario();
+        Integer getDuracao();
+    }
+
     List<SessaoJpa> findByFilmeId(Integer filmeId);
 
+    @Query(SELECT_RESUMO + "ORDER BY s.horario")
+    List<ResumoSessaoJpa> listarResumos();
+
+    @Query(SELECT_RESUMO + "WHERE s.id = :id")
+    Optional<ResumoSessaoJpa> obterResumo(@Param("id") Integer id);
+
+    @Query(SELECT_RESUMO + "WHERE s.id IN :ids")
+    List<ResumoSessaoJpa> listarResumosPorIds(@Param("ids") Collection<Integer> ids);
+
+    @Query(SELECT_RESUMO + "WHERE s.filmeId = :filmeId ORDER BY s.horario")
+    List<ResumoSessaoJpa> listarResumosPorFilme(@Param("filmeId") Integer filmeId);
+
+    @Query(SELECT_RESUMO + "WHERE s.sala.id = :salaId ORDER BY s.horario")
+    List<ResumoSessaoJpa> listarResumosPorSala(@Param("salaId") Integer salaId);
+
+    @Query(SELECT_RESUMO + "WHERE s.horario >= :inicio AND s.horario < :fim ORDER BY s.horario")
+    List<ResumoSessaoJpa> listarResumosPorPeriodo(@Param("inicio") Date inicio, @Param("fim") Date fim);
+
+    @Query(SELECT_RESUMO + "WHERE s.status IN :status ORDER BY s.horario")
+    List<ResumoSessaoJpa> listarResumosPorStatus(@Param("status") Collection<StatusSessao> status);
+
     @Query("SELECT s FROM SessaoJpa s WHERE s.filmeId = :filmeId AND s.horario > :dataAtual")
     List<SessaoJpa> findSessoesFuturasPorFilme(@Param("filmeId") Integer filmeId, @Param("dataAtual") Date dataAtual);
+
+    /**
+     * Sessões da sala que começam em [inicioBusca, fim), com a duração do filme.
+     * Usa o índice (sala_id, horario). Uma sessão cujo filme não é encontrado continua
+     * ocupando a sala, com duração 0.
+     */
+    @Query("SELECT s.id AS id, s.horario AS horario, COALESCE(f.duracao, 0) AS duracao " +
+           "FROM SessaoJpa s LEFT JOIN FilmeJpa f ON f.id = s.filmeId " +
+           "WHERE s.sala.id = :salaId AND s.status <> :statusIgnorado " +
+           "AND s.horario >= :inicioBusca AND s.horario < :fim")
+    List<OcupacaoSalaJpa> listarOcupacoesSala(@Param("salaId") Integer salaId,
+                                              @Param("inicioBusca") Date inicioBusca,
+                                              @Param("fim") Date fim,
+                                              @Param("statusIgnorado") StatusSessao statusIgnorado);
+
+    /**
+     * Lê e bloqueia (SELECT ... FOR UPDATE) as sessões, sempre na ordem dos ids
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SessaoJpa s WHERE s.id IN :ids ORDER BY s.id")
+    List<SessaoJpa> bloquearPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Grava o estado dos assentos apenas se a sessão ainda estiver na versão lida.
+     * Retorna 0 quando outra operação alterou a sessão nesse meio tempo.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SessaoJpa s SET s.assentosBitmap = :bitmap, s.assentosDisponiveis = :disponiveis, " +
+           "s.assentosOcupados = :ocupados, s.status = :status, s.versao = s.versao + 1 " +
+           "WHERE s.id = :id AND s.versao = :versao")
+    int atualizarAssentosSeVersao(@Param("id") Integer id,
+                                  @Param("bitmap") byte[] bitmap,
+                                  @Param("disponiveis") Integer disponiveis,
+                                  @Param("ocupados") Integer ocupados,
+                                  @Param("status") StatusSessao status,
+                                  @Param("versao") Integer versao);
+
+    /**
+     * Grava só os dados da sessão (filme, horário e sala), sem tocar nos assentos e no status.
+     * A versão avança, então um alterarAssentos concorrente relê a sessão antes de gravar.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SessaoJpa s SET s.filmeId = :filmeId, s.horario = :horario, s.sala = :sala, " +
+           "s.versao = s.versao + 1 WHERE s.id = :id")
+    int atualizarDados(@Param("id") Integer id,
+                       @Param("filmeId") Integer filmeId,
+                       @Param("horario") Date horario,
+                       @Param("sala") SalaJpa sala);
 }
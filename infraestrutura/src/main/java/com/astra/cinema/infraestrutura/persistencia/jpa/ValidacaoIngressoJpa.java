@@ -12,7 +12,8 @@ import java.util.Date;
 public class ValidacaoIngressoJpa {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "validacao_ingresso_id_seq")
+    @SequenceGenerator(name = "validacao_ingresso_id_seq", sequenceName = "validacao_ingresso_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "ingresso_id", nullable = false)
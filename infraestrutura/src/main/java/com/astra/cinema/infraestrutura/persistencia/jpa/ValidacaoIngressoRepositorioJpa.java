@@ -1,11 +1,19 @@
 package com.astra.cinema.infraestrutura.persistencia.jpa;
 
 import com.astra.cinema.dominio.comum.*;
+import com.astra.cinema.dominio.operacao.FiltroValidacoes;
+import com.astra.cinema.dominio.operacao.ResumoValidacoes;
 import com.astra.cinema.dominio.operacao.ValidacaoIngresso;
 import com.astra.cinema.dominio.operacao.ValidacaoIngressoRepositorio;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -14,6 +22,9 @@ public class ValidacaoIngressoRepositorioJpa implements ValidacaoIngressoReposit
 
     private final ValidacaoIngressoJpaRepository jpaRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public ValidacaoIngressoRepositorioJpa(ValidacaoIngressoJpaRepository jpaRepository) {
         this.jpaRepository = jpaRepository;
     }
@@ -25,6 +36,16 @@ public class ValidacaoIngressoRepositorioJpa implements ValidacaoIngressoReposit
         return paraDominio(salvo);
     }
 
+    @Override
+    public void salvarTodas(List<ValidacaoIngresso> validacoes) {
+        if (validacoes == null || validacoes.isEmpty()) {
+            return;
+        }
+        jpaRepository.saveAll(validacoes.stream()
+                .map(this::paraJpa)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public Optional<ValidacaoIngresso> buscarPorId(ValidacaoIngressoId id) {
         return jpaRepository.findById(id.getValor())
@@ -55,6 +76,95 @@ public class ValidacaoIngressoRepositorioJpa implements ValidacaoIngressoReposit
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ValidacaoIngresso> buscarPagina(FiltroValidacoes filtro, ValidacaoIngressoId antesDe, int limite) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("O filtro não pode ser nulo");
+        }
+        if (limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        List<String> condicoes = condicoes(filtro, parametros);
+        if (antesDe != null) {
+            ValidacaoIngressoJpa ultima = jpaRepository.findById(antesDe.getValor())
+                    .orElseThrow(() -> new IllegalArgumentException("Validação de referência da página não encontrada"));
+            // Keyset em (data_hora_validacao, id): continua do ponto onde a página anterior parou,
+            // percorrendo idx_validacao_data_hora sem OFFSET
+            condicoes.add("(v.dataHoraValidacao < :ultimaData " +
+                    "OR (v.dataHoraValidacao = :ultimaData AND v.id < :ultimoId))");
+            parametros.put("ultimaData", ultima.getDataHoraValidacao());
+            parametros.put("ultimoId", ultima.getId());
+        }
+
+        TypedQuery<ValidacaoIngressoJpa> query = entityManager.createQuery(
+                "SELECT v FROM ValidacaoIngressoJpa v" + juncao(filtro) + onde(condicoes) +
+                " ORDER BY v.dataHoraValidacao DESC, v.id DESC", ValidacaoIngressoJpa.class);
+        parametros.forEach(query::setParameter);
+        return query.setMaxResults(limite)
+                .getResultList()
+                .stream()
+                .map(this::paraDominio)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ResumoValidacoes resumir(FiltroValidacoes filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("O filtro não pode ser nulo");
+        }
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        List<String> condicoes = condicoes(filtro, parametros);
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT COUNT(v), SUM(CASE WHEN v.sucesso = true THEN 1 ELSE 0 END) " +
+                "FROM ValidacaoIngressoJpa v" + juncao(filtro) + onde(condicoes), Object[].class);
+        parametros.forEach(query::setParameter);
+
+        Object[] totais = query.getSingleResult();
+        // SUM devolve null quando nenhuma validação atende ao filtro
+        long total = totais[0] != null ? ((Number) totais[0]).longValue() : 0;
+        long sucessos = totais[1] != null ? ((Number) totais[1]).longValue() : 0;
+        return new ResumoValidacoes(total, sucessos);
+    }
+
+    /**
+     * A validação não guarda a sessão; o filtro por sessão usa a sessão atual do ingresso.
+     */
+    private String juncao(FiltroValidacoes filtro) {
+        return filtro.getSessaoId() != null ? " JOIN IngressoJpa i ON i.id = v.ingressoId" : "";
+    }
+
+    private List<String> condicoes(FiltroValidacoes filtro, Map<String, Object> parametros) {
+        List<String> condicoes = new ArrayList<>();
+        if (filtro.getFuncionarioId() != null) {
+            condicoes.add("v.funcionarioId = :funcionarioId");
+            parametros.put("funcionarioId", filtro.getFuncionarioId().getValor());
+        }
+        if (filtro.getSessaoId() != null) {
+            condicoes.add("i.sessaoId = :sessaoId");
+            parametros.put("sessaoId", filtro.getSessaoId().getId());
+        }
+        if (filtro.getInicio() != null) {
+            condicoes.add("v.dataHoraValidacao >= :inicio");
+            parametros.put("inicio", filtro.getInicio());
+        }
+        if (filtro.getFim() != null) {
+            condicoes.add("v.dataHoraValidacao < :fim");
+            parametros.put("fim", filtro.getFim());
+        }
+        if (filtro.getSucesso() != null) {
+            condicoes.add("v.sucesso = :sucesso");
+            parametros.put("sucesso", filtro.getSucesso());
+        }
+        return condicoes;
+    }
+
+    private String onde(List<String> condicoes) {
+        return condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes);
+    }
+
     private ValidacaoIngressoJpa paraJpa(ValidacaoIngresso validacao) {
         ValidacaoIngressoJpa jpa = new ValidacaoIngressoJpa();
         if (validacao.getValidacaoId() != null) {
@@ -3,6 +3,7 @@ package com.astra.cinema.infraestrutura.persistencia.jpa;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,5 +13,6 @@ import java.util.List;
 public interface VendaJpaRepository extends JpaRepository<VendaJpa, Integer> {
     List<VendaJpa> findByStatus(String status);
     List<VendaJpa> findByCompraId(Integer compraId);
+    List<VendaJpa> findByCompraIdIn(Collection<Integer> compraIds);
 }
 
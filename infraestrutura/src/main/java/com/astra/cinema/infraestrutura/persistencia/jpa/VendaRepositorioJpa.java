@@ -1,8 +1,11 @@
 package com.astra.cinema.infraestrutura.persistencia.jpa;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +16,7 @@ import com.astra.cinema.dominio.bomboniere.Produto;
 import com.astra.cinema.dominio.bomboniere.StatusVenda;
 import com.astra.cinema.dominio.bomboniere.Venda;
 import com.astra.cinema.dominio.bomboniere.VendaRepositorio;
+import com.astra.cinema.dominio.comum.CompraId;
 import com.astra.cinema.dominio.comum.PagamentoId;
 import com.astra.cinema.dominio.comum.VendaId;
 
@@ -174,14 +178,48 @@ public class VendaRepositorioJpa implements VendaRepositorio {
     }
 
     @Override
-    public List<Venda> buscarPorCompra(com.astra.cinema.dominio.comum.CompraId compraId) {
+    public List<Venda> buscarPorCompra(CompraId compraId) {
         if (compraId == null) {
             throw new IllegalArgumentException("O ID da compra não pode ser nulo");
         }
 
-        // Busca todas as vendas associadas a esta compra
-        List<VendaJpa> vendasJpa = vendaJpaRepository.findByCompraId(compraId.getId());
+        return buscarPorCompras(List.of(compraId)).getOrDefault(compraId, new ArrayList<>());
+    }
+
+    @Override
+    public Map<CompraId, List<Venda>> buscarPorCompras(Collection<CompraId> compraIds) {
+        Map<CompraId, List<Venda>> vendasPorCompra = new HashMap<>();
+        if (compraIds == null || compraIds.isEmpty()) {
+            return vendasPorCompra;
+        }
+
+        // Duas consultas para todas as compras: as linhas de venda e os produtos dessas linhas
+        List<Integer> ids = compraIds.stream()
+            .map(CompraId::getId)
+            .distinct()
+            .collect(Collectors.toList());
+        List<VendaJpa> vendasJpa = vendaJpaRepository.findByCompraIdIn(ids);
+        if (vendasJpa.isEmpty()) {
+            return vendasPorCompra;
+        }
 
+        Set<Integer> produtoIds = vendasJpa.stream()
+            .map(VendaJpa::getProdutoId)
+            .collect(Collectors.toSet());
+        Map<Integer, Produto> produtos = new HashMap<>();
+        for (ProdutoJpa produtoJpa : produtoJpaRepository.findAllById(produtoIds)) {
+            produtos.put(produtoJpa.getId(), mapeador.paraDominio(produtoJpa));
+        }
+
+        Map<Integer, List<VendaJpa>> linhasPorCompra = vendasJpa.stream()
+            .collect(Collectors.groupingBy(VendaJpa::getCompraId));
+        for (Map.Entry<Integer, List<VendaJpa>> compra : linhasPorCompra.entrySet()) {
+            vendasPorCompra.put(new CompraId(compra.getKey()), montarVendasDaCompra(compra.getValue(), produtos));
+        }
+        return vendasPorCompra;
+    }
+
+    private List<Venda> montarVendasDaCompra(List<VendaJpa> vendasJpa, Map<Integer, Produto> produtosPorId) {
         // Agrupa por produto (múltiplas linhas com mesmo produto = quantidade > 1)
         Map<Integer, List<VendaJpa>> vendasPorProduto = vendasJpa.stream()
             .collect(Collectors.groupingBy(VendaJpa::getProdutoId));
@@ -190,17 +228,14 @@ public class VendaRepositorioJpa implements VendaRepositorio {
 
         // Para cada produto, cria uma Venda com a quantidade correta
         for (Map.Entry<Integer, List<VendaJpa>> entry : vendasPorProduto.entrySet()) {
-            Integer produtoId = entry.getKey();
             List<VendaJpa> vendasDoProduto = entry.getValue();
 
             if (vendasDoProduto.isEmpty()) continue;
 
             VendaJpa primeira = vendasDoProduto.get(0);
-            ProdutoJpa produtoJpa = produtoJpaRepository.findById(produtoId).orElse(null);
-
-            if (produtoJpa == null) continue;
+            Produto produto = produtosPorId.get(entry.getKey());
 
-            Produto produto = mapeador.paraDominio(produtoJpa);
+            if (produto == null) continue;
 
             // Quantidade total = soma das quantidades de todas as linhas
             int quantidadeTotal = vendasDoProduto.stream()
@@ -1,43 +1,204 @@
 package com.astra.cinema.infraestrutura.util;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
 
 /**
  * Gerador de QR Code único para ingressos
- * Gera códigos no formato ASTRA{timestamp}{random} para garantir unicidade
+ *
+ * Ingressos novos recebem um código assinado: ASTRA{ingresso}{sessão}{assinatura}, com os
+ * ids do ingresso e da sessão em 7 caracteres Base32 cada e os primeiros 50 bits de um
+ * HMAC-SHA256 (chave astra.qrcode.segredo) em 10 caracteres. A portaria confere a
+ * assinatura em memória, recusa códigos falsos ou digitados errado sem ir ao banco e busca
+ * os válidos pela chave primária do ingresso.
+ *
+ * Códigos emitidos antes da assinatura continuam aceitos nos formatos antigos.
  */
 @Component
 public class QrCodeGenerator {
-    
+
+    /**
+     * Ids lidos de um código assinado com assinatura correta
+     */
+    public record DadosQrCode(int ingressoId, int sessaoId) {
+    }
+
     private static final String PREFIX = "ASTRA";
-    
+
+    private static final String ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int BASE = ALFABETO.length();
+
+    private static final int CARACTERES_ID_ASSINADO = 7;
+    private static final int CARACTERES_ASSINATURA = 10;
+
+    /**
+     * Tamanho de um código assinado: prefixo + ingresso + sessão + assinatura
+     */
+    public static final int TAMANHO_ASSINADO = PREFIX.length() + 2 * CARACTERES_ID_ASSINADO + CARACTERES_ASSINATURA;
+
+    private static final String ALGORITMO_HMAC = "HmacSHA256";
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
     /**
-     * Gera um QR Code único para um ingresso
-     * Formato: ASTRA{timestamp}{random}
-     * 
-     * @return Código QR único
+     * Formatos antigos, ainda aceitos: ASTRA{timestamp}{8 hex} e ASTRA{id do ingresso}
      */
-    public String gerarQrCode() {
-        // Usa timestamp + parte do UUID para garantir unicidade
-        long timestamp = System.currentTimeMillis();
-        String uuidPart = UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
-        
-        // Formato: ASTRA{timestamp}{uuidPart}
-        // Exemplo: ASTRA1734567890123A1B2C3D4
-        return PREFIX + timestamp + uuidPart;
+    private static final Pattern FORMATO_LEGADO = Pattern.compile("ASTRA(\\d{13}[0-9A-F]{8}|\\d{1,10})");
+
+    private final SecretKeySpec chave;
+    private final ThreadLocal<Mac> hmac;
+
+    public QrCodeGenerator(@Value("${astra.qrcode.segredo:}") String segredo) {
+        // Sem chave padrão: com uma chave conhecida, qualquer um emitiria códigos válidos
+        if (segredo == null || segredo.isBlank()) {
+            throw new IllegalArgumentException(
+                "O segredo dos QR Codes não foi configurado (astra.qrcode.segredo / ASTRA_QRCODE_SEGREDO)");
+        }
+        if (segredo.length() < TAMANHO_MINIMO_SEGREDO) {
+            throw new IllegalArgumentException(
+                "O segredo dos QR Codes deve ter pelo menos " + TAMANHO_MINIMO_SEGREDO + " caracteres");
+        }
+        this.chave = new SecretKeySpec(segredo.getBytes(StandardCharsets.UTF_8), ALGORITMO_HMAC);
+        // Mac não é thread-safe: uma instância por thread, criada uma única vez
+        this.hmac = ThreadLocal.withInitial(this::novoHmac);
+        novoHmac(); // Falha já na inicialização se a chave for inválida
     }
-    
+
+    /**
+     * Gera o QR Code assinado de um ingresso
+     * Formato: ASTRA{ingresso}{sessão}{assinatura}
+     *
+     * @param ingressoId ID do ingresso
+     * @param sessaoId ID da sessão do ingresso na emissão
+     * @return Código QR assinado
+     */
+    public String gerarQrCodeAssinado(int ingressoId, int sessaoId) {
+        if (ingressoId <= 0 || sessaoId <= 0) {
+            throw new IllegalArgumentException("Os ids do ingresso e da sessão devem ser positivos");
+        }
+        char[] codigo = new char[TAMANHO_ASSINADO];
+        PREFIX.getChars(0, PREFIX.length(), codigo, 0);
+        int posicao = PREFIX.length();
+        escrever(ingressoId, codigo, posicao, CARACTERES_ID_ASSINADO);
+        escrever(sessaoId, codigo, posicao + CARACTERES_ID_ASSINADO, CARACTERES_ID_ASSINADO);
+        assinar(codigo, codigo);
+        return new String(codigo);
+    }
+
+    /**
+     * Lê um código assinado, conferindo a assinatura em memória.
+     *
+     * @return Os ids do código, ou null se não for um código assinado ou a assinatura não confere
+     */
+    public DadosQrCode lerQrCodeAssinado(String qrCode) {
+        if (!assinado(qrCode)) {
+            return null;
+        }
+        char[] codigo = qrCode.toCharArray();
+        long ingressoId = ler(codigo, PREFIX.length(), CARACTERES_ID_ASSINADO);
+        long sessaoId = ler(codigo, PREFIX.length() + CARACTERES_ID_ASSINADO, CARACTERES_ID_ASSINADO);
+        if (ingressoId <= 0 || ingressoId > Integer.MAX_VALUE || sessaoId <= 0 || sessaoId > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        char[] esperado = new char[TAMANHO_ASSINADO];
+        assinar(codigo, esperado);
+        byte[] recebida = new String(codigo, TAMANHO_ASSINADO - CARACTERES_ASSINATURA, CARACTERES_ASSINATURA)
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] calculada = new String(esperado, TAMANHO_ASSINADO - CARACTERES_ASSINATURA, CARACTERES_ASSINATURA)
+                .getBytes(StandardCharsets.US_ASCII);
+        // Comparação em tempo constante para não vazar quantos caracteres da assinatura acertaram
+        if (!MessageDigest.isEqual(recebida, calculada)) {
+            return null;
+        }
+        return new DadosQrCode((int) ingressoId, (int) sessaoId);
+    }
+
+    /**
+     * Indica se o código tem o formato assinado (sem conferir a assinatura)
+     */
+    public boolean assinado(String qrCode) {
+        if (qrCode == null || qrCode.length() != TAMANHO_ASSINADO || !qrCode.startsWith(PREFIX)) {
+            return false;
+        }
+        for (int i = PREFIX.length(); i < TAMANHO_ASSINADO; i++) {
+            if (ALFABETO.indexOf(qrCode.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Gera um QR Code baseado no ID do ingresso (para compatibilidade)
      * Formato: ASTRA{id}
-     * 
+     *
      * @param ingressoId ID do ingresso
      * @return Código QR
      */
     public String gerarQrCodePorId(Integer ingressoId) {
         return PREFIX + ingressoId;
     }
-}
 
+    /**
+     * Verifica, sem consultar o banco, se o código pode ser de um ingresso: um código assinado
+     * com assinatura correta ou um dos formatos antigos. Espera o código já em maiúsculas.
+     */
+    public boolean formatoValido(String qrCode) {
+        if (qrCode == null || !qrCode.startsWith(PREFIX)) {
+            return false;
+        }
+        if (qrCode.length() == TAMANHO_ASSINADO) {
+            return lerQrCodeAssinado(qrCode) != null;
+        }
+        return FORMATO_LEGADO.matcher(qrCode).matches();
+    }
+
+    /**
+     * Escreve em {@code destino} a assinatura da parte do código antes dela
+     */
+    private void assinar(char[] codigo, char[] destino) {
+        int tamanhoDados = TAMANHO_ASSINADO - CARACTERES_ASSINATURA;
+        System.arraycopy(codigo, 0, destino, 0, tamanhoDados);
+        byte[] dados = new String(codigo, 0, tamanhoDados).getBytes(StandardCharsets.US_ASCII);
+        byte[] mac = hmac.get().doFinal(dados);
+
+        // Primeiros 50 bits do HMAC em 10 caracteres Base32
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (mac[i] & 0xFF);
+        }
+        escrever(bits >>> (64 - 5 * CARACTERES_ASSINATURA), destino, tamanhoDados, CARACTERES_ASSINATURA);
+    }
+
+    private Mac novoHmac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO_HMAC);
+            mac.init(chave);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível inicializar o HMAC dos QR Codes", e);
+        }
+    }
+
+    private static void escrever(long valor, char[] destino, int inicio, int caracteres) {
+        for (int i = inicio + caracteres - 1; i >= inicio; i--) {
+            destino[i] = ALFABETO.charAt((int) (valor & (BASE - 1)));
+            valor >>>= 5;
+        }
+    }
+
+    private static long ler(char[] codigo, int inicio, int caracteres) {
+        long valor = 0;
+        for (int i = inicio; i < inicio + caracteres; i++) {
+            valor = (valor << 5) | ALFABETO.indexOf(codigo[i]);
+        }
+        return valor;
+    }
+}
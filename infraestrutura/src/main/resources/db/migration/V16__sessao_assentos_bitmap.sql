@@ -0,0 +1,79 @@
+-- ===============================================
+-- ESTADO DOS ASSENTOS COMPACTADO NA PRÓPRIA SESSÃO
+-- ===============================================
+-- Substitui as linhas de sessao_assento (uma por assento) por um bitmap por sessão.
+-- O bit (ordinal % 8) do byte (ordinal / 8) indica se o assento de ordinal N está
+-- disponível (1) ou ocupado (0). O ordinal segue a ordem natural dos assentos:
+-- fileira (A, B, ...) e depois número (1, 2, ..., 10).
+--
+-- assentos_layout só é preenchido quando os assentos não seguem o layout padrão
+-- (10 por fileira, A1..A10, B1..); nesse caso guarda os códigos em ordem de ordinal.
+
+ALTER TABLE sessao ADD COLUMN IF NOT EXISTS assentos_bitmap BYTEA;
+ALTER TABLE sessao ADD COLUMN IF NOT EXISTS assentos_total INTEGER;
+ALTER TABLE sessao ADD COLUMN IF NOT EXISTS assentos_layout TEXT;
+ALTER TABLE sessao ADD COLUMN IF NOT EXISTS versao INTEGER NOT NULL DEFAULT 0;
+
+-- Ordinal de cada assento dentro da sua sessão
+CREATE TEMPORARY TABLE tmp_assento_ordinal ON COMMIT DROP AS
+SELECT sessao_id,
+       assento_id,
+       disponivel,
+       (ROW_NUMBER() OVER (
+            PARTITION BY sessao_id
+            ORDER BY LENGTH(SUBSTRING(assento_id FROM '^[A-Za-z]*')),
+                     SUBSTRING(assento_id FROM '^[A-Za-z]*') COLLATE "C",
+                     COALESCE(SUBSTRING(assento_id FROM '^[A-Za-z]*([0-9]{1,9})$')::INTEGER, 2147483647),
+                     assento_id COLLATE "C"
+        ) - 1)::INTEGER AS ordinal
+FROM sessao_assento;
+
+-- Total e layout (nulo quando o layout é o padrão)
+UPDATE sessao s
+SET assentos_total = l.total,
+    assentos_layout = CASE WHEN l.padrao THEN NULL ELSE l.codigos END
+FROM (
+    SELECT sessao_id,
+           COUNT(*)::INTEGER AS total,
+           BOOL_AND(assento_id = CHR(65 + ordinal / 10) || ((ordinal % 10) + 1)) AS padrao,
+           STRING_AGG(assento_id, ',' ORDER BY ordinal) AS codigos
+    FROM tmp_assento_ordinal
+    GROUP BY sessao_id
+) l
+WHERE s.id = l.sessao_id;
+
+-- Bitmap: um byte para cada grupo de 8 ordinais
+UPDATE sessao s
+SET assentos_bitmap = b.bitmap
+FROM (
+    SELECT bytes.sessao_id,
+           DECODE(STRING_AGG(LPAD(TO_HEX(bytes.valor), 2, '0'), '' ORDER BY bytes.indice), 'hex') AS bitmap
+    FROM (
+        SELECT t.sessao_id,
+               t.indice,
+               COALESCE(SUM(CASE WHEN a.disponivel THEN 1 << (a.ordinal % 8) ELSE 0 END), 0)::INTEGER AS valor
+        FROM (
+            SELECT sessao_id, GENERATE_SERIES(0, (COUNT(*)::INTEGER - 1) / 8) AS indice
+            FROM tmp_assento_ordinal
+            GROUP BY sessao_id
+        ) t
+        LEFT JOIN tmp_assento_ordinal a
+               ON a.sessao_id = t.sessao_id AND a.ordinal / 8 = t.indice
+        GROUP BY t.sessao_id, t.indice
+    ) bytes
+    GROUP BY bytes.sessao_id
+) b
+WHERE s.id = b.sessao_id;
+
+-- Sessões sem assentos cadastrados
+UPDATE sessao SET assentos_total = 0 WHERE assentos_total IS NULL;
+UPDATE sessao SET assentos_bitmap = ''::BYTEA WHERE assentos_bitmap IS NULL;
+
+ALTER TABLE sessao ALTER COLUMN assentos_total SET NOT NULL;
+ALTER TABLE sessao ALTER COLUMN assentos_bitmap SET NOT NULL;
+
+-- Os assentos passam a ser lidos e gravados apenas pela coluna compactada
+DROP TABLE IF EXISTS sessao_assento;
+
+COMMENT ON COLUMN sessao.assentos_bitmap IS 'Bitmap dos assentos (bit N = assento de ordinal N disponível)';
+COMMENT ON COLUMN sessao.versao IS 'Versão para controle de concorrência otimista';
@@ -0,0 +1,32 @@
+-- ===============================================
+-- CONTADORES DE OCUPAÇÃO NA PRÓPRIA SESSÃO
+-- ===============================================
+-- Listagens, indicadores e relatórios de ocupação leem só estes contadores,
+-- sem decodificar o bitmap de assentos. Eles são gravados no mesmo UPDATE
+-- que altera assentos_bitmap, então sempre refletem o estado do bitmap.
+
+ALTER TABLE sessao ADD COLUMN IF NOT EXISTS assentos_disponiveis INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE sessao ADD COLUMN IF NOT EXISTS assentos_ocupados INTEGER NOT NULL DEFAULT 0;
+
+-- Conta os bits ligados (assentos disponíveis) de cada sessão
+UPDATE sessao s
+SET assentos_disponiveis = c.disponiveis,
+    assentos_ocupados = s.assentos_total - c.disponiveis
+FROM (
+    SELECT sessao.id,
+           COALESCE(SUM(GET_BIT(sessao.assentos_bitmap, bits.ordinal)), 0)::INTEGER AS disponiveis
+    FROM sessao
+    LEFT JOIN LATERAL GENERATE_SERIES(
+            0, LEAST(sessao.assentos_total, LENGTH(sessao.assentos_bitmap) * 8) - 1
+        ) AS bits(ordinal) ON TRUE
+    GROUP BY sessao.id
+) c
+WHERE s.id = c.id;
+
+ALTER TABLE sessao ADD CONSTRAINT ck_sessao_contadores_assentos
+    CHECK (assentos_disponiveis >= 0
+       AND assentos_ocupados >= 0
+       AND assentos_disponiveis + assentos_ocupados = assentos_total);
+
+COMMENT ON COLUMN sessao.assentos_disponiveis IS 'Quantidade de bits ligados em assentos_bitmap';
+COMMENT ON COLUMN sessao.assentos_ocupados IS 'assentos_total - assentos_disponiveis';
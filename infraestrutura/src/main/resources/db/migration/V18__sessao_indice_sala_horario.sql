@@ -0,0 +1,9 @@
+-- ===============================================
+-- ÍNDICES PARA DETECÇÃO DE CONFLITO DE HORÁRIO NA SALA
+-- ===============================================
+-- A verificação de conflito busca só as sessões da sala que começam entre
+-- (início - maior duração de filme) e o fim da nova sessão: um range scan em
+-- (sala_id, horario). A maior duração vem de MAX(duracao), resolvido pelo índice.
+
+CREATE INDEX IF NOT EXISTS idx_sessao_sala_horario ON sessao(sala_id, horario);
+CREATE INDEX IF NOT EXISTS idx_filme_duracao ON filme(duracao);
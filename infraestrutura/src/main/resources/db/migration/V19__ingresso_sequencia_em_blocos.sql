@@ -0,0 +1,14 @@
+-- ===============================================
+-- IDS DE INGRESSO RESERVADOS EM BLOCOS
+-- ===============================================
+-- Os ids de ingresso são reservados em blocos de 50 antes do INSERT, sem o
+-- gerador do Hibernate: IngressoJpaRepository.reservarBlocosDeIds chama nextval
+-- uma vez por bloco e cada valor v devolvido reserva os ids de v - 49 a v. Assim
+-- o QR Code assinado, que leva o id, já entra no INSERT e os ingressos de uma
+-- compra são inseridos em lote.
+--
+-- O incremento da sequência TEM de ser igual a IngressoJpa.TAMANHO_BLOCO_IDS:
+-- com valores diferentes os blocos se sobrepõem e ingressos recebem ids
+-- repetidos. Mudar um exige uma nova migração que mude o outro.
+
+ALTER SEQUENCE IF EXISTS ingresso_id_seq INCREMENT BY 50;
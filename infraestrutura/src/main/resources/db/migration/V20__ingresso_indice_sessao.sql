@@ -0,0 +1,8 @@
+-- ===============================================
+-- ÍNDICE DE INGRESSOS POR SESSÃO
+-- ===============================================
+-- O índice de validação da portaria carrega de uma vez os ingressos das sessões
+-- do dia (sessao_id IN (...)) e recarrega uma sessão quando seus ingressos mudam.
+-- A FK para sessao não cria índice no PostgreSQL.
+
+CREATE INDEX IF NOT EXISTS idx_ingresso_sessao_id ON ingresso(sessao_id);
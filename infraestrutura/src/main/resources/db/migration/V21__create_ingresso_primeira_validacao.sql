@@ -0,0 +1,12 @@
+-- Primeira validação de cada ingresso: a chave primária garante que só uma
+-- instância da aplicação consegue registrá-la
+CREATE TABLE IF NOT EXISTS ingresso_primeira_validacao (
+    ingresso_id     INTEGER PRIMARY KEY REFERENCES ingresso(id),
+    sessao_id       INTEGER NOT NULL REFERENCES sessao(id),
+    validado_em     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- Ingressos já validados contam como primeira validação registrada
+INSERT INTO ingresso_primeira_validacao (ingresso_id, sessao_id)
+SELECT id, sessao_id FROM ingresso WHERE status = 'VALIDADO'
+ON CONFLICT (ingresso_id) DO NOTHING;
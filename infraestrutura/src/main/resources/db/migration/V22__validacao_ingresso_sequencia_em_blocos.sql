@@ -0,0 +1,8 @@
+-- ===============================================
+-- IDS DE VALIDAÇÃO RESERVADOS EM BLOCOS
+-- ===============================================
+-- Como em V19 para ingresso: o Hibernate reserva 50 ids de validação por chamada
+-- à sequência (allocationSize = 50 em ValidacaoIngressoJpa), e o histórico de uma
+-- validação em lote é inserido em lote. O incremento precisa ser igual ao bloco.
+
+ALTER SEQUENCE IF EXISTS validacao_ingresso_id_seq INCREMENT BY 50;
@@ -0,0 +1,8 @@
+-- ===============================================
+-- ÍNDICE DE SESSÕES POR HORÁRIO
+-- ===============================================
+-- A expiração de ingressos só considera as sessões que começaram desde a última
+-- execução (range em horario), assim como a carga das sessões do dia; sem o
+-- índice, as duas percorrem a tabela de sessões inteira.
+
+CREATE INDEX IF NOT EXISTS idx_sessao_horario ON sessao(horario);
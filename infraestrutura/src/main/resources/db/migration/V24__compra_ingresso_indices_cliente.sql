@@ -0,0 +1,10 @@
+-- ===============================================
+-- ÍNDICES DA TELA "MEUS INGRESSOS"
+-- ===============================================
+-- As compras do cliente são paginadas por chave (cliente_id = ? AND id < ?
+-- ORDER BY id DESC), e os ingressos de cada compra são buscados por compra_id,
+-- opcionalmente só os ATIVOS. As FKs não criam índice no PostgreSQL, então as
+-- duas consultas percorriam as tabelas inteiras.
+
+CREATE INDEX IF NOT EXISTS idx_compra_cliente_id ON compra(cliente_id, id);
+CREATE INDEX IF NOT EXISTS idx_ingresso_compra_status ON ingresso(compra_id, status);
@@ -0,0 +1,9 @@
+-- ===============================================
+-- IDS DE REMARCAÇÃO RESERVADOS EM BLOCOS
+-- ===============================================
+-- Como em V22 para validacao_ingresso: o Hibernate reserva 50 ids de remarcação
+-- por chamada à sequência (allocationSize = 50 em RemarcacaoSessaoJpa), e o
+-- histórico de uma remarcação em lote é inserido em lote. O incremento precisa
+-- ser igual ao bloco.
+
+ALTER SEQUENCE IF EXISTS remarcacao_sessao_id_seq INCREMENT BY 50;
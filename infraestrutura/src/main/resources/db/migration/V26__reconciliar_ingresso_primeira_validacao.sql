@@ -0,0 +1,5 @@
+-- Até aqui só a validação em lote registrava a primeira validação; os ingressos validados
+-- pela porta depois da V21 passam a contar como registrados
+INSERT INTO ingresso_primeira_validacao (ingresso_id, sessao_id)
+SELECT id, sessao_id FROM ingresso WHERE status = 'VALIDADO'
+ON CONFLICT (ingresso_id) DO NOTHING;